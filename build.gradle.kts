@@ -19,6 +19,7 @@ repositories {
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
 
@@ -30,6 +31,24 @@ dependencies {
 
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+// 벤치마크(@Tag("benchmark"))는 일반 test에서 제외하고 ./gradlew benchmark 로 별도 실행
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark tests tagged with 'benchmark'."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    // 검색 색인 벤치마크가 Post 100만 개를 메모리에 올림
+    maxHeapSize = "4g"
+    testLogging {
+        showStandardStreams = true
+    }
 }
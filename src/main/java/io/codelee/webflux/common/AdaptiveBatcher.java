@@ -0,0 +1,330 @@
+package io.codelee.webflux.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * 적응형 배치 엔진: 저장소 지연 시간과 큐 깊이를 보고 배치 크기와 flush 간격을 스스로 조절
+ *
+ * 기존 문제:
+ * - buffer(group)은 크기만, buffer(Duration)은 시간만 보고 배치를 만듦 → 환경마다 group/second를 손으로 맞춰야 함
+ * - flatMap(save) 동시성 제한이 없어 저장소가 느리면 배치가 한없이 동시에 쌓임
+ *
+ * 목표: 항목 하나가 들어와서 저장될 때까지의 시간(큐 대기 + 저장) ≤ targetLatency
+ *
+ * 조절 규칙 (배치 하나가 끝날 때마다):
+ * - 저장 지연 시간은 EWMA(α=0.3)로 평활
+ * - 배치 크기 (AIMD):
+ *   지연 > target 이면 절반으로 줄임 (저장소가 버거우면 빠르게 후퇴)
+ *   지연 ≤ target 이고 큐에 배치 크기 이상이 밀려 있으면 25% 늘림 (한 번에 더 많이 써서 밀린 양을 소화)
+ * - flush 간격: target - 저장 지연 (남은 시간만큼만 모음, minInterval ~ maxInterval로 제한)
+ *
+ * 배치를 내보내는 조건:
+ * - 큐에 배치 크기만큼 모였거나(SIZE), 가장 오래 기다린 배치의 대기가 flush 간격을 넘었거나(TIME), 입력이 끝났을 때(COMPLETE)
+ * - 저장 중인 배치가 maxConcurrency개면 내보내지 않고 기다림
+ *
+ * 배압:
+ * - 입력은 큐 + 저장 중인 항목이 maxQueued를 넘지 않도록 요청(request)하고, 배치 저장이 끝나면 그만큼 더 요청
+ */
+@Slf4j
+public class AdaptiveBatcher<T> {
+
+    private static final double EWMA_ALPHA = 0.3;
+    private static final double GROWTH_FACTOR = 1.25;
+    private static final double SHRINK_FACTOR = 0.5;
+
+    private final Function<List<T>, Mono<?>> sink;
+    private final Settings settings;
+
+    public AdaptiveBatcher(Function<List<T>, Mono<?>> sink, Settings settings) {
+        this.sink = sink;
+        this.settings = settings;
+    }
+
+    /**
+     * source의 항목을 배치로 저장하고, 배치가 끝날 때마다 BatchResult 발행
+     * 저장에 실패한 배치가 있으면 에러로 종료 (이미 시작한 다른 배치는 끝까지 진행)
+     */
+    public Flux<BatchResult> process(Flux<T> source) {
+        return Flux.create(emitter -> {
+            Run run = new Run(emitter);
+            emitter.onDispose(run::stop);
+            source.subscribe(run);
+        });
+    }
+
+    /**
+     * @param targetLatency 항목 하나가 들어와서 저장될 때까지의 목표 시간
+     * @param initialBatchSize 첫 배치 크기
+     * @param minBatchSize 최소 배치 크기
+     * @param maxBatchSize 최대 배치 크기
+     * @param initialInterval 첫 flush 간격
+     * @param minInterval 최소 flush 간격
+     * @param maxInterval 최대 flush 간격
+     * @param maxConcurrency 동시에 저장할 수 있는 최대 배치 수
+     * @param maxQueued 큐 + 저장 중인 최대 항목 수
+     */
+    public record Settings(Duration targetLatency, int initialBatchSize, int minBatchSize, int maxBatchSize,
+                           Duration initialInterval, Duration minInterval, Duration maxInterval,
+                           int maxConcurrency, int maxQueued) {
+
+        public Settings {
+            if (minBatchSize < 1 || minBatchSize > maxBatchSize) {
+                throw new IllegalArgumentException("배치 크기 범위가 올바르지 않음: " + minBatchSize + " ~ " + maxBatchSize);
+            }
+            if (maxConcurrency < 1 || maxQueued < maxBatchSize) {
+                throw new IllegalArgumentException("maxConcurrency >= 1, maxQueued >= maxBatchSize 이어야 함");
+            }
+            initialBatchSize = Math.clamp(initialBatchSize, minBatchSize, maxBatchSize);
+            initialInterval = clamp(initialInterval, minInterval, maxInterval);
+        }
+
+        /**
+         * 같은 설정에 첫 배치 크기/flush 간격만 바꿈 (null이면 유지)
+         * interval이 maxInterval보다 길면 maxInterval을 interval까지 늘림 (요청한 간격이 잘리지 않도록)
+         */
+        public Settings withInitial(Integer batchSize, Duration interval) {
+            Duration upper = interval != null && interval.compareTo(maxInterval) > 0 ? interval : maxInterval;
+            return new Settings(targetLatency, batchSize != null ? batchSize : initialBatchSize, minBatchSize,
+                    maxBatchSize, interval != null ? interval : initialInterval, minInterval, upper,
+                    maxConcurrency, maxQueued);
+        }
+    }
+
+    public enum Trigger {
+        SIZE, TIME, COMPLETE
+    }
+
+    /**
+     * 배치 하나의 결과
+     * @param sequence 배치 번호 (1부터)
+     * @param size 배치 항목 수
+     * @param trigger 배치를 내보낸 이유
+     * @param waitMillis 배치의 첫 항목이 큐에서 기다린 시간
+     * @param latencyMillis 저장에 걸린 시간
+     * @param queueDepth 배치가 끝난 시점에 큐에 남은 항목 수
+     * @param nextBatchSize 조절된 다음 배치 크기
+     * @param nextIntervalMillis 조절된 다음 flush 간격
+     */
+    public record BatchResult(long sequence, int size, Trigger trigger, double waitMillis, double latencyMillis,
+                              int queueDepth, int nextBatchSize, double nextIntervalMillis) {
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        return value.compareTo(min) < 0 ? min : value.compareTo(max) > 0 ? max : value;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    /*
+     * process() 한 번의 실행 상태
+     * 입력 신호, 타이머, 배치 완료가 서로 다른 스레드에서 오므로 상태 변경은 모두 synchronized(this)
+     * 저장(sink) 구독과 결과 발행은 락 밖에서 수행
+     */
+    private final class Run extends BaseSubscriber<T> {
+
+        private final FluxSink<BatchResult> emitter;
+        private final ArrayDeque<T> queue = new ArrayDeque<>();
+
+        private int batchSize = settings.initialBatchSize();
+        private long intervalNanos = settings.initialInterval().toNanos();
+        private double latencyEwmaNanos = -1;
+
+        private long oldestQueuedAt;
+        private int inFlight;
+        private long sequence;
+        private boolean upstreamDone;
+        private Throwable failure;
+        private boolean terminated;
+        private Disposable timer;
+        private long timerDeadline;
+
+        Run(FluxSink<BatchResult> emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(settings.maxQueued());
+        }
+
+        @Override
+        protected void hookOnNext(T item) {
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    oldestQueuedAt = System.nanoTime();
+                }
+                queue.add(item);
+            }
+            drain();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            synchronized (this) {
+                upstreamDone = true;
+            }
+            drain();
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            synchronized (this) {
+                upstreamDone = true;
+                failure = error;
+            }
+            drain();
+        }
+
+        private void drain() {
+            List<PendingBatch<T>> ready = new ArrayList<>();
+            boolean complete = false;
+            Throwable error = null;
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                while (inFlight < settings.maxConcurrency() && !queue.isEmpty() && failure == null) {
+                    long now = System.nanoTime();
+                    Trigger trigger = queue.size() >= batchSize ? Trigger.SIZE
+                            : now - oldestQueuedAt >= intervalNanos ? Trigger.TIME
+                            : upstreamDone ? Trigger.COMPLETE
+                            : null;
+                    if (trigger == null) {
+                        break;
+                    }
+                    List<T> items = new ArrayList<>(Math.min(batchSize, queue.size()));
+                    while (items.size() < batchSize && !queue.isEmpty()) {
+                        items.add(queue.poll());
+                    }
+                    ready.add(new PendingBatch<>(++sequence, items, trigger, now - oldestQueuedAt));
+                    // 남은 항목의 대기 시작 시각은 정확히 추적하지 않고 지금으로 간주
+                    oldestQueuedAt = now;
+                    inFlight++;
+                }
+                scheduleTimer();
+                if (inFlight == 0 && (failure != null || (upstreamDone && queue.isEmpty()))) {
+                    terminated = true;
+                    complete = failure == null;
+                    error = failure;
+                }
+            }
+            ready.forEach(this::write);
+            if (complete) {
+                emitter.complete();
+            } else if (error != null) {
+                emitter.error(error);
+            }
+        }
+
+        /*
+         * 큐에 항목이 남아 있으면 flush 간격이 지나는 시점에 다시 drain (호출 시 synchronized 상태)
+         * 마감 시각이 같으면 기존 타이머를 유지 (항목마다 타이머를 다시 만들지 않음)
+         */
+        private void scheduleTimer() {
+            boolean needed = !queue.isEmpty() && inFlight < settings.maxConcurrency() && failure == null;
+            long deadline = oldestQueuedAt + intervalNanos;
+            if (timer != null && (!needed || deadline != timerDeadline)) {
+                timer.dispose();
+                timer = null;
+            }
+            if (needed && timer == null) {
+                timerDeadline = deadline;
+                timer = Schedulers.parallel().schedule(this::onTimer,
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void onTimer() {
+            synchronized (this) {
+                timer = null;
+            }
+            drain();
+        }
+
+        private void write(PendingBatch<T> batch) {
+            long startedAt = System.nanoTime();
+            Mono.defer(() -> sink.apply(batch.items()))
+                    .subscribe(null,
+                            error -> onBatchFailed(batch, error),
+                            () -> onBatchCompleted(batch, System.nanoTime() - startedAt));
+        }
+
+        private void onBatchCompleted(PendingBatch<T> batch, long latencyNanos) {
+            BatchResult result;
+            synchronized (this) {
+                inFlight--;
+                adapt(latencyNanos);
+                result = new BatchResult(batch.sequence(), batch.items().size(), batch.trigger(),
+                        toMillis(batch.waitNanos()), toMillis(latencyNanos), queue.size(), batchSize,
+                        toMillis(intervalNanos));
+            }
+            emitter.next(result);
+            log.debug("적응형 배치 완료: {}", result);
+            request(batch.items().size());
+            drain();
+        }
+
+        private void onBatchFailed(PendingBatch<T> batch, Throwable error) {
+            log.error("적응형 배치 저장 실패: sequence={}, size={}", batch.sequence(), batch.items().size(), error);
+            synchronized (this) {
+                inFlight--;
+                if (failure == null) {
+                    failure = error;
+                }
+            }
+            cancel();
+            drain();
+        }
+
+        /*
+         * 배치 크기: AIMD (지연 초과 시 절반, 여유 있고 큐가 밀려 있으면 25% 증가)
+         * flush 간격: 목표 시간 중 저장에 쓰고 남은 만큼
+         */
+        private void adapt(long latencyNanos) {
+            latencyEwmaNanos = latencyEwmaNanos < 0
+                    ? latencyNanos
+                    : EWMA_ALPHA * latencyNanos + (1 - EWMA_ALPHA) * latencyEwmaNanos;
+            long targetNanos = settings.targetLatency().toNanos();
+
+            if (latencyEwmaNanos > targetNanos) {
+                batchSize = Math.max(settings.minBatchSize(), (int) (batchSize * SHRINK_FACTOR));
+            } else if (queue.size() >= batchSize) {
+                batchSize = Math.min(settings.maxBatchSize(), (int) Math.ceil(batchSize * GROWTH_FACTOR));
+            }
+
+            long budget = targetNanos - (long) latencyEwmaNanos;
+            intervalNanos = Math.clamp(budget, settings.minInterval().toNanos(), settings.maxInterval().toNanos());
+        }
+
+        // 구독자가 취소하면 타이머와 입력 구독을 정리 (저장 중인 배치는 끝까지 진행)
+        void stop() {
+            synchronized (this) {
+                terminated = true;
+                if (timer != null) {
+                    timer.dispose();
+                }
+                queue.clear();
+            }
+            cancel();
+        }
+    }
+
+    private record PendingBatch<T>(long sequence, List<T> items, Trigger trigger, long waitNanos) {
+    }
+}
@@ -0,0 +1,180 @@
+package io.codelee.webflux.common;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/*
+ * 키 단위 조회를 모아 한 번의 일괄 조회로 처리 (DataLoader 패턴)
+ *
+ * 기존 문제 (N+1):
+ * - 목록의 항목마다 연관 데이터를 따로 조회 → 항목 수만큼 업스트림 호출
+ *
+ * 동작 방식:
+ * - load(key)를 구독하면 키를 현재 배치에 추가하고, maxDelay가 지나거나 maxBatchSize개가 모이면 배치 조회 실행
+ * - 같은 배치 안의 같은 키는 한 번만 조회 (LinkedHashSet으로 요청 순서 유지)
+ * - 배치 조회 결과 Map에 없는 키는 빈 Mono로 완료
+ * - 배치 조회가 실패하면 그 배치의 모든 load가 같은 에러로 완료
+ *
+ * 결과 캐시 (memoize=true):
+ * - 한 번 조회한 키는 이후 load에서 같은 결과를 재사용 (실패한 키는 캐시에서 제거해 다음 load에서 다시 조회)
+ * - 캐시는 BatchLoader 인스턴스 수명과 같으므로 요청마다 새로 만들어 요청 범위 캐시로 사용
+ *   (오래 사는 인스턴스에서 memoize=true면 캐시가 계속 커짐)
+ *
+ * 참고: 배치에 들어간 뒤 구독을 취소해도 배치 조회는 취소하지 않음 (같은 배치의 다른 키가 결과를 기다림)
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Mono<Map<K, V>>> batchFunction;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final boolean memoize;
+
+    private final Map<K, Mono<V>> memo = new ConcurrentHashMap<>();
+    private Batch<K, V> current;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedKeys = new LongAdder();
+
+    public BatchLoader(Function<List<K>, Mono<Map<K, V>>> batchFunction, int maxBatchSize, Duration maxDelay,
+                       boolean memoize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize는 1 이상이어야 함: " + maxBatchSize);
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.memoize = memoize;
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            loads.increment();
+            Mono<V> cached = memoize ? memo.get(key) : null;
+            if (cached != null) {
+                memoHits.increment();
+                return cached;
+            }
+            return enqueue(key);
+        });
+    }
+
+    /**
+     * 여러 키를 load해 요청 순서대로 결과 Map으로 반환 (결과가 없는 키는 제외)
+     */
+    public Mono<Map<K, V>> loadMany(Collection<K> keys) {
+        return Flux.fromIterable(new LinkedHashSet<>(keys))
+                .flatMapSequential(key -> load(key).map(value -> Map.entry(key, value)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+
+    public Stats stats() {
+        long batchCount = batches.sum();
+        long keyCount = batchedKeys.sum();
+        return new Stats(loads.sum(), memoHits.sum(), batchCount, keyCount,
+                batchCount == 0 ? 0 : (double) keyCount / batchCount);
+    }
+
+    private Mono<V> enqueue(K key) {
+        Batch<K, V> full = null;
+        Mono<V> result;
+        synchronized (this) {
+            // 같은 키가 동시에 들어오면 먼저 들어온 쪽만 배치에 추가
+            Mono<V> cached = memoize ? memo.get(key) : null;
+            if (cached != null) {
+                memoHits.increment();
+                return cached;
+            }
+            Batch<K, V> batch = current;
+            if (batch == null) {
+                batch = new Batch<>();
+                current = batch;
+                Batch<K, V> scheduled = batch;
+                batch.timer = Schedulers.parallel().schedule(() -> dispatchIfCurrent(scheduled),
+                        maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.keys.add(key);
+            result = batch.sink.asMono().mapNotNull(values -> values.get(key));
+            if (memoize) {
+                memo.put(key, result);
+            }
+            if (batch.keys.size() >= maxBatchSize) {
+                current = null;
+                full = batch;
+            }
+        }
+        // 배치 조회는 락 밖에서 실행
+        if (full != null) {
+            full.timer.dispose();
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void dispatchIfCurrent(Batch<K, V> batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        List<K> keys = List.copyOf(batch.keys);
+        batches.increment();
+        batchedKeys.add(keys.size());
+        log.debug("배치 조회 실행: {}개 키", keys.size());
+        Mono<Map<K, V>> source;
+        try {
+            source = batchFunction.apply(keys);
+        } catch (Throwable error) {
+            fail(batch, keys, error);
+            return;
+        }
+        source.defaultIfEmpty(Map.of())
+                .subscribe(batch.sink::tryEmitValue, error -> fail(batch, keys, error));
+    }
+
+    // 실패한 키는 캐시에서 지워 다음 load에서 다시 조회
+    private void fail(Batch<K, V> batch, List<K> keys, Throwable error) {
+        keys.forEach(memo::remove);
+        batch.sink.tryEmitError(error);
+    }
+
+    /**
+     * @param loads load 호출 수
+     * @param memoHits 캐시된 결과를 재사용한 load 수
+     * @param batches 실행한 배치 조회 수
+     * @param batchedKeys 배치 조회로 요청한 키 수 (중복 제거 후)
+     * @param averageBatchSize 배치당 평균 키 수
+     */
+    public record Stats(long loads, long memoHits, long batches, long batchedKeys, double averageBatchSize) {
+    }
+
+    private static final class Batch<K, V> {
+
+        private final Set<K> keys = new LinkedHashSet<>();
+        private final Sinks.One<Map<K, V>> sink = Sinks.one();
+        private Disposable timer;
+    }
+}
@@ -0,0 +1,26 @@
+package io.codelee.webflux.common;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/*
+ * 배치 단위로 항목을 저장하는 대상 (파일, DB, 메시지 브로커 등)
+ *
+ * 구현 규칙:
+ * - write()는 배치 전체가 저장된 뒤 완료, 실패하면 에러 (일부만 저장된 경우도 에러로 알림)
+ * - 같은 배치로 다시 호출될 수 있음 (WriteBehindWriter가 실패한 배치를 재시도)
+ * - 블로킹 I/O는 이벤트 루프가 아닌 스케줄러(boundedElastic 등)에서 수행
+ * - 여러 배치가 동시에 write()될 수 있음 (WriteBehindWriter의 maxInFlight)
+ */
+public interface BatchSink<T> {
+
+    Mono<Void> write(List<T> batch);
+
+    /**
+     * 로그/통계에 표시할 이름
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,305 @@
+package io.codelee.webflux.common;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+/*
+ * long 키 전용 동시성 해시 맵 (키를 Long으로 박싱하지 않음)
+ *
+ * ConcurrentHashMap<Long, V>는 항목마다 Node(32B) + Long(16B) 객체가 추가로 생기므로
+ * 수백만 건이면 키 관리에만 수십~수백 MB를 사용함
+ *
+ * 구조:
+ * - 키 해시로 세그먼트(기본 64개)를 고르고, 세그먼트마다 long[] keys / Object[] values 의 개방 주소법(선형 탐사) 테이블
+ * - 항목당 메모리: 키 8B + 참조 4~8B (부하율 0.75 기준 약 16~21B)
+ * - 조회: StampedLock 낙관적 읽기 (쓰기와 겹치지 않으면 락 없이 완료, 겹치면 읽기 락으로 재시도)
+ * - 쓰기: 세그먼트 쓰기 락 (다른 세그먼트의 쓰기와는 경합하지 않음)
+ *
+ * 제약:
+ * - 키 0은 빈 슬롯 표시로 사용하므로 저장할 수 없음
+ * - null 값은 저장할 수 없음
+ */
+public class LongKeyedMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public LongKeyedMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    public LongKeyedMap(int segmentCount) {
+        int count = Integer.highestOneBit(Math.max(1, segmentCount - 1) << 1);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        this.segmentMask = count - 1;
+    }
+
+    public V get(long key) {
+        checkKey(key);
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    public V put(long key, V value) {
+        checkKey(key);
+        Objects.requireNonNull(value, "value");
+        long hash = mix(key);
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * @return 이미 있던 값, 없어서 새로 넣었으면 null
+     */
+    public V putIfAbsent(long key, V value) {
+        checkKey(key);
+        Objects.requireNonNull(value, "value");
+        long hash = mix(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * 키가 없을 때만 mappingFunction으로 값을 만들어 넣음 (세그먼트 쓰기 락 안에서 한 번만 호출됨)
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        long hash = mix(key);
+        return segmentFor(hash).computeIfAbsent(key, hash, mappingFunction);
+    }
+
+    /**
+     * @return 제거된 값, 없었으면 null
+     */
+    public V remove(long key) {
+        checkKey(key);
+        long hash = mix(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * 세그먼트 단위 스냅샷 순회 (세그먼트 읽기 락을 잡은 채로 action 호출 - action은 짧게 유지)
+     */
+    public void forEach(BiConsumer<Long, ? super V> action) {
+        for (Segment segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 40) & segmentMask];
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("키 0은 저장할 수 없음");
+        }
+    }
+
+    // 연속된 id도 테이블 전체에 고르게 퍼지도록 섞음 (SplitMix64 finalizer)
+    private static long mix(long key) {
+        long h = key;
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private volatile Table table = new Table(MIN_CAPACITY);
+        private volatile int size;
+
+        V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V find(Table current, long key, long hash) {
+            int index = (int) hash & current.mask;
+            // 낙관적 읽기 중에는 테이블이 바뀔 수 있으므로 탐사 횟수를 테이블 크기로 제한
+            for (int probe = 0; probe <= current.mask; probe++) {
+                long slot = current.keys[index];
+                if (slot == key) {
+                    return (V) current.values[index];
+                }
+                if (slot == EMPTY) {
+                    return null;
+                }
+                index = (index + 1) & current.mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(long key, long hash, V value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int index = indexOf(current, key, hash);
+                if (current.keys[index] == key) {
+                    V previous = (V) current.values[index];
+                    if (!onlyIfAbsent) {
+                        current.values[index] = value;
+                    }
+                    return previous;
+                }
+                insert(current, index, key, value);
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V computeIfAbsent(long key, long hash, LongFunction<? extends V> mappingFunction) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int index = indexOf(current, key, hash);
+                if (current.keys[index] == key) {
+                    return (V) current.values[index];
+                }
+                V value = Objects.requireNonNull(mappingFunction.apply(key), "computed value");
+                insert(current, index, key, value);
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /*
+         * 선형 탐사 테이블의 삭제: 빈 슬롯을 만든 뒤 뒤따르는 항목 중
+         * 원래 자리(home)가 빈 슬롯 이전인 항목을 당겨와 탐사 체인이 끊기지 않게 함 (tombstone 없음)
+         */
+        @SuppressWarnings("unchecked")
+        V remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int index = indexOf(current, key, hash);
+                if (current.keys[index] != key) {
+                    return null;
+                }
+                V removed = (V) current.values[index];
+                int gap = index;
+                int next = (gap + 1) & current.mask;
+                while (current.keys[next] != EMPTY) {
+                    int home = (int) mix(current.keys[next]) & current.mask;
+                    if (((next - home) & current.mask) >= ((next - gap) & current.mask)) {
+                        current.keys[gap] = current.keys[next];
+                        current.values[gap] = current.values[next];
+                        gap = next;
+                    }
+                    next = (next + 1) & current.mask;
+                }
+                current.keys[gap] = EMPTY;
+                current.values[gap] = null;
+                size--;
+                return removed;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void forEach(BiConsumer<Long, ? super V> action) {
+            long stamp = lock.readLock();
+            try {
+                Table current = table;
+                for (int i = 0; i <= current.mask; i++) {
+                    if (current.keys[i] != EMPTY) {
+                        @SuppressWarnings("unchecked")
+                        V value = (V) current.values[i];
+                        action.accept(current.keys[i], value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 키가 있으면 그 슬롯, 없으면 넣을 빈 슬롯 (쓰기 락 안에서만 호출)
+        private int indexOf(Table current, long key, long hash) {
+            int index = (int) hash & current.mask;
+            while (current.keys[index] != EMPTY && current.keys[index] != key) {
+                index = (index + 1) & current.mask;
+            }
+            return index;
+        }
+
+        private void insert(Table current, int index, long key, V value) {
+            current.values[index] = value;
+            current.keys[index] = key;
+            size++;
+            if (size > (current.mask + 1) * 3 / 4) {
+                table = resize(current);
+            }
+        }
+
+        private Table resize(Table current) {
+            Table resized = new Table((current.mask + 1) << 1);
+            for (int i = 0; i <= current.mask; i++) {
+                long key = current.keys[i];
+                if (key != EMPTY) {
+                    int index = (int) mix(key) & resized.mask;
+                    while (resized.keys[index] != EMPTY) {
+                        index = (index + 1) & resized.mask;
+                    }
+                    resized.keys[index] = key;
+                    resized.values[index] = current.values[i];
+                }
+            }
+            return resized;
+        }
+    }
+}
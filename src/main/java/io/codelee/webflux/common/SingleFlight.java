@@ -0,0 +1,152 @@
+package io.codelee.webflux.common;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * 같은 키로 동시에 들어온 요청을 하나의 실행으로 병합 (single-flight)
+ *
+ * 동작 방식:
+ * - 키에 대한 실행이 진행 중이면 새 구독자는 그 결과를 함께 받음
+ * - 결과(값, 빈 결과, 에러)가 나오면 키를 제거하므로 이후 요청은 새로 실행 (결과를 캐시하지 않음)
+ *
+ * 취소 처리:
+ * - 구독자 하나가 취소해도 다른 구독자가 남아 있으면 실행은 계속됨
+ * - 마지막 구독자가 취소하면 실행을 취소하고 키를 제거
+ *
+ * 주의:
+ * - 모든 구독자가 같은 값 객체를 받으므로 V는 읽기 전용으로 다뤄야 함
+ *   (ClientResponse처럼 한 번만 읽을 수 있는 값은 BufferedResponse 등으로 변환해서 사용)
+ * - 실행은 처음 요청한 구독자의 Context가 아닌 빈 Context에서 구독됨
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> supplier) {
+        return Mono.defer(() -> {
+            while (true) {
+                Flight<V> flight = flights.get(key);
+                if (flight == null) {
+                    Flight<V> created = new Flight<>();
+                    created.tryJoin();
+                    if (flights.putIfAbsent(key, created) == null) {
+                        executions.increment();
+                        start(key, created, supplier);
+                        return subscribe(key, created);
+                    }
+                    continue;
+                }
+                if (flight.tryJoin()) {
+                    shared.increment();
+                    return subscribe(key, flight);
+                }
+                // 모든 구독자가 떠나 취소된 실행 - 제거 후 다시 시도
+                flights.remove(key, flight);
+            }
+        });
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<Mono<V>> supplier) {
+        Mono<V> source;
+        try {
+            source = supplier.get();
+        } catch (Throwable error) {
+            flights.remove(key, flight);
+            flight.sink.tryEmitError(error);
+            return;
+        }
+        flight.upstream = source.subscribe(
+                value -> {
+                    flights.remove(key, flight);
+                    flight.sink.tryEmitValue(value);
+                },
+                error -> {
+                    flights.remove(key, flight);
+                    flight.sink.tryEmitError(error);
+                },
+                () -> {
+                    flights.remove(key, flight);
+                    flight.sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<V> subscribe(K key, Flight<V> flight) {
+        return flight.sink.asMono()
+                .doOnCancel(() -> {
+                    if (flight.leave()) {
+                        flights.remove(key, flight);
+                        Disposable upstream = flight.upstream;
+                        if (upstream != null) {
+                            upstream.dispose();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 현재 진행 중인 실행 수
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    public Stats stats() {
+        return new Stats(executions.sum(), shared.sum(), flights.size());
+    }
+
+    /**
+     * @param executions 실제로 실행된 횟수
+     * @param shared 진행 중인 실행에 합류해 결과를 공유한 요청 수
+     * @param inFlight 현재 진행 중인 실행 수
+     */
+    public record Stats(long executions, long shared, int inFlight) {
+    }
+
+    private static final class Flight<V> {
+
+        // 종료(모든 구독자 취소) 표시
+        private static final int CLOSED = -1;
+
+        private final Sinks.One<V> sink = Sinks.one();
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private volatile Disposable upstream;
+
+        boolean tryJoin() {
+            while (true) {
+                int current = subscribers.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (subscribers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return 마지막 구독자가 떠나 실행을 취소해야 하면 true
+         */
+        boolean leave() {
+            while (true) {
+                int current = subscribers.get();
+                if (current <= 0) {
+                    return false;
+                }
+                int next = current == 1 ? CLOSED : current - 1;
+                if (subscribers.compareAndSet(current, next)) {
+                    return next == CLOSED;
+                }
+            }
+        }
+    }
+}
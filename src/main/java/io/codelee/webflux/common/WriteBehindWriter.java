@@ -0,0 +1,331 @@
+package io.codelee.webflux.common;
+
+import io.codelee.webflux.config.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 쓰기 지연(write-behind) 파이프라인: 항목을 큐에 모았다가 BatchSink에 배치로 저장
+ *
+ * 흐름:
+ * submit(items) → 큐 (최대 maxQueued) → bufferTimeout(maxBatchSize, maxDelay) → flush (동시 최대 maxInFlight) → BatchSink.write()
+ *
+ * 배치 구성 (buffer-timeout):
+ * - maxBatchSize개가 모이거나, 첫 항목이 들어온 뒤 maxDelay가 지나면 그때까지 모인 항목으로 배치를 만듦
+ * - 배치 크기를 채울 만큼 요청이 많으면 크기 기준, 한가하면 시간 기준으로 flush됨
+ *
+ * 배압:
+ * - 저장 중인 배치가 maxInFlight개면 다음 배치를 만들지 않고 큐에 쌓음
+ * - 큐에 쌓인 항목이 maxQueued 이상이면 submit()이 공간이 생길 때까지 기다림
+ *   (스레드를 막지 않고 Mono 완료를 늦춤 - 이벤트 루프에서 호출해도 안전)
+ *
+ * 재시도:
+ * - 실패한 배치는 같은 항목으로 maxRetries번까지 지수 백오프 재시도
+ * - 끝내 실패하면 해당 배치 항목을 제출한 submit()이 에러로 완료되고, 파이프라인은 다음 배치를 계속 처리
+ *
+ * submit()이 돌려준 Mono는 넘긴 항목이 모두 저장(또는 실패)되면 완료됨
+ * 호출자가 기다리지 않고 구독만 해도 항목은 저장됨 (구독 취소해도 이미 큐에 넣은 항목은 저장)
+ * close() 이후의 submit()은 IllegalStateException으로 완료됨
+ * close()가 시간 안에 끝나지 않아 파이프라인을 중단하면, 저장 중이거나 큐에 남은 항목의 submit()도 IllegalStateException으로 완료됨
+ *
+ * 큐: 직렬화하지 않는 unicast sink + MPSC 큐
+ * - 여러 이벤트 루프 스레드가 동시에 넣어도 큐에 바로 들어감 (직렬화 sink처럼 FAIL_NON_SERIALIZED로 재시도하며 돌지 않음)
+ * - close()는 넣는 중인 submit()이 끝난 뒤 완료 신호를 보내므로 완료 뒤에 들어가 유실되는 항목이 없음
+ */
+@Slf4j
+public class WriteBehindWriter<T> implements AutoCloseable {
+
+    private static final int RATE_WINDOW_SECONDS = 10;
+    private static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BatchSink<T> sink;
+    private final int maxQueued;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    private final Sinks.Many<Entry<T>> queue;
+    private final Disposable pipeline;
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+    private volatile boolean running = true;
+    // 큐에 넣는 중인 submit() 수 (close()가 완료 신호 전에 기다림)
+    private final AtomicInteger emitting = new AtomicInteger();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Sinks.Empty<Void>> capacityWaiters = new ConcurrentLinkedQueue<>();
+    // 아직 완료되지 않은 submit() (파이프라인을 중단할 때 에러로 완료)
+    private final Set<Ticket> outstanding = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder flushedItems = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder backpressured = new LongAdder();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final ThroughputMeter throughput = new ThroughputMeter();
+
+    public WriteBehindWriter(BatchSink<T> sink, int maxBatchSize, Duration maxDelay, int maxInFlight,
+                             int maxQueued, int maxRetries, Duration retryBackoff) {
+        this.sink = sink;
+        this.maxQueued = maxQueued;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.queue = Sinks.unsafe().many().unicast()
+                .onBackpressureBuffer(Queues.<Entry<T>>unboundedMultiproducer().get());
+        this.pipeline = queue.asFlux()
+                // fairBackpressure=true: flush 자리가 없으면 배치를 만들지 않고 큐에 남겨 둠
+                .bufferTimeout(maxBatchSize, maxDelay, true)
+                .flatMap(this::flush, maxInFlight, 1)
+                .subscribe(null,
+                        error -> log.error("쓰기 지연 파이프라인 중단: sink={}", sink.name(), error),
+                        drained::tryEmitEmpty);
+        log.info("쓰기 지연 파이프라인 시작: sink={}, maxBatchSize={}, maxDelay={}, maxInFlight={}, maxQueued={}",
+                sink.name(), maxBatchSize, maxDelay, maxInFlight, maxQueued);
+    }
+
+    /**
+     * 항목을 큐에 넣고, 모두 저장되면 완료되는 Mono 반환
+     * 큐가 가득 차 있으면 공간이 생길 때까지 기다린 뒤 넣음
+     */
+    public Mono<Void> submit(List<T> items) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        return awaitCapacity().then(Mono.defer(() -> {
+            emitting.incrementAndGet();
+            try {
+                if (!running) {
+                    return Mono.error(closedError());
+                }
+                Ticket ticket = new Ticket(items.size(), outstanding);
+                queued.addAndGet(items.size());
+                int emitted = 0;
+                for (T item : items) {
+                    if (queue.tryEmitNext(new Entry<>(item, ticket)).isFailure()) {
+                        break;
+                    }
+                    emitted++;
+                }
+                submitted.add(emitted);
+                if (emitted < items.size()) {
+                    // 파이프라인이 중단되어 넣지 못한 항목은 큐 공간을 돌려주고 에러로 완료
+                    release(items.size() - emitted);
+                    ticket.fail(closedError());
+                }
+                return ticket.result.asMono();
+            } finally {
+                emitting.decrementAndGet();
+            }
+        }));
+    }
+
+    private IllegalStateException closedError() {
+        return new IllegalStateException("쓰기 지연 파이프라인이 종료됨: sink=" + sink.name());
+    }
+
+    private Mono<Void> awaitCapacity() {
+        return Mono.defer(() -> {
+            if (queued.get() < maxQueued) {
+                return Mono.empty();
+            }
+            Sinks.Empty<Void> waiter = Sinks.empty();
+            capacityWaiters.add(waiter);
+            // 등록 직전에 공간이 생겼을 수 있으므로 다시 확인 (깨우기 신호 유실 방지)
+            if (queued.get() < maxQueued && capacityWaiters.remove(waiter)) {
+                return Mono.empty();
+            }
+            backpressured.increment();
+            return waiter.asMono().then(awaitCapacity());
+        });
+    }
+
+    private void release(int count) {
+        if (queued.addAndGet(-count) < maxQueued) {
+            Sinks.Empty<Void> waiter;
+            while ((waiter = capacityWaiters.poll()) != null) {
+                waiter.tryEmitEmpty();
+            }
+        }
+    }
+
+    private Mono<Void> flush(List<Entry<T>> batch) {
+        List<T> items = batch.stream().map(Entry::item).toList();
+        return Mono.defer(() -> {
+                    inFlight.incrementAndGet();
+                    long startedAt = System.nanoTime();
+                    return sink.write(items)
+                            .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                                    .doBeforeRetry(signal -> {
+                                        retries.increment();
+                                        log.warn("배치 저장 재시도: sink={}, size={}, attempt={}, error={}",
+                                                sink.name(), items.size(), signal.totalRetries() + 1,
+                                                signal.failure().getMessage());
+                                    }))
+                            .doOnSuccess(ignored -> {
+                                flushLatency.record(System.nanoTime() - startedAt);
+                                flushedBatches.increment();
+                                flushedItems.add(items.size());
+                                throughput.record(items.size());
+                                finish(batch);
+                                batch.forEach(entry -> entry.ticket().completeOne());
+                            });
+                })
+                .onErrorResume(error -> {
+                    failedBatches.increment();
+                    log.error("배치 저장 실패: sink={}, size={}", sink.name(), items.size(), error);
+                    finish(batch);
+                    batch.forEach(entry -> entry.ticket().fail(error));
+                    return Mono.empty();
+                })
+                .doOnCancel(() -> {
+                    // close() 시간 초과로 파이프라인을 중단 - 저장 결과를 알 수 없으므로 에러로 완료
+                    finish(batch);
+                    IllegalStateException error = closedError();
+                    batch.forEach(entry -> entry.ticket().fail(error));
+                });
+    }
+
+    // 큐 공간을 돌려준 뒤 submit()을 완료시켜야 완료된 호출자가 보는 통계(queued/inFlight)가 일관됨
+    private void finish(List<Entry<T>> batch) {
+        inFlight.decrementAndGet();
+        release(batch.size());
+    }
+
+    @Override
+    public void close() {
+        close(DEFAULT_CLOSE_TIMEOUT);
+    }
+
+    /**
+     * 새 항목을 받지 않고, 이미 받은 항목을 모두 저장할 때까지 최대 timeout 동안 기다림
+     */
+    public void close(Duration timeout) {
+        running = false;
+        // 이미 running을 확인하고 넣는 중인 submit()이 끝날 때까지 대기 (항목 수만큼의 큐 삽입이라 짧음)
+        while (emitting.get() != 0) {
+            Thread.onSpinWait();
+        }
+        queue.tryEmitComplete();
+        try {
+            drained.asMono().block(timeout);
+        } catch (RuntimeException e) {
+            log.warn("쓰기 지연 파이프라인 종료 대기 시간 초과: sink={}, queued={}", sink.name(), queued.get());
+            pipeline.dispose();
+            failOutstanding();
+        }
+        log.info("쓰기 지연 파이프라인 종료: sink={}, {}", sink.name(), stats());
+    }
+
+    // 중단된 파이프라인의 큐에 남아 저장되지 않을 항목의 submit()을 에러로 완료
+    private void failOutstanding() {
+        IllegalStateException error = closedError();
+        for (Ticket ticket : List.copyOf(outstanding)) {
+            ticket.fail(error);
+        }
+        int remaining = queued.get();
+        if (remaining > 0) {
+            release(remaining);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(submitted.sum(), flushedItems.sum(), flushedBatches.sum(), failedBatches.sum(),
+                retries.sum(), backpressured.sum(), queued.get(), inFlight.get(), throughput.perSecond(),
+                flushLatency.snapshot());
+    }
+
+    /**
+     * 쓰기 지연 파이프라인 통계
+     * @param submitted 제출된 항목 수
+     * @param flushedItems 저장된 항목 수
+     * @param flushedBatches 저장된 배치 수
+     * @param failedBatches 재시도 후에도 실패한 배치 수
+     * @param retries 배치 재시도 횟수
+     * @param backpressured 큐가 가득 차 기다린 submit 수
+     * @param queued 저장 대기 중인 항목 수 (저장 중인 배치 포함)
+     * @param inFlight 저장 중인 배치 수
+     * @param itemsPerSecond 최근 10초간 초당 저장 항목 수
+     * @param flushLatency 배치 저장 시간 분포 (재시도 포함)
+     */
+    public record Stats(long submitted, long flushedItems, long flushedBatches, long failedBatches, long retries,
+                        long backpressured, int queued, int inFlight, double itemsPerSecond,
+                        LatencyHistogram.Snapshot flushLatency) {
+    }
+
+    private record Entry<T>(T item, Ticket ticket) {
+    }
+
+    // submit() 한 번에 해당하는 항목들의 완료 추적
+    private static final class Ticket {
+
+        private final AtomicInteger remaining;
+        private final Sinks.Empty<Void> result = Sinks.empty();
+        private final Set<Ticket> outstanding;
+
+        Ticket(int count, Set<Ticket> outstanding) {
+            this.remaining = new AtomicInteger(count);
+            this.outstanding = outstanding;
+            outstanding.add(this);
+        }
+
+        void completeOne() {
+            if (remaining.decrementAndGet() == 0) {
+                outstanding.remove(this);
+                result.tryEmitEmpty();
+            }
+        }
+
+        void fail(Throwable error) {
+            outstanding.remove(this);
+            result.tryEmitError(error);
+        }
+    }
+
+    /*
+     * 최근 RATE_WINDOW_SECONDS초 동안의 초당 처리량
+     * 초 단위 버킷(epoch second별 count)을 링 버퍼로 유지
+     */
+    private static final class ThroughputMeter {
+
+        private final AtomicLongArray seconds = new AtomicLongArray(RATE_WINDOW_SECONDS);
+        private final AtomicLongArray counts = new AtomicLongArray(RATE_WINDOW_SECONDS);
+        private final long startedAt = System.currentTimeMillis() / 1000;
+
+        void record(long items) {
+            long now = System.currentTimeMillis() / 1000;
+            int index = (int) (now % RATE_WINDOW_SECONDS);
+            long bucketSecond = seconds.get(index);
+            if (bucketSecond != now && seconds.compareAndSet(index, bucketSecond, now)) {
+                counts.set(index, 0);
+            }
+            counts.addAndGet(index, items);
+        }
+
+        double perSecond() {
+            long now = System.currentTimeMillis() / 1000;
+            long total = 0;
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                if (now - seconds.get(i) < RATE_WINDOW_SECONDS) {
+                    total += counts.get(i);
+                }
+            }
+            long window = Math.min(RATE_WINDOW_SECONDS, Math.max(1, now - startedAt + 1));
+            return (double) total / window;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.codelee.webflux.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 목적지(클라이언트)별 ConnectionProvider 레지스트리
+ * 역할:
+ * 1. 클라이언트 이름당 하나의 커넥션 풀만 생성하고 재사용
+ * 2. 클라이언트별 풀 설정(webclient.clients.<name>.pool.*) 적용, 미지정 항목은 전역 설정 사용
+ * 3. 애플리케이션 종료 시 모든 풀을 정리
+ * 4. webclient.metrics-enabled=true 이면 풀 게이지(사용 중/유휴/획득 대기) 수집
+ *
+ * 이전에는 createClientConnector() 호출마다 "webclient-pool" 이름의 풀이 새로 만들어져
+ * WebClient Bean 수만큼 100개짜리 풀이 생기고, 풀 메트릭도 같은 이름으로 섞였음
+ */
+@Component
+@Slf4j
+public class ConnectionPoolRegistry implements DisposableBean {
+
+    private static final Duration DISPOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebClientProperties properties;
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    // key: 클라이언트 이름 → 원격 주소별 풀 메트릭 (하나의 ConnectionProvider는 원격 주소마다 풀을 따로 가짐)
+    private final Map<String, Map<String, ConnectionProvider.ConnectionPoolMetrics>> poolMetrics = new ConcurrentHashMap<>();
+
+    public ConnectionPoolRegistry(WebClientProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 클라이언트 이름에 해당하는 ConnectionProvider 조회
+     * 최초 조회 시에만 생성되며, 이후에는 같은 인스턴스를 반환
+     */
+    public ConnectionProvider getProvider(String clientName) {
+        return providers.computeIfAbsent(clientName, this::createProvider);
+    }
+
+    /*
+     * ConnectionProvider 설정 상세:
+     *
+     * maxConnections (기본 100):
+     * - 동시에 유지할 수 있는 최대 커넥션 수
+     * - 초과 시 pending acquire 큐에서 대기
+     *
+     * pendingAcquireMaxCount (기본 1000):
+     * - 커넥션을 기다릴 수 있는 최대 요청 수
+     * - 초과 시 즉시 PoolAcquirePendingLimitException 발생 (무한 대기열 방지)
+     *
+     * leasingStrategy (기본 FIFO):
+     * - FIFO: 오래된 유휴 커넥션부터 사용
+     * - LIFO: 최근 반납된 커넥션부터 사용
+     *
+     * maxIdleTime / maxLifeTime:
+     * - 유휴 시간 / 전체 생명주기 초과 시 커넥션 해제
+     *
+     * pendingAcquireTimeout (기본 5초):
+     * - 커넥션 풀에서 커넥션을 얻기까지 최대 대기 시간
+     *
+     * evictInBackground (30초):
+     * - 백그라운드에서 만료된 커넥션을 정리하는 주기
+     */
+    private ConnectionProvider createProvider(String clientName) {
+        WebClientProperties.ClientProperties client = properties.getClient(clientName);
+        WebClientProperties.Pool pool = client.getPool();
+
+        int maxConnections = pool.getMaxConnections() != null
+                ? pool.getMaxConnections() : properties.getMaxConnections();
+        int pendingAcquireMaxCount = pool.getPendingAcquireMaxCount() != null
+                ? pool.getPendingAcquireMaxCount() : properties.getPendingAcquireMaxCount();
+        WebClientProperties.LeasingStrategy leasingStrategy = pool.getLeasingStrategy() != null
+                ? pool.getLeasingStrategy() : properties.getLeasingStrategy();
+        Duration maxIdleTime = pool.getMaxIdleTime() != null
+                ? pool.getMaxIdleTime() : Duration.ofSeconds(properties.getMaxIdleTimeSeconds());
+        Duration maxLifeTime = pool.getMaxLifeTime() != null
+                ? pool.getMaxLifeTime() : Duration.ofSeconds(properties.getMaxLifeTimeSeconds());
+        Duration acquireTimeout = pool.getAcquireTimeout() != null
+                ? pool.getAcquireTimeout() : Duration.ofSeconds(properties.getAcquireTimeoutSeconds());
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("webclient-" + clientName)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30)); // 백그라운드 정리
+
+        /*
+         * metrics(true, registrar):
+         * - Micrometer 없이 풀이 생성/해제될 때 ConnectionPoolMetrics를 전달받음
+         * - 게이지 값은 조회 시점에 풀에서 직접 읽으므로 기록 비용 없음
+         */
+        if (properties.isMetricsEnabled()) {
+            builder.metrics(true, () -> new PoolMetricsRegistrar(clientName));
+        }
+
+        if (leasingStrategy == WebClientProperties.LeasingStrategy.LIFO) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+
+        /*
+         * HTTP/2 전용 클라이언트는 스트림 다중화 기준으로 풀을 구성
+         * - allocationStrategy가 지정되면 maxConnections 대신 HTTP/2 커넥션 수/스트림 수 제한을 사용
+         * - NEGOTIATE는 HTTP/1.1로 협상될 수 있으므로 일반 풀 설정을 유지
+         */
+        if (client.getProtocol() == WebClientProperties.HttpProtocolMode.H2) {
+            WebClientProperties.Http2 http2 = client.getHttp2();
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(http2.getMaxConnections())
+                    .minConnections(http2.getMinConnections())
+                    .maxConcurrentStreams(http2.getMaxStreamsPerConnection())
+                    .build());
+            log.info("5.0. HTTP/2 커넥션 풀 설정: client={}, maxConnections={}, maxStreamsPerConnection={}",
+                    clientName, http2.getMaxConnections(), http2.getMaxStreamsPerConnection());
+        }
+
+        log.info("5.0. 커넥션 풀 생성: client={}, maxConnections={}, pendingAcquireMaxCount={}, leasing={}, maxIdleTime={}, maxLifeTime={}",
+                clientName, maxConnections, pendingAcquireMaxCount, leasingStrategy, maxIdleTime, maxLifeTime);
+
+        return builder.build();
+    }
+
+    /**
+     * 클라이언트별, 원격 주소별 커넥션 풀 게이지
+     * 아직 커넥션을 맺지 않은 클라이언트는 포함되지 않음
+     */
+    public Map<String, Map<String, PoolStats>> getPoolStats() {
+        Map<String, Map<String, PoolStats>> stats = new TreeMap<>();
+        poolMetrics.forEach((clientName, pools) -> {
+            Map<String, PoolStats> byAddress = new TreeMap<>();
+            pools.forEach((address, metrics) -> byAddress.put(address, PoolStats.of(metrics)));
+            stats.put(clientName, byAddress);
+        });
+        return stats;
+    }
+
+    private class PoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        private final String clientName;
+
+        PoolMetricsRegistrar(String clientName) {
+            this.clientName = clientName;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                    ConnectionProvider.ConnectionPoolMetrics metrics) {
+            log.debug("5.0. 커넥션 풀 메트릭 등록: client={}, remoteAddress={}", clientName, remoteAddress);
+            poolMetrics.computeIfAbsent(clientName, name -> new ConcurrentHashMap<>())
+                    .put(remoteAddress.toString(), metrics);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            Map<String, ConnectionProvider.ConnectionPoolMetrics> pools = poolMetrics.get(clientName);
+            if (pools != null) {
+                pools.remove(remoteAddress.toString());
+            }
+        }
+    }
+
+    /**
+     * 커넥션 풀 게이지
+     * @param active 사용 중인(임대된) 커넥션 수
+     * @param idle 유휴 커넥션 수
+     * @param pendingAcquire 커넥션을 기다리는 요청 수
+     * @param allocated 생성된 전체 커넥션 수
+     * @param maxAllocated 최대 커넥션 수
+     * @param maxPendingAcquire 최대 대기 요청 수
+     */
+    public record PoolStats(int active, int idle, int pendingAcquire, int allocated, int maxAllocated,
+                            int maxPendingAcquire) {
+
+        static PoolStats of(ConnectionProvider.ConnectionPoolMetrics metrics) {
+            return new PoolStats(metrics.acquiredSize(), metrics.idleSize(), metrics.pendingAcquireSize(),
+                    metrics.allocatedSize(), metrics.maxAllocatedSize(), metrics.maxPendingAcquireSize());
+        }
+    }
+
+    /*
+     * 애플리케이션 종료 시 모든 커넥션 풀 정리
+     * disposeLater(): 유휴 커넥션을 닫고 풀을 비활성화하는 비동기 작업
+     * 종료 단계이므로 완료될 때까지(최대 10초) 대기
+     */
+    @Override
+    public void destroy() {
+        log.info("커넥션 풀 정리 시작: {}", providers.keySet());
+        Mono.whenDelayError(providers.values().stream()
+                        .map(ConnectionProvider::disposeLater)
+                        .toList())
+                .block(DISPOSE_TIMEOUT);
+        providers.clear();
+        poolMetrics.clear();
+    }
+}
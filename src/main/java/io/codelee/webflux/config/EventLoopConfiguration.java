@@ -0,0 +1,81 @@
+package io.codelee.webflux.config;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+/*
+ * 이벤트 루프 분리 설정
+ * 역할:
+ * 1. WebFlux 서버(인바운드)와 WebClient(아웃바운드)가 서로 다른 이벤트 루프를 사용하도록 구성
+ * 2. 스레드 수, 네이티브 트랜스포트 사용 여부를 설정으로 노출
+ *
+ * 분리 이유:
+ * - 기본 설정에서는 서버와 모든 WebClient가 Reactor Netty 전역 루프(HttpResources)를 공유
+ * - batchInsertGroupPosts, testDelay처럼 업스트림 호출이 많은 엔드포인트가
+ *   응답 디코딩으로 루프를 점유하면 인바운드 accept/IO 처리까지 밀리게 됨
+ */
+@Configuration
+@EnableConfigurationProperties(WebServerProperties.class)
+@Slf4j
+public class EventLoopConfiguration {
+
+    /**
+     * WebClient 전용 이벤트 루프
+     * WebClientBuilderFactory가 만드는 모든 HttpClient가 공유
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources clientLoopResources(WebClientProperties properties) {
+        WebClientProperties.EventLoop eventLoop = properties.getEventLoop();
+        LoopResources loopResources = LoopResources.create("webclient", eventLoop.getWorkerThreads(), true);
+        log.info("이벤트 루프 생성: target=client, workerThreads={}, transport={}", eventLoop.getWorkerThreads(),
+                transportName(loopResources, loopResources.onClient(eventLoop.isPreferNative())));
+        return loopResources;
+    }
+
+    /**
+     * WebFlux 서버 전용 이벤트 루프
+     * select(accept) 스레드와 worker 스레드를 분리하여 생성
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(WebServerProperties properties) {
+        WebServerProperties.EventLoop eventLoop = properties.getEventLoop();
+        LoopResources loopResources = LoopResources.create("webflux-server",
+                eventLoop.getSelectThreads(), eventLoop.getWorkerThreads(), true);
+        log.info("이벤트 루프 생성: target=server, selectThreads={}, workerThreads={}, transport={}",
+                eventLoop.getSelectThreads(), eventLoop.getWorkerThreads(),
+                transportName(loopResources, loopResources.onServer(eventLoop.isPreferNative())));
+        return loopResources;
+    }
+
+    /*
+     * NettyServerCustomizer는 Spring Boot가 HttpServer를 구성한 뒤에 적용되므로
+     * ReactorResourceFactory의 전역 루프 대신 서버 전용 루프를 사용하게 됨
+     */
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> serverEventLoopCustomizer(
+            @Qualifier("serverLoopResources") LoopResources serverLoopResources,
+            WebServerProperties properties) {
+        boolean preferNative = properties.getEventLoop().isPreferNative();
+        return factory -> factory.addServerCustomizers(httpServer ->
+                httpServer.runOn(serverLoopResources, preferNative));
+    }
+
+    /*
+     * 실제 사용될 트랜스포트를 로그로 남기기 위한 확인
+     * - Reactor Netty는 io_uring(incubator 라이브러리 존재 시) > epoll > kqueue 순으로 네이티브를 선택하고, 없으면 NIO
+     * - 직접 판단하지 않고 루프 그룹에 맞춰 Reactor Netty가 고른 채널 클래스를 그대로 사용
+     *   (예: EpollSocketChannel, KQueueSocketChannel, IOUringSocketChannel, NioSocketChannel)
+     * - 루프 그룹은 LoopResources 안에 캐시되므로 여기서 만든 그룹을 서버/클라이언트가 그대로 사용
+     */
+    private static String transportName(LoopResources loopResources, EventLoopGroup group) {
+        return loopResources.onChannelClass(SocketChannel.class, group).getSimpleName();
+    }
+}
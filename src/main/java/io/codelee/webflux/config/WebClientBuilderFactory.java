@@ -1,7 +1,25 @@
 package io.codelee.webflux.config;
 
+import io.codelee.webflux.common.SingleFlight;
+import io.codelee.webflux.config.cache.HttpCacheFilter;
+import io.codelee.webflux.config.cache.RequestCoalescingFilter;
+import io.codelee.webflux.config.codec.RequestCompressionFilter;
+import io.codelee.webflux.config.codec.SpillToDiskFilter;
+import io.codelee.webflux.config.logging.AccessLogFilter;
+import io.codelee.webflux.config.logging.AccessLogRecorder;
+import io.codelee.webflux.config.metrics.ClientMetricsFilter;
+import io.codelee.webflux.config.metrics.ConnectionPhaseMetrics;
+import io.codelee.webflux.config.metrics.LatencyHistogram;
+import io.codelee.webflux.config.resilience.AdmissionControlFilter;
+import io.codelee.webflux.config.resilience.HedgingFilter;
+import io.codelee.webflux.config.resilience.HostRateLimiter;
+import io.codelee.webflux.config.resilience.RateLimitFilter;
+import io.codelee.webflux.config.resilience.RetryBudgetFilter;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
@@ -9,22 +27,36 @@ import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.ClientCodecConfigurer;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
-import reactor.util.retry.Retry;
+import reactor.netty.resources.LoopResources;
 
 import javax.net.ssl.SSLException;
 import java.io.IOException;
-import java.time.Duration;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /*
@@ -37,12 +69,43 @@ import java.util.function.Consumer;
  */
 @Component
 @Slf4j
-public class WebClientBuilderFactory {
+public class WebClientBuilderFactory implements DisposableBean {
+
+    // 클라이언트 이름이 지정되지 않은 Builder(@Primary 등)가 사용하는 풀 이름
+    public static final String DEFAULT_CLIENT = "default";
 
     private final WebClientProperties properties;
+    private final ConnectionPoolRegistry connectionPoolRegistry;
+    private final LoopResources clientLoopResources;
+
+    // 모든 클라이언트가 공유하는 접근 로그 기록기 (loggingEnabled=false 이면 null)
+    private final AccessLogRecorder accessLogRecorder;
+
+    // 캐시/병합 필터가 만든 응답이 사용하는 클라이언트별 코덱 설정 (Builder의 코덱 설정과 동일)
+    private final Map<String, ExchangeStrategies> exchangeStrategies = new ConcurrentHashMap<>();
 
-    public WebClientBuilderFactory(WebClientProperties properties) {
+    // 클라이언트별로 상태(통계, 예산)를 가지는 필터
+    private final Map<String, ClientMetricsFilter> metricsFilters = new ConcurrentHashMap<>();
+    private final Map<String, SpillToDiskFilter> spillFilters = new ConcurrentHashMap<>();
+    private final Map<String, RequestCompressionFilter> compressionFilters = new ConcurrentHashMap<>();
+    private final Set<Path> cleanedSpillDirectories = ConcurrentHashMap.newKeySet();
+    private final Map<String, HttpCacheFilter> cacheFilters = new ConcurrentHashMap<>();
+    private final Map<String, RequestCoalescingFilter> coalescingFilters = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudgetFilter> retryFilters = new ConcurrentHashMap<>();
+    private final Map<String, HedgingFilter> hedgingFilters = new ConcurrentHashMap<>();
+    private final Map<String, RateLimitFilter> rateLimitFilters = new ConcurrentHashMap<>();
+    private final Map<String, AdmissionControlFilter> admissionControlFilters = new ConcurrentHashMap<>();
+
+    // 클라이언트별 연결 단계(dns/connect/tls/acquire/ttfb/body) 시간 측정 (커넥터와 필터가 공유)
+    private final Map<String, ConnectionPhaseMetrics> connectionPhaseMetrics = new ConcurrentHashMap<>();
+
+    public WebClientBuilderFactory(WebClientProperties properties,
+                                   ConnectionPoolRegistry connectionPoolRegistry,
+                                   @Qualifier("clientLoopResources") LoopResources clientLoopResources) {
         this.properties = properties;
+        this.connectionPoolRegistry = connectionPoolRegistry;
+        this.clientLoopResources = clientLoopResources;
+        this.accessLogRecorder = properties.isLoggingEnabled() ? new AccessLogRecorder(properties.getAccessLog()) : null;
         log.info("1. WebClientBuilderFactory 초기화 완료");
     }
 
@@ -55,22 +118,48 @@ public class WebClientBuilderFactory {
      * - 필터 체인 (로깅, 재시도, 에러 핸들링)
      */
     public WebClient.Builder createBuilder() {
-        log.debug("4. 공통 설정으로 WebClient.Builder 생성");
+        return createClientBuilder(DEFAULT_CLIENT);
+    }
+
+    /*
+     * 클라이언트 이름 기반 Builder 생성
+     * - 클라이언트 이름은 커넥션 풀 등 목적지별 자원과 설정(webclient.clients.<name>)의 키로 사용됨
+     */
+    private WebClient.Builder createClientBuilder(String clientName) {
+        log.debug("4. 공통 설정으로 WebClient.Builder 생성: client={}", clientName);
 
         /*
          * 필터 순서의 중요성:
          * 1. 로깅 필터 (가장 먼저 - 모든 요청/응답 기록)
-         * 2. 재시도 필터 (중간 - 실패 시 재시도)
-         * 3. 에러 핸들링 필터 (마지막 - 최종 에러 처리)
+         * 2. 메트릭 필터 (호출자가 체감하는 응답 시간 - 캐시 적중/재시도 대기 포함)
+         * 3. 본문 넘김 필터 (최종 응답 본문이 메모리 제한을 넘으면 임시 파일로 받음)
+         * 4. 캐시 필터 (캐시 적중 시 아래 단계를 모두 건너뜀)
+         * 5. 병합 필터 (캐시 미스 중 동시에 진행 중인 같은 요청은 하나로 합침)
+         * 6. 재시도 필터 (중간 - 실패 시 재시도)
+         * 7. 헤징 필터 (재시도 안쪽 - 재시도마다 헤지, 헤지마다 재시도하지 않도록)
+         * 8. 속도 제한 필터 (호스트별 토큰 버킷 - 재시도/헤지 요청도 속도 제한 대상)
+         * 9. 수락 제어 필터 (서킷 브레이커 + 동시성 제한 - 실제로 나가는 모든 시도에 적용)
+         * 10. 연결 단계 측정 필터 (실제로 나가는 시도마다 단계별 시간 기록)
+         * 11. 요청 압축 필터 (실제로 쓰이는 본문을 압축 - 메트릭/로그는 압축 전 크기 기준)
+         * 12. 에러 핸들링 필터 (마지막 - 최종 에러 처리)
          *
-         * 실행 순서: 로깅 → 재시도 → 에러핸들링 → 실제 HTTP 요청
-         * 응답 순서: 실제 HTTP 응답 → 에러핸들링 → 재시도 → 로깅
+         * 실행 순서: 로깅 → 메트릭 → 본문 넘김 → 캐시 → 병합 → 재시도 → 헤징 → 속도 제한 → 수락 제어 → 연결 단계 측정 → 요청 압축 → 에러핸들링 → 실제 HTTP 요청
+         * 응답 순서: 실제 HTTP 응답 → 에러핸들링 → 요청 압축 → 연결 단계 측정 → 수락 제어 → 속도 제한 → 헤징 → 재시도 → 병합 → 캐시 → 본문 넘김 → 메트릭 → 로깅
          */
         return WebClient.builder()
-                .clientConnector(createClientConnector())
-                .codecs(this::configureCodecs)
-                .filter(createLoggingFilter())
-                .filter(createRetryFilter())
+                .clientConnector(createClientConnector(clientName))
+                .codecs(configurer -> configureCodecs(configurer, maxInMemorySizeOf(clientName)))
+                .filter(createLoggingFilter(clientName))
+                .filter(createMetricsFilter(clientName))
+                .filter(createSpillFilter(clientName))
+                .filter(createCacheFilter(clientName))
+                .filter(createCoalescingFilter(clientName))
+                .filter(createRetryFilter(clientName))
+                .filter(createHedgingFilter(clientName))
+                .filter(createRateLimitFilter(clientName))
+                .filter(createAdmissionControlFilter(clientName))
+                .filter(createConnectionTimingFilter(clientName))
+                .filter(createRequestCompressionFilter(clientName))
                 .filter(createErrorHandlingFilter());
     }
 
@@ -79,8 +168,17 @@ public class WebClientBuilderFactory {
      * 사용처: 특정 API 서버용 WebClient를 만들 때
      */
     public WebClient.Builder createBuilder(String baseUrl) {
-        log.info("3. WebClient.Builder 생성: baseUrl={}", baseUrl);
-        return createBuilder().baseUrl(baseUrl);
+        return createBuilder(clientNameOf(baseUrl), baseUrl);
+    }
+
+    /**
+     * 기본 설정 + 클라이언트 이름 + BaseURL이 적용된 Builder 생성
+     * 사용처: 목적지별 커넥션 풀/설정을 명시적으로 구분하고 싶을 때
+     * 같은 이름으로 여러 번 생성해도 커넥션 풀은 하나만 공유됨
+     */
+    public WebClient.Builder createBuilder(String clientName, String baseUrl) {
+        log.info("3. WebClient.Builder 생성: client={}, baseUrl={}", clientName, baseUrl);
+        return createClientBuilder(clientName).baseUrl(baseUrl);
     }
 
     /**
@@ -98,51 +196,44 @@ public class WebClientBuilderFactory {
      * }).build();
      */
     public WebClient.Builder createBuilder(String baseUrl, Consumer<WebClient.Builder> customizer) {
-        log.info("🔧 커스터마이징 WebClient.Builder 생성: baseUrl={}", baseUrl);
-        WebClient.Builder builder = createBuilder(baseUrl);
+        return createBuilder(clientNameOf(baseUrl), baseUrl, customizer);
+    }
+
+    /**
+     * 기본 설정 + 클라이언트 이름 + BaseURL + 추가 커스터마이징이 적용된 Builder 생성
+     */
+    public WebClient.Builder createBuilder(String clientName, String baseUrl, Consumer<WebClient.Builder> customizer) {
+        log.info("🔧 커스터마이징 WebClient.Builder 생성: client={}, baseUrl={}", clientName, baseUrl);
+        WebClient.Builder builder = createBuilder(clientName, baseUrl);
         customizer.accept(builder); // ← 사용자 정의 설정 적용
         return builder;
 
     }
 
+    /*
+     * 클라이언트 이름이 없으면 BaseURL의 호스트를 목적지 이름으로 사용
+     * - 같은 호스트를 바라보는 Builder들은 하나의 커넥션 풀을 공유
+     */
+    private String clientNameOf(String baseUrl) {
+        String host = URI.create(baseUrl).getHost();
+        return host != null ? host : DEFAULT_CLIENT;
+    }
+
     /*
      * ClientHttpConnector의 역할:
      * - 실제 HTTP 통신을 담당하는 저수준 컴포넌트
      * - Reactor Netty HttpClient를 WebClient에서 사용할 수 있도록 래핑
      * - 커넥션 풀, 타임아웃, SSL 등의 네트워크 설정 담당
      */
-    private ClientHttpConnector createClientConnector() {
-        log.debug("5. ClientHttpConnector 생성 중...");
+    private ClientHttpConnector createClientConnector(String clientName) {
+        log.debug("5. ClientHttpConnector 생성 중: client={}", clientName);
 
         /*
-         * ConnectionProvider 설정 상세:
-         *
-         * maxConnections (기본 100):
-         * - 동시에 유지할 수 있는 최대 커넥션 수
-         * - 초과 시 대기하거나 새로운 커넥션 생성
-         *
-         * maxIdleTime (기본 30초):
-         * - 사용되지 않는 커넥션을 얼마나 유지할지
-         * - 시간 초과 시 커넥션 해제
-         *
-         * maxLifeTime (기본 300초 = 5분):
-         * - 커넥션의 전체 생명주기
-         * - 시간 초과 시 강제로 새로운 커넥션 생성
-         *
-         * pendingAcquireTimeout (기본 5초):
-         * - 커넥션 풀에서 커넥션을 얻기까지 최대 대기 시간
-         * - 초과 시 TimeoutException 발생
-         *
-         * evictInBackground (30초):
-         * - 백그라운드에서 만료된 커넥션을 정리하는 주기
+         * 커넥션 풀은 ConnectionPoolRegistry에서 목적지(클라이언트)별로 하나만 생성됨
+         * - 풀 크기, 대기열, 임대 전략, 유휴/생명주기는 webclient.clients.<name>.pool.* 로 설정
+         * - 자세한 설정 설명은 ConnectionPoolRegistry 참고
          */
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("webclient-pool")
-                .maxConnections(properties.getMaxConnections())
-                .maxIdleTime(Duration.ofSeconds(properties.getMaxIdleTimeSeconds()))
-                .maxLifeTime(Duration.ofSeconds(properties.getMaxLifeTimeSeconds()))
-                .pendingAcquireTimeout(Duration.ofSeconds(properties.getAcquireTimeoutSeconds()))
-                .evictInBackground(Duration.ofSeconds(30)) // 백그라운드 정리
-                .build();
+        ConnectionProvider connectionProvider = connectionPoolRegistry.getProvider(clientName);
 
         /*
          * 타임아웃 종류별 설명:
@@ -164,7 +255,13 @@ public class WebClientBuilderFactory {
          * - 대용량 파일 업로드 시 중요
          */
         // HTTP 클라이언트 생성 및 설정
+        /*
+         * runOn(clientLoopResources, preferNative):
+         * - 서버와 분리된 WebClient 전용 이벤트 루프에서 업스트림 I/O 처리
+         * - preferNative=true면 네이티브 트랜스포트, 불가능하면 NIO
+         */
         HttpClient httpClient = HttpClient.create(connectionProvider)
+                .runOn(clientLoopResources, properties.getEventLoop().isPreferNative())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
                 .responseTimeout(properties.getResponseTimeout())
                 .doOnConnected(conn ->
@@ -178,14 +275,31 @@ public class WebClientBuilderFactory {
          * - 운영 환경에서는 절대 사용 금지 (보안 위험)
          * - properties.isTrustAllCerts()가 false일 때는 기본 SSL 검증 사용
          */
+        WebClientProperties.ClientProperties client = properties.getClient(clientName);
+        httpClient = configureProtocol(httpClient, client);
+        httpClient = configureCompression(httpClient, clientName, client.getCompression());
+
+        // 연결 단계별 시간 측정 (dns, connect, tls, acquire, ttfb, body)
+        if (properties.isMetricsEnabled()) {
+            httpClient = connectionPhaseMetricsOf(clientName).instrument(httpClient);
+        }
+
         if (properties.isTrustAllCerts()) {
             log.warn("5.1. SSL 인증서 검증 비활성화 (개발 환경 전용)");
-            httpClient = httpClient.secure(sslSpec ->
-                    sslSpec.sslContext(createTrustAllSslContext()));
+            if (client.getProtocol() == WebClientProperties.HttpProtocolMode.H1) {
+                httpClient = httpClient.secure(sslSpec ->
+                        sslSpec.sslContext(createTrustAllSslContext()));
+            } else {
+                // HTTP/2는 ALPN 설정이 포함된 SslContext가 필요
+                httpClient = httpClient.secure(sslSpec ->
+                        sslSpec.sslContext(Http2SslContextSpec.forClient()
+                                .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE))));
+            }
         }
 
-        log.debug("5.1. HttpClient 설정 완료: maxConnections={}, connectTimeout={}ms, responseTimeout={}",
-                properties.getMaxConnections(),
+        log.debug("5.1. HttpClient 설정 완료: client={}, protocol={}, connectTimeout={}ms, responseTimeout={}",
+                clientName,
+                client.getProtocol(),
                 properties.getConnectTimeout().toMillis(),
                 properties.getResponseTimeout());
 
@@ -198,24 +312,192 @@ public class WebClientBuilderFactory {
         return new ReactorClientHttpConnector(httpClient);
     }
 
+    // ============== 5.2. HTTP 프로토콜 설정 ==============
+    /*
+     * 프로토콜 모드별 Reactor Netty 설정:
+     *
+     * H1 (기본값):
+     * - HTTP/1.1만 사용, 동시 요청 수만큼 TCP 커넥션 필요
+     *
+     * H2:
+     * - HttpProtocol.H2 + H2C 동시 지정
+     * - https 목적지는 TLS ALPN으로 h2, http 목적지는 h2c prior knowledge (Upgrade 없이 바로 HTTP/2)
+     * - 동시 요청은 소수의 커넥션 위 스트림으로 다중화됨 (커넥션 수는 ConnectionPoolRegistry에서 제한)
+     *
+     * NEGOTIATE:
+     * - HTTP11 + H2 + H2C 지정
+     * - https는 ALPN으로 서버가 h2 / http/1.1 중 선택, http는 HTTP/1.1 Upgrade 요청으로 h2c 협상
+     *
+     * http2Settings.maxConcurrentStreams:
+     * - 클라이언트가 SETTINGS 프레임으로 서버에 알리는 동시 스트림 수
+     */
+    private HttpClient configureProtocol(HttpClient httpClient, WebClientProperties.ClientProperties client) {
+        return switch (client.getProtocol()) {
+            case H1 -> httpClient.protocol(HttpProtocol.HTTP11);
+            case H2 -> httpClient.protocol(HttpProtocol.H2, HttpProtocol.H2C)
+                    .http2Settings(settings -> settings.maxConcurrentStreams(client.getHttp2().getMaxConcurrentStreams()));
+            case NEGOTIATE -> httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2, HttpProtocol.H2C)
+                    .http2Settings(settings -> settings.maxConcurrentStreams(client.getHttp2().getMaxConcurrentStreams()));
+        };
+    }
+
+    // ============== 5.4. 응답 압축 협상 ==============
+    /*
+     * compression.enabled=true (기본값):
+     * - compress(true): 파이프라인에 HttpContentDecompressor 추가, 압축 응답을 청크 단위로 풀어서 전달
+     *   (풀린 본문도 Netty 풀 버퍼에 담기며 전체 본문을 모으지 않음)
+     * - Accept-Encoding은 풀 수 있는 인코딩만 광고: gzip, deflate는 항상,
+     *   br / zstd는 해당 네이티브 라이브러리(brotli4j, zstd-jni)가 클래스패스에 있을 때만
+     * - Netty가 응답을 풀면서 Content-Encoding/Content-Length를 제거하므로
+     *   캐시/본문 넘김 필터와 코덱은 압축 여부를 신경 쓰지 않아도 됨
+     */
+    private HttpClient configureCompression(HttpClient httpClient, String clientName,
+                                            WebClientProperties.Compression compression) {
+        if (!compression.isEnabled()) {
+            return httpClient.compress(false);
+        }
+        String acceptEncoding = acceptEncoding();
+        log.debug("5.4. 응답 압축 협상: client={}, Accept-Encoding={}", clientName, acceptEncoding);
+        return httpClient.compress(true)
+                .headers(headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    static String acceptEncoding() {
+        StringBuilder encodings = new StringBuilder("gzip, deflate");
+        if (Brotli.isAvailable()) {
+            encodings.append(", br");
+        }
+        if (Zstd.isAvailable()) {
+            encodings.append(", zstd");
+        }
+        return encodings.toString();
+    }
+
+    // ============== 5.3. 연결 단계 시간 측정 ==============
+    /*
+     * 연결 단계 측정 (webclient.metrics-enabled=true 일 때, ConnectionPhaseMetrics 참고):
+     * - 커넥터(HttpClient)의 훅/메트릭 recorder가 Reactor Context의 ConnectionTimings에 단계별 시간을 기록
+     * - 필터는 시도마다 새 ConnectionTimings를 Context에 넣음 (재시도/헤지는 각각 따로 측정)
+     * - 접근 로그의 slowThreshold 이상 걸린 호출은 단계별 시간을 로그로 남김
+     */
+    private ConnectionPhaseMetrics connectionPhaseMetricsOf(String clientName) {
+        return connectionPhaseMetrics.computeIfAbsent(clientName, name ->
+                new ConnectionPhaseMetrics(name, properties.getAccessLog().getSlowThreshold()));
+    }
+
+    private ExchangeFilterFunction createConnectionTimingFilter(String clientName) {
+        if (!properties.isMetricsEnabled()) {
+            return (request, next) -> next.exchange(request);
+        }
+        return connectionPhaseMetricsOf(clientName).filter();
+    }
+
+    /**
+     * 클라이언트별 연결 단계 시간 분포 (key: dns, connect, tls, acquire, ttfb, body)
+     */
+    public Map<String, Map<String, LatencyHistogram.Snapshot>> getConnectionPhaseStats() {
+        Map<String, Map<String, LatencyHistogram.Snapshot>> stats = new TreeMap<>();
+        connectionPhaseMetrics.forEach((clientName, metrics) -> stats.put(clientName, metrics.stats()));
+        return stats;
+    }
+
     // ============== 5. 코덱 설정 ==============
     /*
      * 코덱(Codec) 설정:
      *
-     * maxInMemorySize (1MB):
+     * maxInMemorySize (기본 1MB, webclient.max-in-memory-size / clients.<name>.codec.max-in-memory-size):
      * - 메모리에서 처리할 수 있는 최대 요청/응답 크기
-     * - 초과 시 DataBufferLimitException 발생
+     * - 초과 시 DataBufferLimitException 발생 (codec.overflow=SPILL_TO_DISK 이면 임시 파일로 받음)
      * - 대용량 파일 처리 시 스트리밍 방식 사용 필요
+     * - bodyToFlux()로 JSON 배열을 읽으면 Jackson 논블로킹 파서가 배열 요소 단위로 토큰화하므로
+     *   제한은 배열 전체가 아닌 요소 하나에 적용됨 (수백 MB 배열도 요소 크기만큼의 메모리로 처리)
      *
      * enableLoggingRequestDetails:
      * - 요청 본문(body)을 로그에 포함할지 여부
      * - 디버깅에 유용하지만 민감한 정보 노출 위험
      * - 개발 환경에서만 true 권장
      */
-    private void configureCodecs(ClientCodecConfigurer configurer) {
-        configurer.defaultCodecs().maxInMemorySize(1024 * 1024); // 1MB
+    private void configureCodecs(ClientCodecConfigurer configurer, DataSize maxInMemorySize) {
+        configurer.defaultCodecs().maxInMemorySize((int) Math.min(Integer.MAX_VALUE, maxInMemorySize.toBytes()));
         configurer.defaultCodecs().enableLoggingRequestDetails(properties.isLogBody());
-        log.debug("6. Codec 설정 완료: maxInMemorySize=1MB, logBody={}", properties.isLogBody());
+        log.debug("6. Codec 설정 완료: maxInMemorySize={}, logBody={}", maxInMemorySize, properties.isLogBody());
+    }
+
+    private DataSize maxInMemorySizeOf(String clientName) {
+        DataSize clientLimit = properties.getClient(clientName).getCodec().getMaxInMemorySize();
+        return clientLimit != null ? clientLimit : properties.getMaxInMemorySize();
+    }
+
+    /*
+     * 필터가 직접 만드는 응답(캐시, 병합)용 코덱 설정 - 클라이언트 Builder의 코덱 설정과 동일
+     */
+    private ExchangeStrategies exchangeStrategiesOf(String clientName) {
+        return exchangeStrategies.computeIfAbsent(clientName, name -> ExchangeStrategies.builder()
+                .codecs(configurer -> configureCodecs(configurer, maxInMemorySizeOf(name)))
+                .build());
+    }
+
+    // ============== 6.4. 본문 넘김 필터 ==============
+    /*
+     * 메모리 제한을 넘는 응답 본문 처리 (webclient.clients.<name>.codec.overflow=SPILL_TO_DISK 일 때):
+     * - maxInMemorySize를 넘는 본문은 임시 파일로 받은 뒤 파일에서 읽어 디코딩 (SpillToDiskFilter 참고)
+     * - 파일로 받은 응답은 제한이 maxSpillSize인 코덱 설정으로 디코딩
+     * - FAIL(기본값)이면 필터 없이 DataBufferLimitException
+     */
+    private ExchangeFilterFunction createSpillFilter(String clientName) {
+        WebClientProperties.Codec codec = properties.getClient(clientName).getCodec();
+        if (codec.getOverflow() != WebClientProperties.BodyOverflowMode.SPILL_TO_DISK) {
+            return (request, next) -> next.exchange(request);
+        }
+
+        DataSize maxInMemorySize = maxInMemorySizeOf(clientName);
+        Path directory = Path.of(codec.getSpillDirectory() != null
+                ? codec.getSpillDirectory() : System.getProperty("java.io.tmpdir"));
+        log.debug("6.4. 본문 넘김 필터 활성화: client={}, maxInMemorySize={}, maxSpillSize={}, directory={}",
+                clientName, maxInMemorySize, codec.getMaxSpillSize(), directory);
+        // 디렉터리마다 한 번만, 이 프로세스가 시작되기 전에 남은 파일만 정리
+        if (cleanedSpillDirectories.add(directory.toAbsolutePath())) {
+            SpillToDiskFilter.deleteLeftoverFiles(directory,
+                    Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()));
+        }
+        return spillFilters.computeIfAbsent(clientName, name -> new SpillToDiskFilter(name,
+                maxInMemorySize.toBytes(), codec.getMaxSpillSize().toBytes(), directory,
+                ExchangeStrategies.builder()
+                        .codecs(configurer -> configureCodecs(configurer, codec.getMaxSpillSize()))
+                        .build()));
+    }
+
+    /**
+     * 클라이언트별 본문 넘김 통계 (임시 파일로 받은 응답 수/바이트 수, 크기 초과 실패 수)
+     */
+    public Map<String, SpillToDiskFilter.Stats> getSpillStats() {
+        Map<String, SpillToDiskFilter.Stats> stats = new TreeMap<>();
+        spillFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 6.5. 요청 압축 필터 ==============
+    /*
+     * 큰 요청 본문 압축 (webclient.clients.<name>.compression.request-threshold 설정 시, RequestCompressionFilter 참고):
+     * - Content-Length가 임계값 이상인 본문만 gzip으로 압축해 Content-Encoding: gzip 으로 전송
+     * - 업스트림이 압축된 요청 본문을 풀 수 있을 때만 설정해야 함
+     */
+    private ExchangeFilterFunction createRequestCompressionFilter(String clientName) {
+        DataSize threshold = properties.getClient(clientName).getCompression().getRequestThreshold();
+        if (threshold == null) {
+            return (request, next) -> next.exchange(request);
+        }
+        log.debug("6.5. 요청 압축 필터 활성화: client={}, threshold={}", clientName, threshold);
+        return compressionFilters.computeIfAbsent(clientName, name -> new RequestCompressionFilter(threshold.toBytes()));
+    }
+
+    /**
+     * 클라이언트별 요청 압축 통계 (압축한 요청 수, 압축 전/후 바이트 수)
+     */
+    public Map<String, RequestCompressionFilter.Stats> getRequestCompressionStats() {
+        Map<String, RequestCompressionFilter.Stats> stats = new TreeMap<>();
+        compressionFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
     }
 
     // ============== 6. 로깅 필터 ==============
@@ -224,86 +506,257 @@ public class WebClientBuilderFactory {
      * - WebClient의 요청/응답을 인터셉트하는 필터
      * - Servlet Filter와 유사하지만 비동기/reactive 환경용
      * - 체이닝 가능하여 여러 필터를 순서대로 적용 가능
+     *
+     * 접근 로그 (AccessLogFilter + AccessLogRecorder):
+     * - 요청마다 INFO 로그 2줄을 이벤트 루프에서 출력하던 방식을 대체
+     * - 이벤트 루프는 링 버퍼에 값(메서드, 호스트, 상태, 지연 시간, 바이트 수)만 기록
+     * - 문자열 생성과 출력은 백그라운드 스레드가 "webclient.access" 로거로 처리
+     * - 샘플링: sampleRate 비율만 기록, 에러/느린 요청은 항상 기록 (webclient.access-log.*)
      */
-    private ExchangeFilterFunction createLoggingFilter() {
-        if (!properties.isLoggingEnabled()) {
+    private ExchangeFilterFunction createLoggingFilter(String clientName) {
+        if (accessLogRecorder == null) {
             log.debug("6. 로깅 필터 비활성화");
             return (request, next) -> next.exchange(request);
         }
 
-        log.debug("6. 로깅 필터 활성화: headers={}, body={}",
-                properties.isLogHeaders(), properties.isLogBody());
+        log.debug("6. 로깅 필터 활성화: client={}, sampleRate={}, headers={}, body={}",
+                clientName, properties.getAccessLog().getSampleRate(), properties.isLogHeaders(), properties.isLogBody());
+        return new AccessLogFilter(clientName, accessLogRecorder, properties.isLogHeaders());
+    }
 
-        /*
-         * 필터 체이닝:
-         * ofRequestProcessor + andThen + ofResponseProcessor
-         *
-         * 실행 순서:
-         * 1. 요청 전처리 (요청 로깅)
-         * 2. 다음 필터 또는 실제 HTTP 요청 실행
-         * 3. 응답 후처리 (응답 로깅)
-         *
-         * Mono.just(request/response):
-         * - 요청/응답을 수정하지 않고 그대로 전달
-         * - 로깅은 사이드 이펙트로만 수행
-         */
-        return ExchangeFilterFunction.ofRequestProcessor(request -> {
-            log.info("HTTP 요청: {} {}", request.method(), request.url());
-            if (properties.isLogHeaders()) {
-                log.debug("요청 헤더: {}", request.headers());
-            }
-            return Mono.just(request);
-        }).andThen(ExchangeFilterFunction.ofResponseProcessor(response -> {
-            log.info("HTTP 응답: {}", response.statusCode());
-            if (properties.isLogHeaders()) {
-                log.debug("응답 헤더: {}", response.headers().asHttpHeaders());
-            }
-            return Mono.just(response);
-        }));
+    /**
+     * 접근 로그 통계 (기록/샘플링 제외/버림/출력 건수), 로깅 비활성화 시 null
+     */
+    public AccessLogRecorder.Stats getAccessLogStats() {
+        return accessLogRecorder != null ? accessLogRecorder.stats() : null;
+    }
+
+    @Override
+    public void destroy() {
+        if (accessLogRecorder != null) {
+            accessLogRecorder.close();
+        }
+    }
+
+    // ============== 6.3. 메트릭 필터 ==============
+    /*
+     * 클라이언트 메트릭 (webclient.metrics-enabled=true 일 때):
+     * - 클라이언트별/URI 템플릿별 응답 시간 히스토그램 (lock-free, 고정 메모리)
+     * - 상태 코드 클래스별 응답 수, 요청/응답 본문 바이트 수
+     * - 커넥션 풀 게이지는 ConnectionPoolRegistry, 재시도 횟수는 재시도 필터 통계에서 조회
+     */
+    private ExchangeFilterFunction createMetricsFilter(String clientName) {
+        if (!properties.isMetricsEnabled()) {
+            log.debug("6.3. 메트릭 필터 비활성화");
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("6.3. 메트릭 필터 활성화: client={}", clientName);
+        return metricsFilters.computeIfAbsent(clientName, ClientMetricsFilter::new);
+    }
+
+    /**
+     * 클라이언트별 메트릭 (응답 시간 분포, 상태 코드 클래스별 응답 수, 바이트 수)
+     */
+    public Map<String, ClientMetricsFilter.Stats> getMetricsStats() {
+        Map<String, ClientMetricsFilter.Stats> stats = new TreeMap<>();
+        metricsFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 6.1. 캐시 필터 ==============
+    /*
+     * HTTP 응답 캐시 (webclient.clients.<name>.cache.enabled=true 일 때):
+     * - 업스트림의 Cache-Control/Expires/ETag/Last-Modified를 그대로 따름
+     * - 신선한 응답은 업스트림 호출 없이, 신선도가 지난 응답은 조건부 요청(304)으로 재사용
+     * - 캐시 응답은 exchangeStrategiesOf(clientName)(클라이언트 코덱 설정)로 만들어짐
+     */
+    private ExchangeFilterFunction createCacheFilter(String clientName) {
+        WebClientProperties.HttpCache cache = properties.getClient(clientName).getCache();
+        if (!cache.isEnabled()) {
+            log.debug("6.1. 캐시 필터 비활성화: client={}", clientName);
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("6.1. 캐시 필터 활성화: client={}, maxSize={}, maxEntrySize={}",
+                clientName, cache.getMaxSize(), cache.getMaxEntrySize());
+        return cacheFilters.computeIfAbsent(clientName, name -> new HttpCacheFilter(name, cache, exchangeStrategiesOf(name)));
+    }
+
+    /**
+     * 클라이언트별 캐시 통계 (적중/미스/재검증 횟수, 저장 크기)
+     */
+    public Map<String, HttpCacheFilter.Stats> getCacheStats() {
+        Map<String, HttpCacheFilter.Stats> stats = new TreeMap<>();
+        cacheFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 6.2. 요청 병합 필터 ==============
+    /*
+     * 동일 요청 병합 (webclient.clients.<name>.coalescing.enabled=true 일 때):
+     * - 진행 중인 같은 GET/HEAD 요청(메서드 + URL + keyHeaders)의 응답을 공유
+     * - 본문이 maxInMemorySize를 넘는 응답은 공유하지 않고 호출자마다 다시 요청 (파일 넘김 유지)
+     * - 서비스 코드에서 디코딩된 결과를 공유하려면 SingleFlight를 직접 사용 (예: PostService.getPost)
+     */
+    private ExchangeFilterFunction createCoalescingFilter(String clientName) {
+        WebClientProperties.Coalescing coalescing = properties.getClient(clientName).getCoalescing();
+        if (!coalescing.isEnabled()) {
+            log.debug("6.2. 요청 병합 필터 비활성화: client={}", clientName);
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("6.2. 요청 병합 필터 활성화: client={}, keyHeaders={}", clientName, coalescing.getKeyHeaders());
+        return coalescingFilters.computeIfAbsent(clientName, name ->
+                new RequestCoalescingFilter(name, coalescing, exchangeStrategiesOf(name),
+                        maxInMemorySizeOf(name).toBytes()));
+    }
+
+    /**
+     * 클라이언트별 요청 병합 통계 (실제 실행 수, 공유된 요청 수)
+     */
+    public Map<String, SingleFlight.Stats> getCoalescingStats() {
+        Map<String, SingleFlight.Stats> stats = new TreeMap<>();
+        coalescingFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
     }
 
     // ============== 7. 재시도 필터 ==============
     /*
-     * 재시도 전략 상세:
+     * 재시도 전략 상세 (RetryBudgetFilter):
      *
-     * Retry.backoff():
-     * - 지수 백오프 전략 사용
-     * - 재시도 간격: minBackoff * (2^재시도횟수)
-     * - 예: 500ms → 1s → 2s → 4s (최대 maxBackoff까지)
+     * 재시도 예산:
+     * - 같은 클라이언트 이름의 Builder들이 하나의 토큰 예산을 공유
+     * - 정상 응답마다 budgetRatio 만큼 적립, 재시도마다 1개 사용
+     * - 업스트림 장애 시 요청마다 독립적으로 재시도하던 기존 방식(Retry.backoff)과 달리
+     *   전체 재시도 트래픽이 정상 트래픽의 일정 비율을 넘지 않음
      *
      * maxRetryAttempts (기본 3회):
-     * - 최초 요청 + 재시도 3회 = 총 4번 시도
+     * - 예산이 남아 있어도 요청 하나당 최대 재시도 횟수
      *
-     * filter(this::shouldRetry):
-     * - 모든 에러에 대해 재시도하지 않음
-     * - 임시적 장애(5xx, 타임아웃)만 재시도
-     * - 클라이언트 에러(4xx)는 재시도하지 않음
+     * 백오프:
+     * - retryMinBackoff ~ retryMaxBackoff 범위에서 지터(FULL/DECORRELATED) 적용
+     * - 429/503 응답에 Retry-After가 있으면 백오프 대신 그 값만큼 대기
      *
-     * doBeforeRetry():
-     * - 재시도 전에 경고 로그 출력
-     * - 재시도 횟수, URL, 에러 메시지 포함
+     * 재시도 조건:
+     * - shouldRetry(): 네트워크 에러, 타임아웃
+     * - isRetryableStatus(): 408, 429, 5xx 응답 (필터 안에서는 응답이 예외가 아닌 ClientResponse로 전달됨)
      */
-    private ExchangeFilterFunction createRetryFilter() {
+    private ExchangeFilterFunction createRetryFilter(String clientName) {
         if (!properties.isRetryEnabled()) {
             log.debug("7. 재시도 필터 비활성화");
             return (request, next) -> next.exchange(request);
         }
 
-        log.debug("7. 재시도 필터 활성화: maxAttempts={}, minBackoff={}, maxBackoff={}",
-                properties.getMaxRetryAttempts(), properties.getRetryMinBackoff(), properties.getRetryMaxBackoff());
-
-        return (request, next) -> {
-            return next.exchange(request)   // ← 실제 HTTP 요청 실행
-                    .retryWhen(Retry.backoff(properties.getMaxRetryAttempts(), properties.getRetryMinBackoff())
-                            .maxBackoff(properties.getRetryMaxBackoff())
-                            .filter(this::shouldRetry)
-                            .doBeforeRetry(signal ->
-                                    log.warn("7. 요청 재시도: attempt #{}/{}, url={}, error={}",
-                                            signal.totalRetries() + 1,
-                                            properties.getMaxRetryAttempts(),
-                                            request.url(),
-                                            signal.failure().getMessage())));
-        };
+        WebClientProperties.RetryBudget retry = properties.getClient(clientName).getRetry();
+        log.debug("7. 재시도 필터 활성화: client={}, maxAttempts={}, backoff={}~{}, jitter={}, budgetRatio={}",
+                clientName, properties.getMaxRetryAttempts(), properties.getRetryMinBackoff(),
+                properties.getRetryMaxBackoff(), retry.getJitter(), retry.getBudgetRatio());
+
+        return retryFilters.computeIfAbsent(clientName, name ->
+                new RetryBudgetFilter(name, properties, this::shouldRetry, this::isRetryableStatus));
+    }
+
+    /**
+     * 클라이언트별 재시도 통계 (재시도 횟수, 예산 소진 횟수, 남은 예산)
+     */
+    public Map<String, RetryBudgetFilter.Stats> getRetryStats() {
+        Map<String, RetryBudgetFilter.Stats> stats = new TreeMap<>();
+        retryFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 7.1. 헤징 필터 ==============
+    /*
+     * 헤징 필터 (webclient.clients.<name>.hedging.enabled=true 일 때):
+     * - 멱등 GET/HEAD 요청이 최근 응답 시간의 백분위수(기본 p95) 안에 응답하지 않으면
+     *   같은 요청을 한 번 더 보내고 먼저 온 응답을 사용
+     * - 헤지 예산(maxExtraLoadPercent)을 넘는 헤지는 보내지 않음
+     * - 같은 클라이언트 이름의 Builder들은 하나의 필터(통계/예산)를 공유
+     */
+    private ExchangeFilterFunction createHedgingFilter(String clientName) {
+        WebClientProperties.Hedging hedging = properties.getClient(clientName).getHedging();
+        if (!hedging.isEnabled()) {
+            log.debug("7.1. 헤징 필터 비활성화: client={}", clientName);
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("7.1. 헤징 필터 활성화: client={}, percentile={}, delay={}~{}, maxExtraLoad={}%",
+                clientName, hedging.getPercentile(), hedging.getMinDelay(), hedging.getMaxDelay(),
+                hedging.getMaxExtraLoadPercent());
+        return hedgingFilters.computeIfAbsent(clientName, name -> new HedgingFilter(name, hedging));
+    }
+
+    /**
+     * 클라이언트별 헤징 통계 (헤지 전송/승리/취소 횟수)
+     */
+    public Map<String, HedgingFilter.Stats> getHedgingStats() {
+        Map<String, HedgingFilter.Stats> stats = new TreeMap<>();
+        hedgingFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 7.2. 수락 제어 필터 ==============
+    /*
+     * 서킷 브레이커 + 적응형 동시성 제한 (클라이언트별, 각각 enabled로 선택):
+     *
+     * 기존 문제:
+     * - 재시도 필터는 5xx/타임아웃을 전역 상한 없이 재시도하므로
+     *   이미 힘든 업스트림에 부하를 더 얹게 됨
+     *
+     * 동작:
+     * - 서킷 OPEN 동안 요청을 보내지 않고 CircuitBreakerOpenException으로 즉시 실패
+     * - in-flight 요청 수를 AIMD로 조정되는 한도 이하로 유지, 초과 시 ConcurrencyLimitExceededException
+     * - 두 예외 모두 재시도 대상이 아니며 인바운드 응답에서는 503으로 변환됨
+     */
+    private ExchangeFilterFunction createAdmissionControlFilter(String clientName) {
+        WebClientProperties.ClientProperties client = properties.getClient(clientName);
+        if (!client.getCircuitBreaker().isEnabled() && !client.getConcurrencyLimit().isEnabled()) {
+            log.debug("7.2. 수락 제어 필터 비활성화: client={}", clientName);
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("7.2. 수락 제어 필터 활성화: client={}, circuitBreaker={}, concurrencyLimit={}",
+                clientName, client.getCircuitBreaker().isEnabled(), client.getConcurrencyLimit().isEnabled());
+        return admissionControlFilters.computeIfAbsent(clientName, name ->
+                new AdmissionControlFilter(name, client.getCircuitBreaker(), client.getConcurrencyLimit()));
+    }
+
+    /**
+     * 클라이언트별 수락 제어 통계 (서킷 상태, 동시성 한도, 거절 횟수)
+     */
+    public Map<String, AdmissionControlFilter.Stats> getAdmissionControlStats() {
+        Map<String, AdmissionControlFilter.Stats> stats = new TreeMap<>();
+        admissionControlFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
+    }
+
+    // ============== 7.3. 속도 제한 필터 ==============
+    /*
+     * 호스트별 속도 제한 (webclient.clients.<name>.rate-limit.enabled=true 일 때):
+     * - 토큰 버킷(permitsPerSecond, burst)으로 배치성 요청 폭주를 평탄화
+     * - 대기는 Reactor 타이머(Mono.delay)로 처리, maxWait 초과 시 RateLimitExceededException
+     * - 429 응답을 받으면 속도를 낮추고 이후 천천히 회복
+     */
+    private ExchangeFilterFunction createRateLimitFilter(String clientName) {
+        WebClientProperties.RateLimit rateLimit = properties.getClient(clientName).getRateLimit();
+        if (!rateLimit.isEnabled()) {
+            log.debug("7.3. 속도 제한 필터 비활성화: client={}", clientName);
+            return (request, next) -> next.exchange(request);
+        }
+
+        log.debug("7.3. 속도 제한 필터 활성화: client={}, permitsPerSecond={}, burst={}, maxWait={}",
+                clientName, rateLimit.getPermitsPerSecond(), rateLimit.getBurst(), rateLimit.getMaxWait());
+        return rateLimitFilters.computeIfAbsent(clientName, name -> new RateLimitFilter(name, rateLimit));
+    }
+
+    /**
+     * 클라이언트별, 호스트별 속도 제한 통계 (현재 속도, 지연/거절 횟수, 429 횟수)
+     */
+    public Map<String, Map<String, HostRateLimiter.Stats>> getRateLimitStats() {
+        Map<String, Map<String, HostRateLimiter.Stats>> stats = new TreeMap<>();
+        rateLimitFilters.forEach((clientName, filter) -> stats.put(clientName, filter.stats()));
+        return stats;
     }
 
     // ============== 9. 에러 핸들링 필터 ==============
@@ -353,18 +806,12 @@ public class WebClientBuilderFactory {
      * 재시도하지 않는 에러들:
      * - 4xx Client Error: 잘못된 요청, 인증 실패 등 (재시도해도 동일한 결과)
      * - IllegalArgumentException: 프로그래밍 에러 (재시도 무의미)
+     * - UpstreamRejectedException: 서킷 OPEN/동시성 한도 초과 (재시도하면 부하만 증폭)
      */
     private boolean shouldRetry(Throwable throwable) {
         // HTTP 응답 에러인 경우
         if (throwable instanceof WebClientResponseException wcre) {
-            HttpStatus status = HttpStatus.resolve(wcre.getStatusCode().value());
-            boolean shouldRetry = status == HttpStatus.SERVICE_UNAVAILABLE ||
-                    status == HttpStatus.REQUEST_TIMEOUT ||
-                    status == HttpStatus.TOO_MANY_REQUESTS ||
-                    (status != null && status.is5xxServerError());
-
-            log.debug("8.1 재시도 조건 검사: status={}, shouldRetry={}", status, shouldRetry);
-            return shouldRetry;
+            return isRetryableStatus(wcre.getStatusCode());
         }
 
         // 네트워크 레벨 에러인 경우
@@ -377,6 +824,17 @@ public class WebClientBuilderFactory {
         return shouldRetry;
     }
 
+    private boolean isRetryableStatus(HttpStatusCode statusCode) {
+        HttpStatus status = HttpStatus.resolve(statusCode.value());
+        boolean shouldRetry = status == HttpStatus.SERVICE_UNAVAILABLE ||
+                status == HttpStatus.REQUEST_TIMEOUT ||
+                status == HttpStatus.TOO_MANY_REQUESTS ||
+                statusCode.is5xxServerError();
+
+        log.debug("8.1 재시도 조건 검사: status={}, shouldRetry={}", statusCode.value(), shouldRetry);
+        return shouldRetry;
+    }
+
     // ============== 10. SSL 컨텍스트 생성 (개발용) ==============
     /*
      * 개발용 SSL 설정:
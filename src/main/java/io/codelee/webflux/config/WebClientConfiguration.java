@@ -27,10 +27,11 @@ public class WebClientConfiguration {
     }
 
     // 개별 WebClient Bean들 - 간단한 설정
+    // 첫 번째 인자는 클라이언트 이름: 커넥션 풀과 webclient.clients.<name> 설정의 키
     @Bean
     @Qualifier("jsonPlaceholderClient")
     public WebClient jsonPlaceholderClient() {
-        return builderFactory.createBuilder("https://jsonplaceholder.typicode.com")
+        return builderFactory.createBuilder("json-placeholder", "https://jsonplaceholder.typicode.com")
                 .defaultHeader("User-Agent", "WebFlux-App/1.0")
                 .build();
     }
@@ -38,14 +39,14 @@ public class WebClientConfiguration {
     @Bean
     @Qualifier("httpBinClient")
     public WebClient httpBinClient() {
-        return builderFactory.createBuilder("https://httpbin.org")
+        return builderFactory.createBuilder("http-bin", "https://httpbin.org")
                 .build();
     }
 
     @Bean
     @Qualifier("paymentApiClient")
     public WebClient paymentApiClient() {
-        return builderFactory.createBuilder("https://api.payment.example.com", builder -> {
+        return builderFactory.createBuilder("payment-api", "https://api.payment.example.com", builder -> {
             builder.defaultHeader("Authorization", "Bearer ${payment.api.token:demo-token}")
                     .defaultHeader("Content-Type", "application/json");
         }).build();
@@ -54,7 +55,7 @@ public class WebClientConfiguration {
     @Bean
     @Qualifier("userServiceClient")
     public WebClient userServiceClient() {
-        return builderFactory.createBuilder("http://user-service:8080", builder -> {
+        return builderFactory.createBuilder("user-service", "http://user-service:8080", builder -> {
             builder.defaultHeader("X-Service-Name", "main-app")
                     .defaultHeader("Accept", "application/json");
         }).build();
@@ -2,8 +2,13 @@ package io.codelee.webflux.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "webclient")
 @Data
@@ -15,23 +20,343 @@ public class WebClientProperties {
     private Duration writeTimeout = Duration.ofSeconds(10);
     private Duration responseTimeout = Duration.ofSeconds(30);
 
-    // 커넥션 풀 설정
+    // 커넥션 풀 설정 (클라이언트별 설정이 없을 때 사용되는 기본값)
     private int maxConnections = 100;
     private int maxIdleTimeSeconds = 30;
     private int maxLifeTimeSeconds = 300;
     private int acquireTimeoutSeconds = 5;
+    private int pendingAcquireMaxCount = 1000;
+    private LeasingStrategy leasingStrategy = LeasingStrategy.FIFO;
 
-    // 로깅 설정
+    // 로깅 설정 (loggingEnabled: 접근 로그 사용 여부, 세부 설정은 accessLog)
     private boolean loggingEnabled = true;
     private boolean logHeaders = false;
     private boolean logBody = false;
+    private AccessLog accessLog = new AccessLog();
 
-    // 재시도 설정
+    // 코덱 설정 (클라이언트별 codec.maxInMemorySize가 없을 때 사용되는 기본값)
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(1);
+
+    // 재시도 설정 (재시도 예산/지터는 클라이언트별 retry 섹션)
     private boolean retryEnabled = true;
     private int maxRetryAttempts = 3;
     private Duration retryMinBackoff = Duration.ofMillis(500);
     private Duration retryMaxBackoff = Duration.ofSeconds(5);
 
+    /*
+     * 메트릭 설정
+     * - 클라이언트별/URI 템플릿별 응답 시간 히스토그램, 상태 코드 클래스별 응답 수, 바이트 수
+     * - 커넥션 풀 게이지 (사용 중/유휴/획득 대기 커넥션 수)
+     * - GET /metrics/webclient 로 조회
+     */
+    private boolean metricsEnabled = false;
+
     // SSL 설정
     private boolean trustAllCerts = false;
+
+    // 이벤트 루프 설정 (모든 WebClient가 공유, WebFlux 서버 루프와 분리)
+    private EventLoop eventLoop = new EventLoop();
+
+    // 클라이언트(목적지)별 설정 - key: 클라이언트 이름 (예: json-placeholder)
+    private Map<String, ClientProperties> clients = new HashMap<>();
+
+    /**
+     * 클라이언트별 설정 조회
+     * 설정 섹션이 없는 클라이언트는 빈 설정을 반환하며, 각 항목은 전역 기본값을 따름
+     */
+    public ClientProperties getClient(String clientName) {
+        return clients.getOrDefault(clientName, new ClientProperties());
+    }
+
+    /*
+     * WebClient 접근 로그 (요청 1건당 1줄, 비동기 기록)
+     *
+     * bufferSize:
+     * - 미리 할당한 링 버퍼 크기 (2의 거듭제곱으로 올림), 가득 차면 기록을 버리고 dropped로 집계
+     * - 이벤트 루프는 버퍼에 값만 쓰고, 문자열 생성/로그 출력은 백그라운드 스레드가 담당
+     *
+     * 샘플링:
+     * - sampleRate: 정상 응답 중 기록할 비율 (0.0 ~ 1.0)
+     * - alwaysLogErrors: 4xx/5xx 응답과 네트워크 에러는 샘플링과 관계없이 기록
+     * - alwaysLogSlow: slowThreshold 이상 걸린 요청은 샘플링과 관계없이 기록
+     */
+    @Data
+    public static class AccessLog {
+        private int bufferSize = 8192;
+        private double sampleRate = 0.01;
+        private boolean alwaysLogErrors = true;
+        private boolean alwaysLogSlow = true;
+        private Duration slowThreshold = Duration.ofSeconds(1);
+        private Duration flushInterval = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class ClientProperties {
+        private Pool pool = new Pool();
+        private HttpProtocolMode protocol = HttpProtocolMode.H1;
+        private Http2 http2 = new Http2();
+        private Hedging hedging = new Hedging();
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private RetryBudget retry = new RetryBudget();
+        private RateLimit rateLimit = new RateLimit();
+        private HttpCache cache = new HttpCache();
+        private Coalescing coalescing = new Coalescing();
+        private Codec codec = new Codec();
+        private Compression compression = new Compression();
+    }
+
+    /*
+     * WebClient 전용 이벤트 루프 설정
+     *
+     * workerThreads:
+     * - 업스트림 커넥션의 I/O를 처리하는 스레드 수 (기본: CPU 코어 수, 최소 4)
+     *
+     * preferNative:
+     * - true면 클래스패스에 있는 네이티브 트랜스포트(io_uring > epoll > kqueue) 사용
+     * - 사용할 수 없는 환경(macOS의 epoll, 라이브러리 누락 등)에서는 자동으로 NIO 사용
+     */
+    @Data
+    public static class EventLoop {
+        private int workerThreads = Math.max(Runtime.getRuntime().availableProcessors(), 4);
+        private boolean preferNative = true;
+    }
+
+    /*
+     * 클라이언트별 커넥션 풀 설정
+     * 값이 지정되지 않은(null) 항목은 전역 커넥션 풀 설정을 사용
+     */
+    @Data
+    public static class Pool {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private LeasingStrategy leasingStrategy;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration acquireTimeout;
+    }
+
+    /*
+     * 클라이언트별 HTTP/2 설정 (protocol: H2 일 때 사용)
+     *
+     * maxConnections / minConnections:
+     * - HTTP/2 커넥션 수 (스트림을 다중화하므로 HTTP/1.1 풀보다 훨씬 적게 필요)
+     *
+     * maxStreamsPerConnection:
+     * - 커넥션 하나에 동시에 할당할 최대 스트림 수
+     * - 서버가 SETTINGS로 알려준 값과 이 값 중 작은 값이 적용됨
+     *
+     * maxConcurrentStreams:
+     * - 클라이언트가 SETTINGS_MAX_CONCURRENT_STREAMS로 서버에 알리는 값
+     */
+    @Data
+    public static class Http2 {
+        private int maxConnections = 4;
+        private int minConnections = 1;
+        private long maxStreamsPerConnection = 100;
+        private long maxConcurrentStreams = 100;
+    }
+
+    /*
+     * 클라이언트별 헤징(hedged request) 설정 - 멱등 GET/HEAD 요청에만 적용
+     *
+     * percentile:
+     * - 최근 응답 시간의 이 백분위수만큼 기다려도 응답이 없으면 동일 요청을 한 번 더 전송
+     * - minDelay ~ maxDelay 범위로 제한, 샘플이 minSamples 미만이면 maxDelay 사용
+     *
+     * maxExtraLoadPercent:
+     * - 헤지 요청으로 늘어나는 트래픽 상한 (예: 10 → 전체 요청의 최대 10%만 헤지)
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 95.0;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxExtraLoadPercent = 10.0;
+        private int sampleSize = 1000;
+        private int minSamples = 20;
+    }
+
+    /*
+     * 클라이언트별 적응형 동시성 제한 (AIMD)
+     *
+     * - 동시에 처리 중인(in-flight) 요청 수를 limit 이하로 제한, 초과 시 즉시 ConcurrencyLimitExceededException
+     * - 응답 시간이 latencyThreshold 이하이고 limit의 절반 이상을 사용 중이면 limit + 1 (Additive Increase)
+     * - 에러(5xx, 네트워크 에러)나 latencyThreshold 초과 응답이면 limit * backoffRatio (Multiplicative Decrease)
+     */
+    @Data
+    public static class ConcurrencyLimit {
+        private boolean enabled = false;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+    }
+
+    /*
+     * 클라이언트별 서킷 브레이커 (최근 slidingWindowSize 건 기준)
+     *
+     * - 실패율 또는 느린 호출 비율이 임계값(%)을 넘으면 OPEN: waitDurationInOpenState 동안 즉시 CircuitBreakerOpenException
+     * - 대기 후 HALF_OPEN: permittedCallsInHalfOpenState 건만 허용하여 회복 여부 판단
+     * - minimumCalls 건 이상 기록되기 전에는 판단하지 않음
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = false;
+        private double failureRateThreshold = 50.0;
+        private double slowCallRateThreshold = 80.0;
+        private Duration slowCallDuration = Duration.ofSeconds(3);
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    /*
+     * 클라이언트별 재시도 예산
+     *
+     * budgetRatio:
+     * - 정상 응답 1건마다 budgetRatio 만큼 토큰 적립, 재시도 1회마다 토큰 1개 사용
+     * - 예: 0.1 → 재시도 트래픽은 정상 트래픽의 최대 10% (장애 시 요청 수가 maxRetryAttempts+1 배로 늘지 않음)
+     * - maxTokens: 적립 상한이자 시작 잔액 (한가한 시간에 쌓인 예산으로 재시도가 몰리지 않도록)
+     *
+     * jitter:
+     * - FULL: 0 ~ min(retryMaxBackoff, retryMinBackoff * 2^n) 사이 무작위
+     * - DECORRELATED: retryMinBackoff ~ 이전 대기 시간 * 3 사이 무작위 (retryMaxBackoff로 제한)
+     *
+     * maxRetryAfter:
+     * - 429/503 응답의 Retry-After 헤더를 백오프 대신 사용
+     * - 이 값보다 길게 기다리라고 하면 재시도하지 않고 응답을 그대로 전달
+     */
+    @Data
+    public static class RetryBudget {
+        private double budgetRatio = 0.1;
+        private double maxTokens = 10;
+        private RetryJitter jitter = RetryJitter.DECORRELATED;
+        private Duration maxRetryAfter = Duration.ofSeconds(10);
+    }
+
+    public enum RetryJitter {
+        FULL, DECORRELATED
+    }
+
+    /*
+     * 업스트림 호스트별 요청 속도 제한 (토큰 버킷, GCRA로 구현)
+     *
+     * - permitsPerSecond: 호스트당 평균 요청 속도, burst: 쉬고 있던 호스트에 한 번에 보낼 수 있는 요청 수
+     * - 토큰이 없으면 다음 토큰 시점까지 Reactor 타이머로 지연 (스레드를 막지 않음)
+     * - 지연이 maxWait를 넘으면 RateLimitExceededException으로 즉시 실패
+     *
+     * 429 피드백:
+     * - 429 응답을 받으면 속도를 현재의 throttleRatio 배로 낮춤 (minPermitsPerSecond 이상)
+     * - Retry-After가 있으면 그 시간 동안 해당 호스트로 요청을 보내지 않음
+     * - 이후 초당 recoveryPerSecond 씩 permitsPerSecond까지 천천히 회복
+     */
+    @Data
+    public static class RateLimit {
+        private boolean enabled = false;
+        private double permitsPerSecond = 50;
+        private int burst = 20;
+        private Duration maxWait = Duration.ofSeconds(5);
+        private double minPermitsPerSecond = 1;
+        private double throttleRatio = 0.5;
+        private double recoveryPerSecond = 1;
+    }
+
+    /*
+     * 클라이언트별 HTTP 응답 캐시 (RFC 9111, private cache)
+     *
+     * - Cache-Control(max-age, no-store, no-cache, must-revalidate)/Expires로 신선도 계산
+     * - 명시적 신선도가 없으면 Last-Modified 기준 휴리스틱(경과 시간의 10%, heuristicMaxAge 이하)
+     * - 신선도가 지나면 ETag(If-None-Match)/Last-Modified(If-Modified-Since)로 재검증
+     * - stale-while-revalidate, stale-if-error 응답 지시자 지원
+     *
+     * maxSize는 항목 수가 아닌 바이트 기준 (W-TinyLFU 정책으로 제거)
+     * maxEntrySize보다 큰 응답은 저장하지 않음
+     */
+    @Data
+    public static class HttpCache {
+        private boolean enabled = false;
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+        private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+        private Duration heuristicMaxAge = Duration.ofMinutes(5);
+    }
+
+    /*
+     * 클라이언트별 동일 요청 병합 (single-flight)
+     *
+     * - 같은 GET/HEAD 요청(메서드 + URL + keyHeaders 값)이 진행 중이면 새 요청을 보내지 않고 그 응답을 공유
+     * - 공유하는 응답은 본문을 메모리에 읽어 구독자마다 새 ClientResponse로 전달
+     * - keyHeaders: 응답 내용을 바꿀 수 있는 요청 헤더 (다른 사용자의 응답을 공유하지 않도록 Authorization 포함)
+     */
+    @Data
+    public static class Coalescing {
+        private boolean enabled = false;
+        private List<String> keyHeaders = new ArrayList<>(List.of("Accept", "Accept-Encoding", "Authorization"));
+    }
+
+    /*
+     * 클라이언트별 코덱 설정 (null 항목은 전역 설정 사용)
+     *
+     * maxInMemorySize:
+     * - 디코딩 시 메모리에 모을 수 있는 최대 본문 크기 (bodyToFlux의 JSON 배열은 요소 단위로 적용)
+     *
+     * overflow:
+     * - FAIL: maxInMemorySize를 넘으면 DataBufferLimitException (기본값)
+     * - SPILL_TO_DISK: 넘는 본문은 임시 파일로 내려받은 뒤 파일에서 읽어 디코딩
+     *   (본문을 다 받은 뒤 응답을 넘기므로 스트리밍 조회가 필요한 클라이언트에는 사용하지 않음)
+     *
+     * maxSpillSize / spillDirectory:
+     * - 임시 파일로 받을 수 있는 최대 크기, 넘으면 DataBufferLimitException
+     * - 임시 파일 위치 (기본: java.io.tmpdir), 파일은 본문을 다 읽거나 실패하면 삭제됨
+     */
+    @Data
+    public static class Codec {
+        private DataSize maxInMemorySize;
+        private BodyOverflowMode overflow = BodyOverflowMode.FAIL;
+        private DataSize maxSpillSize = DataSize.ofMegabytes(256);
+        private String spillDirectory;
+    }
+
+    /*
+     * 클라이언트별 압축 설정
+     *
+     * enabled (기본 true):
+     * - Accept-Encoding: gzip, deflate (+ 클래스패스에 있으면 br, zstd) 로 압축 응답 요청
+     * - 압축 응답은 Netty가 스트리밍으로 풀어서 전달 (필터/코덱은 풀린 본문만 봄)
+     *
+     * requestThreshold:
+     * - 요청 본문이 이 크기 이상이면 gzip으로 압축해 Content-Encoding: gzip 으로 전송
+     * - 업스트림이 압축된 요청 본문을 지원할 때만 설정 (기본값 null: 압축하지 않음)
+     */
+    @Data
+    public static class Compression {
+        private boolean enabled = true;
+        private DataSize requestThreshold;
+    }
+
+    public enum BodyOverflowMode {
+        FAIL, SPILL_TO_DISK
+    }
+
+    /*
+     * 업스트림 HTTP 프로토콜 선택:
+     * - H1: HTTP/1.1만 사용 (기본값)
+     * - H2: HTTP/2만 사용 - TLS(https)는 ALPN, 평문(http)은 h2c prior knowledge
+     * - NEGOTIATE: TLS는 ALPN으로 h2/http1.1 협상, 평문은 HTTP/1.1 Upgrade로 h2c 협상
+     */
+    public enum HttpProtocolMode {
+        H1, H2, NEGOTIATE
+    }
+
+    /*
+     * 커넥션 임대 전략:
+     * - FIFO: 가장 오래 쉬고 있던 커넥션부터 사용 (커넥션을 고르게 사용)
+     * - LIFO: 가장 최근에 반납된 커넥션부터 사용 (유휴 커넥션이 빨리 정리되어 소켓 수 감소)
+     */
+    public enum LeasingStrategy {
+        FIFO, LIFO
+    }
 }
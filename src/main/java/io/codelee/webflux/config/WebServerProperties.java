@@ -0,0 +1,31 @@
+package io.codelee.webflux.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "webserver")
+@Data
+public class WebServerProperties {
+
+    // 이벤트 루프 설정 (WebFlux 서버 전용, WebClient 루프와 분리)
+    private EventLoop eventLoop = new EventLoop();
+
+    /*
+     * WebFlux(Reactor Netty) 서버 이벤트 루프 설정
+     *
+     * selectThreads:
+     * - 새 커넥션 accept를 담당하는 스레드 수 (보통 1개로 충분)
+     *
+     * workerThreads:
+     * - 인바운드 요청의 I/O와 컨트롤러 파이프라인을 처리하는 스레드 수
+     *
+     * preferNative:
+     * - 네이티브 트랜스포트(io_uring/epoll) 우선 사용, 불가능하면 NIO로 자동 전환
+     */
+    @Data
+    public static class EventLoop {
+        private int selectThreads = 1;
+        private int workerThreads = Math.max(Runtime.getRuntime().availableProcessors(), 4);
+        private boolean preferNative = true;
+    }
+}
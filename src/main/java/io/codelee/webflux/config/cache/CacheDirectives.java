@@ -0,0 +1,59 @@
+package io.codelee.webflux.config.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Cache-Control 헤더 지시자 (요청/응답 공용)
+ * - 초 단위 값은 지시자가 없으면 -1
+ */
+record CacheDirectives(boolean noStore, boolean noCache, boolean mustRevalidate,
+                       long maxAgeSeconds, long staleWhileRevalidateSeconds, long staleIfErrorSeconds) {
+
+    static final CacheDirectives NONE = new CacheDirectives(false, false, false, -1, -1, -1);
+
+    static CacheDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        long maxAge = -1;
+        long staleWhileRevalidate = -1;
+        long staleIfError = -1;
+
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+                String[] nameAndValue = directive.trim().split("=", 2);
+                String name = nameAndValue[0].trim().toLowerCase(Locale.ROOT);
+                String value = nameAndValue.length > 1 ? nameAndValue[1].trim() : null;
+                switch (name) {
+                    case "no-store" -> noStore = true;
+                    case "no-cache" -> noCache = true;
+                    case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                    case "max-age" -> maxAge = seconds(value);
+                    case "stale-while-revalidate" -> staleWhileRevalidate = seconds(value);
+                    case "stale-if-error" -> staleIfError = seconds(value);
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, mustRevalidate, maxAge, staleWhileRevalidate, staleIfError);
+    }
+
+    private static long seconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+        String unquoted = value.startsWith("\"") && value.endsWith("\"") && value.length() >= 2
+                ? value.substring(1, value.length() - 1)
+                : value;
+        try {
+            return Math.max(0, Long.parseLong(unquoted));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.codelee.webflux.config.cache;
+
+import io.codelee.webflux.config.support.BufferedResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * 캐시에 저장된 응답 1건과 신선도 계산 결과
+ *
+ * 나이(age) 계산 (RFC 9111 4.2.3 단순화):
+ * - initialAge = max(Age 헤더, 응답 수신 시각 - Date 헤더)
+ * - 현재 나이 = initialAge + (현재 시각 - 응답 수신 시각)
+ */
+record CacheEntry(BufferedResponse response,
+                  Map<String, String> varyValues,
+                  long responseTimeMillis,
+                  long initialAgeMillis,
+                  long freshnessMillis,
+                  long staleWhileRevalidateMillis,
+                  long staleIfErrorMillis,
+                  boolean mustRevalidate) {
+
+    // 헤더/필드 크기 근사값 (가중치 계산용)
+    private static final int OVERHEAD_BYTES = 256;
+
+    long ageMillis(long nowMillis) {
+        return initialAgeMillis + Math.max(0, nowMillis - responseTimeMillis);
+    }
+
+    boolean isFresh(long nowMillis) {
+        return ageMillis(nowMillis) < freshnessMillis;
+    }
+
+    boolean canServeWhileRevalidating(long nowMillis) {
+        return !mustRevalidate && staleWhileRevalidateMillis > 0
+                && ageMillis(nowMillis) < freshnessMillis + staleWhileRevalidateMillis;
+    }
+
+    boolean canServeOnError(long nowMillis) {
+        return !mustRevalidate && staleIfErrorMillis > 0
+                && ageMillis(nowMillis) < freshnessMillis + staleIfErrorMillis;
+    }
+
+    String etag() {
+        return response.headers().getETag();
+    }
+
+    long lastModified() {
+        return response.headers().getLastModified();
+    }
+
+    /*
+     * 저장할 때의 Vary 헤더 값과 현재 요청의 값이 모두 같아야 재사용 가능
+     */
+    boolean matchesVary(ClientRequest request) {
+        for (Map.Entry<String, String> vary : varyValues.entrySet()) {
+            if (!Objects.equals(vary.getValue(), joinedHeader(request.headers(), vary.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int weight() {
+        return response.body().length + OVERHEAD_BYTES;
+    }
+
+    ClientResponse toClientResponse(ExchangeStrategies strategies, long nowMillis) {
+        return response.toClientResponse(strategies,
+                headers -> headers.set(HttpHeaders.AGE, String.valueOf(ageMillis(nowMillis) / 1000)));
+    }
+
+    static String joinedHeader(HttpHeaders headers, String name) {
+        List<String> values = headers.get(name);
+        return values != null ? String.join(",", values) : null;
+    }
+}
@@ -0,0 +1,331 @@
+package io.codelee.webflux.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.codelee.webflux.config.WebClientProperties;
+import io.codelee.webflux.config.support.BoundedBodyCapture;
+import io.codelee.webflux.config.support.BufferedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * HTTP 응답 캐시 필터 (RFC 9111 private cache)
+ *
+ * GET 요청 처리:
+ * 1. 캐시에 없음 → 업스트림 요청, 저장 가능한 응답이면 본문이 흘러가는 동안 복사해 두었다가 끝까지 읽히면 저장
+ * 2. 신선함 → 업스트림 요청 없이 캐시 응답 (Age 헤더 포함)
+ * 3. 신선도 지남 + stale-while-revalidate 범위 → 캐시 응답을 바로 주고 백그라운드에서 재검증
+ * 4. 신선도 지남 → 조건부 요청(If-None-Match/If-Modified-Since)
+ *    - 304: 저장된 본문 재사용, 헤더/신선도 갱신
+ *    - 5xx/네트워크 에러 + stale-if-error 범위: 저장된 응답으로 대체
+ *    - 그 외: 새 응답으로 교체
+ *
+ * 그 외 메서드:
+ * - POST/PUT/PATCH/DELETE 성공 시 같은 URL의 캐시 항목 무효화
+ *
+ * 저장소:
+ * - Caffeine(W-TinyLFU), 항목 수가 아닌 본문 바이트 기준으로 크기 제한
+ *
+ * 스트리밍:
+ * - 본문을 모두 모은 뒤 넘기지 않으므로 bodyToFlux()는 첫 요소부터 바로 디코딩됨
+ * - 복사본은 maxEntrySize까지만 유지 (큰 chunked 응답도 메모리 상한 유지)
+ * - 호출자가 중간에 취소하면(take(n) 등) 저장하지 않고 업스트림 커넥션도 취소됨
+ */
+@Slf4j
+public class HttpCacheFilter implements ExchangeFilterFunction {
+
+    // 휴리스틱 신선도를 적용할 수 있는 상태 코드 (RFC 9110 15.1)
+    private static final Set<Integer> HEURISTICALLY_CACHEABLE = Set.of(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501);
+
+    private final String clientName;
+    private final WebClientProperties.HttpCache config;
+    private final ExchangeStrategies strategies;
+    private final Cache<String, CacheEntry> cache;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder staleIfError = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public HttpCacheFilter(String clientName, WebClientProperties.HttpCache config, ExchangeStrategies strategies) {
+        this.clientName = clientName;
+        this.config = config;
+        this.strategies = strategies;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((String key, CacheEntry entry) -> entry.weight())
+                // 제거 작업을 호출 스레드에서 바로 처리 (ForkJoinPool로 넘기지 않아 크기 제한이 즉시 반영됨)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return invalidateOnSuccess(request, next);
+        }
+        CacheDirectives requestDirectives = CacheDirectives.parse(request.headers().get(HttpHeaders.CACHE_CONTROL));
+        if (requestDirectives.noStore()) {
+            return next.exchange(request);
+        }
+
+        String key = keyOf(request);
+        return Mono.defer(() -> {
+            CacheEntry entry = cache.getIfPresent(key);
+            if (entry == null || !entry.matchesVary(request)) {
+                misses.increment();
+                return fetch(request, next, key);
+            }
+
+            long now = System.currentTimeMillis();
+            if (!requestDirectives.noCache() && entry.isFresh(now)) {
+                hits.increment();
+                log.debug("6.1. 캐시 적중: client={}, url={}, age={}s", clientName, request.url(), entry.ageMillis(now) / 1000);
+                return Mono.just(entry.toClientResponse(strategies, now));
+            }
+            if (!requestDirectives.noCache() && entry.canServeWhileRevalidating(now)) {
+                staleHits.increment();
+                revalidateInBackground(request, next, key, entry);
+                return Mono.just(entry.toClientResponse(strategies, now));
+            }
+            return revalidate(request, next, key, entry);
+        });
+    }
+
+    private Mono<ClientResponse> fetch(ClientRequest request, ExchangeFunction next, String key) {
+        return next.exchange(request)
+                .flatMap(response -> store(request, key, response));
+    }
+
+    private Mono<ClientResponse> revalidate(ClientRequest request, ExchangeFunction next, String key, CacheEntry entry) {
+        revalidations.increment();
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> {
+                    if (entry.etag() != null) {
+                        headers.setIfNoneMatch(entry.etag());
+                    }
+                    if (entry.lastModified() >= 0) {
+                        headers.setIfModifiedSince(entry.lastModified());
+                    }
+                })
+                .build();
+
+        return next.exchange(conditional)
+                .flatMap(response -> {
+                    long now = System.currentTimeMillis();
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        notModified.increment();
+                        HttpHeaders merged = mergeHeaders(entry.response().headers(), response.headers().asHttpHeaders());
+                        return response.releaseBody().then(Mono.fromSupplier(() -> {
+                            BufferedResponse refreshed = new BufferedResponse(entry.response().statusCode(),
+                                    HttpHeaders.readOnlyHttpHeaders(merged), entry.response().body());
+                            CacheEntry updated = createEntry(request, refreshed, now);
+                            if (updated != null) {
+                                cache.put(key, updated);
+                                return updated.toClientResponse(strategies, now);
+                            }
+                            cache.invalidate(key);
+                            return refreshed.toClientResponse(strategies);
+                        }));
+                    }
+                    if (response.statusCode().is5xxServerError() && entry.canServeOnError(now)) {
+                        return response.releaseBody().then(Mono.fromSupplier(() -> serveOnError(request, entry, now)));
+                    }
+                    return store(request, key, response);
+                })
+                .onErrorResume(error -> entry.canServeOnError(System.currentTimeMillis()),
+                        error -> Mono.fromSupplier(() -> serveOnError(request, entry, System.currentTimeMillis())));
+    }
+
+    private ClientResponse serveOnError(ClientRequest request, CacheEntry entry, long now) {
+        staleIfError.increment();
+        log.warn("6.1. 업스트림 에러로 저장된 응답 사용(stale-if-error): client={}, url={}, age={}s",
+                clientName, request.url(), entry.ageMillis(now) / 1000);
+        return entry.toClientResponse(strategies, now);
+    }
+
+    // 같은 키에 대해 재검증은 한 번만 진행
+    private void revalidateInBackground(ClientRequest request, ExchangeFunction next, String key, CacheEntry entry) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidate(request, next, key, entry)
+                .flatMap(ClientResponse::releaseBody)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(null, error -> log.debug("6.1. 백그라운드 재검증 실패: client={}, url={}, error={}",
+                        clientName, request.url(), error.getMessage()));
+    }
+
+    /*
+     * 저장 가능한 응답이면 본문이 호출자에게 흘러가는 동안 복사해 두고,
+     * 본문을 끝까지 읽었을 때(onComplete) 캐시에 저장
+     */
+    private Mono<ClientResponse> store(ClientRequest request, String key, ClientResponse response) {
+        CacheDirectives directives = CacheDirectives.parse(response.headers().header(HttpHeaders.CACHE_CONTROL));
+        if (directives.noStore()
+                || !HEURISTICALLY_CACHEABLE.contains(response.statusCode().value())
+                || response.headers().asHttpHeaders().getVary().contains("*")
+                || response.headers().contentLength().orElse(0) > config.getMaxEntrySize().toBytes()) {
+            cache.invalidate(key);
+            return Mono.just(response);
+        }
+
+        long responseTime = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.headers().asHttpHeaders());
+        BoundedBodyCapture capture = new BoundedBodyCapture(config.getMaxEntrySize().toBytes());
+        return Mono.just(response.mutate()
+                .body(body -> body
+                        .doOnNext(capture::append)
+                        .doOnComplete(() -> storeCaptured(request, key, response.statusCode(),
+                                HttpHeaders.readOnlyHttpHeaders(headers), capture, responseTime)))
+                .build());
+    }
+
+    private void storeCaptured(ClientRequest request, String key, HttpStatusCode statusCode, HttpHeaders headers,
+                               BoundedBodyCapture capture, long responseTime) {
+        CacheEntry entry = capture.isOverflowed()
+                ? null
+                : createEntry(request, new BufferedResponse(statusCode, headers, capture.toByteArray()), responseTime);
+        if (entry != null) {
+            cache.put(key, entry);
+            stores.increment();
+        } else {
+            log.debug("6.1. 캐시 저장 생략: client={}, url={}, overflowed={}", clientName, request.url(), capture.isOverflowed());
+            cache.invalidate(key);
+        }
+    }
+
+    /*
+     * 신선도 계산 후 캐시 항목 생성
+     * - 신선도가 0이고 재검증 수단(ETag, Last-Modified)도 없으면 저장할 의미가 없으므로 null
+     */
+    private CacheEntry createEntry(ClientRequest request, BufferedResponse response, long responseTimeMillis) {
+        HttpHeaders headers = response.headers();
+        CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        long date = dateOf(headers, responseTimeMillis);
+
+        long freshnessMillis;
+        if (directives.noCache()) {
+            freshnessMillis = 0;
+        } else if (directives.maxAgeSeconds() >= 0) {
+            freshnessMillis = TimeUnit.SECONDS.toMillis(directives.maxAgeSeconds());
+        } else if (headers.getExpires() >= 0) {
+            freshnessMillis = Math.max(0, headers.getExpires() - date);
+        } else if (headers.getLastModified() >= 0) {
+            freshnessMillis = Math.min(config.getHeuristicMaxAge().toMillis(), Math.max(0, (date - headers.getLastModified()) / 10));
+        } else {
+            freshnessMillis = 0;
+        }
+
+        boolean hasValidator = headers.getETag() != null || headers.getLastModified() >= 0;
+        if (freshnessMillis == 0 && !hasValidator) {
+            return null;
+        }
+
+        long ageHeaderMillis = ageOf(headers);
+        long initialAgeMillis = Math.max(ageHeaderMillis, Math.max(0, responseTimeMillis - date));
+
+        Map<String, String> varyValues = new LinkedHashMap<>();
+        for (String name : headers.getVary()) {
+            varyValues.put(name, CacheEntry.joinedHeader(request.headers(), name));
+        }
+
+        return new CacheEntry(response, varyValues, responseTimeMillis, initialAgeMillis, freshnessMillis,
+                TimeUnit.SECONDS.toMillis(Math.max(0, directives.staleWhileRevalidateSeconds())),
+                TimeUnit.SECONDS.toMillis(Math.max(0, directives.staleIfErrorSeconds())),
+                directives.mustRevalidate());
+    }
+
+    // 304 응답의 헤더로 저장된 헤더를 갱신 (본문 관련 헤더는 유지)
+    private HttpHeaders mergeHeaders(HttpHeaders stored, HttpHeaders notModified) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.addAll(stored);
+        notModified.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                merged.put(name, values);
+            }
+        });
+        return merged;
+    }
+
+    private long dateOf(HttpHeaders headers, long defaultMillis) {
+        try {
+            long date = headers.getDate();
+            return date >= 0 ? date : defaultMillis;
+        } catch (IllegalArgumentException e) {
+            return defaultMillis;
+        }
+    }
+
+    private long ageOf(HttpHeaders headers) {
+        String age = headers.getFirst(HttpHeaders.AGE);
+        if (age == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(age.trim())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private Mono<ClientResponse> invalidateOnSuccess(ClientRequest request, ExchangeFunction next) {
+        if (HttpMethod.HEAD.equals(request.method()) || HttpMethod.OPTIONS.equals(request.method())) {
+            return next.exchange(request);
+        }
+        return next.exchange(request)
+                .doOnNext(response -> {
+                    if (response.statusCode().is2xxSuccessful() || response.statusCode().is3xxRedirection()) {
+                        cache.invalidate(keyOf(request));
+                    }
+                });
+    }
+
+    private String keyOf(ClientRequest request) {
+        return request.url().toString();
+    }
+
+    public Stats stats() {
+        long weightedSize = cache.policy().eviction()
+                .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+                .orElse(0L);
+        return new Stats(hits.sum(), staleHits.sum(), misses.sum(), revalidations.sum(), notModified.sum(),
+                staleIfError.sum(), stores.sum(), cache.stats().evictionCount(), cache.estimatedSize(), weightedSize);
+    }
+
+    /**
+     * 캐시 통계
+     * @param hits 신선한 캐시 응답으로 처리한 요청 수
+     * @param staleHits stale-while-revalidate로 오래된 응답을 주고 백그라운드 재검증한 요청 수
+     * @param misses 캐시에 없어 업스트림으로 보낸 요청 수
+     * @param revalidations 조건부 요청(재검증) 수
+     * @param notModified 재검증 결과 304로 저장된 본문을 재사용한 수
+     * @param staleIfError 업스트림 에러로 저장된 응답을 대신 사용한 수
+     * @param weightedSizeBytes 현재 저장된 응답의 총 크기(바이트, 근사값)
+     */
+    public record Stats(long hits, long staleHits, long misses, long revalidations, long notModified,
+                        long staleIfError, long stores, long evictions, long entries, long weightedSizeBytes) {
+    }
+}
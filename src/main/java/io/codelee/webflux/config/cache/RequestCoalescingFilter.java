@@ -0,0 +1,93 @@
+package io.codelee.webflux.config.cache;
+
+import io.codelee.webflux.common.SingleFlight;
+import io.codelee.webflux.config.WebClientProperties;
+import io.codelee.webflux.config.support.BufferedResponse;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 동일 요청 병합 필터
+ *
+ * 기존 문제:
+ * - /posts/1 에 동시 요청이 100건 들어오면 업스트림에도 같은 요청이 100건 나감
+ *
+ * 동작 방식:
+ * - 키: 메서드 + URL + keyHeaders 값
+ * - 같은 키의 요청이 진행 중이면 업스트림 호출 없이 그 응답을 공유 (SingleFlight)
+ * - 응답 본문은 한 번만 읽을 수 있으므로 BufferedResponse로 읽어 구독자마다 새 ClientResponse 생성
+ * - 한 호출자가 취소해도 다른 호출자가 남아 있으면 업스트림 요청은 계속됨
+ * - 본문이 maxInMemorySize를 넘으면 병합하지 않고 호출자마다 next.exchange로 다시 요청
+ *   (코덱 한도와 SpillToDiskFilter의 파일 넘김을 우회해 큰 본문을 메모리에 모으지 않도록)
+ *
+ * 캐시 필터와의 관계:
+ * - 캐시는 응답을 저장해 "이후" 요청을 처리하고, 병합은 "동시에 진행 중인" 요청만 합침
+ * - 캐시 미스가 동시에 몰릴 때(cache stampede) 업스트림 호출을 1건으로 줄임
+ */
+public class RequestCoalescingFilter implements ExchangeFilterFunction {
+
+    private final String clientName;
+    private final List<String> keyHeaders;
+    private final ExchangeStrategies strategies;
+    private final int maxInMemorySize;
+    private final SingleFlight<String, BufferedResponse> singleFlight = new SingleFlight<>();
+    private final LongAdder oversized = new LongAdder();
+
+    public RequestCoalescingFilter(String clientName, WebClientProperties.Coalescing config, ExchangeStrategies strategies,
+                                   long maxInMemorySize) {
+        this.clientName = clientName;
+        this.keyHeaders = List.copyOf(config.getKeyHeaders());
+        this.strategies = strategies;
+        this.maxInMemorySize = (int) Math.min(Integer.MAX_VALUE, maxInMemorySize);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method()) && !HttpMethod.HEAD.equals(request.method())) {
+            return next.exchange(request);
+        }
+
+        String key = keyOf(request);
+        return singleFlight.execute(key, () -> next.exchange(request)
+                        .flatMap(response -> BufferedResponse.from(response, maxInMemorySize)))
+                .map(buffered -> buffered.toClientResponse(strategies))
+                .onErrorResume(DataBufferLimitException.class, tooLarge -> {
+                    oversized.increment();
+                    return next.exchange(request);
+                });
+    }
+
+    private String keyOf(ClientRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(request.method().name())
+                .append(' ')
+                .append(request.url());
+        for (String header : keyHeaders) {
+            List<String> values = request.headers().get(header);
+            if (values != null) {
+                key.append('\n').append(header).append(':').append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    public SingleFlight.Stats stats() {
+        return singleFlight.stats();
+    }
+
+    /**
+     * 본문이 maxInMemorySize를 넘어 병합하지 않고 다시 요청한 횟수
+     */
+    public long oversized() {
+        return oversized.sum();
+    }
+}
@@ -0,0 +1,105 @@
+package io.codelee.webflux.config.codec;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * 요청 본문 gzip 압축 필터 (compression.requestThreshold가 설정된 클라이언트)
+ *
+ * - 코덱이 Content-Length를 정한 본문(bodyValue 등 단일 버퍼)만 대상, 스트리밍 본문은 그대로 전송
+ * - Content-Length가 thresholdBytes 이상이면 gzip으로 압축하고 Content-Encoding/Content-Length 변경
+ * - 압축 결과는 요청의 DataBufferFactory(Netty 풀 버퍼)에 바로 씀, 원본 버퍼는 즉시 해제
+ * - 이미 Content-Encoding이 지정된 요청은 건드리지 않음
+ *
+ * 본문은 커넥터가 실제로 쓸 때 압축되므로 재시도/헤지 시도마다 다시 압축됨
+ */
+public class RequestCompressionFilter implements ExchangeFilterFunction {
+
+    private final long thresholdBytes;
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder bytesBefore = new LongAdder();
+    private final LongAdder bytesAfter = new LongAdder();
+
+    public RequestCompressionFilter(long thresholdBytes) {
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.headers().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return next.exchange(request);
+        }
+        return next.exchange(ClientRequest.from(request)
+                .body((outputMessage, context) -> request.body().insert(new CompressingRequest(outputMessage), context))
+                .build());
+    }
+
+    private class CompressingRequest extends ClientHttpRequestDecorator {
+
+        CompressingRequest(ClientHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long contentLength = getHeaders().getContentLength();
+            if (contentLength < thresholdBytes) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                DataBuffer gzipped = gzip(buffer, bufferFactory());
+                compressed.increment();
+                bytesBefore.add(contentLength);
+                bytesAfter.add(gzipped.readableByteCount());
+                getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                getHeaders().setContentLength(gzipped.readableByteCount());
+                return super.writeWith(Mono.just(gzipped));
+            });
+        }
+    }
+
+    static DataBuffer gzip(DataBuffer source, DataBufferFactory bufferFactory) {
+        DataBuffer target = bufferFactory.allocateBuffer(Math.max(256, source.readableByteCount() / 4));
+        try (InputStream in = source.asInputStream();
+             OutputStream out = new GZIPOutputStream(target.asOutputStream(), 8192)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            DataBufferUtils.release(target);
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(source);
+        }
+        return target;
+    }
+
+    public Stats stats() {
+        return new Stats(compressed.sum(), bytesBefore.sum(), bytesAfter.sum());
+    }
+
+    /**
+     * 요청 압축 통계
+     * @param compressed 압축해서 보낸 요청 수
+     * @param bytesBefore 압축 전 본문 바이트 수
+     * @param bytesAfter 압축 후 본문 바이트 수
+     */
+    public record Stats(long compressed, long bytesBefore, long bytesAfter) {
+    }
+}
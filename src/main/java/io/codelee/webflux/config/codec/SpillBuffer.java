@@ -0,0 +1,153 @@
+package io.codelee.webflux.config.codec;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 응답 본문 1건을 받는 버퍼
+ *
+ * - maxInMemoryBytes 까지는 받은 DataBuffer를 그대로 보관 (복사 없음)
+ * - 넘는 순간 임시 파일을 만들어 보관하던 버퍼와 이후 버퍼를 모두 파일에 쓰고 즉시 해제
+ * - 파일 쓰기는 블로킹 I/O이므로 boundedElastic 스케줄러에서 수행 (이벤트 루프를 막지 않음)
+ * - maxSpillBytes를 넘으면 DataBufferLimitException
+ *
+ * append()는 concatMap으로 순서대로 호출되지만, 취소(discard)와 겹칠 수 있어 동기화
+ */
+class SpillBuffer {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    static final String FILE_PREFIX = "webclient-";
+    static final String FILE_SUFFIX = ".body";
+
+    private final long maxInMemoryBytes;
+    private final long maxSpillBytes;
+    private final Path directory;
+
+    private final List<DataBuffer> inMemory = new ArrayList<>();
+    private long size;
+    private Path file;
+    private FileChannel channel;
+    private boolean discarded;
+
+    SpillBuffer(long maxInMemoryBytes, long maxSpillBytes, Path directory) {
+        this.maxInMemoryBytes = maxInMemoryBytes;
+        this.maxSpillBytes = maxSpillBytes;
+        this.directory = directory;
+    }
+
+    synchronized Mono<Void> append(DataBuffer buffer) {
+        size += buffer.readableByteCount();
+        if (discarded || size > maxSpillBytes) {
+            DataBufferUtils.release(buffer);
+            return discarded ? Mono.empty() : Mono.error(new DataBufferLimitException(
+                    "Exceeded limit on max bytes to spill to disk : " + maxSpillBytes));
+        }
+        if (channel == null && size <= maxInMemoryBytes) {
+            inMemory.add(buffer);
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> writeToFile(buffer))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized void writeToFile(DataBuffer buffer) {
+        try {
+            if (discarded) {
+                return;
+            }
+            if (channel == null) {
+                // deleteOnExit은 등록한 경로를 종료 때까지 보관하므로(응답마다 누적) 사용하지 않음
+                // 완료/취소/폐기 시 삭제하고, 비정상 종료로 남은 파일은 다음 시작 때 SpillToDiskFilter.deleteLeftoverFiles가 정리
+                file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+                channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                for (DataBuffer held : inMemory) {
+                    write(held);
+                }
+                inMemory.forEach(DataBufferUtils::release);
+                inMemory.clear();
+            }
+            write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private void write(DataBuffer buffer) throws IOException {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+        }
+    }
+
+    synchronized boolean isSpilled() {
+        return file != null;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized Path file() {
+        return file;
+    }
+
+    /**
+     * 받은 본문을 읽는 Flux (파일로 넘겼으면 파일에서 읽고, 다 읽거나 실패/취소되면 파일 삭제)
+     */
+    synchronized Flux<DataBuffer> body() throws IOException {
+        if (file == null) {
+            List<DataBuffer> buffers = List.copyOf(inMemory);
+            inMemory.clear();
+            return Flux.fromIterable(buffers);
+        }
+        channel.close();
+        Path spilled = file;
+        return DataBufferUtils.read(spilled, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE)
+                .doOnTerminate(() -> delete(spilled))
+                .doOnCancel(() -> delete(spilled));
+    }
+
+    // 에러/취소 시 보관 중인 버퍼 해제, 임시 파일 삭제
+    synchronized void discard() {
+        discarded = true;
+        inMemory.forEach(DataBufferUtils::release);
+        inMemory.clear();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 삭제가 목적이므로 닫기 실패는 무시
+            }
+            delete(file);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 남은 파일은 다음 시작 때 SpillToDiskFilter.deleteLeftoverFiles가 정리
+        }
+    }
+}
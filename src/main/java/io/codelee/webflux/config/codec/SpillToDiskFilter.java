@@ -0,0 +1,151 @@
+package io.codelee.webflux.config.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * maxInMemorySize를 넘는 응답 본문을 임시 파일로 넘기는 필터 (codec.overflow=SPILL_TO_DISK)
+ *
+ * 기존 문제:
+ * - testPost/testPut 처럼 요청 본문을 그대로 돌려주는 호출은 본문이 수 MB가 되면
+ *   DataBufferLimitException으로 실패
+ *
+ * 동작 방식:
+ * - Content-Length가 maxInMemorySize 이하이면 아무것도 하지 않음 (추가 비용 없음)
+ * - 그 외에는 본문을 받아 두고(SpillBuffer), 넘치면 임시 파일로 이어서 받음
+ * - 파일로 넘긴 응답은 파일을 64KB 단위로 읽는 본문 + spillStrategies(제한 = maxSpillSize)로 다시 만듦
+ *   → 네트워크 버퍼는 받는 즉시 해제되고 커넥션은 풀로 빨리 돌아감
+ * - maxSpillSize를 넘으면 DataBufferLimitException
+ *
+ * 주의: 본문을 끝까지 받은 뒤 응답을 넘기므로 bodyToFlux 스트리밍이 필요한 클라이언트에는 사용하지 않음
+ */
+@Slf4j
+public class SpillToDiskFilter implements ExchangeFilterFunction {
+
+    private final String clientName;
+    private final long maxInMemoryBytes;
+    private final long maxSpillBytes;
+    private final Path directory;
+    private final ExchangeStrategies spillStrategies;
+
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param spillStrategies 파일로 넘긴 응답을 디코딩할 코덱 설정 (maxInMemorySize = maxSpillBytes)
+     */
+    public SpillToDiskFilter(String clientName, long maxInMemoryBytes, long maxSpillBytes, Path directory,
+                             ExchangeStrategies spillStrategies) {
+        this.clientName = clientName;
+        this.maxInMemoryBytes = maxInMemoryBytes;
+        this.maxSpillBytes = maxSpillBytes;
+        this.directory = directory;
+        this.spillStrategies = spillStrategies;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request).flatMap(response -> {
+            long contentLength = response.headers().contentLength().orElse(-1);
+            if (contentLength >= 0 && contentLength <= maxInMemoryBytes) {
+                return Mono.just(response);
+            }
+            if (contentLength > maxSpillBytes) {
+                rejected.increment();
+                return response.releaseBody().then(Mono.error(new DataBufferLimitException(
+                        "Content-Length " + contentLength + " exceeds max spill size " + maxSpillBytes)));
+            }
+            return receive(request, response);
+        });
+    }
+
+    private Mono<ClientResponse> receive(ClientRequest request, ClientResponse response) {
+        SpillBuffer buffer = new SpillBuffer(maxInMemoryBytes, maxSpillBytes, directory);
+        return response.body(BodyExtractors.toDataBuffers())
+                .concatMap(buffer::append)
+                .then(Mono.fromCallable(() -> rebuild(request, response, buffer)))
+                .doOnError(error -> {
+                    if (error instanceof DataBufferLimitException) {
+                        rejected.increment();
+                    }
+                    buffer.discard();
+                })
+                .doOnCancel(buffer::discard);
+    }
+
+    private ClientResponse rebuild(ClientRequest request, ClientResponse response, SpillBuffer buffer) throws IOException {
+        boolean spilledToDisk = buffer.isSpilled();
+        if (spilledToDisk) {
+            spilled.increment();
+            spilledBytes.add(buffer.size());
+            log.info("6.4. 응답 본문을 임시 파일로 받음: client={}, url={}, bytes={}, file={}",
+                    clientName, request.url(), buffer.size(), buffer.file());
+        }
+        return ClientResponse.create(response.statusCode(), spilledToDisk ? spillStrategies : response.strategies())
+                .headers(headers -> headers.addAll(response.headers().asHttpHeaders()))
+                .cookies(cookies -> cookies.addAll(response.cookies()))
+                .request(response.request())
+                .body(buffer.body())
+                .build();
+    }
+
+    /**
+     * 이전 실행이 비정상 종료되어 남긴 임시 파일(webclient-*.body) 삭제
+     * 같은 디렉터리를 쓰는 다른 프로세스가 지금 받고 있는 파일은 건드리지 않도록 before 이전에 수정된 파일만 삭제
+     *
+     * @return 삭제한 파일 수
+     */
+    public static int deleteLeftoverFiles(Path directory, Instant before) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SpillBuffer.FILE_PREFIX + "*" + SpillBuffer.FILE_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(before) && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("남은 임시 파일 삭제 실패: file={}, error={}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (deleted > 0) {
+            log.info("6.4. 이전 실행이 남긴 임시 파일 삭제: directory={}, files={}", directory, deleted);
+        }
+        return deleted;
+    }
+
+    public Stats stats() {
+        return new Stats(spilled.sum(), spilledBytes.sum(), rejected.sum());
+    }
+
+    /**
+     * 본문 넘김 통계
+     * @param spilled 임시 파일로 받은 응답 수
+     * @param spilledBytes 임시 파일로 받은 바이트 수
+     * @param rejected maxSpillSize를 넘어 실패한 응답 수
+     */
+    public record Stats(long spilled, long spilledBytes, long rejected) {
+    }
+}
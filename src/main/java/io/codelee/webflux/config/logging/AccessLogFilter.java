@@ -0,0 +1,52 @@
+package io.codelee.webflux.config.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/*
+ * 접근 로그 필터
+ *
+ * - 요청 시작부터 응답 헤더 수신(또는 에러)까지의 시간을 측정해 AccessLogRecorder에 전달
+ * - 바이트 수는 Content-Length 헤더 기준 (chunked 응답 등 알 수 없으면 -1)
+ * - 헤더 로그(logHeaders)는 DEBUG 레벨이 켜져 있을 때만 출력
+ */
+@Slf4j
+public class AccessLogFilter implements ExchangeFilterFunction {
+
+    private final String clientName;
+    private final AccessLogRecorder recorder;
+    private final boolean logHeaders;
+
+    public AccessLogFilter(String clientName, AccessLogRecorder recorder, boolean logHeaders) {
+        this.clientName = clientName;
+        this.recorder = recorder;
+        this.logHeaders = logHeaders;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            if (logHeaders && log.isDebugEnabled()) {
+                log.debug("요청 헤더: {} {} {}", request.method(), request.url(), request.headers());
+            }
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        recorder.record(clientName, request.method().name(), request.url().getHost(), request.url().getRawPath(),
+                                response.statusCode().value(), System.nanoTime() - start,
+                                response.headers().asHttpHeaders().getContentLength(),
+                                request.headers().getContentLength(), null);
+                        if (logHeaders && log.isDebugEnabled()) {
+                            log.debug("응답 헤더: {}", response.headers().asHttpHeaders());
+                        }
+                    })
+                    .doOnError(error -> recorder.record(clientName, request.method().name(), request.url().getHost(),
+                            request.url().getRawPath(), 0, System.nanoTime() - start, -1,
+                            request.headers().getContentLength(), error.getClass().getName()));
+        });
+    }
+}
@@ -0,0 +1,230 @@
+package io.codelee.webflux.config.logging;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * WebClient 접근 로그 기록기
+ *
+ * 기존 문제:
+ * - 로깅 필터가 이벤트 루프에서 요청/응답마다 INFO 로그를 2줄씩 출력
+ * - 문자열 포맷팅, 로그 appender I/O가 모두 이벤트 루프 스레드에서 일어남
+ *
+ * 구조 (다중 생산자 / 단일 소비자 링 버퍼):
+ * - 슬롯의 필드를 미리 할당한 배열(컬럼)에 저장 → 기록 시 객체 할당 없음
+ * - 생산자(이벤트 루프): 시퀀스를 CAS로 예약 → 필드 기록 → published[슬롯]에 시퀀스를 써서 공개
+ * - 소비자(백그라운드 스레드): 공개된 슬롯을 순서대로 읽어 문자열로 만들고 "webclient.access" 로거로 출력
+ * - 버퍼가 가득 차면 기다리지 않고 기록을 버림 (이벤트 루프를 막지 않는 것이 우선)
+ *
+ * 문자열 필드(클라이언트 이름, 메서드, 호스트, 경로)는 이미 존재하는 객체의 참조만 저장
+ */
+@Slf4j
+public class AccessLogRecorder implements AutoCloseable {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("webclient.access");
+
+    private final WebClientProperties.AccessLog config;
+    private final long slowThresholdNanos;
+    private final int capacity;
+    private final int mask;
+
+    // 슬롯 데이터 (컬럼 단위로 미리 할당)
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final long[] bytesIn;
+    private final long[] bytesOut;
+    private final int[] statuses;
+    private final String[] clients;
+    private final String[] methods;
+    private final String[] hosts;
+    private final String[] paths;
+    private final String[] errors;
+
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLongArray published;
+    private volatile long consumedSequence;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessLogRecorder(WebClientProperties.AccessLog config) {
+        this.config = config;
+        this.slowThresholdNanos = config.getSlowThreshold().toNanos();
+        this.capacity = Integer.highestOneBit(Math.max(2, config.getBufferSize() - 1)) << 1;
+        this.mask = capacity - 1;
+
+        this.timestamps = new long[capacity];
+        this.latencies = new long[capacity];
+        this.bytesIn = new long[capacity];
+        this.bytesOut = new long[capacity];
+        this.statuses = new int[capacity];
+        this.clients = new String[capacity];
+        this.methods = new String[capacity];
+        this.hosts = new String[capacity];
+        this.paths = new String[capacity];
+        this.errors = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+
+        this.writer = new Thread(this::drainLoop, "webclient-access-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.debug("6. 접근 로그 기록기 시작: bufferSize={}, sampleRate={}", capacity, config.getSampleRate());
+    }
+
+    /**
+     * 요청 1건 기록 (샘플링 대상이 아니면 아무것도 하지 않음)
+     * @param status 응답 상태 코드, 네트워크 에러면 0
+     * @param bytesIn 응답 Content-Length, 알 수 없으면 -1
+     * @param bytesOut 요청 Content-Length, 알 수 없으면 -1
+     * @param error 에러 클래스 이름, 정상 응답이면 null
+     */
+    public void record(String client, String method, String host, String path, int status,
+                       long latencyNanos, long bytesIn, long bytesOut, String error) {
+        if (!shouldRecord(status, latencyNanos, error)) {
+            sampledOut.increment();
+            return;
+        }
+
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+
+        int slot = (int) (sequence & mask);
+        timestamps[slot] = System.currentTimeMillis();
+        latencies[slot] = latencyNanos;
+        this.bytesIn[slot] = bytesIn;
+        this.bytesOut[slot] = bytesOut;
+        statuses[slot] = status;
+        clients[slot] = client;
+        methods[slot] = method;
+        hosts[slot] = host;
+        paths[slot] = path;
+        errors[slot] = error;
+        published.lazySet(slot, sequence);
+        recorded.increment();
+    }
+
+    private boolean shouldRecord(int status, long latencyNanos, String error) {
+        if (config.isAlwaysLogErrors() && (error != null || status >= 400)) {
+            return true;
+        }
+        if (config.isAlwaysLogSlow() && latencyNanos >= slowThresholdNanos) {
+            return true;
+        }
+        double rate = config.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private long claim() {
+        while (true) {
+            long sequence = claimSequence.get();
+            if (sequence - consumedSequence >= capacity) {
+                return -1;
+            }
+            if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        long parkNanos = config.getFlushInterval().toNanos();
+        StringBuilder line = new StringBuilder(256);
+        while (running) {
+            if (drain(line) == 0) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+        drain(line);
+    }
+
+    // 공개된 슬롯을 순서대로 출력, 아직 쓰는 중인 슬롯을 만나면 다음 주기에 다시 시도
+    private int drain(StringBuilder line) {
+        long sequence = consumedSequence;
+        int count = 0;
+        while (true) {
+            int slot = (int) (sequence & mask);
+            if (published.get(slot) != sequence) {
+                break;
+            }
+            if (ACCESS_LOG.isInfoEnabled()) {
+                line.setLength(0);
+                format(slot, line);
+                ACCESS_LOG.info(line.toString());
+            }
+            clients[slot] = null;
+            hosts[slot] = null;
+            paths[slot] = null;
+            errors[slot] = null;
+            sequence++;
+            count++;
+            // 버퍼 공간을 빨리 돌려주기 위해 일정 개수마다 소비 위치 공개
+            if ((count & 63) == 0) {
+                consumedSequence = sequence;
+            }
+        }
+        consumedSequence = sequence;
+        written.add(count);
+        return count;
+    }
+
+    private void format(int slot, StringBuilder line) {
+        line.append(Instant.ofEpochMilli(timestamps[slot]))
+                .append(" client=").append(clients[slot])
+                .append(" method=").append(methods[slot])
+                .append(" host=").append(hosts[slot])
+                .append(" path=").append(paths[slot])
+                .append(" status=").append(statuses[slot])
+                .append(" latency=").append(TimeUnit.NANOSECONDS.toMicros(latencies[slot]) / 1000.0).append("ms")
+                .append(" in=").append(bytesIn[slot])
+                .append(" out=").append(bytesOut[slot]);
+        if (errors[slot] != null) {
+            line.append(" error=").append(errors[slot]);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(recorded.sum(), sampledOut.sum(), dropped.sum(), written.sum());
+    }
+
+    /**
+     * 접근 로그 통계
+     * @param recorded 링 버퍼에 기록된 건수
+     * @param sampledOut 샘플링으로 기록하지 않은 건수
+     * @param dropped 버퍼가 가득 차 버린 건수
+     * @param written 로그로 출력된 건수
+     */
+    public record Stats(long recorded, long sampledOut, long dropped, long written) {
+    }
+}
@@ -0,0 +1,142 @@
+package io.codelee.webflux.config.metrics;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 클라이언트별 메트릭 필터
+ *
+ * 기록 항목:
+ * - 응답 시간 히스토그램: 클라이언트 전체 + URI 템플릿별 (요청 시작 ~ 응답 헤더 수신)
+ * - 상태 코드 클래스(1xx~5xx)별 응답 수, 네트워크 에러 수
+ * - 바이트 수: 실제로 쓰고 읽은 본문 DataBuffer 크기 (Content-Length가 없는 chunked 응답도 집계)
+ *
+ * URI 템플릿:
+ * - webClient.get().uri("/posts/{id}", id) 처럼 호출하면 WebClient가 요청 속성에 템플릿을 남김
+ * - 템플릿이 없는 요청(완성된 URI로 호출)은 "none"으로 집계 → 경로별로 키가 폭증하지 않도록
+ * - 템플릿 수가 MAX_URI_TEMPLATES를 넘으면 이후 템플릿은 "other"로 합침
+ */
+public class ClientMetricsFilter implements ExchangeFilterFunction {
+
+    static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    static final String NO_TEMPLATE = "none";
+    static final String OTHER_TEMPLATES = "other";
+    private static final int MAX_URI_TEMPLATES = 200;
+
+    private final String clientName;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> uriTemplates = new ConcurrentHashMap<>();
+
+    // index 1~5: 1xx~5xx
+    private final LongAdder[] statusClasses = new LongAdder[6];
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    public ClientMetricsFilter(String clientName) {
+        this.clientName = clientName;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            LatencyHistogram templateLatency = templateHistogram(request);
+            requests.increment();
+            return next.exchange(countingRequest(request))
+                    .doOnNext(response -> {
+                        long elapsed = System.nanoTime() - start;
+                        latency.record(elapsed);
+                        templateLatency.record(elapsed);
+                        int statusClass = response.statusCode().value() / 100;
+                        if (statusClass >= 1 && statusClass <= 5) {
+                            statusClasses[statusClass].increment();
+                        }
+                    })
+                    .doOnError(error -> {
+                        long elapsed = System.nanoTime() - start;
+                        latency.record(elapsed);
+                        templateLatency.record(elapsed);
+                        errors.increment();
+                    })
+                    .map(this::countingResponse);
+        });
+    }
+
+    private LatencyHistogram templateHistogram(ClientRequest request) {
+        String template = request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                .map(Object::toString)
+                .orElse(NO_TEMPLATE);
+        LatencyHistogram histogram = uriTemplates.get(template);
+        if (histogram != null) {
+            return histogram;
+        }
+        if (uriTemplates.size() >= MAX_URI_TEMPLATES) {
+            template = OTHER_TEMPLATES;
+        }
+        return uriTemplates.computeIfAbsent(template, key -> new LatencyHistogram());
+    }
+
+    // 요청 본문이 실제로 쓰일 때 바이트 수 집계 (재시도 시에는 시도마다 집계)
+    private ClientRequest countingRequest(ClientRequest request) {
+        return ClientRequest.from(request)
+                .body((outputMessage, context) -> request.body().insert(new ClientHttpRequestDecorator(outputMessage) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        return super.writeWith(Flux.from(body).doOnNext(buffer -> bytesOut.add(buffer.readableByteCount())));
+                    }
+                }, context))
+                .build();
+    }
+
+    private ClientResponse countingResponse(ClientResponse response) {
+        return response.mutate()
+                .body(body -> body.doOnNext(buffer -> bytesIn.add(buffer.readableByteCount())))
+                .build();
+    }
+
+    public Stats stats() {
+        Map<String, Long> statuses = new TreeMap<>();
+        for (int i = 1; i < statusClasses.length; i++) {
+            long count = statusClasses[i].sum();
+            if (count > 0) {
+                statuses.put(i + "xx", count);
+            }
+        }
+        Map<String, LatencyHistogram.Snapshot> templates = new TreeMap<>();
+        uriTemplates.forEach((template, histogram) -> templates.put(template, histogram.snapshot()));
+        return new Stats(requests.sum(), errors.sum(), statuses, bytesIn.sum(), bytesOut.sum(),
+                latency.snapshot(), templates);
+    }
+
+    /**
+     * 클라이언트 메트릭 스냅샷
+     * @param requests 필터를 통과한 요청 수 (재시도/헤지는 안쪽 필터에서 일어나므로 1건으로 집계)
+     * @param errors 응답 없이 에러로 끝난 요청 수
+     * @param statusClasses 상태 코드 클래스별 응답 수 (예: "2xx" → 120)
+     * @param bytesIn 읽은 응답 본문 바이트 수
+     * @param bytesOut 보낸 요청 본문 바이트 수
+     * @param latency 클라이언트 전체 응답 시간
+     * @param uriTemplates URI 템플릿별 응답 시간
+     */
+    public record Stats(long requests, long errors, Map<String, Long> statusClasses, long bytesIn, long bytesOut,
+                        LatencyHistogram.Snapshot latency, Map<String, LatencyHistogram.Snapshot> uriTemplates) {
+    }
+}
@@ -0,0 +1,232 @@
+package io.codelee.webflux.config.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.ContextAwareHttpClientMetricsRecorder;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.ContextView;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/*
+ * 클라이언트별 연결 단계 시간 측정
+ *
+ * 기존 문제:
+ * - responseTimeout 하나만 있어 /delay/{seconds}, /posts/{id} 가 느릴 때
+ *   커넥션 풀 고갈(acquireTimeout), TLS, 서버 처리 중 어디가 원인인지 알 수 없음
+ *
+ * 측정 방법:
+ * - dns/connect/tls: HttpClient.metrics()에 등록한 ContextAwareHttpClientMetricsRecorder가 전달받음
+ *   (새 커넥션을 맺을 때만 호출되며, 커넥션을 요청한 구독자의 Context가 함께 전달됨)
+ * - acquire/ttfb/body: doOnRequest / doOnResponse / doAfterResponseSuccess 훅의 시각 차이
+ * - 시도마다 새 ConnectionTimings를 Context에 넣는 필터(filter())가 필터 체인 가장 안쪽에 위치
+ * - 실패한 호출도 기록: 응답 전 실패(풀 대기 시간 초과, 연결 실패, responseTimeout)는 filter()의 doOnError,
+ *   본문 수신 중 실패는 doOnResponseError에서 그때까지 진행된 단계만 기록
+ *
+ * 결과:
+ * - 단계별 LatencyHistogram에 누적 (GET /metrics/webclient 의 phases)
+ * - slowThreshold 이상 걸린 호출은 단계별 시간을 INFO 로그로 출력
+ * - 실패한 호출은 진행된 단계까지의 시간을 WARN 로그로 출력 (풀 고갈과 느린 서버를 구분)
+ * - Context에 ConnectionTimings.LISTENER_KEY가 있으면 호출자에게 Breakdown 전달
+ */
+@Slf4j
+public class ConnectionPhaseMetrics {
+
+    private final String clientName;
+    private final long slowThresholdNanos;
+
+    private final LatencyHistogram dns = new LatencyHistogram();
+    private final LatencyHistogram connect = new LatencyHistogram();
+    private final LatencyHistogram tls = new LatencyHistogram();
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LatencyHistogram body = new LatencyHistogram();
+
+    public ConnectionPhaseMetrics(String clientName, Duration slowThreshold) {
+        this.clientName = clientName;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * HttpClient에 단계별 시간 측정 훅과 메트릭 recorder 등록
+     */
+    public HttpClient instrument(HttpClient httpClient) {
+        PhaseRecorder recorder = new PhaseRecorder();
+        return httpClient
+                .metrics(true, () -> recorder)
+                .doOnRequest((request, connection) -> {
+                    ConnectionTimings timings = ConnectionTimings.from(request.currentContextView());
+                    if (timings != null) {
+                        timings.requestStarted();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    ConnectionTimings timings = ConnectionTimings.from(response.currentContextView());
+                    if (timings != null) {
+                        timings.responseReceived();
+                    }
+                })
+                .doAfterResponseSuccess((response, connection) -> {
+                    ContextView context = response.currentContextView();
+                    ConnectionTimings timings = ConnectionTimings.from(context);
+                    if (timings != null && timings.finish()) {
+                        onCompleted(timings, ConnectionTimings.listenerFrom(context), response.method().name(), response.uri());
+                    }
+                })
+                .doOnResponseError((response, error) -> {
+                    ContextView context = response.currentContextView();
+                    ConnectionTimings timings = ConnectionTimings.from(context);
+                    if (timings != null && timings.finish()) {
+                        onFailed(timings, ConnectionTimings.listenerFrom(context), response.method().name(), response.uri(), error);
+                    }
+                });
+    }
+
+    /**
+     * 시도마다 새 ConnectionTimings를 Context에 넣는 필터 (필터 체인 가장 안쪽에 위치해야 함)
+     * 응답 헤더를 받기 전에 실패한 호출(풀 대기 시간 초과, 연결 실패, responseTimeout)도 여기서 기록
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            ConnectionTimings timings = new ConnectionTimings();
+            Consumer<ConnectionTimings.Breakdown> listener = ConnectionTimings.listenerFrom(context);
+            return next.exchange(request)
+                    .doOnError(error -> {
+                        if (timings.finish()) {
+                            onFailed(timings, listener, request.method().name(), request.url().toString(), error);
+                        }
+                    })
+                    .contextWrite(ctx -> ctx.put(ConnectionTimings.CONTEXT_KEY, timings));
+        });
+    }
+
+    private void onCompleted(ConnectionTimings timings, Consumer<ConnectionTimings.Breakdown> listener,
+                             String method, String uri) {
+        acquire.record(timings.acquireNanos());
+        timeToFirstByte.record(timings.timeToFirstByteNanos());
+        body.record(timings.bodyNanos());
+
+        if (timings.totalNanos() >= slowThresholdNanos) {
+            log.info("5.3. 느린 업스트림 호출: client={}, {} {}, {}", clientName, method, uri, timings.breakdown());
+        }
+        if (listener != null) {
+            listener.accept(timings.breakdown());
+        }
+    }
+
+    /*
+     * 실패한 호출은 도달한 단계까지만 기록
+     * - 요청 전송 전 실패: acquire (풀 대기 시간 초과면 대기한 시간 전체)
+     * - 응답 헤더 전 실패: acquire + ttfb (실패 시점까지)
+     * - 본문 수신 중 실패: acquire + ttfb + body (실패 시점까지)
+     */
+    private void onFailed(ConnectionTimings timings, Consumer<ConnectionTimings.Breakdown> listener,
+                          String method, String uri, Throwable error) {
+        acquire.record(timings.acquireNanos());
+        if (timings.hasRequestStarted()) {
+            timeToFirstByte.record(timings.timeToFirstByteNanos());
+        }
+        if (timings.hasResponseReceived()) {
+            body.record(timings.bodyNanos());
+        }
+
+        log.warn("5.3. 업스트림 호출 실패: client={}, {} {}, {}, error={}", clientName, method, uri,
+                timings.breakdown(), error.toString());
+        if (listener != null) {
+            listener.accept(timings.breakdown());
+        }
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> stats() {
+        Map<String, LatencyHistogram.Snapshot> stats = new TreeMap<>();
+        stats.put("dns", dns.snapshot());
+        stats.put("connect", connect.snapshot());
+        stats.put("tls", tls.snapshot());
+        stats.put("acquire", acquire.snapshot());
+        stats.put("ttfb", timeToFirstByte.snapshot());
+        stats.put("body", body.snapshot());
+        return stats;
+    }
+
+    /*
+     * Reactor Netty 메트릭 recorder
+     * - 연결 단계(dns/connect/tls)만 사용하고, 나머지 콜백은 ClientMetricsFilter가 이미 집계하므로 무시
+     * - Micrometer 없이 동작 (HttpClient.metrics(true, recorder))
+     */
+    private class PhaseRecorder extends ContextAwareHttpClientMetricsRecorder {
+
+        @Override
+        public void recordResolveAddressTime(ContextView contextView, SocketAddress remoteAddress, Duration time,
+                                             String status) {
+            dns.record(time.toNanos());
+            ConnectionTimings timings = ConnectionTimings.from(contextView);
+            if (timings != null) {
+                timings.resolved(time.toNanos());
+            }
+        }
+
+        @Override
+        public void recordConnectTime(ContextView contextView, SocketAddress remoteAddress, Duration time,
+                                      String status) {
+            connect.record(time.toNanos());
+            ConnectionTimings timings = ConnectionTimings.from(contextView);
+            if (timings != null) {
+                timings.connected(time.toNanos());
+            }
+        }
+
+        @Override
+        public void recordTlsHandshakeTime(ContextView contextView, SocketAddress remoteAddress, Duration time,
+                                           String status) {
+            tls.record(time.toNanos());
+            ConnectionTimings timings = ConnectionTimings.from(contextView);
+            if (timings != null) {
+                timings.tlsHandshaked(time.toNanos());
+            }
+        }
+
+        @Override
+        public void recordDataReceived(ContextView contextView, SocketAddress remoteAddress, long bytes) {
+        }
+
+        @Override
+        public void recordDataSent(ContextView contextView, SocketAddress remoteAddress, long bytes) {
+        }
+
+        @Override
+        public void incrementErrorsCount(ContextView contextView, SocketAddress remoteAddress) {
+        }
+
+        @Override
+        public void recordDataReceived(ContextView contextView, SocketAddress remoteAddress, String uri, long bytes) {
+        }
+
+        @Override
+        public void recordDataSent(ContextView contextView, SocketAddress remoteAddress, String uri, long bytes) {
+        }
+
+        @Override
+        public void incrementErrorsCount(ContextView contextView, SocketAddress remoteAddress, String uri) {
+        }
+
+        @Override
+        public void recordDataReceivedTime(ContextView contextView, SocketAddress remoteAddress, String uri,
+                                           String method, String status, Duration time) {
+        }
+
+        @Override
+        public void recordDataSentTime(ContextView contextView, SocketAddress remoteAddress, String uri,
+                                       String method, Duration time) {
+        }
+
+        @Override
+        public void recordResponseTime(ContextView contextView, SocketAddress remoteAddress, String uri,
+                                       String method, String status, Duration time) {
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.codelee.webflux.config.metrics;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/*
+ * 업스트림 호출 1회(시도 1회)의 연결 단계별 소요 시간
+ *
+ * Reactor Context에 CONTEXT_KEY로 담겨 커넥터까지 전달되고,
+ * HttpClient 훅과 메트릭 recorder가 단계가 끝날 때마다 값을 채움
+ *
+ * 단계:
+ * - dns: 호스트 이름 해석
+ * - connect: TCP 연결
+ * - tls: TLS 핸드셰이크
+ * - acquire: 커넥션 풀에서 커넥션을 얻기까지 기다린 시간 (전체 대기 - dns - connect - tls)
+ * - ttfb: 요청 전송 시작 ~ 응답 헤더 수신 (요청 본문 전송 + 서버 처리 시간)
+ * - body: 응답 헤더 수신 ~ 응답 본문 수신 완료
+ *
+ * 재사용된 커넥션이면 dns/connect/tls는 0이고 reused=true
+ * 호출이 실패하면 실패 시점에서 끝난 것으로 보고, 진행 중이던 단계는 실패 시점까지의 시간으로 계산
+ * (예: 커넥션 풀 대기 시간 초과면 acquire, 응답 헤더 전 responseTimeout이면 ttfb)
+ * 호출자가 LISTENER_KEY로 Consumer<Breakdown>을 Context에 넣으면 응답 완료 시 결과를 전달받음
+ */
+public final class ConnectionTimings {
+
+    public static final String CONTEXT_KEY = ConnectionTimings.class.getName();
+    public static final String LISTENER_KEY = CONTEXT_KEY + ".listener";
+
+    private final long startedAt = System.nanoTime();
+    private volatile long resolveNanos;
+    private volatile long connectNanos;
+    private volatile long tlsNanos;
+    private volatile long requestStartedAt;
+    private volatile long responseReceivedAt;
+    private volatile long completedAt;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    static ConnectionTimings from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    static Consumer<Breakdown> listenerFrom(ContextView context) {
+        return context.getOrDefault(LISTENER_KEY, null);
+    }
+
+    void resolved(long nanos) {
+        resolveNanos = nanos;
+    }
+
+    void connected(long nanos) {
+        connectNanos = nanos;
+    }
+
+    void tlsHandshaked(long nanos) {
+        tlsNanos = nanos;
+    }
+
+    void requestStarted() {
+        requestStartedAt = System.nanoTime();
+    }
+
+    void responseReceived() {
+        responseReceivedAt = System.nanoTime();
+    }
+
+    /**
+     * 호출 종료(성공 또는 실패) 시각 기록, 이미 종료된 호출이면 false (성공/실패 훅이 함께 호출되어도 한 번만 집계)
+     */
+    boolean finish() {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        completedAt = System.nanoTime();
+        return true;
+    }
+
+    boolean hasRequestStarted() {
+        return requestStartedAt != 0;
+    }
+
+    boolean hasResponseReceived() {
+        return responseReceivedAt != 0;
+    }
+
+    long acquireNanos() {
+        long acquiredAt = requestStartedAt != 0 ? requestStartedAt : completedAt;
+        if (acquiredAt == 0) {
+            return 0;
+        }
+        return Math.max(0, acquiredAt - startedAt - resolveNanos - connectNanos - tlsNanos);
+    }
+
+    long timeToFirstByteNanos() {
+        long firstByteAt = responseReceivedAt != 0 ? responseReceivedAt : completedAt;
+        return requestStartedAt == 0 || firstByteAt == 0 ? 0 : firstByteAt - requestStartedAt;
+    }
+
+    long bodyNanos() {
+        return responseReceivedAt == 0 || completedAt == 0 ? 0 : completedAt - responseReceivedAt;
+    }
+
+    long totalNanos() {
+        return (completedAt != 0 ? completedAt : System.nanoTime()) - startedAt;
+    }
+
+    public Breakdown breakdown() {
+        return new Breakdown(
+                toMillis(resolveNanos),
+                toMillis(connectNanos),
+                toMillis(tlsNanos),
+                toMillis(acquireNanos()),
+                toMillis(timeToFirstByteNanos()),
+                toMillis(bodyNanos()),
+                toMillis(totalNanos()),
+                connectNanos == 0);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    /**
+     * 단계별 소요 시간 (단위: ms)
+     * @param reused 기존 커넥션을 재사용했는지 여부 (dns/connect/tls 단계 없음)
+     */
+    public record Breakdown(double dns, double connect, double tls, double acquire, double ttfb, double body,
+                            double total, boolean reused) {
+
+        @Override
+        public String toString() {
+            return "dns=" + dns + "ms, connect=" + connect + "ms, tls=" + tls + "ms, acquire=" + acquire
+                    + "ms, ttfb=" + ttfb + "ms, body=" + body + "ms, total=" + total + "ms, reused=" + reused;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.codelee.webflux.config.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * lock-free 로그-선형(log-linear) 응답 시간 히스토그램 (HdrHistogram 방식)
+ *
+ * 버킷 구조 (마이크로초 단위):
+ * - 0 ~ 63us: 1us 단위 버킷 64개
+ * - 그 이상: 2의 거듭제곱 구간마다 32개의 균등 버킷 → 상대 오차 약 3% 이내
+ * - 1시간을 넘는 값은 마지막 버킷에 기록
+ *
+ * 기록 비용:
+ * - 비트 연산으로 버킷 인덱스 계산 + AtomicLongArray 증가 1회 (할당/락 없음)
+ * - 샘플을 저장하지 않으므로 메모리는 기록 건수와 관계없이 고정 (버킷 896개)
+ *
+ * 백분위수는 snapshot() 시점에 버킷을 훑어 계산하며, 버킷의 상한값을 반환
+ * 누적 방식이므로 구간별 값이 필요하면 두 스냅샷의 차이를 사용
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 64
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;  // 32
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long latencyNanos) {
+        long micros = Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (micros >>> shift) - HALF_SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // 버킷에 속하는 가장 큰 값 (마이크로초)
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        if (count == 0) {
+            return Snapshot.EMPTY;
+        }
+
+        long max = maxMicros.get();
+        return new Snapshot(
+                count,
+                toMillis(totalMicros.sum() / (double) totalCount.sum()),
+                toMillis(valueAt(copy, count, 50.0, max)),
+                toMillis(valueAt(copy, count, 90.0, max)),
+                toMillis(valueAt(copy, count, 99.0, max)),
+                toMillis(valueAt(copy, count, 99.9, max)),
+                toMillis(max));
+    }
+
+    private long valueAt(long[] copy, long count, double percentile, long max) {
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= target) {
+                // 버킷 상한이 실제 최댓값보다 클 수는 없음
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    /**
+     * 히스토그램 스냅샷 (단위: ms)
+     */
+    public record Snapshot(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0);
+    }
+}
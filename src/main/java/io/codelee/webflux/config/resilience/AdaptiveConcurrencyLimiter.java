@@ -0,0 +1,87 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * AIMD(Additive Increase, Multiplicative Decrease) 기반 적응형 동시성 제한기
+ *
+ * 동작 방식:
+ * - tryAcquire(): in-flight 요청 수가 limit 미만일 때만 허용 (대기열 없이 즉시 판단)
+ * - 정상 응답 + limit의 절반 이상 사용 중 → limit + 1 (여유가 있으면 천천히 늘림)
+ * - 에러 또는 latencyThreshold 초과 응답 → limit * backoffRatio (혼잡 신호에 빠르게 줄임)
+ *
+ * limit 갱신은 응답마다 한 번 일어나는 짧은 연산이므로 synchronized로 처리하고,
+ * 획득/반납 경로는 AtomicInteger만 사용
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final WebClientProperties.ConcurrencyLimit config;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(WebClientProperties.ConcurrencyLimit config) {
+        this.config = config;
+        this.latencyThresholdNanos = config.getLatencyThreshold().toNanos();
+        this.limit = config.getInitialLimit();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 요청 완료 처리
+     * @param rttNanos 요청 시작부터 응답 헤더 수신까지의 시간
+     * @param dropped 에러 등 혼잡 신호로 볼 결과인지 여부
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (current * 2 >= limit) {
+            increase();
+        }
+    }
+
+    /**
+     * 결과를 반영하지 않고 반납 (취소된 요청 등)
+     */
+    public void releaseIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(config.getMaxLimit(), limit + 1);
+    }
+
+    private synchronized void decrease() {
+        limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
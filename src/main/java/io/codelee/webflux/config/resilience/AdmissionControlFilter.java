@@ -0,0 +1,117 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * 업스트림 요청 수락 제어 필터 (서킷 브레이커 + 적응형 동시성 제한)
+ *
+ * 요청 처리 순서:
+ * 1. 서킷 브레이커 확인 - OPEN이면 즉시 CircuitBreakerOpenException
+ * 2. 동시성 제한 확인 - 한도 초과면 즉시 ConcurrencyLimitExceededException
+ * 3. 실제 요청 실행 후 결과(성공/실패, 응답 시간)를 두 구성 요소에 반영
+ *
+ * 결과 판단 기준:
+ * - 실패: 네트워크 에러, 5xx 응답
+ * - 느린 호출: 응답 헤더 수신까지 설정된 임계 시간 초과
+ * - 취소: 결과에 반영하지 않음 (헤징에서 진 요청 등이 실패로 집계되지 않도록)
+ *
+ * 거절 예외는 재시도 대상이 아니므로 재시도 필터가 부하를 증폭시키지 않음
+ */
+@Slf4j
+public class AdmissionControlFilter implements ExchangeFilterFunction {
+
+    private final String clientName;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdmissionControlFilter(String clientName,
+                                  WebClientProperties.CircuitBreaker circuitBreakerConfig,
+                                  WebClientProperties.ConcurrencyLimit concurrencyLimitConfig) {
+        this.clientName = clientName;
+        this.circuitBreaker = circuitBreakerConfig.isEnabled()
+                ? new CircuitBreaker(clientName, circuitBreakerConfig) : null;
+        this.limiter = concurrencyLimitConfig.isEnabled()
+                ? new AdaptiveConcurrencyLimiter(concurrencyLimitConfig) : null;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (circuitBreaker != null) {
+                circuitBreaker.acquirePermission();
+            }
+            if (limiter != null && !limiter.tryAcquire()) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.releasePermission();
+                }
+                log.debug("7.2. 동시성 한도 초과로 요청 거절: client={}, limit={}, url={}",
+                        clientName, limiter.getLimit(), request.url());
+                return Mono.error(new ConcurrencyLimitExceededException(clientName, limiter.getLimit()));
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean completed = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> complete(completed, start, response.statusCode().is5xxServerError()))
+                    .doOnError(error -> complete(completed, start, true))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL && completed.compareAndSet(false, true)) {
+                            releaseIgnored();
+                        }
+                    });
+        });
+    }
+
+    private void complete(AtomicBoolean completed, long start, boolean failure) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(failure, elapsed);
+        }
+        if (limiter != null) {
+            limiter.release(elapsed, failure);
+        }
+    }
+
+    private void releaseIgnored() {
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
+        }
+        if (limiter != null) {
+            limiter.releaseIgnored();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(
+                circuitBreaker != null ? circuitBreaker.getState().name() : "DISABLED",
+                circuitBreaker != null ? circuitBreaker.getFailureRate() : 0,
+                circuitBreaker != null ? circuitBreaker.getSlowCallRate() : 0,
+                circuitBreaker != null ? circuitBreaker.getNotPermitted() : 0,
+                limiter != null ? limiter.getLimit() : -1,
+                limiter != null ? limiter.getInFlight() : 0,
+                limiter != null ? limiter.getRejected() : 0);
+    }
+
+    /**
+     * 수락 제어 통계
+     * @param circuitState 서킷 상태 (비활성화 시 DISABLED)
+     * @param notPermitted 서킷이 열려 거절된 요청 수
+     * @param concurrencyLimit 현재 동시성 한도 (비활성화 시 -1)
+     * @param limitRejected 동시성 한도 초과로 거절된 요청 수
+     */
+    public record Stats(String circuitState, double failureRate, double slowCallRate, long notPermitted,
+                        int concurrencyLimit, int inFlight, long limitRejected) {
+    }
+}
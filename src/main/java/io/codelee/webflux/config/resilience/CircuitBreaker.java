@@ -0,0 +1,165 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 카운트 기반 슬라이딩 윈도우 서킷 브레이커
+ *
+ * 상태 전이:
+ * CLOSED ──(실패율/느린 호출 비율 초과)──▶ OPEN ──(대기 시간 경과)──▶ HALF_OPEN
+ *    ▲                                                            │
+ *    └──────────(시험 호출 결과 정상)───────────┘  (시험 호출 결과 비정상 → 다시 OPEN)
+ *
+ * - 최근 slidingWindowSize 건의 결과를 링 버퍼에 기록
+ * - 상태 판단은 호출마다 한 번씩 일어나는 짧은 연산이므로 synchronized로 처리
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String clientName;
+    private final WebClientProperties.CircuitBreaker config;
+    private final long slowCallNanos;
+    private final byte[] window;
+    private final LongAdder notPermitted = new LongAdder();
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failures;
+    private int slowCalls;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+    private int halfOpenCompleted;
+
+    public CircuitBreaker(String clientName, WebClientProperties.CircuitBreaker config) {
+        this.clientName = clientName;
+        this.config = config;
+        this.slowCallNanos = config.getSlowCallDuration().toNanos();
+        this.window = new byte[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * 호출 허용 여부 확인
+     * @throws CircuitBreakerOpenException 서킷이 열려 있거나 HALF_OPEN 시험 호출 수를 모두 사용한 경우
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() >= openUntilNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED -> {
+            }
+            case HALF_OPEN -> {
+                if (halfOpenPermits <= 0) {
+                    reject(Duration.ZERO);
+                }
+                halfOpenPermits--;
+            }
+            case OPEN -> reject(Duration.ofNanos(Math.max(0, openUntilNanos - System.nanoTime())));
+        }
+    }
+
+    /**
+     * 결과를 기록하지 않고 허용을 반납 (동시성 제한에 걸린 요청, 취소된 요청 등)
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized void onResult(boolean failure, long durationNanos) {
+        byte outcome = failure ? FAILURE : durationNanos > slowCallNanos ? SLOW : SUCCESS;
+        record(outcome);
+
+        if (state == State.HALF_OPEN) {
+            halfOpenCompleted++;
+            if (halfOpenCompleted >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(isOverThreshold(halfOpenCompleted) ? State.OPEN : State.CLOSED);
+            }
+        } else if (state == State.CLOSED && recordedCalls >= config.getMinimumCalls() && isOverThreshold(recordedCalls)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void record(byte outcome) {
+        if (recordedCalls == window.length) {
+            remove(window[windowIndex]);
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+    }
+
+    private void remove(byte outcome) {
+        if (outcome == FAILURE) {
+            failures--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    private boolean isOverThreshold(int calls) {
+        return failures * 100.0 / calls >= config.getFailureRateThreshold()
+                || slowCalls * 100.0 / calls >= config.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State next) {
+        log.warn("서킷 브레이커 상태 변경: client={}, {} → {}, failures={}, slowCalls={}, calls={}",
+                clientName, state, next, failures, slowCalls, recordedCalls);
+        state = next;
+        resetWindow();
+        if (next == State.OPEN) {
+            openUntilNanos = System.nanoTime() + config.getWaitDurationInOpenState().toNanos();
+        } else if (next == State.HALF_OPEN) {
+            halfOpenPermits = config.getPermittedCallsInHalfOpenState();
+            halfOpenCompleted = 0;
+        }
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    private void reject(Duration retryAfter) {
+        notPermitted.increment();
+        throw new CircuitBreakerOpenException(clientName, retryAfter);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0 : failures * 100.0 / recordedCalls;
+    }
+
+    public synchronized double getSlowCallRate() {
+        return recordedCalls == 0 ? 0 : slowCalls * 100.0 / recordedCalls;
+    }
+
+    public long getNotPermitted() {
+        return notPermitted.sum();
+    }
+}
@@ -0,0 +1,24 @@
+package io.codelee.webflux.config.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/*
+ * 서킷이 열려 있어 요청을 보내지 않고 즉시 실패시킬 때 발생
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CircuitBreakerOpenException extends UpstreamRejectedException {
+
+    private final Duration retryAfter;
+
+    public CircuitBreakerOpenException(String clientName, Duration retryAfter) {
+        super(clientName, "Circuit breaker is open: client=" + clientName + ", retryAfter=" + retryAfter);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,22 @@
+package io.codelee.webflux.config.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*
+ * 동시 처리 중인 요청 수가 현재 동시성 한도를 넘어 요청을 거절할 때 발생
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConcurrencyLimitExceededException extends UpstreamRejectedException {
+
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String clientName, int limit) {
+        super(clientName, "Concurrency limit exceeded: client=" + clientName + ", limit=" + limit);
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
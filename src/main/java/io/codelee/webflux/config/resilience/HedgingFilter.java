@@ -0,0 +1,176 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 헤징(Hedged Request) 필터
+ *
+ * 동작 방식:
+ * 1. 멱등 요청(GET/HEAD)을 보낸 뒤 헤지 지연 시간(최근 응답 시간의 백분위수)까지 기다림
+ * 2. 그때까지 응답이 없고 예산이 남아 있으면 같은 요청을 한 번 더 전송
+ * 3. 먼저 도착한 응답을 사용하고, 나머지 요청은 취소(커넥션 종료)
+ *
+ * 재시도 필터와의 차이:
+ * - 재시도는 실패나 전체 타임아웃 이후에만 동작하므로 느린 업스트림 노드 하나가 p99를 결정함
+ * - 헤징은 느린 응답을 기다리는 동안 다른 노드/커넥션으로 응답을 받아 꼬리 지연을 줄임
+ *
+ * 예산:
+ * - 요청마다 maxExtraLoadPercent/100 토큰 적립, 헤지 1건마다 토큰 1개 사용
+ * - 업스트림 전체가 느려진 상황에서 헤지가 부하를 두 배로 만들지 않도록 제한
+ *
+ * 지연 시간 기록:
+ * - 원 요청이 응답하면 응답 시간을, 헤지가 이겨 취소되면 취소 시점까지의 경과 시간(헤지 지연 이상)을 기록
+ * - 취소된 느린 원 요청을 빼면 꼬리 샘플이 사라져 백분위수가 내려가고 헤지가 점점 늘어남
+ *
+ * 에러 처리:
+ * - 원 요청이 헤지 전송 전에 실패하면 헤지하지 않고 바로 에러 전달 (재시도 필터가 처리)
+ * - 두 요청이 모두 실패하면 첫 번째 에러를 전달
+ */
+@Slf4j
+public class HedgingFilter implements ExchangeFilterFunction {
+
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final String clientName;
+    private final WebClientProperties.Hedging config;
+    private final LatencyPercentileTracker latencyTracker;
+    private final TokenBudget budget;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder budgetDenied = new LongAdder();
+
+    public HedgingFilter(String clientName, WebClientProperties.Hedging config) {
+        this.clientName = clientName;
+        this.config = config;
+        this.latencyTracker = new LatencyPercentileTracker(config.getSampleSize(), config.getPercentile(), config.getMinSamples());
+        this.budget = new TokenBudget(config.getMaxExtraLoadPercent() / 100.0, MAX_BUDGET_TOKENS, 0);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!isIdempotent(request.method())) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            requests.increment();
+            budget.deposit();
+
+            AtomicBoolean decided = new AtomicBoolean();
+            AtomicBoolean primaryRecorded = new AtomicBoolean();
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            long start = System.nanoTime();
+
+            Mono<Attempt> primary = next.exchange(request)
+                    .doOnCancel(() -> {
+                        countCancelled(decided);
+                        recordLatency(primaryRecorded, start);
+                    })
+                    .doOnNext(response -> recordLatency(primaryRecorded, start))
+                    .doOnError(error -> primaryFailed.tryEmitValue(true))
+                    .flatMap(response -> claim(decided, response, false));
+
+            Mono<Attempt> hedge = Mono.delay(hedgeDelay())
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> tryStartHedge(request))
+                    .flatMap(tick -> next.exchange(request)
+                            .doOnCancel(() -> countCancelled(decided)))
+                    .flatMap(response -> claim(decided, response, true));
+
+            return Flux.mergeDelayError(1, primary, hedge)
+                    .next()
+                    .doOnNext(attempt -> {
+                        if (attempt.hedged()) {
+                            hedgesWon.increment();
+                        }
+                    })
+                    .map(Attempt::response)
+                    .onErrorMap(Exceptions::isMultiple, error -> Exceptions.unwrapMultiple(error).get(0))
+                    .doOnDiscard(Attempt.class, attempt -> attempt.response().releaseBody().subscribe());
+        });
+    }
+
+    /*
+     * 먼저 도착한 응답만 사용
+     * 늦게 도착한 응답은 커넥션 누수가 없도록 본문을 해제하고 버림
+     */
+    private Mono<Attempt> claim(AtomicBoolean decided, ClientResponse response, boolean hedged) {
+        if (decided.compareAndSet(false, true)) {
+            return Mono.just(new Attempt(response, hedged));
+        }
+        return response.releaseBody().then(Mono.empty());
+    }
+
+    private void recordLatency(AtomicBoolean recorded, long start) {
+        if (recorded.compareAndSet(false, true)) {
+            latencyTracker.record(System.nanoTime() - start);
+        }
+    }
+
+    private boolean tryStartHedge(ClientRequest request) {
+        if (!budget.tryWithdraw()) {
+            budgetDenied.increment();
+            log.debug("7.1. 헤지 예산 부족: client={}, url={}", clientName, request.url());
+            return false;
+        }
+        hedgesSent.increment();
+        log.debug("7.1. 헤지 요청 전송: client={}, url={}", clientName, request.url());
+        return true;
+    }
+
+    // 승자가 정해진 뒤 취소되는 요청(패자)만 집계
+    private void countCancelled(AtomicBoolean decided) {
+        if (decided.get()) {
+            cancelled.increment();
+        }
+    }
+
+    private Duration hedgeDelay() {
+        long percentileNanos = latencyTracker.percentileNanos();
+        if (percentileNanos < 0) {
+            return config.getMaxDelay();
+        }
+        long clamped = Math.max(config.getMinDelay().toNanos(), Math.min(config.getMaxDelay().toNanos(), percentileNanos));
+        return Duration.ofNanos(clamped);
+    }
+
+    private boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    public Stats stats() {
+        return new Stats(requests.sum(), hedgesSent.sum(), hedgesWon.sum(), cancelled.sum(),
+                budgetDenied.sum(), hedgeDelay().toMillis());
+    }
+
+    /**
+     * 헤징 통계
+     * @param hedgesSent 전송된 헤지 요청 수
+     * @param hedgesWon 헤지 요청이 먼저 응답하여 사용된 횟수
+     * @param cancelled 승자가 정해진 뒤 취소된 요청 수 (원 요청 + 헤지 요청)
+     * @param budgetDenied 예산 부족으로 헤지하지 않은 횟수
+     */
+    public record Stats(long requests, long hedgesSent, long hedgesWon, long cancelled,
+                        long budgetDenied, long currentDelayMillis) {
+    }
+
+    private record Attempt(ClientResponse response, boolean hedged) {
+    }
+}
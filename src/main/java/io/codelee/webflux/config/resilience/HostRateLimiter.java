@@ -0,0 +1,122 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 호스트 하나에 대한 GCRA(Generic Cell Rate Algorithm) 속도 제한기 (lock-free)
+ *
+ * 토큰 버킷과 같은 동작을 "다음 요청이 가능한 이론적 시각(TAT)" 하나로 표현:
+ * - 요청 1건마다 TAT를 emissionInterval(1/속도) 만큼 뒤로 미룸
+ * - TAT - burst * emissionInterval 이전이면 즉시 허용, 이후면 그 차이만큼 대기
+ * - 상태가 long 하나이므로 CAS 한 번으로 예약 가능
+ *
+ * 429 피드백:
+ * - 속도 하한(floor)과 그 시각을 Throttle 레코드로 보관하고
+ *   현재 속도 = min(permitsPerSecond, floor + recoveryPerSecond * 경과 초) 로 계산
+ */
+public class HostRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final WebClientProperties.RateLimit config;
+    private final long maxWaitNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+    private final AtomicReference<Throttle> throttle = new AtomicReference<>();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public HostRateLimiter(WebClientProperties.RateLimit config) {
+        this.config = config;
+        this.maxWaitNanos = config.getMaxWait().toNanos();
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 요청 1건에 대한 전송 시점 예약
+     * @return 전송 전에 기다려야 하는 시간(ns), maxWait를 넘으면 -1 (예약하지 않음)
+     */
+    public long reserve() {
+        long now = System.nanoTime();
+        long interval = emissionIntervalNanos(now);
+        long tolerance = interval * config.getBurst();
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long next = Math.max(tat, now) + interval;
+            long wait = Math.max(0, next - tolerance - now);
+            if (wait > maxWaitNanos) {
+                rejected.increment();
+                return -1;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+                acquired.increment();
+                if (wait > 0) {
+                    delayed.increment();
+                }
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * 429 응답 반영
+     * @param retryAfterNanos Retry-After 값(ns), 없으면 -1
+     */
+    public void onThrottled(long retryAfterNanos) {
+        throttled.increment();
+        long now = System.nanoTime();
+        double reduced = Math.max(config.getMinPermitsPerSecond(), currentRate(now) * config.getThrottleRatio());
+        throttle.set(new Throttle(reduced, now));
+
+        if (retryAfterNanos > 0) {
+            long tolerance = emissionIntervalNanos(now) * config.getBurst();
+            theoreticalArrivalNanos.accumulateAndGet(now + retryAfterNanos + tolerance, Math::max);
+        }
+    }
+
+    public double currentRate() {
+        return currentRate(System.nanoTime());
+    }
+
+    private double currentRate(long now) {
+        Throttle current = throttle.get();
+        if (current == null) {
+            return config.getPermitsPerSecond();
+        }
+        double elapsedSeconds = (now - current.atNanos()) / (double) NANOS_PER_SECOND;
+        double recovered = current.floorRate() + config.getRecoveryPerSecond() * elapsedSeconds;
+        if (recovered >= config.getPermitsPerSecond()) {
+            throttle.compareAndSet(current, null);
+            return config.getPermitsPerSecond();
+        }
+        return recovered;
+    }
+
+    private long emissionIntervalNanos(long now) {
+        return (long) (NANOS_PER_SECOND / currentRate(now));
+    }
+
+    public Stats stats() {
+        return new Stats(currentRate(), acquired.sum(), delayed.sum(), rejected.sum(), throttled.sum());
+    }
+
+    /**
+     * 호스트별 속도 제한 통계
+     * @param currentRate 현재 허용 속도 (429 이후 낮아졌다가 회복)
+     * @param delayed 토큰이 없어 지연 후 전송된 요청 수
+     * @param rejected maxWait를 넘어 거절된 요청 수
+     * @param throttled 업스트림에서 받은 429 응답 수
+     */
+    public record Stats(double currentRate, long acquired, long delayed, long rejected, long throttled) {
+    }
+
+    private record Throttle(double floorRate, long atNanos) {
+    }
+}
@@ -0,0 +1,58 @@
+package io.codelee.webflux.config.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * 최근 응답 시간의 백분위수를 추적하는 슬라이딩 윈도우
+ *
+ * - 최근 sampleSize 개의 응답 시간을 링 버퍼에 기록 (lock-free)
+ * - 정렬 비용을 줄이기 위해 백분위수는 sampleSize/10 건마다 한 번만 다시 계산하여 캐시
+ * - 샘플이 minSamples 미만이면 -1 반환 (판단 근거 부족)
+ */
+class LatencyPercentileTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeInterval;
+
+    private volatile long cachedPercentileNanos = -1;
+
+    LatencyPercentileTracker(int sampleSize, double percentile, int minSamples) {
+        this.samples = new AtomicLongArray(sampleSize);
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.recomputeInterval = Math.max(1, sampleSize / 10);
+    }
+
+    void record(long latencyNanos) {
+        long count = recorded.incrementAndGet();
+        samples.lazySet((int) ((count - 1) % samples.length()), latencyNanos);
+        if (count >= minSamples && count % recomputeInterval == 0) {
+            cachedPercentileNanos = compute(count);
+        }
+    }
+
+    long percentileNanos() {
+        long count = recorded.get();
+        if (count < minSamples) {
+            return -1;
+        }
+        long cached = cachedPercentileNanos;
+        return cached >= 0 ? cached : compute(count);
+    }
+
+    private long compute(long count) {
+        int size = (int) Math.min(count, samples.length());
+        long[] snapshot = new long[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return snapshot[Math.max(0, Math.min(size - 1, index))];
+    }
+}
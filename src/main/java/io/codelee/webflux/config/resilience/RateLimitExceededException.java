@@ -0,0 +1,30 @@
+package io.codelee.webflux.config.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/*
+ * 호스트별 요청 속도 제한 때문에 maxWait 안에 요청을 보낼 수 없을 때 발생
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class RateLimitExceededException extends UpstreamRejectedException {
+
+    private final String host;
+    private final Duration maxWait;
+
+    public RateLimitExceededException(String clientName, String host, Duration maxWait) {
+        super(clientName, "Rate limit exceeded: client=" + clientName + ", host=" + host + ", maxWait=" + maxWait);
+        this.host = host;
+        this.maxWait = maxWait;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+}
@@ -0,0 +1,85 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 업스트림 호스트별 요청 속도 제한 필터
+ *
+ * 기존 문제:
+ * - /posts/batch, /posts/real-time 같은 배치 엔드포인트가 수천 건의 요청을 한 번에 내보내고
+ *   업스트림의 429를 재시도로 받아내면서 오히려 더 많은 요청을 보냄
+ *
+ * 동작 방식:
+ * 1. 요청 URL의 호스트(host:port)별 HostRateLimiter에서 전송 시점을 예약
+ * 2. 토큰이 있으면 바로, 없으면 Mono.delay로 예약 시점까지 기다렸다가 전송 (이벤트 루프를 막지 않음)
+ * 3. 대기 시간이 maxWait를 넘으면 업스트림에 보내지 않고 RateLimitExceededException
+ * 4. 429 응답을 받으면 해당 호스트의 속도를 낮추고 Retry-After 동안 전송을 멈춤
+ */
+@Slf4j
+public class RateLimitFilter implements ExchangeFilterFunction {
+
+    private final String clientName;
+    private final WebClientProperties.RateLimit config;
+    private final Map<String, HostRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(String clientName, WebClientProperties.RateLimit config) {
+        this.clientName = clientName;
+        this.config = config;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            String host = hostOf(request.url());
+            HostRateLimiter limiter = limiters.computeIfAbsent(host, key -> new HostRateLimiter(config));
+
+            long waitNanos = limiter.reserve();
+            if (waitNanos < 0) {
+                log.warn("7.3. 속도 제한 대기 시간 초과로 요청 거절: client={}, host={}, rate={}/s, url={}",
+                        clientName, host, String.format("%.1f", limiter.currentRate()), request.url());
+                return Mono.error(new RateLimitExceededException(clientName, host, config.getMaxWait()));
+            }
+
+            Mono<ClientResponse> exchange = next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                            limiter.onThrottled(RetryAfter.nanos(response));
+                            log.warn("7.3. 업스트림 429 응답으로 속도 하향: client={}, host={}, rate={}/s",
+                                    clientName, host, String.format("%.1f", limiter.currentRate()));
+                        }
+                    });
+            if (waitNanos == 0) {
+                return exchange;
+            }
+            log.debug("7.3. 속도 제한으로 요청 지연: client={}, host={}, wait={}ms",
+                    clientName, host, waitNanos / 1_000_000);
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(exchange);
+        });
+    }
+
+    private String hostOf(URI url) {
+        return url.getPort() < 0 ? url.getHost() : url.getHost() + ":" + url.getPort();
+    }
+
+    /**
+     * 호스트별 속도 제한 통계
+     */
+    public Map<String, HostRateLimiter.Stats> stats() {
+        Map<String, HostRateLimiter.Stats> stats = new TreeMap<>();
+        limiters.forEach((host, limiter) -> stats.put(host, limiter.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,46 @@
+package io.codelee.webflux.config.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Retry-After 헤더 해석 (429, 503 응답만)
+ * - 초 단위 숫자 또는 HTTP-date 형식
+ */
+final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    /**
+     * @return 대기 시간(ns), 헤더가 없거나 해석할 수 없으면 -1
+     */
+    static long nanos(ClientResponse response) {
+        int status = response.statusCode().value();
+        if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return -1;
+        }
+        String value = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.max(0, Duration.between(Instant.now(), retryAt).toNanos());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+}
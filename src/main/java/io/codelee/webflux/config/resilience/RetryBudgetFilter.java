@@ -0,0 +1,192 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/*
+ * 재시도 예산 필터 (클라이언트별로 예산 공유)
+ *
+ * 기존 방식(Retry.backoff)의 문제:
+ * - 요청마다 독립적으로 최대 maxRetryAttempts 번 재시도
+ * - 업스트림 전체가 느려지거나 5xx를 내는 상황(brownout)에서는 트래픽이 최대 (maxRetryAttempts+1) 배로 증가
+ *
+ * 동작 방식:
+ * 1. 정상 응답마다 budgetRatio 만큼 토큰 적립
+ * 2. 재시도 1회마다 토큰 1개 사용, 잔액이 없으면 재시도하지 않고 마지막 응답/에러를 그대로 전달
+ * 3. 대기 시간은 지터(FULL/DECORRELATED)를 적용한 백오프, 429/503의 Retry-After가 있으면 그 값을 사용
+ *
+ * 재시도 대상:
+ * - 재시도 가능한 에러(네트워크 에러, 타임아웃): 모든 메서드 (기존 동작 유지)
+ * - 재시도 가능한 상태 코드: 멱등 메서드만, 429는 요청이 처리되지 않았으므로 모든 메서드
+ */
+@Slf4j
+public class RetryBudgetFilter implements ExchangeFilterFunction {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final String clientName;
+    private final int maxAttempts;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+    private final WebClientProperties.RetryBudget config;
+    private final Predicate<Throwable> retryableError;
+    private final Predicate<HttpStatusCode> retryableStatus;
+    private final TokenBudget budget;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder attemptsExhausted = new LongAdder();
+    private final LongAdder retryAfterHonored = new LongAdder();
+    private final LongAdder retryAfterTooLong = new LongAdder();
+
+    public RetryBudgetFilter(String clientName, WebClientProperties properties,
+                             Predicate<Throwable> retryableError, Predicate<HttpStatusCode> retryableStatus) {
+        this.clientName = clientName;
+        this.maxAttempts = properties.getMaxRetryAttempts();
+        this.minBackoffNanos = properties.getRetryMinBackoff().toNanos();
+        this.maxBackoffNanos = Math.max(minBackoffNanos, properties.getRetryMaxBackoff().toNanos());
+        this.config = properties.getClient(clientName).getRetry();
+        this.retryableError = retryableError;
+        this.retryableStatus = retryableStatus;
+        this.budget = new TokenBudget(config.getBudgetRatio(), config.getMaxTokens(), config.getMaxTokens());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return exchange(request, next, 0, minBackoffNanos);
+    }
+
+    /*
+     * 응답과 에러를 materialize()로 한 번에 받아 판단
+     * (onErrorResume을 쓰면 재시도한 요청의 에러까지 다시 잡혀 재시도 횟수가 꼬임)
+     */
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, int attempt, long previousDelayNanos) {
+        return next.exchange(request)
+                .materialize()
+                .flatMap(signal -> {
+                    if (signal.isOnNext()) {
+                        return onResponse(request, next, attempt, previousDelayNanos, signal.get());
+                    }
+                    if (signal.isOnError()) {
+                        return onError(request, next, attempt, previousDelayNanos, signal.getThrowable());
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<ClientResponse> onResponse(ClientRequest request, ExchangeFunction next, int attempt,
+                                            long previousDelayNanos, ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        if (!retryableStatus.test(status)) {
+            budget.deposit();
+            return Mono.just(response);
+        }
+        if (!IDEMPOTENT_METHODS.contains(request.method()) && status.value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return Mono.just(response);
+        }
+
+        long retryAfterNanos = RetryAfter.nanos(response);
+        if (retryAfterNanos > config.getMaxRetryAfter().toNanos()) {
+            retryAfterTooLong.increment();
+            log.warn("7. Retry-After가 허용 범위를 넘어 재시도하지 않음: client={}, retryAfter={}ms, url={}",
+                    clientName, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos), request.url());
+            return Mono.just(response);
+        }
+        if (!tryStartRetry(request, attempt, "status " + status.value())) {
+            return Mono.just(response);
+        }
+
+        long delayNanos;
+        if (retryAfterNanos >= 0) {
+            retryAfterHonored.increment();
+            delayNanos = retryAfterNanos;
+        } else {
+            delayNanos = backoffNanos(attempt, previousDelayNanos);
+        }
+        return response.releaseBody()
+                .then(retryAfter(request, next, attempt, delayNanos));
+    }
+
+    private Mono<ClientResponse> onError(ClientRequest request, ExchangeFunction next, int attempt,
+                                         long previousDelayNanos, Throwable error) {
+        if (!retryableError.test(error) || !tryStartRetry(request, attempt, error.getMessage())) {
+            return Mono.error(error);
+        }
+        return retryAfter(request, next, attempt, backoffNanos(attempt, previousDelayNanos));
+    }
+
+    private Mono<ClientResponse> retryAfter(ClientRequest request, ExchangeFunction next, int attempt, long delayNanos) {
+        return Mono.delay(Duration.ofNanos(delayNanos))
+                .then(Mono.defer(() -> exchange(request, next, attempt + 1, Math.max(delayNanos, minBackoffNanos))));
+    }
+
+    private boolean tryStartRetry(ClientRequest request, int attempt, String cause) {
+        if (attempt >= maxAttempts) {
+            attemptsExhausted.increment();
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            log.warn("7. 재시도 예산 소진으로 재시도하지 않음: client={}, url={}, cause={}",
+                    clientName, request.url(), cause);
+            return false;
+        }
+        retries.increment();
+        log.warn("7. 요청 재시도: attempt #{}/{}, client={}, url={}, cause={}",
+                attempt + 1, maxAttempts, clientName, request.url(), cause);
+        return true;
+    }
+
+    /*
+     * 지터 적용 백오프
+     * - FULL: [0, min(max, min * 2^attempt)]
+     * - DECORRELATED: [min, min(max, previous * 3)]
+     */
+    private long backoffNanos(int attempt, long previousDelayNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (config.getJitter()) {
+            case FULL -> {
+                long exponential = minBackoffNanos << Math.min(attempt, 20);
+                long cap = exponential < 0 ? maxBackoffNanos : Math.min(maxBackoffNanos, exponential);
+                yield random.nextLong(cap + 1);
+            }
+            case DECORRELATED -> {
+                long upper = Math.min(maxBackoffNanos, previousDelayNanos * 3);
+                yield upper <= minBackoffNanos ? minBackoffNanos : random.nextLong(minBackoffNanos, upper + 1);
+            }
+        };
+    }
+
+    public Stats stats() {
+        return new Stats(retries.sum(), budgetExhausted.sum(), attemptsExhausted.sum(),
+                retryAfterHonored.sum(), retryAfterTooLong.sum(), budget.available());
+    }
+
+    /**
+     * 재시도 통계
+     * @param budgetExhausted 예산 소진으로 재시도하지 못한 횟수
+     * @param attemptsExhausted 최대 재시도 횟수를 모두 사용해 포기한 횟수
+     * @param retryAfterHonored Retry-After 헤더 값만큼 기다린 뒤 재시도한 횟수
+     * @param retryAfterTooLong Retry-After가 maxRetryAfter보다 길어 재시도하지 않은 횟수
+     * @param budgetAvailable 현재 남은 재시도 토큰
+     */
+    public record Stats(long retries, long budgetExhausted, long attemptsExhausted,
+                        long retryAfterHonored, long retryAfterTooLong, double budgetAvailable) {
+    }
+}
@@ -0,0 +1,59 @@
+package io.codelee.webflux.config.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 비율 기반 토큰 예산 (lock-free)
+ *
+ * 동작 방식:
+ * - 기준이 되는 요청(성공 요청 등)마다 ratio 만큼 토큰 적립
+ * - 추가 요청(헤지, 재시도 등)은 토큰 1개를 사용
+ * - 잔액은 maxTokens를 넘지 않음 (한가한 시간에 쌓인 예산으로 폭주하지 않도록)
+ *
+ * 예: ratio=0.1 이면 추가 요청은 기준 요청의 최대 10% 수준으로 제한
+ *
+ * 소수점 토큰을 정수 연산으로 다루기 위해 내부적으로 1/1000 단위로 저장
+ */
+public class TokenBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long depositAmount;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public TokenBudget(double ratio, double maxTokens, double initialTokens) {
+        this.depositAmount = Math.round(ratio * SCALE);
+        this.maxBalance = Math.round(maxTokens * SCALE);
+        this.balance = new AtomicLong(Math.min(maxBalance, Math.round(initialTokens * SCALE)));
+    }
+
+    /**
+     * 기준 요청 1건에 대한 토큰 적립
+     */
+    public void deposit() {
+        if (depositAmount > 0) {
+            balance.accumulateAndGet(depositAmount, (current, amount) -> Math.min(maxBalance, current + amount));
+        }
+    }
+
+    /**
+     * 추가 요청 1건에 대한 토큰 사용
+     * @return 잔액이 부족하면 false (추가 요청을 보내면 안 됨)
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double available() {
+        return balance.get() / (double) SCALE;
+    }
+}
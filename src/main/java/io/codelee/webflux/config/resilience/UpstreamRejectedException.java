@@ -0,0 +1,20 @@
+package io.codelee.webflux.config.resilience;
+
+/*
+ * 업스트림으로 요청을 보내지 않고 클라이언트 쪽에서 거절했음을 나타내는 예외의 공통 부모
+ * - 재시도 대상이 아님 (이미 과부하 상태인 업스트림에 부하를 더하지 않기 위함)
+ * - 하위 예외는 @ResponseStatus(503)로 인바운드 응답에 매핑됨
+ */
+public abstract class UpstreamRejectedException extends RuntimeException {
+
+    private final String clientName;
+
+    protected UpstreamRejectedException(String clientName, String message) {
+        super(message);
+        this.clientName = clientName;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+}
@@ -0,0 +1,56 @@
+package io.codelee.webflux.config.support;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+ * 응답 본문을 흘려보내면서 최대 maxBytes 까지만 복사해 두는 버퍼
+ *
+ * BufferedResponse.from()은 본문을 끝까지 모은 뒤에야 응답을 넘겨주므로
+ * - 첫 요소를 디코딩하기 전에 전체 본문을 기다려야 하고 (스트리밍 불가)
+ * - 크기를 알 수 없는(chunked) 본문은 메모리 사용량에 상한이 없음
+ *
+ * 이 클래스는 DataBuffer를 소비하지 않고 내용만 복사하며,
+ * maxBytes를 넘는 순간 복사본을 버리고 이후로는 아무것도 하지 않음 (overflowed)
+ */
+public class BoundedBodyCapture {
+
+    private final long maxBytes;
+    private byte[] bytes = new byte[256];
+    private int size;
+    private boolean overflowed;
+
+    public BoundedBodyCapture(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void append(DataBuffer buffer) {
+        if (overflowed) {
+            return;
+        }
+        int length = buffer.readableByteCount();
+        if (size + (long) length > maxBytes) {
+            overflowed = true;
+            bytes = null;
+            return;
+        }
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), size, length);
+        size += length;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * 복사한 본문, maxBytes를 넘었으면 null
+     */
+    public byte[] toByteArray() {
+        return overflowed ? null : Arrays.copyOf(bytes, size);
+    }
+}
@@ -0,0 +1,86 @@
+package io.codelee.webflux.config.support;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/*
+ * 본문까지 모두 읽어 메모리에 보관한 응답
+ *
+ * ClientResponse의 본문은 한 번만 읽을 수 있고 커넥션 버퍼(DataBuffer)에 묶여 있으므로,
+ * 여러 구독자에게 같은 응답을 주거나(캐시, 요청 병합) 나중에 다시 주려면
+ * byte[]로 복사하고 원래 버퍼는 즉시 해제해야 함
+ *
+ * 필요할 때마다 toClientResponse()/mutate()로 새 ClientResponse를 만들어 사용
+ */
+public record BufferedResponse(HttpStatusCode statusCode, HttpHeaders headers, byte[] body) {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    /**
+     * 응답 본문을 모두 읽어 BufferedResponse로 변환 (원래 응답의 버퍼는 해제됨)
+     */
+    public static Mono<BufferedResponse> from(ClientResponse response) {
+        return from(response, -1);
+    }
+
+    /**
+     * 응답 본문을 maxBytes 까지만 읽어 BufferedResponse로 변환
+     * 본문이 maxBytes를 넘으면 읽은 버퍼를 해제하고 DataBufferLimitException으로 실패 (-1이면 제한 없음)
+     */
+    public static Mono<BufferedResponse> from(ClientResponse response, int maxBytes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.headers().asHttpHeaders());
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), maxBytes)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(EMPTY_BODY)
+                .map(body -> new BufferedResponse(response.statusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body));
+    }
+
+    /**
+     * 원래 응답(요청 정보, 코덱 설정)을 유지하면서 본문만 보관한 바이트로 교체
+     */
+    public ClientResponse mutate(ClientResponse original) {
+        return original.mutate().body(bodyFlux()).build();
+    }
+
+    public ClientResponse toClientResponse(ExchangeStrategies strategies) {
+        return toClientResponse(strategies, headers -> {
+        });
+    }
+
+    /**
+     * 보관한 상태 코드/헤더/본문으로 새 ClientResponse 생성
+     * @param headersCustomizer 추가로 설정할 헤더 (예: 캐시 응답의 Age)
+     */
+    public ClientResponse toClientResponse(ExchangeStrategies strategies, Consumer<HttpHeaders> headersCustomizer) {
+        return ClientResponse.create(statusCode, strategies)
+                .headers(target -> {
+                    target.addAll(headers);
+                    headersCustomizer.accept(target);
+                })
+                .body(bodyFlux())
+                .build();
+    }
+
+    // 구독할 때마다 새 DataBuffer로 감싸므로 여러 번 읽어도 안전 (wrap은 복사 없이 배열을 공유)
+    private Flux<DataBuffer> bodyFlux() {
+        return Flux.defer(() -> body.length == 0
+                ? Flux.empty()
+                : Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+    }
+}
@@ -1,23 +1,44 @@
 package io.codelee.webflux.jsonplaceholder.api;
 
+import io.codelee.webflux.jsonplaceholder.application.EnrichedPost;
 import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostBatchReport;
+import io.codelee.webflux.jsonplaceholder.application.PostBulkResponse;
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import io.codelee.webflux.jsonplaceholder.application.PostEnrichmentService;
+import io.codelee.webflux.jsonplaceholder.application.PostSearchHit;
 import io.codelee.webflux.jsonplaceholder.application.PostService;
+import io.codelee.webflux.jsonplaceholder.application.PostStreamItem;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @RestController
 public class PostController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_UPSTREAM_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final PostService postService;
+    private final PostEnrichmentService postEnrichmentService;
+    private final PostPersistenceProperties.Bulk bulk;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, PostEnrichmentService postEnrichmentService,
+                          PostPersistenceProperties properties) {
         this.postService = postService;
+        this.postEnrichmentService = postEnrichmentService;
+        this.bulk = properties.getBulk();
     }
 
     @GetMapping("/posts")
@@ -25,6 +46,18 @@ public class PostController {
         return postService.getAllPostsLog();
     }
 
+    /*
+     * Accept: application/x-ndjson 이면 전체 포스트를 한 줄에 하나씩 스트리밍 (그 외에는 위의 JSON 배열)
+     * - 업스트림을 page-size개씩 받아 바로 내보내므로 첫 줄이 즉시 도착하고 양쪽 모두 메모리 사용량이 일정
+     * - 각 줄의 cursor를 ?cursor=로 넘기면 그 다음부터 이어 받음
+     */
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PostStreamItem> streamAllPosts(@RequestParam(value = "cursor", defaultValue = "0") final long cursor,
+                                               @RequestParam(value = "limit", defaultValue = "0") final long limit,
+                                               @RequestParam(value = "page-size", defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) final int pageSize) {
+        return postService.streamAllPosts(cursor, limit, Math.clamp(pageSize, 1, MAX_UPSTREAM_PAGE_SIZE));
+    }
+
     @PostMapping("/posts/batch")
     public Mono<String> batchInsertGroupPosts(@RequestParam(value = "group") final int group) {
         return postService.batchInsertGroupPosts(group);
@@ -35,6 +68,46 @@ public class PostController {
         return postService.batchInsertRealTimePosts(second);
     }
 
+    // 배치 크기/flush 간격을 자동 조절해 저장하고 배치별 결과를 반환
+    @PostMapping("/posts/batch/adaptive")
+    public Mono<PostBatchReport> batchInsertAdaptivePosts() {
+        return postService.batchInsertAdaptivePosts();
+    }
+
+    /*
+     * 일괄 조회: /posts/{id}를 N번 호출하는 대신 한 번에 (id가 많으면 POST /posts/bulk에 id 배열)
+     * - 요청한 id 순서대로 결과를 반환하고, 없는/실패한/기한을 넘긴 id는 상태만 담아 나머지 결과와 함께 응답
+     * - id 수가 posts.bulk.max-ids를 넘으면 400
+     */
+    @GetMapping(value = "/posts", params = "ids")
+    public Mono<ResponseEntity<PostBulkResponse>> getPosts(@RequestParam("ids") final List<Long> ids) {
+        return this.getPostsBulk(ids);
+    }
+
+    @PostMapping("/posts/bulk")
+    public Mono<ResponseEntity<PostBulkResponse>> getPostsBulk(@RequestBody final List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).toList();
+        if (requested.size() > bulk.getMaxIds()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return postService.getPosts(requested, bulk.getMaxConcurrency(), bulk.getDeadline())
+                .map(ResponseEntity::ok);
+    }
+
+    // 작성자 정보를 붙인 포스트 목록 (작성자는 user-service에 모아서 조회)
+    @GetMapping("/posts/enriched")
+    public Flux<EnrichedPost> getEnrichedPosts(@RequestParam(value = "cursor", defaultValue = "0") final long cursor,
+                                               @RequestParam(value = "limit", defaultValue = "100") final long limit) {
+        return postEnrichmentService.getEnrichedPosts(cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
+    // 제목/본문 전문 검색: 생성/배치 저장된 Post 중 질의와 관련이 큰 순서로 최대 limit개 (limit 최대 100)
+    @GetMapping("/posts/search")
+    public Flux<PostSearchHit> searchPosts(@RequestParam("q") final String query,
+                                           @RequestParam(value = "limit", defaultValue = "10") final int limit) {
+        return postService.searchPosts(query, Math.clamp(limit, 1, MAX_SEARCH_RESULTS));
+    }
+
     @GetMapping("/posts/{id}")
     public Mono<Post> getPost(@PathVariable Long id) {
         return postService.getPost(id);
@@ -45,8 +118,44 @@ public class PostController {
         return postService.createPost(post);
     }
 
+    /*
+     * 로컬에서 생성한(POST /posts) Post 조회
+     * - id 조회는 PostStore의 long 키 맵에서 바로 찾음 (없으면 404)
+     * - 사용자별 조회는 생성 순서대로 offset/limit 페이지 (limit 최대 1000)
+     */
+    @GetMapping("/posts/local/{id}")
+    public Mono<ResponseEntity<Post>> getLocalPost(@PathVariable long id) {
+        return postService.getLocalPost(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/posts/local/users/{userId}")
+    public Flux<Post> getLocalPostsByUser(@PathVariable long userId,
+                                          @RequestParam(value = "offset", defaultValue = "0") final int offset,
+                                          @RequestParam(value = "limit", defaultValue = "100") final int limit) {
+        return postService.getLocalPostsByUser(userId, offset, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /*
+     * 변경 피드 SSE (createPost / 배치 저장으로 들어온 Post를 실시간 전달)
+     * - 각 이벤트의 id를 SSE id로 보내므로 EventSource가 재연결할 때 Last-Event-ID로 이어 받음
+     * - 구독 직후 connected 주석을 보내 응답 헤더를 바로 내보내고, 이후 heartbeat 주석으로 유휴 연결 유지
+     * - 느린 구독자로 끊길 때(DISCONNECT 정책)는 에러 대신 정상 종료해 클라이언트가 재연결하게 함
+     */
     @GetMapping(value = "/posts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<Post> streamPosts() {
-        return postService.streamPosts();
+    public Flux<ServerSentEvent<Post>> streamPosts(
+            @RequestHeader(value = "Last-Event-ID", required = false) final Long lastEventId) {
+        Flux<ServerSentEvent<Post>> events = postService.streamPosts(lastEventId)
+                .map(event -> ServerSentEvent.builder(event.post())
+                        .id(Long.toString(event.id()))
+                        .event("post")
+                        .build());
+        Flux<ServerSentEvent<Post>> heartbeats = postService.streamHeartbeats()
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<Post>builder().comment("heartbeat").build());
+        // 피드를 먼저 구독해야 connected를 받은 클라이언트가 이후 이벤트를 놓치지 않음
+        return Flux.merge(events, Mono.just(ServerSentEvent.<Post>builder().comment("connected").build()), heartbeats)
+                .onErrorResume(PostChangeFeed.SlowConsumerException.class, error -> Mono.empty());
     }
 }
@@ -0,0 +1,9 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+/**
+ * 작성자 정보를 붙인 포스트
+ * @param post 포스트
+ * @param author 작성자 (user-service에 없거나 조회에 실패하면 null)
+ */
+public record EnrichedPost(Post post, User author) {
+}
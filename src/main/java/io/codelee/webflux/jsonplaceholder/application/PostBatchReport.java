@@ -0,0 +1,21 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.common.AdaptiveBatcher;
+
+import java.util.List;
+
+/**
+ * 적응형 배치 저장 결과
+ * @param batchCount 저장한 배치 수
+ * @param itemCount 저장한 Post 수
+ * @param elapsedMillis 전체 처리 시간
+ * @param batches 배치별 결과 (완료 순서)
+ */
+public record PostBatchReport(int batchCount, long itemCount, long elapsedMillis,
+                              List<AdaptiveBatcher.BatchResult> batches) {
+
+    static PostBatchReport of(List<AdaptiveBatcher.BatchResult> batches, long elapsedMillis) {
+        long itemCount = batches.stream().mapToLong(AdaptiveBatcher.BatchResult::size).sum();
+        return new PostBatchReport(batches.size(), itemCount, elapsedMillis, batches);
+    }
+}
@@ -0,0 +1,22 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 일괄 조회 응답
+ * @param results 요청한 id 순서대로의 결과 (중복 id도 요청한 만큼)
+ * @param counts 상태별 결과 수
+ * @param elapsedMillis 전체 처리 시간
+ */
+public record PostBulkResponse(List<PostBulkResult> results, Map<PostBulkResult.Status, Long> counts,
+                               long elapsedMillis) {
+
+    static PostBulkResponse of(List<PostBulkResult> results, long elapsedMillis) {
+        Map<PostBulkResult.Status, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(PostBulkResult::status, TreeMap::new, Collectors.counting()));
+        return new PostBulkResponse(results, counts, elapsedMillis);
+    }
+}
@@ -0,0 +1,31 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+/**
+ * 일괄 조회에서 id 하나의 결과
+ * @param id 요청한 id
+ * @param status 조회 결과
+ * @param post 조회된 포스트 (FOUND가 아니면 null)
+ * @param error 실패 사유 (FAILED / TIMED_OUT일 때만)
+ */
+public record PostBulkResult(Long id, Status status, Post post, String error) {
+
+    public enum Status {
+        FOUND, NOT_FOUND, FAILED, TIMED_OUT
+    }
+
+    static PostBulkResult found(Long id, Post post) {
+        return new PostBulkResult(id, Status.FOUND, post, null);
+    }
+
+    static PostBulkResult notFound(Long id) {
+        return new PostBulkResult(id, Status.NOT_FOUND, null, null);
+    }
+
+    static PostBulkResult failed(Long id, String error) {
+        return new PostBulkResult(id, Status.FAILED, null, error);
+    }
+
+    static PostBulkResult timedOut(Long id) {
+        return new PostBulkResult(id, Status.TIMED_OUT, null, "전체 응답 기한 초과");
+    }
+}
@@ -0,0 +1,259 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Post 변경 피드 (/posts/stream SSE의 원천)
+ *
+ * 기존 문제:
+ * - 구독자마다 Flux.interval로 가짜 Post 5개를 만들어 보냄 (실제로 생성/저장된 Post와 무관)
+ *
+ * 구조:
+ * - createPost와 배치 저장이 끝난 Post를 발행하면 1부터 증가하는 이벤트 id를 붙여 링 버퍼(replayCapacity개)에 기록
+ * - 링 버퍼 하나를 모든 구독자가 공유하고, 구독자는 자신이 어디까지 받았는지(cursor)만 가짐
+ *   → 이벤트를 구독자마다 복사해 큐에 넣지 않으므로 구독자당 메모리는 cursor와 상태 몇 개 (수만 명이어도 링 버퍼 하나)
+ * - 발행 스레드는 링 버퍼에 쓰고 끝 (구독자 전달은 전용 스레드 post-change-feed가 담당)
+ *   → createPost 응답 시간이 구독자 수에 비례해 늘어나지 않음
+ *
+ * 구독자별 버퍼 (subscriberBuffer):
+ * - 구독자가 최신 이벤트보다 subscriberBuffer개 이상 뒤처지면 overflowPolicy 적용
+ *   DROP_OLDEST: 오래된 이벤트를 건너뛰고 최근 subscriberBuffer개부터 이어서 전달
+ *   DISCONNECT: 느린 구독자의 연결을 끊음 (클라이언트는 Last-Event-ID로 재연결해 링 버퍼에서 이어 받음)
+ *
+ * 재연결 (Last-Event-ID):
+ * - lastEventId 다음 이벤트부터 링 버퍼에서 재생 후 실시간 이벤트로 이어짐 (구독 등록과 재생 사이에 빠지는 이벤트 없음)
+ * - 링 버퍼 밖으로 밀려난 구간은 건너뜀, 재생 구간이 subscriberBuffer보다 크면 따라잡을 때까지는 재생 구간만큼 허용
+ * - id를 모르거나(서버 재시작 전 id 등) 없으면 새 이벤트부터
+ */
+@Slf4j
+public class PostChangeFeed implements AutoCloseable {
+
+    private final AtomicReferenceArray<PostEvent> ring;
+    private final int mask;
+    private final int subscriberBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Flux<Long> heartbeats;
+
+    private final Object publishLock = new Object();
+    // 마지막으로 발행한 이벤트 id (링 버퍼에 쓴 뒤 갱신, 0이면 아직 없음)
+    private volatile long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Scheduler dispatcher = Schedulers.newSingle("post-change-feed", true);
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder subscribed = new LongAdder();
+
+    public PostChangeFeed(int replayCapacity, int subscriberBuffer, OverflowPolicy overflowPolicy,
+                          Duration heartbeatInterval) {
+        if (replayCapacity < 1 || subscriberBuffer < 1) {
+            throw new IllegalArgumentException("replayCapacity, subscriberBuffer는 1 이상이어야 함");
+        }
+        int capacity = Integer.highestOneBit(Math.max(1, replayCapacity - 1) << 1);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.subscriberBuffer = Math.min(subscriberBuffer, capacity);
+        this.overflowPolicy = overflowPolicy;
+        // 타이머 하나를 모든 구독자가 공유
+        this.heartbeats = Flux.interval(heartbeatInterval, heartbeatInterval).share();
+    }
+
+    public void publish(Post post) {
+        publishAll(List.of(post));
+    }
+
+    /**
+     * 순서대로 이벤트 id를 붙여 기록하고 구독자 전달을 예약 (전달을 기다리지 않음)
+     */
+    public void publishAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        synchronized (publishLock) {
+            long sequence = lastSequence;
+            for (Post post : posts) {
+                sequence++;
+                ring.set((int) sequence & mask, new PostEvent(sequence, post));
+            }
+            lastSequence = sequence;
+        }
+        published.add(posts.size());
+        scheduleDispatch();
+    }
+
+    /**
+     * @param lastEventId 마지막으로 받은 이벤트 id (null이면 새 이벤트부터)
+     */
+    public Flux<PostEvent> subscribe(Long lastEventId) {
+        return Flux.create(emitter -> {
+            Subscriber subscriber = new Subscriber(emitter, lastEventId);
+            subscribers.add(subscriber);
+            subscribed.increment();
+            emitter.onRequest(n -> subscriber.drain());
+            emitter.onDispose(() -> subscribers.remove(subscriber));
+            subscriber.drain();
+        });
+    }
+
+    /**
+     * 모든 구독자가 공유하는 heartbeat 틱 (느린 구독자는 틱을 버리도록 onBackpressureDrop과 함께 사용)
+     */
+    public Flux<Long> heartbeats() {
+        return heartbeats;
+    }
+
+    public Stats stats() {
+        return new Stats(subscribers.size(), subscribed.sum(), lastSequence, published.sum(), delivered.sum(),
+                dropped.sum(), disconnected.sum(), mask + 1, subscriberBuffer, overflowPolicy);
+    }
+
+    // 전달 작업은 한 번에 하나만 예약 (예약된 작업이 시작되기 전에 들어온 발행은 같은 작업이 함께 전달)
+    private void scheduleDispatch() {
+        if (!closed && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(() -> {
+                dispatchScheduled.set(false);
+                subscribers.forEach(Subscriber::drain);
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.dispose();
+    }
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    /**
+     * @param id 이벤트 id (SSE id로 사용, 1부터 증가)
+     * @param post 생성/저장된 포스트
+     */
+    public record PostEvent(long id, Post post) {
+    }
+
+    /**
+     * @param subscribers 현재 구독자 수
+     * @param totalSubscribed 누적 구독 수
+     * @param lastEventId 마지막 이벤트 id
+     * @param published 발행한 이벤트 수
+     * @param delivered 구독자에게 전달한 이벤트 수 (구독자 수만큼 중복 집계)
+     * @param dropped 구독자가 뒤처지거나 재연결 구간이 링 버퍼 밖이어서 건너뛴 이벤트 수
+     * @param disconnected 느린 구독자로 끊은 연결 수
+     * @param replayCapacity 링 버퍼 크기
+     * @param subscriberBuffer 구독자가 뒤처질 수 있는 최대 이벤트 수
+     * @param overflowPolicy 구독자가 subscriberBuffer보다 뒤처졌을 때 처리 방식
+     */
+    public record Stats(int subscribers, long totalSubscribed, long lastEventId, long published, long delivered,
+                        long dropped, long disconnected, int replayCapacity, int subscriberBuffer,
+                        OverflowPolicy overflowPolicy) {
+    }
+
+    /**
+     * DISCONNECT 정책에서 구독자가 subscriberBuffer보다 뒤처졌을 때 구독을 끝내는 에러
+     */
+    public static class SlowConsumerException extends RuntimeException {
+
+        public SlowConsumerException(long lag, int limit) {
+            super(String.format("구독자가 %d개 이벤트 뒤처짐 (허용 %d개)", lag, limit));
+        }
+    }
+
+    /*
+     * 구독자 하나의 상태: 링 버퍼에서 다음에 읽을 위치(cursor + 1)와 허용 지연
+     * drain은 발행(전달 스레드)과 request(구독자 스레드) 양쪽에서 호출되므로 wip 카운터로 한 번에 하나만 실행
+     */
+    private final class Subscriber {
+
+        private final FluxSink<PostEvent> emitter;
+        private final AtomicInteger wip = new AtomicInteger();
+        // 마지막으로 전달한 이벤트 id
+        private long cursor;
+        // 재연결 직후에는 재생 구간만큼 허용하고, 따라잡으면 subscriberBuffer로 줄임
+        private long allowedLag;
+        private boolean done;
+
+        Subscriber(FluxSink<PostEvent> emitter, Long lastEventId) {
+            this.emitter = emitter;
+            long head = lastSequence;
+            if (lastEventId == null || lastEventId < 0 || lastEventId > head) {
+                cursor = head;
+            } else if (head - lastEventId > mask + 1) {
+                cursor = head - (mask + 1);
+                dropped.add(cursor - lastEventId);
+                log.debug("재연결 구간이 링 버퍼 밖: lastEventId={}, 재생 시작={}", lastEventId, cursor + 1);
+            } else {
+                cursor = lastEventId;
+            }
+            allowedLag = Math.max(subscriberBuffer, head - cursor);
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done && !emitter.isCancelled()) {
+                    long head = lastSequence;
+                    if (head - cursor > allowedLag && !overflow(head)) {
+                        break;
+                    }
+                    if (cursor == head || emitter.requestedFromDownstream() == 0) {
+                        break;
+                    }
+                    PostEvent event = ring.get((int) (cursor + 1) & mask);
+                    if (event == null || event.id() != cursor + 1) {
+                        // 읽는 사이 덮어써짐 → 다음 반복에서 지연 검사로 처리
+                        continue;
+                    }
+                    cursor++;
+                    delivered.increment();
+                    emitter.next(event);
+                    if (allowedLag > subscriberBuffer && head - cursor <= subscriberBuffer) {
+                        allowedLag = subscriberBuffer;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // @return 계속 전달할 수 있으면 true
+        private boolean overflow(long head) {
+            long lag = head - cursor;
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                done = true;
+                subscribers.remove(this);
+                disconnected.increment();
+                log.warn("느린 구독자 연결 종료: lag={}, limit={}", lag, allowedLag);
+                emitter.error(new SlowConsumerException(lag, (int) allowedLag));
+                return false;
+            }
+            long skip = lag - allowedLag;
+            dropped.add(skip);
+            cursor += skip;
+            return true;
+        }
+    }
+}
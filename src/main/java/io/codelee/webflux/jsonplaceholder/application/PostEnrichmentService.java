@@ -0,0 +1,65 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.common.BatchLoader;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * 포스트에 작성자(user-service 사용자) 정보를 붙임
+ *
+ * 기존 방식이라면 (N+1):
+ * - 포스트마다 user-service를 호출 → 포스트 100개면 100번 (같은 작성자도 매번)
+ *
+ * 변경:
+ * - 요청마다 BatchLoader를 새로 만들어 batchWindow 동안 모인 userId를 중복 제거 후 GET /users?ids= 한 번으로 조회
+ * - 같은 요청 안에서 이미 조회한 작성자는 다시 조회하지 않음 (요청 범위 캐시, 요청이 끝나면 버려짐)
+ * - 포스트는 최대 concurrency개를 동시에 처리하고 순서는 유지 (flatMapSequential)
+ *
+ * 작성자 조회가 실패하거나 없는 사용자면 author=null로 응답 (포스트 목록은 그대로 반환)
+ */
+@Slf4j
+@Service
+public class PostEnrichmentService {
+
+    private final PostService postService;
+    private final UserService userService;
+    private final PostPersistenceProperties.Enrichment settings;
+
+    public PostEnrichmentService(PostService postService, UserService userService,
+                                 PostPersistenceProperties properties) {
+        this.postService = postService;
+        this.userService = userService;
+        this.settings = properties.getEnrichment();
+    }
+
+    public Flux<EnrichedPost> getEnrichedPosts(long cursor, long limit) {
+        return this.enrich(postService.streamAllPosts(cursor, limit, PostService.DEFAULT_PAGE_SIZE)
+                .map(PostStreamItem::post));
+    }
+
+    public Flux<EnrichedPost> enrich(Flux<Post> posts) {
+        return Flux.defer(() -> {
+            BatchLoader<Long, User> authors = new BatchLoader<>(userService::getUsers,
+                    settings.getMaxBatchSize(), settings.getBatchWindow(), true);
+            return posts.flatMapSequential(post -> this.enrich(post, authors), settings.getConcurrency())
+                    .doOnComplete(() -> log.debug("작성자 정보 조회 완료: {}", authors.stats()));
+        });
+    }
+
+    private Mono<EnrichedPost> enrich(Post post, BatchLoader<Long, User> authors) {
+        if (post.getUserId() == null) {
+            return Mono.just(new EnrichedPost(post, null));
+        }
+        return authors.load(post.getUserId())
+                .map(author -> new EnrichedPost(post, author))
+                .defaultIfEmpty(new EnrichedPost(post, null))
+                .onErrorResume(error -> {
+                    log.warn("작성자 조회 실패: postId={}, userId={}, error={}",
+                            post.getId(), post.getUserId(), error.getMessage());
+                    return Mono.just(new EnrichedPost(post, null));
+                });
+    }
+}
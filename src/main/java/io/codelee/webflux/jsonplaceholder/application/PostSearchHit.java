@@ -0,0 +1,9 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+/**
+ * 검색 결과 하나
+ * @param post 검색된 포스트
+ * @param score BM25 점수 (클수록 질의와 관련이 큼)
+ */
+public record PostSearchHit(Post post, double score) {
+}
@@ -0,0 +1,493 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.common.LongKeyedMap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/*
+ * Post 제목/본문 전문 검색용 역색인 (/posts/search)
+ *
+ * 기존 문제:
+ * - 검색하려면 getAllPosts로 전체를 받아 클라이언트에서 걸러야 함
+ *
+ * 구조:
+ * - 색인할 때마다 문서 번호(int)를 발급해 문서 테이블(청크 배열)에 Post와 토큰 수를 기록
+ *   (교체된 문서의 번호는 포스팅을 모두 지운 뒤 재사용 → 번호 범위는 동시에 살아 있는 문서 수 수준으로 유지)
+ * - 용어 → 포스팅 목록: ConcurrentHashMap (용어 문자열은 처음 나온 것 하나만 보관 = 용어 인터닝)
+ * - 포스팅 목록: 문서 번호 int[] + 용어 빈도 short[] (항목당 6B, 박싱/노드 객체 없음)
+ * - 토큰: 글자/숫자 연속 구간을 소문자로 (제목과 본문을 하나의 필드로 취급)
+ *
+ * 동시성 (전역 락 없음):
+ * - 포스팅 추가/삭제는 용어 단위로만 동기화 (서로 다른 용어에 쓰는 스레드끼리는 경합하지 않음)
+ * - 같은 (출처, Post id)의 색인은 키 해시로 나눈 락으로 직렬화 (교체와 번호 반납이 섞이지 않도록)
+ * - 포스팅 목록은 (배열, 크기) 스냅샷을 volatile로 교체해 공개 → 검색은 락 없이 스냅샷을 읽음
+ *
+ * 재색인:
+ * - 같은 (출처, Post id)의 제목/본문이 그대로면 포스팅은 두고 Post만 교체
+ *   (배치 엔드포인트는 같은 jsonplaceholder Post 100개를 호출마다 다시 저장함)
+ * - 내용이 바뀌었으면 새 문서 번호로 색인한 뒤 이전 문서를 테이블과 포스팅 목록에서 지우고 번호를 반납
+ *   (POST /posts 로 만든 Post와 jsonplaceholder Post는 id 공간이 겹치므로 출처별로 따로 관리)
+ * - 문서마다 색인 순번을 두고, 검색은 시작 시점 이후에 색인된 문서를 건너뜀
+ *   → 검색 도중 반납된 번호가 다른 문서에 재사용돼도 이전 문서의 포스팅으로 점수를 매기지 않음
+ *
+ * 검색 (BM25, k1=1.2, b=0.75):
+ * - 질의 용어의 포스팅만 훑어 문서별 점수를 누적 (term-at-a-time) 후 크기 limit의 최소 힙으로 상위 limit개 선택
+ * - 점수 누적 배열은 스레드별로 재사용 (발급된 문서 번호 범위만큼의 float[] → 문서 100만 개면 스레드당 약 4MB)
+ * - 비용은 질의 용어의 포스팅 길이 합에 비례 (대부분의 문서에 나오는 용어는 그만큼 느려짐)
+ * - 내용이 바뀐 재색인은 이전 문서의 용어마다 포스팅 목록을 복사하므로 흔한 용어일수록 비쌈
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int KEY_LOCKS = 64;
+
+    private final Map<String, Postings> terms = new ConcurrentHashMap<>();
+    private final LongKeyedMap<Doc> localDocs = new LongKeyedMap<>();
+    private final LongKeyedMap<Doc> upstreamDocs = new LongKeyedMap<>();
+    private final DocTable docs = new DocTable();
+    // 새로 발급할 문서 번호 (반납된 번호가 없을 때만 증가 → 지금까지 발급한 번호 범위)
+    private final AtomicInteger nextDoc = new AtomicInteger();
+    private final FreeNumbers freeNumbers = new FreeNumbers();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object[] keyLocks = new Object[KEY_LOCKS];
+    private final AtomicLong liveDocs = new AtomicLong();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public PostSearchIndex() {
+        Arrays.setAll(keyLocks, i -> new Object());
+    }
+
+    /**
+     * Post를 색인 (같은 출처에 같은 id가 이미 있으면 새 내용으로 교체, id가 없으면 무시)
+     */
+    public void index(Source source, Post post) {
+        if (post == null || post.getId() == null || post.getId() <= 0) {
+            return;
+        }
+        long id = post.getId();
+        LongKeyedMap<Doc> sourceDocs = docsOf(source);
+        // 내용이 그대로일 때는 토큰화도 하지 않음 (락 안에서 다시 확인)
+        Doc current = sourceDocs.get(id);
+        Map<String, int[]> frequencies = null;
+        int length = 0;
+        if (current == null || !sameText(current.post(), post)) {
+            frequencies = new HashMap<>();
+            length = tokenize(post.getTitle(), frequencies) + tokenize(post.getBody(), frequencies);
+        }
+
+        synchronized (lockOf(source, id)) {
+            Doc previous = sourceDocs.get(id);
+            if (previous != null && sameText(previous.post(), post)) {
+                replacePost(sourceDocs, previous, post);
+                return;
+            }
+            if (frequencies == null) {
+                // 확인한 뒤 다른 스레드가 내용을 바꿈
+                frequencies = new HashMap<>();
+                length = tokenize(post.getTitle(), frequencies) + tokenize(post.getBody(), frequencies);
+            }
+            Postings[] postings = new Postings[frequencies.size()];
+            Doc doc = new Doc(allocateNumber(), post, length, postings, sequence.incrementAndGet());
+            // 테이블에 먼저 넣어야 포스팅으로 찾은 문서 번호가 항상 조회됨
+            docs.set(doc.number(), doc);
+            sourceDocs.put(id, doc);
+            int i = 0;
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                Postings list = terms.computeIfAbsent(entry.getKey(), key -> new Postings());
+                list.add(doc.number(), entry.getValue()[0]);
+                postings[i++] = list;
+            }
+            if (previous != null) {
+                retire(previous);
+                totalLength.addAndGet(length - previous.length());
+            } else {
+                liveDocs.incrementAndGet();
+                totalLength.addAndGet(length);
+            }
+        }
+        indexed.increment();
+    }
+
+    // 제목/본문이 같으면 포스팅은 그대로 두고 검색 결과로 줄 Post만 교체
+    private void replacePost(LongKeyedMap<Doc> sourceDocs, Doc current, Post post) {
+        Doc refreshed = new Doc(current.number(), post, current.length(), current.postings(), current.sequence());
+        docs.set(refreshed.number(), refreshed);
+        sourceDocs.put(post.getId(), refreshed);
+        unchanged.increment();
+    }
+
+    private static boolean sameText(Post indexed, Post post) {
+        return Objects.equals(indexed.getTitle(), post.getTitle()) && Objects.equals(indexed.getBody(), post.getBody());
+    }
+
+    // 이전 문서를 테이블과 포스팅 목록에서 모두 지운 뒤 번호 반납
+    private void retire(Doc previous) {
+        docs.clear(previous.number(), previous);
+        for (Postings list : previous.postings()) {
+            list.remove(previous.number());
+        }
+        freeNumbers.push(previous.number());
+    }
+
+    private int allocateNumber() {
+        int recycled = freeNumbers.pop();
+        if (recycled >= 0) {
+            return recycled;
+        }
+        int number = nextDoc.getAndIncrement();
+        if (number < 0) {
+            nextDoc.decrementAndGet();
+            throw new IllegalStateException("검색 색인 문서 번호 소진");
+        }
+        return number;
+    }
+
+    private Object lockOf(Source source, long id) {
+        return keyLocks[Math.floorMod(Long.hashCode(id) * 31 + source.ordinal(), KEY_LOCKS)];
+    }
+
+    public void indexAll(Source source, List<Post> posts) {
+        posts.forEach(post -> index(source, post));
+    }
+
+    /**
+     * @return BM25 점수 내림차순 상위 limit개 (질의에 용어가 없으면 빈 목록)
+     */
+    public List<PostSearchHit> search(String query, int limit) {
+        queries.increment();
+        Set<String> queryTerms = new LinkedHashSet<>();
+        tokenize(query, term -> queryTerms.add(term));
+        long documentCount = liveDocs.get();
+        long asOf = sequence.get();
+        if (queryTerms.isEmpty() || documentCount == 0 || limit <= 0) {
+            return List.of();
+        }
+        float averageLength = Math.max(1f, (float) totalLength.get() / documentCount);
+
+        Scratch work = scratch.get();
+        float[] scores = work.ensureCapacity(nextDoc.get());
+        int touched = 0;
+        for (String term : queryTerms) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                continue;
+            }
+            Block block = postings.block;
+            // 교체 중인 문서의 포스팅 때문에 df가 문서 수보다 커져 idf가 음수가 되지 않도록 제한
+            long df = Math.min(block.size, documentCount);
+            float idf = (float) Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < block.size; i++) {
+                int number = block.docs[i];
+                // 질의 도중 새로 색인된 문서는 다음 질의부터
+                if (number >= scores.length) {
+                    continue;
+                }
+                Doc doc = docs.get(number);
+                // 지워졌거나, 질의 시작 뒤에 색인된 문서 (반납 후 재사용된 번호 포함)
+                if (doc == null || doc.sequence() > asOf) {
+                    continue;
+                }
+                int frequency = block.frequencies[i];
+                float norm = K1 * (1 - B + B * doc.length() / averageLength);
+                if (scores[number] == 0) {
+                    touched = work.touch(number, touched);
+                }
+                scores[number] += idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        return this.topHits(work, touched, limit, asOf);
+    }
+
+    private LongKeyedMap<Doc> docsOf(Source source) {
+        return switch (source) {
+            case LOCAL -> localDocs;
+            case UPSTREAM -> upstreamDocs;
+        };
+    }
+
+    public Stats stats() {
+        long postings = 0;
+        for (Postings list : terms.values()) {
+            postings += list.block.size;
+        }
+        return new Stats(liveDocs.get(), terms.size(), postings, nextDoc.get(), indexed.sum(), unchanged.sum(),
+                queries.sum());
+    }
+
+    // 누적한 점수 중 상위 limit개를 최소 힙으로 고르고, 사용한 점수 칸은 다음 질의를 위해 0으로 되돌림
+    private List<PostSearchHit> topHits(Scratch work, int touched, int limit, long asOf) {
+        float[] scores = work.scores;
+        int[] heap = new int[Math.min(limit, touched)];
+        int size = 0;
+        for (int i = 0; i < touched; i++) {
+            int number = work.touched[i];
+            if (size < heap.length) {
+                heap[size++] = number;
+                siftUp(heap, scores, size - 1);
+            } else if (scores[number] > scores[heap[0]]) {
+                heap[0] = number;
+                siftDown(heap, scores, size);
+            }
+        }
+        PostSearchHit[] hits = new PostSearchHit[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int number = heap[0];
+            Doc doc = docs.get(number);
+            hits[i] = new PostSearchHit(doc != null && doc.sequence() <= asOf ? doc.post() : null, scores[number]);
+            heap[0] = heap[i];
+            siftDown(heap, scores, i);
+        }
+        for (int i = 0; i < touched; i++) {
+            scores[work.touched[i]] = 0;
+        }
+        List<PostSearchHit> result = new ArrayList<>(size);
+        for (PostSearchHit hit : hits) {
+            // 힙에서 꺼내는 사이 재색인으로 지워졌거나 번호가 재사용된 문서는 제외
+            if (hit.post() != null) {
+                result.add(hit);
+            }
+        }
+        return result;
+    }
+
+    private static void siftUp(int[] heap, float[] scores, int index) {
+        int number = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[number]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = number;
+    }
+
+    private static void siftDown(int[] heap, float[] scores, int size) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int number = heap[0];
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[number] <= scores[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = number;
+    }
+
+    // @return 토큰 수
+    private static int tokenize(String text, Map<String, int[]> frequencies) {
+        return tokenize(text, term -> frequencies.computeIfAbsent(term, key -> new int[1])[0]++);
+    }
+
+    private static int tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    consumer.accept(text.substring(start, i).toLowerCase());
+                    count++;
+                }
+                start = -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param documents 검색 가능한 Post 수
+     * @param terms 용어 수 (재색인으로 포스팅이 모두 지워진 용어 포함)
+     * @param postings 포스팅 항목 수
+     * @param docNumbers 발급한 문서 번호 범위 (검색 스레드별 점수 배열 크기)
+     * @param indexed 누적 색인 횟수 (내용이 바뀐 재색인 포함)
+     * @param unchanged 제목/본문이 같아 포스팅을 다시 만들지 않은 재색인 횟수
+     * @param queries 누적 검색 횟수
+     */
+    public record Stats(long documents, int terms, long postings, int docNumbers, long indexed, long unchanged,
+                        long queries) {
+    }
+
+    /**
+     * LOCAL: POST /posts 로 생성한 Post, UPSTREAM: 배치 엔드포인트로 저장한 jsonplaceholder Post
+     */
+    public enum Source {
+        LOCAL, UPSTREAM
+    }
+
+    /*
+     * postings: 이 문서가 들어 있는 포스팅 목록 (교체 시 용어를 다시 찾지 않고 바로 지움)
+     * sequence: 색인 순번 (재색인으로 Post만 바꿀 때는 유지)
+     */
+    private record Doc(int number, Post post, int length, Postings[] postings, long sequence) {
+    }
+
+    // 포스팅 목록 스냅샷: docs/frequencies의 [0, size) 구간만 유효
+    private record Block(int[] docs, short[] frequencies, int size) {
+    }
+
+    /*
+     * 용어 하나의 포스팅 목록
+     * 추가: 배열에 여유가 있으면 그 자리에 쓰고 크기만 늘린 스냅샷을 공개 (이미 공개된 [0, size) 구간은 바꾸지 않음)
+     * 배열이 가득 차면 두 배 크기의 새 배열로 복사
+     * 삭제: 해당 항목을 뺀 새 배열로 복사해 공개 (이전 스냅샷을 읽는 검색에 영향 없음)
+     */
+    private static final class Postings {
+
+        private volatile Block block = new Block(new int[2], new short[2], 0);
+
+        synchronized void add(int number, int frequency) {
+            Block current = block;
+            if (current.size == current.docs.length) {
+                int capacity = current.size << 1;
+                current = new Block(Arrays.copyOf(current.docs, capacity),
+                        Arrays.copyOf(current.frequencies, capacity), current.size);
+            }
+            current.docs[current.size] = number;
+            current.frequencies[current.size] = (short) Math.min(frequency, Short.MAX_VALUE);
+            block = new Block(current.docs, current.frequencies, current.size + 1);
+        }
+
+        synchronized void remove(int number) {
+            Block current = block;
+            int index = -1;
+            for (int i = 0; i < current.size; i++) {
+                if (current.docs[i] == number) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            int size = current.size - 1;
+            int capacity = Math.max(2, Math.min(current.docs.length, size << 1));
+            int[] keptDocs = new int[capacity];
+            short[] keptFrequencies = new short[capacity];
+            System.arraycopy(current.docs, 0, keptDocs, 0, index);
+            System.arraycopy(current.docs, index + 1, keptDocs, index, size - index);
+            System.arraycopy(current.frequencies, 0, keptFrequencies, 0, index);
+            System.arraycopy(current.frequencies, index + 1, keptFrequencies, index, size - index);
+            block = new Block(keptDocs, keptFrequencies, size);
+        }
+    }
+
+    /*
+     * 문서 번호 → Doc (2^16개씩 청크로 나눠 필요할 때 할당, 전체를 복사하며 늘리지 않음)
+     */
+    private static final class DocTable {
+
+        private static final int CHUNK_BITS = 16;
+        private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+        private final AtomicReferenceArray<AtomicReferenceArray<Doc>> chunks =
+                new AtomicReferenceArray<>(1 << (31 - CHUNK_BITS));
+
+        Doc get(int number) {
+            AtomicReferenceArray<Doc> chunk = chunks.get(number >>> CHUNK_BITS);
+            return chunk != null ? chunk.get(number & CHUNK_MASK) : null;
+        }
+
+        void set(int number, Doc doc) {
+            int index = number >>> CHUNK_BITS;
+            AtomicReferenceArray<Doc> chunk = chunks.get(index);
+            if (chunk == null) {
+                chunks.compareAndSet(index, null, new AtomicReferenceArray<>(1 << CHUNK_BITS));
+                chunk = chunks.get(index);
+            }
+            chunk.set(number & CHUNK_MASK, doc);
+        }
+
+        void clear(int number, Doc expected) {
+            AtomicReferenceArray<Doc> chunk = chunks.get(number >>> CHUNK_BITS);
+            if (chunk != null) {
+                chunk.compareAndSet(number & CHUNK_MASK, expected, null);
+            }
+        }
+    }
+
+    /*
+     * 반납된 문서 번호 (int[] 스택, 박싱 없음)
+     * 반납/발급은 재색인 때만 일어나므로 synchronized로 충분
+     */
+    private static final class FreeNumbers {
+
+        private int[] numbers = new int[16];
+        private int size;
+
+        synchronized void push(int number) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size << 1);
+            }
+            numbers[size++] = number;
+        }
+
+        // @return 반납된 번호, 없으면 -1
+        synchronized int pop() {
+            return size > 0 ? numbers[--size] : -1;
+        }
+    }
+
+    // 스레드별 점수 누적 배열과 점수가 붙은 문서 번호 목록
+    private static final class Scratch {
+
+        private float[] scores = new float[0];
+        private int[] touched = new int[64];
+
+        float[] ensureCapacity(int documents) {
+            if (scores.length < documents) {
+                scores = new float[Math.max(documents, scores.length + (scores.length >> 1))];
+            }
+            return scores;
+        }
+
+        // @return 추가 후 목록 크기
+        int touch(int number, int size) {
+            if (size == touched.length) {
+                touched = Arrays.copyOf(touched, size << 1);
+            }
+            touched[size] = number;
+            return size + 1;
+        }
+    }
+}
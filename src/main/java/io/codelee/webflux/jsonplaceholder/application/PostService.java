@@ -1,95 +1,336 @@
 package io.codelee.webflux.jsonplaceholder.application;
 
+import io.codelee.webflux.common.AdaptiveBatcher;
+import io.codelee.webflux.common.BatchLoader;
+import io.codelee.webflux.common.SingleFlight;
+import io.codelee.webflux.common.WriteBehindWriter;
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 public class PostService {
 
     private final WebClient jsonPlaceholderClient;
-    private final List<Post> posts = new ArrayList<>();
+    private final PostStore postStore;
+    private final WriteBehindWriter<Post> postWriter;
+    // posts.journal.enabled=false 이면 null
+    private final PostJournal postJournal;
+    private final AdaptiveBatcher.Settings batchSettings;
+    private final PostChangeFeed changeFeed;
+    private final PostSearchIndex searchIndex;
 
-    public PostService(@Qualifier("jsonPlaceholderClient") WebClient jsonPlaceholderClient) {
+    // 업스트림 페이지 하나의 기본 크기 / 미리 받아 둘 페이지 수
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int PREFETCH_PAGES = 2;
+
+    // 같은 id에 대한 동시 조회는 업스트림 호출 1건으로 병합 (결과 Post는 호출자들이 공유)
+    private final SingleFlight<Long, Post> postFlights = new SingleFlight<>();
+    // 서로 다른 id의 동시 조회는 /posts?id=1&id=2 한 번으로 묶음 (posts.lookup-batch.enabled=false 이면 null)
+    private final BatchLoader<Long, Post> postLoader;
+
+    public PostService(@Qualifier("jsonPlaceholderClient") WebClient jsonPlaceholderClient, PostStore postStore,
+                       WriteBehindWriter<Post> postWriter, ObjectProvider<PostJournal> postJournal,
+                       AdaptiveBatcher.Settings batchSettings, PostChangeFeed changeFeed,
+                       PostSearchIndex searchIndex, PostPersistenceProperties properties) {
         this.jsonPlaceholderClient = jsonPlaceholderClient;
+        this.postStore = postStore;
+        this.postWriter = postWriter;
+        this.postJournal = postJournal.getIfAvailable();
+        this.batchSettings = batchSettings;
+        this.changeFeed = changeFeed;
+        this.searchIndex = searchIndex;
+        PostPersistenceProperties.LookupBatch lookupBatch = properties.getLookupBatch();
+        // 조회 결과는 캐시하지 않음 (요청마다 최신 값을 받아야 하고, 오래 사는 인스턴스라 캐시가 계속 커짐)
+        this.postLoader = lookupBatch.isEnabled()
+                ? new BatchLoader<>(this::fetchPosts, lookupBatch.getMaxBatchSize(), lookupBatch.getWindow(), false)
+                : null;
     }
 
     private Flux<Post> getAllPosts() {
+        return this.streamAllPosts(0, 0, DEFAULT_PAGE_SIZE)
+                .map(PostStreamItem::post);
+    }
+
+    /*
+     * /posts 페이지 스트리밍 조회
+     * - 기존: /posts 배열 전체를 한 번에 받고 take(5)로 잘라냄 (필요한 만큼만 받을 방법이 없음)
+     * - 변경: _start/_limit로 범위를 업스트림에 넘겨 pageSize개씩 받음
+     *
+     * 미리 받기 (flatMapSequential):
+     * - 최대 PREFETCH_PAGES개 페이지를 동시에 요청하고, 페이지 순서대로 발행
+     * - 앞 페이지가 클라이언트에게 모두 나가야 다음 페이지를 요청하므로 메모리에는 최대 (PREFETCH_PAGES + 1)개 페이지만 있음
+     * - 클라이언트가 느리면 요청도 그만큼 늦어짐 (배압이 업스트림 호출까지 전달)
+     *
+     * 종료: 요청한 것보다 적게 온 페이지(마지막 페이지)를 받거나 limit개를 채우면 완료, 미리 보낸 요청은 취소
+     *
+     * @param cursor 시작 위치 (이전 스트림의 마지막 cursor를 넘기면 그 다음부터 이어 받음)
+     * @param limit 최대 항목 수 (0 이하면 끝까지)
+     */
+    public Flux<PostStreamItem> streamAllPosts(long cursor, long limit, int pageSize) {
+        long start = Math.max(0, cursor);
+        // start + limit이 넘치면 끝까지 (limit=Long.MAX_VALUE 같은 큰 값도 유효한 요청)
+        long end = limit <= 0 || limit > Long.MAX_VALUE - start ? Long.MAX_VALUE : start + limit;
+        return Flux.<Long, Long>generate(() -> start, (offset, sink) -> {
+                    if (offset >= end) {
+                        sink.complete();
+                    } else {
+                        sink.next(offset);
+                    }
+                    return offset + pageSize;
+                })
+                .flatMapSequential(offset -> this.getPostPage(offset, (int) Math.min(pageSize, end - offset)),
+                        PREFETCH_PAGES, 1)
+                .takeUntil(PostPage::isLast)
+                .concatMapIterable(PostPage::items, 1);
+    }
+
+    private Mono<PostPage> getPostPage(long offset, int limit) {
         return jsonPlaceholderClient.get()
-                .uri("/posts")
+                .uri(uriBuilder -> uriBuilder.path("/posts")
+                        .queryParam("_start", offset)
+                        .queryParam("_limit", limit)
+                        .build())
                 .retrieve()
                 .bodyToFlux(Post.class)
-                .take(5); // 테스트를 위해 5개만
+                .collectList()
+                .doOnNext(posts -> log.debug("포스트 페이지 조회됨: start={}, limit={}, size={}", offset, limit, posts.size()))
+                .map(posts -> new PostPage(offset, limit, posts));
+    }
+
+    private record PostPage(long offset, int limit, List<Post> posts) {
+
+        boolean isLast() {
+            return posts.size() < limit;
+        }
+
+        List<PostStreamItem> items() {
+            List<PostStreamItem> items = new ArrayList<>(posts.size());
+            for (int i = 0; i < posts.size(); i++) {
+                items.add(new PostStreamItem(offset + i + 1, posts.get(i)));
+            }
+            return items;
+        }
     }
 
     public Flux<Post> getAllPostsLog() {
         return this.getAllPosts()
                 .doOnSubscribe(subscription -> log.info("getAllPosts 구독 시작"))
-                .doOnNext(post -> log.info("포스트 조회됨: ID={}, Title={}", post.getId(), post.getTitle()))
+                .doOnNext(post -> log.debug("포스트 조회됨: ID={}, Title={}", post.getId(), post.getTitle()))
                 .doOnComplete(() -> log.info("getAllPosts 완료"))
                 .doOnError(error -> log.error("getAllPosts 에러: {}", error.getMessage()));
 
     }
 
+    /*
+     * 배치 저장 엔드포인트는 모두 AdaptiveBatcher 하나로 처리
+     * - 기존: buffer(group) / buffer(Duration) + 동시성 제한 없는 flatMap(save)
+     * - 변경: 배치 크기와 flush 간격을 저장 지연 시간에 맞춰 자동 조절, 동시 저장 배치 수는 maxConcurrency로 제한
+     * group / second 파라미터는 첫 배치 크기 / 첫 flush 간격으로만 사용 (이후에는 조절된 값 사용)
+     * - second가 adaptive-batch.max-interval보다 길면 그 호출에 한해 max-interval을 second까지 늘림
+     * - group은 adaptive-batch의 min/max 배치 크기 범위로 제한됨
+     */
     public Mono<String> batchInsertGroupPosts(final int group) {
-        return this.getAllPosts()
-                .doOnSubscribe(subscription -> log.info("getAllPosts 구독 시작"))
-                .doOnNext(post -> log.info("포스트 조회됨: ID={}, Title={}", post.getId(), post.getTitle()))
-                .buffer(group)
-                .doOnNext(posts -> log.info("포스트 목록 조회됨: {}", posts.size()))
-                .flatMap(posts -> this.save(posts)
-                        .doOnSuccess(result -> log.info("배치 저장 완료: {}개 포스트 처리됨", posts.size()))
-                        .doOnError(error -> log.error("배치 저장 실패: {}", error.getMessage())))
-                .doOnComplete(() -> log.info("getAllPosts 완료"))
-                .doOnError(error -> log.error("getAllPosts 에러: {}", error.getMessage()))
-                .count()
-                .map(batchCount -> String.format("총 %d개 배치 처리 완료", batchCount));
+        return this.batchInsert(batchSettings.withInitial(group, null))
+                .map(report -> String.format("총 %d개 배치 처리 완료", report.batchCount()));
     }
 
     public Mono<String> batchInsertRealTimePosts(final int second) {
-        return this.getAllPosts()
-                .doOnSubscribe(subscription -> log.info("getAllPosts 구독 시작"))
-                .doOnNext(post -> log.info("포스트 조회됨: ID={}, Title={}", post.getId(), post.getTitle()))
-                .buffer(Duration.ofSeconds(second))
-                .doOnNext(posts -> log.info("포스트 목록 조회됨: {}", posts.size()))
-                .flatMap(posts -> this.save(posts)
-                        .doOnSuccess(result -> log.info("배치 저장 완료: {}개 포스트 처리됨", posts.size()))
-                        .doOnError(error -> log.error("배치 저장 실패: {}", error.getMessage())))
-                .doOnComplete(() -> log.info("getAllPosts 완료"))
-                .doOnError(error -> log.error("getAllPosts 에러: {}", error.getMessage()))
-                .count()
-                .map(batchCount -> String.format("총 %d개 배치 처리 완료", batchCount));
+        return this.batchInsert(batchSettings.withInitial(null, Duration.ofSeconds(second)))
+                .map(report -> String.format("총 %d개 배치 처리 완료", report.batchCount()));
+    }
 
+    public Mono<PostBatchReport> batchInsertAdaptivePosts() {
+        return this.batchInsert(batchSettings);
     }
 
+    private Mono<PostBatchReport> batchInsert(AdaptiveBatcher.Settings settings) {
+        AdaptiveBatcher<Post> batcher = new AdaptiveBatcher<>(this::save, settings);
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return batcher.process(this.getAllPosts()
+                            .doOnSubscribe(subscription -> log.info("getAllPosts 구독 시작"))
+                            .doOnNext(post -> log.debug("포스트 조회됨: ID={}, Title={}", post.getId(), post.getTitle())))
+                    .doOnNext(result -> log.info("배치 저장 완료: {}개 포스트 처리됨 (trigger={}, latency={}ms, 다음 배치 크기={})",
+                            result.size(), result.trigger(), result.latencyMillis(), result.nextBatchSize()))
+                    .doOnComplete(() -> log.info("getAllPosts 완료"))
+                    .doOnError(error -> log.error("배치 저장 실패: {}", error.getMessage()))
+                    .collectList()
+                    .map(batches -> PostBatchReport.of(batches,
+                            Duration.ofNanos(System.nanoTime() - startedAt).toMillis()));
+        });
+    }
+
+    /*
+     * 단건 조회 (같은 id 동시 조회는 SingleFlight로 1건으로 병합)
+     *
+     * 마이크로 배치 (posts.lookup-batch):
+     * - window 동안(또는 maxBatchSize개가 모일 때까지) 들어온 서로 다른 id를 /posts?id=1&id=2 한 번으로 조회하고
+     *   응답을 id별로 나눠 각 호출자에게 돌려줌 → 동시 요청이 많을수록 업스트림 호출 수가 줄어듦
+     * - 없는 id는 빈 결과 (기존 /posts/{id}의 404와 같게 NotFound로 변환)
+     * - 배치 조회가 실패하면 그 배치의 호출자마다 /posts/{id}로 개별 재조회 (id별 성공/실패가 각 호출자에게 전달됨)
+     */
     public Mono<Post> getPost(Long id) {
+        if (postLoader == null) {
+            return postFlights.execute(id, () -> this.fetchPost(id));
+        }
+        return postFlights.execute(id, () -> postLoader.load(id)
+                .onErrorResume(error -> {
+                    log.warn("포스트 배치 조회 실패, 개별 조회로 전환: id={}, error={}", id, error.getMessage());
+                    return this.fetchPost(id);
+                })
+                .switchIfEmpty(Mono.error(() -> WebClientResponseException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null))));
+    }
+
+    public BatchLoader.Stats postLookupStats() {
+        return postLoader != null ? postLoader.stats() : null;
+    }
+
+    private Mono<Post> fetchPost(Long id) {
         return jsonPlaceholderClient.get()
                 .uri("/posts/{id}", id)
                 .retrieve()
                 .bodyToMono(Post.class);
     }
 
+    // @return id → Post (업스트림에 없는 id는 Map에 없음)
+    private Mono<Map<Long, Post>> fetchPosts(List<Long> ids) {
+        return jsonPlaceholderClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/posts")
+                        .queryParam("id", ids)
+                        .build())
+                .retrieve()
+                .bodyToFlux(Post.class)
+                .collectMap(Post::getId, Function.identity())
+                .doOnNext(posts -> log.debug("포스트 배치 조회: 요청 {}개, 응답 {}개", ids.size(), posts.size()));
+    }
+
+    /*
+     * 여러 id를 getPost로 동시에 조회해 요청한 순서대로 반환
+     * - 같은 id는 한 번만 조회하고, 결과는 요청한 자리마다 채움
+     * - 최대 maxConcurrency개만 동시에 조회 (나머지는 앞선 조회가 끝나면 시작)
+     * - id별 실패는 해당 결과에만 담고 전체 호출은 성공 (없는 id는 NOT_FOUND, 그 외 에러는 FAILED)
+     * - deadline은 요청 전체의 기한: 각 조회는 남은 시간만큼만 기다리고, 기한이 지난 뒤 차례가 온 id는 조회하지 않음
+     *   → 느린 id 하나가 있어도 응답은 deadline 안에 나감 (그 id만 TIMED_OUT)
+     */
+    public Mono<PostBulkResponse> getPosts(List<Long> ids, int maxConcurrency, Duration deadline) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            long deadlineAt = startedAt + deadline.toNanos();
+            return Flux.fromIterable(ids.stream().distinct().toList())
+                    .flatMap(id -> this.getPostForBulk(id, deadlineAt), maxConcurrency)
+                    .collectMap(PostBulkResult::id)
+                    .map(resultsById -> PostBulkResponse.of(
+                            ids.stream().map(resultsById::get).toList(),
+                            Duration.ofNanos(System.nanoTime() - startedAt).toMillis()));
+        });
+    }
+
+    private Mono<PostBulkResult> getPostForBulk(Long id, long deadlineAt) {
+        return Mono.defer(() -> {
+            long remaining = deadlineAt - System.nanoTime();
+            if (remaining <= 0) {
+                return Mono.just(PostBulkResult.timedOut(id));
+            }
+            return this.getPost(id)
+                    .map(post -> PostBulkResult.found(id, post))
+                    .defaultIfEmpty(PostBulkResult.notFound(id))
+                    .timeout(Duration.ofNanos(remaining), Mono.fromSupplier(() -> PostBulkResult.timedOut(id)))
+                    .onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.just(PostBulkResult.notFound(id)))
+                    .onErrorResume(error -> {
+                        log.warn("일괄 조회 실패: id={}, error={}", id, error.getMessage());
+                        return Mono.just(PostBulkResult.failed(id, error.getMessage()));
+                    });
+        });
+    }
+
+    /*
+     * id는 PostStore가 발급 (동시 생성에도 충돌하지 않음)
+     * 저널을 사용하면 저널에 기록된 뒤 응답 (기록은 저널 전용 스레드가 그룹 커밋으로 처리)
+     * 기록이 끝난 Post만 PostStore에 저장하고 검색 색인에 추가한 뒤 변경 피드에 발행
+     * - 기록에 실패하면(대기열 가득 참, 저널 닫힘) 저장하지 않고 에러 (발급한 id는 건너뜀)
+     * - 저장/색인/발행은 toFuture()로 호출자 구독과 분리 → 기록 중에 호출자가 취소해도 기록된 Post는 끝까지 반영
+     */
     public Mono<Post> createPost(Post post) {
-        post.setId(System.currentTimeMillis());
-        posts.add(post);
-        return Mono.just(post);
+        return Mono.defer(() -> {
+            Post reserved = postStore.reserve(post);
+            Mono<Void> durable = postJournal != null ? postJournal.appendLocal(reserved) : Mono.empty();
+            CompletableFuture<Post> committed = durable
+                    .then(Mono.fromSupplier(() -> commitCreated(reserved)))
+                    .toFuture();
+            return Mono.fromFuture(committed, true);
+        });
+    }
+
+    private Post commitCreated(Post created) {
+        postStore.insert(created);
+        searchIndex.index(PostSearchIndex.Source.LOCAL, created);
+        changeFeed.publish(created);
+        return created;
+    }
+
+    public Mono<Post> getLocalPost(long id) {
+        return Mono.justOrEmpty(postStore.findById(id));
+    }
+
+    public Flux<Post> getLocalPostsByUser(long userId, int offset, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(postStore.findByUserId(userId, offset, limit)));
+    }
+
+    /*
+     * 제목/본문 전문 검색 (createPost / 배치 저장으로 들어온 Post 대상, BM25 점수 순)
+     * 색인 조회는 메모리에서 바로 끝나므로 호출 스레드에서 실행
+     */
+    public Flux<PostSearchHit> searchPosts(String query, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(searchIndex.search(query, limit)));
+    }
+
+    public PostSearchIndex.Stats searchStats() {
+        return searchIndex.stats();
+    }
+
+    /*
+     * 변경 피드 구독 (createPost / 배치 저장으로 들어온 Post)
+     * lastEventId가 있으면 그 다음 이벤트부터 재생 후 실시간 이벤트로 이어짐
+     */
+    public Flux<PostChangeFeed.PostEvent> streamPosts(Long lastEventId) {
+        return changeFeed.subscribe(lastEventId);
     }
 
-    public Flux<Post> streamPosts() {
-        return Flux.interval(Duration.ofSeconds(1))
-                .take(5)
-                .map(i -> new Post(i, "Stream Post " + i, "Content " + i, i));
+    public Flux<Long> streamHeartbeats() {
+        return changeFeed.heartbeats();
     }
 
+    /*
+     * 쓰기 지연 파이프라인에 넘기고, 배치 저장소(BatchSink)에 모두 기록되면 완료
+     * - 파이프라인이 여러 save() 호출의 항목을 모아 배치로 저장하므로 호출마다 파일 쓰기가 일어나지 않음
+     * - 파이프라인 큐가 가득 차면 공간이 생길 때까지 완료가 늦어짐 (배압)
+     * - 저장이 끝난 Post는 검색 색인에 추가하고 변경 피드에 발행
+     */
     public Mono<?> save(List<Post> posts) {
-        return Mono.just(posts);
+        return postWriter.submit(posts)
+                .then(Mono.fromRunnable(() -> {
+                    searchIndex.indexAll(PostSearchIndex.Source.UPSTREAM, posts);
+                    changeFeed.publishAll(posts);
+                }))
+                .thenReturn(posts);
     }
 }
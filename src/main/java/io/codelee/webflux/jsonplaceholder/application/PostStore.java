@@ -0,0 +1,126 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.common.LongKeyedMap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 로컬에서 생성한 Post 저장소
+ *
+ * 기존 문제:
+ * - 이벤트 루프 스레드들이 동기화 없이 ArrayList.add() 호출 → 동시 생성 시 항목 유실/배열 손상
+ * - System.currentTimeMillis()를 id로 사용 → 같은 밀리초에 생성된 Post끼리 id 충돌
+ * - id/사용자로 조회하려면 리스트 전체를 훑어야 함
+ *
+ * 구조:
+ * - id: AtomicLong 증가값 (락 없이 단조 증가, 1부터 시작)
+ * - id → Post: LongKeyedMap (박싱 없는 long 키, 항목당 약 16~21B)
+ * - userId → id 목록: LongKeyedMap<PostIds> (사용자별 long[]에 생성 순서대로 추가)
+ *
+ * Post는 저장 시점에 복사해서 보관하므로 호출자가 넘긴 객체를 나중에 바꿔도 저장소에는 영향 없음
+ */
+@Component
+public class PostStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongKeyedMap<Post> posts = new LongKeyedMap<>();
+    private final LongKeyedMap<PostIds> postIdsByUser = new LongKeyedMap<>();
+
+    /**
+     * 새 id를 발급해 저장하고 저장된 Post를 반환 (post.id는 무시)
+     */
+    public Post create(Post post) {
+        Post reserved = reserve(post);
+        insert(reserved);
+        return reserved;
+    }
+
+    /**
+     * 새 id만 발급한 Post를 반환 (저장하지 않음, post.id는 무시)
+     * 저널 기록이 끝난 뒤 insert()로 저장 - 기록에 실패하면 저장하지 않으므로 발급한 id는 건너뜀
+     */
+    public Post reserve(Post post) {
+        return new Post(sequence.incrementAndGet(), post.getTitle(), post.getBody(), post.getUserId());
+    }
+
+    /**
+     * reserve()로 id를 발급받은 Post 저장
+     * 같은 id가 다시 들어오면 덮어쓰고 사용자 인덱스에는 한 번만 추가
+     */
+    public void insert(Post post) {
+        long id = post.getId();
+        // 사용자 인덱스보다 먼저 넣어야 인덱스로 찾은 id가 항상 조회됨
+        Post previous = posts.put(id, post);
+        if (previous == null && post.getUserId() != null && post.getUserId() != 0) {
+            postIdsByUser.computeIfAbsent(post.getUserId(), userId -> new PostIds()).add(id);
+        }
+    }
+
+    /**
+     * 저널 복구용: 기록된 id 그대로 저장하고, 이후 발급할 id가 복원한 id보다 커지도록 맞춤
+     */
+    public void restore(Post post) {
+        sequence.accumulateAndGet(post.getId(), Math::max);
+        insert(post);
+    }
+
+    public Post findById(long id) {
+        return id > 0 ? posts.get(id) : null;
+    }
+
+    /**
+     * 사용자가 작성한 Post를 생성 순서로 offset부터 최대 limit개 조회
+     */
+    public List<Post> findByUserId(long userId, int offset, int limit) {
+        PostIds ids = userId != 0 ? postIdsByUser.get(userId) : null;
+        if (ids == null) {
+            return List.of();
+        }
+        long[] page = ids.slice(offset, limit);
+        List<Post> result = new ArrayList<>(page.length);
+        for (long id : page) {
+            result.add(posts.get(id));
+        }
+        return result;
+    }
+
+    public int countByUserId(long userId) {
+        PostIds ids = userId != 0 ? postIdsByUser.get(userId) : null;
+        return ids != null ? ids.size() : 0;
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    /*
+     * 사용자별 id 목록 (long[] 증가 배열, 항목당 8B)
+     * 추가는 사용자 단위로만 경합하므로 synchronized로 충분
+     */
+    private static final class PostIds {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long[] slice(int offset, int limit) {
+            int from = Math.min(Math.max(0, offset), size);
+            int to = (int) Math.min(size, (long) from + Math.max(0, limit));
+            return Arrays.copyOfRange(ids, from, to);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
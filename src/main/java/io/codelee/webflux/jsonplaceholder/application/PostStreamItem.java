@@ -0,0 +1,9 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+/**
+ * NDJSON 스트림의 한 줄
+ * @param cursor 이 항목 다음부터 이어 받을 위치 (연결이 끊기면 마지막으로 받은 cursor로 다시 요청)
+ * @param post 포스트
+ */
+public record PostStreamItem(long cursor, Post post) {
+}
@@ -0,0 +1,20 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * user-service의 사용자 (포스트 작성자 정보로 사용)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class User {
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+}
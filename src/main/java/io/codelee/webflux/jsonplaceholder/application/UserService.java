@@ -0,0 +1,41 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * user-service 조회
+ * 일괄 조회 API: GET /users?ids=1,2,3 → 있는 사용자만 담은 JSON 배열 (순서 무관)
+ */
+@Slf4j
+@Service
+public class UserService {
+
+    private final WebClient userServiceClient;
+
+    public UserService(@Qualifier("userServiceClient") WebClient userServiceClient) {
+        this.userServiceClient = userServiceClient;
+    }
+
+    /**
+     * @return id → 사용자 (없는 id는 Map에 없음)
+     */
+    public Mono<Map<Long, User>> getUsers(List<Long> ids) {
+        String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return userServiceClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/users")
+                        .queryParam("ids", joined)
+                        .build())
+                .retrieve()
+                .bodyToFlux(User.class)
+                .collectMap(User::getId)
+                .doOnNext(users -> log.debug("사용자 일괄 조회: 요청 {}개, 응답 {}개", ids.size(), users.size()));
+    }
+}
@@ -0,0 +1,113 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.codelee.webflux.common.BatchSink;
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 로컬 파일에 Post를 JSON Lines 형식으로 덧붙여 쓰는 BatchSink
+ *
+ * - 배치 하나를 한 번의 write로 파일 끝에 추가 (APPEND, 기존 내용은 수정하지 않음)
+ * - 직렬화와 파일 쓰기는 boundedElastic에서 수행 (이벤트 루프 블로킹 방지)
+ * - 동시에 여러 배치가 들어와도 파일 쓰기는 락으로 직렬화 (한 배치의 줄이 섞이지 않음)
+ * - fsync=true 이면 배치마다 FileChannel.force()로 디스크까지 내려간 뒤 완료
+ * - 쓰기 도중 실패하면 배치 시작 위치로 truncate (WriteBehindWriter가 배치 전체를 재시도하므로 잘린 줄/중복 방지)
+ */
+@Slf4j
+public class FilePostBatchSink implements BatchSink<Post>, AutoCloseable {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Path file;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public FilePostBatchSink(Path file, boolean fsync, ObjectMapper objectMapper) {
+        this.file = file;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Post 파일 열기 실패: " + file, e);
+        }
+        log.info("Post 파일 저장소 열림: file={}, fsync={}", file, fsync);
+    }
+
+    @Override
+    public Mono<Void> write(List<Post> batch) {
+        return Mono.<Void>fromRunnable(() -> append(serialize(batch)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ByteBuffer serialize(List<Post> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(batch.size() * 128);
+        try {
+            for (Post post : batch) {
+                out.write(objectMapper.writeValueAsBytes(post));
+                out.write(NEW_LINE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private void append(ByteBuffer buffer) {
+        writeLock.lock();
+        long start = -1;
+        try {
+            start = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            rollback(start, e);
+            throw new UncheckedIOException("Post 파일 쓰기 실패: " + file, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rollback(long start, IOException cause) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "file:" + file.getFileName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,133 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import io.codelee.webflux.jsonplaceholder.application.Post;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/*
+ * 저널 레코드 인코딩
+ *
+ * 레코드 = 헤더(8B) + 본문
+ * - int length: 본문 길이 (0이면 세그먼트의 데이터 끝 - 새 세그먼트 파일은 0으로 채워져 있음)
+ * - int crc: 본문의 CRC32C (쓰다가 끊긴 레코드 검출)
+ *
+ * 본문:
+ * - byte source: LOCAL(POST /posts 로 생성) / UPSTREAM(배치 엔드포인트로 저장한 jsonplaceholder Post)
+ * - long id, long userId (null이면 NULL_LONG)
+ * - int titleLength + UTF-8, int bodyLength + UTF-8 (null이면 길이 -1)
+ *
+ * 같은 (source, id)의 레코드는 나중 것이 이전 것을 덮어씀 (compaction/복구 기준)
+ */
+record JournalRecord(Source source, Post post) {
+
+    static final int HEADER_SIZE = 8;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    enum Source {
+        LOCAL((byte) 1), UPSTREAM((byte) 2);
+
+        private final byte code;
+
+        Source(byte code) {
+            this.code = code;
+        }
+
+        static Source of(byte code) {
+            return switch (code) {
+                case 1 -> LOCAL;
+                case 2 -> UPSTREAM;
+                default -> throw new IllegalArgumentException("알 수 없는 레코드 source: " + code);
+            };
+        }
+    }
+
+    /**
+     * 헤더를 포함한 레코드 전체를 인코딩 (position=0, limit=레코드 길이)
+     */
+    ByteBuffer encode() {
+        byte[] title = bytesOf(post.getTitle());
+        byte[] body = bytesOf(post.getBody());
+        int payloadLength = 1 + 8 + 8 + 4 + lengthOf(title) + 4 + lengthOf(body);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.position(HEADER_SIZE);
+        buffer.put(source.code);
+        buffer.putLong(orNull(post.getId()));
+        buffer.putLong(orNull(post.getUserId()));
+        putBytes(buffer, title);
+        putBytes(buffer, body);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_SIZE, payloadLength);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    static JournalRecord decode(ByteBuffer payload) {
+        Source source = Source.of(payload.get());
+        long id = payload.getLong();
+        long userId = payload.getLong();
+        String title = getString(payload);
+        String body = getString(payload);
+        return new JournalRecord(source, new Post(fromNull(id), title, body, fromNull(userId)));
+    }
+
+    static boolean isValid(ByteBuffer payload, int expectedCrc) {
+        return crcOf(payload) == expectedCrc;
+    }
+
+    static int crcOf(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * compaction 키: 본문을 모두 디코딩하지 않고 source와 id만 읽음 (id가 없으면 0 - 항상 보존)
+     */
+    static long keyOf(ByteBuffer payload) {
+        byte source = payload.get(payload.position());
+        long id = payload.getLong(payload.position() + 1);
+        if (id == NULL_LONG || id == 0) {
+            return 0;
+        }
+        return id * 2 + (source == Source.UPSTREAM.code ? 1 : 0);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long orNull(Long value) {
+        return value != null ? value : NULL_LONG;
+    }
+
+    private static Long fromNull(long value) {
+        return value != NULL_LONG ? value : null;
+    }
+}
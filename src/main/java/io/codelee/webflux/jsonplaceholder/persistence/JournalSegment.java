@@ -0,0 +1,225 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 저널 세그먼트 파일 하나 (고정 크기, 메모리 매핑)
+ *
+ * 파일 이름: <sequence 20자리>-<part 4자리>.seg
+ * - sequence: 세그먼트 생성 순서 (재시작/롤링마다 증가)
+ * - part: 0이면 원본 세그먼트, 1 이상이면 compaction 결과 (같은 sequence의 원본 뒤에 정렬됨)
+ * - 복구는 (sequence, part) 순서로 재생하므로 나중 레코드가 항상 이전 레코드를 덮어씀
+ *
+ * 쓰기용 세그먼트는 파일 전체를 READ_WRITE로 매핑해 두고 버퍼에 복사만 함 (write 시스템 콜 없음)
+ * 읽기(복구/compaction)는 READ_ONLY로 매핑해 레코드를 순서대로 훑음
+ */
+@Slf4j
+final class JournalSegment {
+
+    static final String SUFFIX = ".seg";
+    static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern NAME = Pattern.compile("(\\d{20})-(\\d{4})\\.seg");
+
+    static final Comparator<JournalSegment> ORDER = Comparator
+            .comparingLong(JournalSegment::sequence)
+            .thenComparingInt(JournalSegment::part);
+
+    private final long sequence;
+    private final int part;
+    private Path path;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private JournalSegment(long sequence, int part, Path path) {
+        this.sequence = sequence;
+        this.part = part;
+        this.path = path;
+    }
+
+    static String fileName(long sequence, int part) {
+        return String.format("%020d-%04d%s", sequence, part, SUFFIX);
+    }
+
+    /**
+     * 기존 세그먼트 파일 (이름 형식이 다르면 null)
+     */
+    static JournalSegment existing(Path path) {
+        Matcher matcher = NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new JournalSegment(Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2)), path);
+    }
+
+    /**
+     * 쓰기용 새 세그먼트 생성 (temp=true 이면 .tmp 이름으로 만들고 publish()로 공개)
+     */
+    static JournalSegment create(Path directory, long sequence, int part, int size, boolean temp) {
+        String name = fileName(sequence, part) + (temp ? TEMP_SUFFIX : "");
+        JournalSegment segment = new JournalSegment(sequence, part, directory.resolve(name));
+        try {
+            segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 생성 실패: " + segment.path, e);
+        }
+        return segment;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int part() {
+        return part;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int remaining() {
+        // 마지막 레코드 뒤에 데이터 끝 표시(length=0)를 둘 헤더 공간은 남겨 둠
+        return buffer.remaining() - JournalRecord.HEADER_SIZE;
+    }
+
+    int writePosition() {
+        return buffer.position();
+    }
+
+    void write(ByteBuffer record) {
+        buffer.put(record);
+    }
+
+    /**
+     * position 뒤에 쓴 레코드를 지우고 쓰기 위치를 되돌림
+     * 지운 영역은 0으로 채워 복구 시 position에서 데이터 끝(length=0)을 만나게 함
+     */
+    void rewind(int position) {
+        int end = buffer.position();
+        if (end > position) {
+            buffer.put(position, new byte[end - position]);
+            buffer.position(position);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 쓰기를 끝내고 디스크에 반영 (매핑은 GC 시점에 해제됨)
+     * 파일은 마지막 레코드 + 데이터 끝 표시(length=0)까지만 남기고 자름
+     * (미리 잡아 둔 segmentSize만큼의 0 영역을 닫힌 세그먼트마다 디스크에 남기지 않음)
+     */
+    void seal() {
+        buffer.force();
+        long end = (long) buffer.position() + JournalRecord.HEADER_SIZE;
+        buffer = null;
+        try {
+            channel.truncate(end);
+            channel.force(true);
+        } catch (IOException e) {
+            // 잘리지 않아도 복구는 데이터 끝 표시에서 멈추므로 내용은 그대로 유효
+            log.warn("저널 세그먼트 자르기 실패: {}, size={}", path, end, e);
+        }
+        closeChannel();
+    }
+
+    /**
+     * .tmp 세그먼트를 최종 이름으로 원자적으로 변경
+     */
+    void publish() {
+        seal();
+        Path target = path.resolveSibling(fileName(sequence, part));
+        try {
+            Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 공개 실패: " + path, e);
+        }
+        path = target;
+    }
+
+    void delete() {
+        closeChannel();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("저널 세그먼트 삭제 실패: {}", path, e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 닫기 실패: {}", path, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * 레코드를 순서대로 읽어 visitor에 전달 (payload는 본문 영역의 읽기 전용 슬라이스)
+     * 데이터 끝(length=0)이나 CRC가 맞지 않는 레코드(쓰다가 끊긴 레코드)에서 멈춤
+     *
+     * @return 읽은 레코드 수
+     */
+    int scan(RecordVisitor visitor) {
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            int count = 0;
+            int position = 0;
+            int limit = mapped.limit();
+            while (position + JournalRecord.HEADER_SIZE <= limit) {
+                int length = mapped.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                int crc = mapped.getInt(position + 4);
+                int payloadStart = position + JournalRecord.HEADER_SIZE;
+                if (payloadStart + length > limit) {
+                    log.warn("저널 레코드가 세그먼트 끝을 넘음 (쓰다가 끊긴 레코드): segment={}, position={}", path, position);
+                    break;
+                }
+                ByteBuffer payload = mapped.slice(payloadStart, length);
+                if (!JournalRecord.isValid(payload, crc)) {
+                    log.warn("저널 레코드 CRC 불일치 (쓰다가 끊긴 레코드): segment={}, position={}", path, position);
+                    break;
+                }
+                visitor.visit(position, payload);
+                count++;
+                position = payloadStart + length;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 읽기 실패: " + path, e);
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(int position, ByteBuffer payload);
+    }
+
+    @Override
+    public String toString() {
+        return path.getFileName().toString();
+    }
+}
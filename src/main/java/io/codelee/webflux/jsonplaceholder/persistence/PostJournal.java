@@ -0,0 +1,622 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import io.codelee.webflux.common.LongKeyedMap;
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ * Post 추가 전용(append-only) 저널 - 메모리 매핑 세그먼트 + 그룹 커밋
+ *
+ * 기존 문제:
+ * - POST /posts 로 만든 Post와 배치 엔드포인트로 저장한 Post가 재시작하면 모두 사라짐
+ *
+ * 쓰기 (그룹 커밋):
+ * - append()는 레코드를 인코딩해 큐에 넣고 바로 반환 (이벤트 루프에서 블로킹 I/O 없음)
+ * - 전용 스레드(post-journal-writer) 하나가 큐에 쌓인 요청을 최대 maxGroupSize개씩 모아
+ *   매핑된 세그먼트에 복사한 뒤, fsync 정책에 따라 한 번만 force() 하고 그룹 전체를 완료시킴
+ *   (호출자 쪽 후속 처리는 parallel 스케줄러에서 실행되므로 writer 스레드를 붙잡지 않음)
+ * - 그룹 중간에 쓰기/force()가 실패하면 기록되지 않은 요청만 실패시키고, 그 레코드는 세그먼트에서 지움
+ * - 큐가 가득 차면(maxPending) 즉시 에러 (호출자에게 과부하를 알림)
+ * - close()는 큐에 넣는 중인 append()가 끝난 뒤 writer에 종료를 알리므로, 종료 뒤에 들어가 완료되지 않는 요청이 없음
+ *
+ * fsync 정책:
+ * - ALWAYS: 그룹마다 force() 후 완료 → 완료된 Post는 전원이 나가도 보존
+ * - INTERVAL: fsyncInterval마다 force(), 완료는 매핑 버퍼에 복사한 시점 → 프로세스가 죽어도 OS 페이지 캐시에 남지만
+ *   전원 장애 시 마지막 interval 동안의 Post는 잃을 수 있음
+ * - NEVER: force()하지 않음 (세그먼트를 닫을 때만)
+ *
+ * 세그먼트 롤링/compaction:
+ * - 레코드가 현재 세그먼트에 들어가지 않으면 새 세그먼트를 만든 뒤 현재 세그먼트를 닫고(sealed) 넘어감
+ * - 닫힌 세그먼트가 compactionThreshold개 이상이면 별도 스레드에서 같은 (source, id)의 최신 레코드만 남겨 새 세그먼트로 다시 씀
+ *   (배치 엔드포인트는 같은 jsonplaceholder Post를 반복 저장하므로 대부분이 중복)
+ * - 결과는 .tmp로 쓴 뒤 이름을 바꿔 공개하고 나서 원본을 삭제 → 중간에 죽어도 재생 결과는 같음
+ *
+ * 디렉터리 잠금:
+ * - 생성 시 디렉터리의 journal.lock 파일에 배타 잠금을 잡고, 다른 프로세스나 같은 JVM의 다른 인스턴스가 쓰고 있으면 바로 실패
+ *   (close()에서 해제)
+ * - 두 인스턴스가 같은 디렉터리에 쓰면 세그먼트 번호가 겹치고 서로의 compaction이 상대 세그먼트를 지울 수 있음
+ *
+ * 복구:
+ * - 시작 시 세그먼트들을 recoveryParallelism개 스레드로 동시에 디코딩(CRC 검증 포함)한 뒤 세그먼트 순서대로 적용
+ * - 쓰다가 끊긴 마지막 레코드는 CRC로 걸러내고, 새 세그먼트부터 쓰기 시작
+ */
+@Slf4j
+public class PostJournal implements AutoCloseable {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+    static final String LOCK_FILE_NAME = "journal.lock";
+    private static final Set<Path> LOCKED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final PostPersistenceProperties.FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final int maxGroupSize;
+    private final int compactionThreshold;
+    private final int recoveryParallelism;
+    private final FileLock directoryLock;
+
+    private final BlockingQueue<PendingAppend> pending;
+    private final Thread writerThread;
+    private final ExecutorService compactionExecutor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile boolean running = true;
+    // writer가 큐를 비운 뒤 끝내도 되는지 (close()가 넣는 중인 append()를 기다린 뒤 설정)
+    private volatile boolean stopping;
+    // 큐에 넣는 중인 append() 수 (close()가 writer 종료 신호 전에 기다림)
+    private final AtomicInteger appending = new AtomicInteger();
+
+    // 닫힌 세그먼트 목록 (writer 스레드와 compaction 스레드가 함께 사용 - this로 동기화)
+    private final List<JournalSegment> sealed = new ArrayList<>();
+    private JournalSegment active;
+    private long nextSequence;
+    private long lastForceAt = System.nanoTime();
+    private boolean dirty;
+
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder groupCommits = new LongAdder();
+    private final LongAdder fsyncs = new LongAdder();
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private final LongAdder compactedRecords = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Recovery recovery = new Recovery(0, 0, 0, 0);
+
+    public PostJournal(PostPersistenceProperties.Journal properties) {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, properties.getSegmentSize().toBytes());
+        this.fsyncPolicy = properties.getFsync();
+        this.fsyncIntervalNanos = properties.getFsyncInterval().toNanos();
+        this.maxGroupSize = properties.getMaxGroupSize();
+        this.compactionThreshold = properties.getCompactionThreshold();
+        this.recoveryParallelism = properties.getRecoveryParallelism();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 디렉터리 생성 실패: " + directory, e);
+        }
+        this.directoryLock = lockDirectory(directory);
+        this.pending = new ArrayBlockingQueue<>(properties.getMaxPending());
+        this.writerThread = Thread.ofPlatform().name("post-journal-writer").daemon().unstarted(this::writeLoop);
+        this.compactionExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("post-journal-compaction").daemon().factory());
+    }
+
+    /*
+     * 같은 JVM의 다른 인스턴스는 LOCKED_DIRECTORIES로, 다른 프로세스는 파일 잠금(tryLock이 null)으로 걸러냄
+     * 같은 JVM에서 같은 파일의 채널을 닫으면 OS 잠금이 함께 풀릴 수 있으므로, 잠금 파일은 LOCKED_DIRECTORIES를 통과한 뒤에만 엶
+     */
+    private static FileLock lockDirectory(Path directory) {
+        Path key = directory.toAbsolutePath().normalize();
+        if (!LOCKED_DIRECTORIES.add(key)) {
+            throw new IllegalStateException("저널 디렉터리를 다른 인스턴스가 사용 중: " + directory);
+        }
+        Path lockFile = directory.resolve(LOCK_FILE_NAME);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            closeQuietly(channel);
+            LOCKED_DIRECTORIES.remove(key);
+            throw new IllegalStateException("저널 디렉터리 잠금 실패: " + lockFile, e);
+        }
+        closeQuietly(channel);
+        LOCKED_DIRECTORIES.remove(key);
+        throw new IllegalStateException("저널 디렉터리를 다른 프로세스가 사용 중: " + directory);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("저널 잠금 파일 닫기 실패", e);
+            }
+        }
+    }
+
+    // ============== 복구 ==============
+
+    public Recovery recover(Consumer<Post> localPosts) {
+        return recover(localPosts, post -> {
+        });
+    }
+
+    /**
+     * 기존 세그먼트를 재생해 LOCAL Post는 localPosts로, UPSTREAM Post는 upstreamPosts로 전달한 뒤 쓰기 시작
+     * 같은 (source, id)의 Post가 여러 번 전달될 수 있으며 나중 것이 최신 (LOCAL Post는 생성 후 바뀌지 않으므로 보통 같은 내용)
+     */
+    public Recovery recover(Consumer<Post> localPosts, Consumer<Post> upstreamPosts) {
+        long startedAt = System.nanoTime();
+        deleteTempFiles();
+        List<JournalSegment> segments = listSegments();
+
+        // 디코딩(CRC 검증 + 문자열 복원)은 세그먼트별로 병렬, 적용은 세그먼트 순서대로
+        ForkJoinPool pool = new ForkJoinPool(recoveryParallelism);
+        List<CompletableFuture<List<JournalRecord>>> decoded;
+        try {
+            decoded = segments.stream()
+                    .map(segment -> CompletableFuture.supplyAsync(() -> decode(segment), pool))
+                    .toList();
+            CompletableFuture.allOf(decoded.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        long local = 0;
+        long upstream = 0;
+        for (CompletableFuture<List<JournalRecord>> records : decoded) {
+            for (JournalRecord record : records.join()) {
+                if (record.source() == JournalRecord.Source.LOCAL) {
+                    localPosts.accept(record.post());
+                    local++;
+                } else {
+                    upstreamPosts.accept(record.post());
+                    upstream++;
+                }
+            }
+        }
+
+        synchronized (this) {
+            sealed.addAll(segments);
+        }
+        nextSequence = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).sequence() + 1;
+        active = JournalSegment.create(directory, nextSequence++, 0, segmentSize, false);
+        writerThread.start();
+
+        recovery = new Recovery(segments.size(), local, upstream,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("저널 복구 완료: directory={}, {}", directory, recovery);
+        scheduleCompactionIfNeeded();
+        return recovery;
+    }
+
+    private List<JournalRecord> decode(JournalSegment segment) {
+        List<JournalRecord> records = new ArrayList<>();
+        segment.scan((position, payload) -> records.add(JournalRecord.decode(payload)));
+        return records;
+    }
+
+    private List<JournalSegment> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(JournalSegment::existing)
+                    .filter(segment -> segment != null)
+                    .sorted(JournalSegment.ORDER)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 디렉터리 읽기 실패: " + directory, e);
+        }
+    }
+
+    // 공개되기 전에 중단된 compaction 결과
+    private void deleteTempFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(JournalSegment.TEMP_SUFFIX)).toList()) {
+                log.warn("완료되지 않은 compaction 파일 삭제: {}", file);
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 디렉터리 정리 실패: " + directory, e);
+        }
+    }
+
+    // ============== 쓰기 ==============
+
+    /**
+     * POST /posts 로 생성한 Post 기록 (복구 시 PostStore로 복원됨)
+     */
+    public Mono<Void> appendLocal(Post post) {
+        return append(JournalRecord.Source.LOCAL, List.of(post));
+    }
+
+    /**
+     * 배치 엔드포인트로 저장한 jsonplaceholder Post 기록 (같은 id는 compaction 시 최신 것만 남음)
+     */
+    public Mono<Void> appendUpstream(List<Post> posts) {
+        return append(JournalRecord.Source.UPSTREAM, posts);
+    }
+
+    /*
+     * 레코드들을 한 요청으로 큐에 넣음 (같은 그룹 커밋에 포함되고, fsync 정책에 따라 디스크 반영 후 완료)
+     */
+    private Mono<Void> append(JournalRecord.Source source, List<Post> posts) {
+        return Mono.defer(() -> {
+            appending.incrementAndGet();
+            try {
+                return enqueue(source, posts);
+            } finally {
+                appending.decrementAndGet();
+            }
+        });
+    }
+
+    private Mono<Void> enqueue(JournalRecord.Source source, List<Post> posts) {
+        if (!running) {
+            return Mono.error(closedError());
+        }
+        List<ByteBuffer> records = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            ByteBuffer record = new JournalRecord(source, post).encode();
+            if (record.remaining() > segmentSize - JournalRecord.HEADER_SIZE) {
+                return Mono.error(new IllegalArgumentException(
+                        "레코드가 세그먼트 크기보다 큼: id=" + post.getId() + ", size=" + record.remaining()));
+            }
+            records.add(record);
+        }
+        PendingAppend append = new PendingAppend(records, new CompletableFuture<>());
+        if (!pending.offer(append)) {
+            rejected.increment();
+            return Mono.error(new RejectedExecutionException("저널 쓰기 대기열이 가득 참: " + pending.size()));
+        }
+        // 후속 처리(PostStore 반영, 색인, 배치 티켓 등)가 writer 스레드에서 돌지 않게 넘김
+        return Mono.fromFuture(append.completion(), true).publishOn(Schedulers.parallel());
+    }
+
+    private IllegalStateException closedError() {
+        return new IllegalStateException("저널이 닫혔음: " + directory);
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+        while (!stopping || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(pollTimeoutNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    forceIfDue();
+                    continue;
+                }
+                group.add(first);
+                pending.drainTo(group, maxGroupSize - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("저널 그룹 커밋 실패: size={}", group.size(), e);
+                group.forEach(append -> append.completion().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+        active.seal();
+        log.info("저널 쓰기 종료: {}", stats());
+    }
+
+    /*
+     * 그룹의 요청을 순서대로 세그먼트에 복사한 뒤 fsync 정책에 따라 force()
+     * - 복사 중 실패하면(롤링할 세그먼트 생성 실패 등) 그 요청부터 뒤는 실패, 앞의 요청은 그대로 완료
+     * - force()가 실패하면 쓰는 중인 세그먼트에 들어간 요청은 모두 실패 (롤링으로 닫힌 세그먼트는 닫을 때 force()됨)
+     * - 실패한 요청의 레코드는 쓰는 중인 세그먼트에서 지워(rewind) 복구 시 되살아나지 않게 함
+     *   (세그먼트보다 큰 UPSTREAM 배치가 롤링을 넘어 실패하면 이미 닫힌 세그먼트에 들어간 앞부분은 남음 - 최신 것이 덮어쓰므로 무해)
+     */
+    private void commit(List<PendingAppend> group) {
+        // 쓰는 중인 세그먼트에 처음 들어간 요청의 순번과 그 시작 위치 (롤링하면 롤링한 요청과 0으로 바뀜)
+        int activeFrom = 0;
+        int activeMark = active.writePosition();
+        int written = 0;
+        RuntimeException failure = null;
+        for (PendingAppend append : group) {
+            int mark = active.writePosition();
+            try {
+                for (ByteBuffer record : append.records()) {
+                    if (record.remaining() > active.remaining()) {
+                        roll();
+                        activeFrom = written;
+                        activeMark = 0;
+                        mark = 0;
+                    }
+                    active.write(record);
+                }
+            } catch (RuntimeException e) {
+                active.rewind(mark);
+                failure = e;
+                break;
+            }
+            written++;
+        }
+        dirty = true;
+        if (written > 0) {
+            try {
+                if (fsyncPolicy == PostPersistenceProperties.FsyncPolicy.ALWAYS) {
+                    force();
+                } else {
+                    forceIfDue();
+                }
+            } catch (RuntimeException e) {
+                active.rewind(activeMark);
+                failure = e;
+                written = activeFrom;
+            }
+        }
+        if (failure != null) {
+            log.error("저널 그룹 커밋 실패: size={}, written={}", group.size(), written, failure);
+        }
+        if (written > 0) {
+            groupCommits.increment();
+        }
+        for (int i = 0; i < group.size(); i++) {
+            PendingAppend append = group.get(i);
+            if (i < written) {
+                appendedRecords.add(append.records().size());
+                append.completion().complete(null);
+            } else {
+                append.completion().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private long pollTimeoutNanos() {
+        return fsyncPolicy == PostPersistenceProperties.FsyncPolicy.INTERVAL
+                ? fsyncIntervalNanos : TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private void forceIfDue() {
+        if (dirty && fsyncPolicy == PostPersistenceProperties.FsyncPolicy.INTERVAL
+                && System.nanoTime() - lastForceAt >= fsyncIntervalNanos) {
+            force();
+        }
+    }
+
+    private void force() {
+        active.force();
+        fsyncs.increment();
+        dirty = false;
+        lastForceAt = System.nanoTime();
+    }
+
+    /*
+     * 새 세그먼트를 먼저 만든 뒤에 현재 세그먼트를 닫고 교체
+     * 생성(또는 닫기)에 실패하면 active는 그대로 쓸 수 있는 세그먼트로 남고, 다음 그룹이 다음 sequence로 다시 롤링함
+     */
+    private void roll() {
+        JournalSegment next = JournalSegment.create(directory, nextSequence++, 0, segmentSize, false);
+        JournalSegment previous = active;
+        try {
+            previous.seal();
+        } catch (RuntimeException e) {
+            next.delete();
+            throw e;
+        }
+        active = next;
+        dirty = false;
+        rolls.increment();
+        synchronized (this) {
+            sealed.add(previous);
+        }
+        log.debug("저널 세그먼트 롤링: sealed={}, active={}", previous, active);
+        scheduleCompactionIfNeeded();
+    }
+
+    // ============== compaction ==============
+
+    private void scheduleCompactionIfNeeded() {
+        int sealedCount;
+        synchronized (this) {
+            sealedCount = sealed.size();
+        }
+        if (sealedCount >= compactionThreshold && compacting.compareAndSet(false, true)) {
+            try {
+                compactionExecutor.execute(() -> {
+                    try {
+                        compact();
+                    } catch (RuntimeException e) {
+                        log.error("저널 compaction 실패", e);
+                    } finally {
+                        compacting.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                compacting.set(false);
+            }
+        }
+    }
+
+    /*
+     * 닫힌 세그먼트들을 (source, id)별 최신 레코드만 남겨 다시 씀
+     * 1. 모든 대상 세그먼트를 훑어 키별 마지막 위치(세그먼트 번호, 오프셋) 기록
+     * 2. 다시 훑으면서 마지막 위치의 레코드(와 키가 없는 레코드)만 새 세그먼트(.tmp)에 복사
+     * 3. 새 세그먼트를 공개한 뒤 원본 삭제
+     *
+     * 새 세그먼트는 대상 중 마지막 세그먼트와 같은 sequence, 더 큰 part를 사용하므로
+     * 원본보다 뒤, 이후에 쓰인 세그먼트보다 앞에 정렬됨
+     */
+    void compact() {
+        List<JournalSegment> targets;
+        synchronized (this) {
+            targets = List.copyOf(sealed);
+        }
+        if (targets.size() < 2) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+
+        LongKeyedMap<long[]> latest = new LongKeyedMap<>(1);
+        for (int i = 0; i < targets.size(); i++) {
+            long segmentIndex = i;
+            targets.get(i).scan((position, payload) -> {
+                long key = JournalRecord.keyOf(payload);
+                if (key != 0) {
+                    latest.put(key, new long[]{segmentIndex, position});
+                }
+            });
+        }
+
+        JournalSegment last = targets.get(targets.size() - 1);
+        List<JournalSegment> outputs = new ArrayList<>();
+        JournalSegment[] output = {JournalSegment.create(directory, last.sequence(), last.part() + 1, segmentSize, true)};
+        outputs.add(output[0]);
+        long[] kept = {0};
+        long[] total = {0};
+        for (int i = 0; i < targets.size(); i++) {
+            long segmentIndex = i;
+            targets.get(i).scan((position, payload) -> {
+                total[0]++;
+                long key = JournalRecord.keyOf(payload);
+                long[] location = key != 0 ? latest.get(key) : null;
+                if (location != null && (location[0] != segmentIndex || location[1] != position)) {
+                    return;
+                }
+                int recordSize = JournalRecord.HEADER_SIZE + payload.remaining();
+                if (recordSize > output[0].remaining()) {
+                    JournalSegment next = JournalSegment.create(directory, last.sequence(),
+                            output[0].part() + 1, segmentSize, true);
+                    outputs.add(next);
+                    output[0] = next;
+                }
+                ByteBuffer record = ByteBuffer.allocate(recordSize);
+                record.putInt(payload.remaining());
+                record.putInt(JournalRecord.crcOf(payload));
+                record.put(payload.duplicate());
+                output[0].write(record.flip());
+                kept[0]++;
+            });
+        }
+        outputs.forEach(JournalSegment::publish);
+
+        synchronized (this) {
+            sealed.removeAll(targets);
+            sealed.addAll(0, outputs);
+        }
+        targets.forEach(JournalSegment::delete);
+
+        compactions.increment();
+        compactedRecords.add(total[0] - kept[0]);
+        log.info("저널 compaction 완료: segments={} → {}, records={} → {}, {}ms", targets.size(), outputs.size(),
+                total[0], kept[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // ============== 종료/통계 ==============
+
+    /**
+     * 대기 중인 레코드를 모두 쓰고 세그먼트를 닫은 뒤 디렉터리 잠금 해제
+     * writer가 쓰지 못한 요청(시작 전에 닫혔거나 writer가 중단된 경우)은 IllegalStateException으로 완료
+     */
+    @Override
+    public void close() {
+        running = false;
+        // 이미 running을 확인하고 큐에 넣는 중인 append()가 끝날 때까지 대기 (offer 한 번이라 짧음)
+        while (appending.get() != 0) {
+            Thread.onSpinWait();
+        }
+        stopping = true;
+        compactionExecutor.shutdown();
+        try {
+            if (writerThread.isAlive()) {
+                writerThread.join(CLOSE_TIMEOUT.toMillis());
+            }
+            compactionExecutor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("저널 쓰기 종료 대기 시간 초과: pending={}", pending.size());
+        } else {
+            failPending();
+        }
+        closeQuietly(directoryLock.channel());
+        LOCKED_DIRECTORIES.remove(directory.toAbsolutePath().normalize());
+    }
+
+    private void failPending() {
+        List<PendingAppend> leftovers = new ArrayList<>();
+        pending.drainTo(leftovers);
+        leftovers.forEach(append -> append.completion().completeExceptionally(closedError()));
+    }
+
+    public Stats stats() {
+        int sealedCount;
+        synchronized (this) {
+            sealedCount = sealed.size();
+        }
+        long commits = groupCommits.sum();
+        long records = appendedRecords.sum();
+        return new Stats(records, commits, commits == 0 ? 0 : (double) records / commits, fsyncs.sum(),
+                pending.size(), rejected.sum(), sealedCount + 1, rolls.sum(), compactions.sum(),
+                compactedRecords.sum(), recovery);
+    }
+
+    /**
+     * 저널 통계
+     * @param appendedRecords 기록한 레코드 수
+     * @param groupCommits 그룹 커밋 횟수
+     * @param averageGroupSize 그룹 커밋당 평균 레코드 수
+     * @param fsyncs force() 횟수
+     * @param pending 쓰기 대기 중인 요청 수
+     * @param rejected 대기열이 가득 차 거절한 요청 수
+     * @param segments 세그먼트 수 (쓰는 중인 세그먼트 포함)
+     * @param rolls 세그먼트 롤링 횟수
+     * @param compactions compaction 횟수
+     * @param compactedRecords compaction으로 제거한 (덮어써진) 레코드 수
+     * @param recovery 시작 시 복구 결과
+     */
+    public record Stats(long appendedRecords, long groupCommits, double averageGroupSize, long fsyncs, int pending,
+                        long rejected, int segments, long rolls, long compactions, long compactedRecords,
+                        Recovery recovery) {
+    }
+
+    /**
+     * @param segments 재생한 세그먼트 수
+     * @param localRecords 복원한 LOCAL 레코드 수
+     * @param upstreamRecords 읽은 UPSTREAM 레코드 수
+     * @param elapsedMillis 복구에 걸린 시간
+     */
+    public record Recovery(int segments, long localRecords, long upstreamRecords, long elapsedMillis) {
+    }
+
+    private record PendingAppend(List<ByteBuffer> records, CompletableFuture<Void> completion) {
+    }
+}
@@ -0,0 +1,113 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.codelee.webflux.common.AdaptiveBatcher;
+import io.codelee.webflux.common.BatchSink;
+import io.codelee.webflux.common.WriteBehindWriter;
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import io.codelee.webflux.jsonplaceholder.application.PostSearchIndex;
+import io.codelee.webflux.jsonplaceholder.application.PostStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ * Post 저장 파이프라인 구성
+ * PostService.save() → WriteBehindWriter → BatchSink (posts.journal.enabled=true 이면 저널, 아니면 로컬 파일)
+ * PostService.createPost() → PostStore + PostJournal (저널 사용 시)
+ * PostService 배치 저장 엔드포인트 → AdaptiveBatcher → PostService.save()
+ * createPost / save() 완료 → PostChangeFeed → /posts/stream 구독자
+ * createPost / save() 완료 → PostSearchIndex → /posts/search
+ *
+ * 다른 저장소를 쓰려면 BatchSink<Post> Bean만 교체하면 됨
+ */
+@Configuration
+@EnableConfigurationProperties(PostPersistenceProperties.class)
+@Slf4j
+public class PostPersistenceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "posts.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public FilePostBatchSink postBatchSink(PostPersistenceProperties properties, ObjectMapper objectMapper) {
+        PostPersistenceProperties.FileSink fileSink = properties.getFileSink();
+        return new FilePostBatchSink(Path.of(fileSink.getDirectory(), fileSink.getFileName()),
+                fileSink.isFsync(), objectMapper);
+    }
+
+    /*
+     * 시작 시 저널을 재생해 PostStore와 검색 색인을 복원한 뒤 Bean으로 등록 (요청을 받기 전에 복구가 끝남)
+     * 종료 시 대기 중인 레코드를 모두 쓰고 세그먼트를 닫음
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "posts.journal", name = "enabled", havingValue = "true")
+    public PostJournal postJournal(PostPersistenceProperties properties, PostStore postStore,
+                                   PostSearchIndex postSearchIndex) {
+        PostJournal journal = new PostJournal(properties.getJournal());
+        journal.recover(post -> {
+            postStore.restore(post);
+            postSearchIndex.index(PostSearchIndex.Source.LOCAL, post);
+        }, post -> postSearchIndex.index(PostSearchIndex.Source.UPSTREAM, post));
+        return journal;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "posts.journal", name = "enabled", havingValue = "true")
+    public BatchSink<Post> journalPostBatchSink(PostJournal postJournal) {
+        return new BatchSink<>() {
+            @Override
+            public Mono<Void> write(List<Post> batch) {
+                return postJournal.appendUpstream(batch);
+            }
+
+            @Override
+            public String name() {
+                return "journal";
+            }
+        };
+    }
+
+    // 종료 시 큐에 남은 항목을 저장소에 모두 쓴 뒤 저장소를 닫음 (저장소 Bean보다 먼저 정리됨)
+    @Bean
+    public WriteBehindWriter<Post> postWriter(PostPersistenceProperties properties, BatchSink<Post> postBatchSink) {
+        PostPersistenceProperties.WriteBehind writeBehind = properties.getWriteBehind();
+        return new WriteBehindWriter<>(postBatchSink,
+                writeBehind.getMaxBatchSize(),
+                writeBehind.getMaxDelay(),
+                writeBehind.getMaxInFlight(),
+                writeBehind.getMaxQueued(),
+                writeBehind.getMaxRetries(),
+                writeBehind.getRetryBackoff());
+    }
+
+    @Bean
+    public AdaptiveBatcher.Settings postBatchSettings(PostPersistenceProperties properties) {
+        PostPersistenceProperties.AdaptiveBatch adaptiveBatch = properties.getAdaptiveBatch();
+        return new AdaptiveBatcher.Settings(
+                adaptiveBatch.getTargetLatency(),
+                adaptiveBatch.getInitialBatchSize(),
+                adaptiveBatch.getMinBatchSize(),
+                adaptiveBatch.getMaxBatchSize(),
+                adaptiveBatch.getInitialInterval(),
+                adaptiveBatch.getMinInterval(),
+                adaptiveBatch.getMaxInterval(),
+                adaptiveBatch.getMaxConcurrency(),
+                adaptiveBatch.getMaxQueued());
+    }
+
+    // 종료 시 구독 중인 SSE 스트림을 완료시키고 전달 스레드를 정리
+    @Bean(destroyMethod = "close")
+    public PostChangeFeed postChangeFeed(PostPersistenceProperties properties) {
+        PostPersistenceProperties.ChangeFeed changeFeed = properties.getChangeFeed();
+        return new PostChangeFeed(changeFeed.getReplayCapacity(),
+                changeFeed.getSubscriberBuffer(),
+                changeFeed.getOverflowPolicy(),
+                changeFeed.getHeartbeatInterval());
+    }
+}
@@ -0,0 +1,195 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "posts")
+@Data
+public class PostPersistenceProperties {
+
+    private WriteBehind writeBehind = new WriteBehind();
+    private FileSink fileSink = new FileSink();
+    private Journal journal = new Journal();
+    private AdaptiveBatch adaptiveBatch = new AdaptiveBatch();
+    private ChangeFeed changeFeed = new ChangeFeed();
+    private Bulk bulk = new Bulk();
+    private Enrichment enrichment = new Enrichment();
+    private LookupBatch lookupBatch = new LookupBatch();
+
+    /*
+     * PostService.save() 쓰기 지연 파이프라인 설정 (WriteBehindWriter 참고)
+     *
+     * maxBatchSize / maxDelay:
+     * - maxBatchSize개가 모이거나 maxDelay가 지나면 배치 저장
+     *
+     * maxInFlight:
+     * - 동시에 저장 중일 수 있는 배치 수 (저장소가 느리면 이 수만큼만 쌓이고 나머지는 큐에서 대기)
+     *
+     * maxQueued:
+     * - 큐에 쌓을 수 있는 최대 항목 수 (초과 시 save()가 공간이 생길 때까지 대기)
+     *
+     * maxRetries / retryBackoff:
+     * - 실패한 배치의 재시도 횟수와 첫 재시도 간격 (지수 백오프)
+     */
+    @Data
+    public static class WriteBehind {
+        private int maxBatchSize = 500;
+        private Duration maxDelay = Duration.ofMillis(200);
+        private int maxInFlight = 2;
+        private int maxQueued = 10_000;
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(100);
+    }
+
+    /*
+     * 로컬 파일 저장소 설정 (FilePostBatchSink)
+     * fsync=true 이면 배치마다 디스크 동기화 (내구성 ↑, 처리량 ↓)
+     */
+    @Data
+    public static class FileSink {
+        private String directory = "data/posts";
+        private String fileName = "posts.jsonl";
+        private boolean fsync = false;
+    }
+
+    /*
+     * Post 저널 설정 (PostJournal 참고, enabled=true 이면 배치 저장소도 파일 대신 저널 사용)
+     *
+     * segmentSize (기본 64MB):
+     * - 세그먼트 파일 하나의 크기 (파일 전체를 메모리 매핑), 다 차면 새 세그먼트로 롤링
+     *
+     * fsync / fsyncInterval:
+     * - ALWAYS: 그룹 커밋마다 디스크 동기화 후 완료
+     * - INTERVAL(기본): fsyncInterval마다 동기화, 완료는 매핑 버퍼에 기록한 시점
+     * - NEVER: 세그먼트를 닫을 때만 동기화
+     *
+     * maxGroupSize / maxPending:
+     * - 그룹 커밋 한 번에 모을 최대 요청 수 / 쓰기 대기열 크기 (가득 차면 즉시 에러)
+     *
+     * compactionThreshold:
+     * - 닫힌 세그먼트가 이 수 이상이면 중복 레코드를 제거하는 compaction 실행
+     *
+     * recoveryParallelism:
+     * - 시작 시 세그먼트를 동시에 디코딩할 스레드 수
+     */
+    @Data
+    public static class Journal {
+        private boolean enabled = false;
+        private String directory = "data/posts/journal";
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        private FsyncPolicy fsync = FsyncPolicy.INTERVAL;
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+        private int maxGroupSize = 1024;
+        private int maxPending = 65_536;
+        private int compactionThreshold = 4;
+        private int recoveryParallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /*
+     * 배치 저장 엔드포인트(/posts/batch, /posts/real-time, /posts/batch/adaptive) 설정 (AdaptiveBatcher 참고)
+     *
+     * targetLatency:
+     * - 항목 하나가 들어와서 저장될 때까지의 목표 시간, 배치 크기와 flush 간격을 이 값에 맞춰 조절
+     *
+     * initialBatchSize / minBatchSize / maxBatchSize:
+     * - 첫 배치 크기와 조절 범위 (group 파라미터는 첫 배치 크기로만 사용)
+     *
+     * initialInterval / minInterval / maxInterval:
+     * - 첫 flush 간격과 조절 범위 (second 파라미터는 첫 flush 간격으로만 사용, 범위를 넘으면 잘림)
+     *
+     * maxConcurrency / maxQueued:
+     * - 동시에 저장할 수 있는 최대 배치 수 / 큐 + 저장 중인 최대 항목 수 (초과 시 입력을 더 요청하지 않음)
+     */
+    @Data
+    public static class AdaptiveBatch {
+        private Duration targetLatency = Duration.ofMillis(200);
+        private int initialBatchSize = 100;
+        private int minBatchSize = 10;
+        private int maxBatchSize = 1000;
+        private Duration initialInterval = Duration.ofMillis(100);
+        private Duration minInterval = Duration.ofMillis(10);
+        private Duration maxInterval = Duration.ofSeconds(1);
+        private int maxConcurrency = 4;
+        private int maxQueued = 5_000;
+    }
+
+    /*
+     * /posts/stream 변경 피드 설정 (PostChangeFeed 참고)
+     *
+     * replayCapacity:
+     * - Last-Event-ID 재연결 시 재생할 수 있는 최근 이벤트 수 (2의 거듭제곱으로 올림, 모든 구독자가 공유)
+     *
+     * subscriberBuffer / overflowPolicy:
+     * - 구독자가 최신 이벤트보다 뒤처질 수 있는 최대 이벤트 수, 넘으면
+     *   DROP_OLDEST: 오래된 이벤트를 건너뜀 / DISCONNECT: 연결을 끊음 (클라이언트가 Last-Event-ID로 재연결)
+     *
+     * heartbeatInterval:
+     * - 이벤트가 없어도 이 간격으로 SSE 주석을 보내 프록시/로드밸런서가 연결을 끊지 않게 함
+     */
+    @Data
+    public static class ChangeFeed {
+        private int replayCapacity = 8192;
+        private int subscriberBuffer = 256;
+        private PostChangeFeed.OverflowPolicy overflowPolicy = PostChangeFeed.OverflowPolicy.DROP_OLDEST;
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    /*
+     * 일괄 조회(GET /posts?ids=, POST /posts/bulk) 설정
+     *
+     * maxConcurrency:
+     * - 동시에 진행할 업스트림 조회 수 (id가 많아도 커넥션 풀/업스트림에 몰리지 않게 제한)
+     *
+     * deadline:
+     * - 요청 전체의 응답 기한, 기한 안에 끝나지 않은 id는 TIMED_OUT으로 응답
+     *
+     * maxIds:
+     * - 요청 하나에 넣을 수 있는 최대 id 수 (넘으면 400)
+     */
+    @Data
+    public static class Bulk {
+        private int maxConcurrency = 16;
+        private Duration deadline = Duration.ofSeconds(3);
+        private int maxIds = 500;
+    }
+
+    /*
+     * 작성자 정보 조회(/posts/enriched) 설정 (PostEnrichmentService, BatchLoader 참고)
+     *
+     * batchWindow / maxBatchSize:
+     * - batchWindow 동안 모인 userId를 한 번에 조회 (maxBatchSize개가 모이면 바로 조회)
+     *
+     * concurrency:
+     * - 동시에 작성자를 기다릴 수 있는 포스트 수 (이 수만큼 userId가 한 배치에 모일 수 있음)
+     */
+    @Data
+    public static class Enrichment {
+        private Duration batchWindow = Duration.ofMillis(5);
+        private int maxBatchSize = 100;
+        private int concurrency = 256;
+    }
+
+    /*
+     * 단건 조회(PostService.getPost) 마이크로 배치 설정
+     *
+     * window / maxBatchSize:
+     * - window 동안 들어온 서로 다른 id를 /posts?id=1&id=2 한 번으로 조회 (maxBatchSize개가 모이면 바로 조회)
+     * - 조회마다 최대 window만큼 지연이 늘어나므로 업스트림 지연보다 충분히 작게 설정
+     *
+     * enabled=false 이면 id마다 /posts/{id}로 조회
+     */
+    @Data
+    public static class LookupBatch {
+        private boolean enabled = true;
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 50;
+    }
+
+    public enum FsyncPolicy {
+        ALWAYS, INTERVAL, NEVER
+    }
+}
@@ -0,0 +1,40 @@
+package io.codelee.webflux.monitoring.api;
+
+import io.codelee.webflux.common.WriteBehindWriter;
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/*
+ * Post 저장 파이프라인 통계 조회
+ * - writeBehind: 처리량(최근 10초 초당 저장 항목 수), 배치 저장 시간 분포, 큐 깊이, 재시도/실패 수
+ * - journal: 그룹 커밋/fsync/세그먼트/compaction/복구 통계 (저널을 사용하지 않으면 null)
+ * - changeFeed: /posts/stream 구독자 수, 발행/전달/건너뛴 이벤트 수, 느린 구독자 연결 종료 수
+ */
+@RestController
+public class PostPersistenceMetricsController {
+
+    private final WriteBehindWriter<Post> postWriter;
+    private final PostJournal postJournal;
+    private final PostChangeFeed postChangeFeed;
+
+    public PostPersistenceMetricsController(final WriteBehindWriter<Post> postWriter,
+                                            final ObjectProvider<PostJournal> postJournal,
+                                            final PostChangeFeed postChangeFeed) {
+        this.postWriter = postWriter;
+        this.postJournal = postJournal.getIfAvailable();
+        this.postChangeFeed = postChangeFeed;
+    }
+
+    @GetMapping("/metrics/posts")
+    public Mono<PostPersistenceMetricsResponse> getMetrics() {
+        return Mono.fromSupplier(() -> new PostPersistenceMetricsResponse(
+                postWriter.stats(),
+                postJournal != null ? postJournal.stats() : null,
+                postChangeFeed.stats()));
+    }
+}
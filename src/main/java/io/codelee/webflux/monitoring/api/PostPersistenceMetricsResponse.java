@@ -0,0 +1,14 @@
+package io.codelee.webflux.monitoring.api;
+
+import io.codelee.webflux.common.WriteBehindWriter;
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+
+/**
+ * Post 저장 파이프라인 통계 응답
+ */
+public record PostPersistenceMetricsResponse(
+        WriteBehindWriter.Stats writeBehind,
+        PostJournal.Stats journal,
+        PostChangeFeed.Stats changeFeed) {
+}
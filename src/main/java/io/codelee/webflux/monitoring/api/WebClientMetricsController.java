@@ -0,0 +1,53 @@
+package io.codelee.webflux.monitoring.api;
+
+import io.codelee.webflux.config.ConnectionPoolRegistry;
+import io.codelee.webflux.config.WebClientBuilderFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/*
+ * WebClient 메트릭 조회 (webclient.metrics-enabled=true 일 때만 등록)
+ *
+ * 응답 구성:
+ * - clients: 클라이언트별 응답 시간 분포(전체/URI 템플릿별), 상태 코드 클래스별 응답 수, 바이트 수
+ * - phases: 클라이언트별 연결 단계(dns, connect, tls, acquire, ttfb, body) 시간 분포
+ * - pools: 클라이언트별, 원격 주소별 커넥션 풀 게이지
+ * - retry/hedging/rateLimit/admissionControl/cache/coalescing/spill/compression: 각 필터의 통계
+ * - accessLog: 접근 로그 기록기 통계
+ *
+ * 모든 값은 조회 시점의 스냅샷이며, 카운터와 히스토그램은 애플리케이션 시작 이후 누적값
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "webclient", name = "metrics-enabled", havingValue = "true")
+public class WebClientMetricsController {
+
+    private final WebClientBuilderFactory builderFactory;
+    private final ConnectionPoolRegistry connectionPoolRegistry;
+
+    public WebClientMetricsController(final WebClientBuilderFactory builderFactory,
+                                      final ConnectionPoolRegistry connectionPoolRegistry) {
+        this.builderFactory = builderFactory;
+        this.connectionPoolRegistry = connectionPoolRegistry;
+    }
+
+    @GetMapping("/metrics/webclient")
+    public Mono<WebClientMetricsResponse> getMetrics() {
+        return Mono.fromSupplier(() -> new WebClientMetricsResponse(
+                builderFactory.getMetricsStats(),
+                builderFactory.getConnectionPhaseStats(),
+                connectionPoolRegistry.getPoolStats(),
+                builderFactory.getRetryStats(),
+                builderFactory.getHedgingStats(),
+                builderFactory.getRateLimitStats(),
+                builderFactory.getAdmissionControlStats(),
+                builderFactory.getCacheStats(),
+                builderFactory.getCoalescingStats(),
+                builderFactory.getSpillStats(),
+                builderFactory.getRequestCompressionStats(),
+                builderFactory.getAccessLogStats()));
+    }
+}
@@ -0,0 +1,34 @@
+package io.codelee.webflux.monitoring.api;
+
+import io.codelee.webflux.common.SingleFlight;
+import io.codelee.webflux.config.ConnectionPoolRegistry;
+import io.codelee.webflux.config.cache.HttpCacheFilter;
+import io.codelee.webflux.config.codec.RequestCompressionFilter;
+import io.codelee.webflux.config.codec.SpillToDiskFilter;
+import io.codelee.webflux.config.logging.AccessLogRecorder;
+import io.codelee.webflux.config.metrics.ClientMetricsFilter;
+import io.codelee.webflux.config.metrics.LatencyHistogram;
+import io.codelee.webflux.config.resilience.AdmissionControlFilter;
+import io.codelee.webflux.config.resilience.HedgingFilter;
+import io.codelee.webflux.config.resilience.HostRateLimiter;
+import io.codelee.webflux.config.resilience.RetryBudgetFilter;
+
+import java.util.Map;
+
+/**
+ * WebClient 메트릭 응답 (모든 Map의 key는 클라이언트 이름)
+ */
+public record WebClientMetricsResponse(
+        Map<String, ClientMetricsFilter.Stats> clients,
+        Map<String, Map<String, LatencyHistogram.Snapshot>> phases,
+        Map<String, Map<String, ConnectionPoolRegistry.PoolStats>> pools,
+        Map<String, RetryBudgetFilter.Stats> retry,
+        Map<String, HedgingFilter.Stats> hedging,
+        Map<String, Map<String, HostRateLimiter.Stats>> rateLimit,
+        Map<String, AdmissionControlFilter.Stats> admissionControl,
+        Map<String, HttpCacheFilter.Stats> cache,
+        Map<String, SingleFlight.Stats> coalescing,
+        Map<String, SpillToDiskFilter.Stats> spill,
+        Map<String, RequestCompressionFilter.Stats> compression,
+        AccessLogRecorder.Stats accessLog) {
+}
@@ -0,0 +1,114 @@
+package io.codelee.webflux.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBatcherTest {
+
+    @Test
+    @DisplayName("배치 크기만큼 모이면 SIZE, 입력이 끝나면 남은 항목을 COMPLETE로 저장")
+    void shouldFlushOnSizeAndCompletion() {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        AdaptiveBatcher<Integer> batcher = new AdaptiveBatcher<>(batch -> Mono.fromRunnable(() -> batches.add(batch)),
+                settings(Duration.ofSeconds(1), 10, 10, 10, Duration.ofSeconds(1), 1));
+
+        List<AdaptiveBatcher.BatchResult> results = batcher.process(Flux.range(0, 25)).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(results).extracting(AdaptiveBatcher.BatchResult::size).containsExactly(10, 10, 5);
+        assertThat(results).extracting(AdaptiveBatcher.BatchResult::trigger).containsExactly(
+                AdaptiveBatcher.Trigger.SIZE, AdaptiveBatcher.Trigger.SIZE, AdaptiveBatcher.Trigger.COMPLETE);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(Flux.range(0, 25).toIterable());
+    }
+
+    @Test
+    @DisplayName("배치 크기만큼 모이지 않아도 flush 간격이 지나면 TIME으로 저장")
+    void shouldFlushOnInterval() {
+        AdaptiveBatcher<Long> batcher = new AdaptiveBatcher<>(batch -> Mono.empty(),
+                settings(Duration.ofMillis(100), 100, 10, 1000, Duration.ofMillis(50), 1));
+
+        StepVerifier.create(batcher.process(Flux.interval(Duration.ofMillis(10)).take(3).concatWith(Flux.never())))
+                .assertNext(result -> {
+                    assertThat(result.trigger()).isEqualTo(AdaptiveBatcher.Trigger.TIME);
+                    assertThat(result.size()).isEqualTo(3);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("저장 중인 배치는 maxConcurrency개를 넘지 않음")
+    void shouldLimitConcurrency() {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AdaptiveBatcher<Integer> batcher = new AdaptiveBatcher<>(batch -> Mono.delay(Duration.ofMillis(20))
+                .doOnSubscribe(subscription -> maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max))
+                .doFinally(signal -> concurrent.decrementAndGet()),
+                settings(Duration.ofSeconds(1), 10, 10, 10, Duration.ofMillis(10), 2));
+
+        List<AdaptiveBatcher.BatchResult> results = batcher.process(Flux.range(0, 200)).collectList().block(Duration.ofSeconds(10));
+
+        assertThat(results).hasSize(20);
+        assertThat(results).extracting(AdaptiveBatcher.BatchResult::sequence).doesNotHaveDuplicates();
+        assertThat(maxConcurrent).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("저장 지연이 목표를 넘으면 배치 크기를 줄이고, 여유가 있고 큐가 밀려 있으면 늘림")
+    void shouldAdaptBatchSizeToLatency() {
+        AdaptiveBatcher<Integer> slow = new AdaptiveBatcher<>(batch -> Mono.delay(Duration.ofMillis(50)),
+                settings(Duration.ofMillis(10), 80, 10, 100, Duration.ofMillis(10), 1));
+        AdaptiveBatcher<Integer> fast = new AdaptiveBatcher<>(batch -> Mono.delay(Duration.ofMillis(1)),
+                settings(Duration.ofSeconds(1), 10, 10, 100, Duration.ofMillis(10), 1));
+
+        List<AdaptiveBatcher.BatchResult> slowResults = slow.process(Flux.range(0, 300)).collectList().block(Duration.ofSeconds(10));
+        List<AdaptiveBatcher.BatchResult> fastResults = fast.process(Flux.range(0, 1000)).collectList().block(Duration.ofSeconds(10));
+
+        assertThat(slowResults.getFirst().nextBatchSize()).isEqualTo(40);
+        assertThat(slowResults.getLast().nextBatchSize()).isEqualTo(10);
+        assertThat(slowResults.stream().mapToInt(AdaptiveBatcher.BatchResult::size).sum()).isEqualTo(300);
+        assertThat(fastResults.stream().mapToInt(AdaptiveBatcher.BatchResult::nextBatchSize).max().orElseThrow())
+                .isGreaterThan(10);
+        assertThat(fastResults.stream().mapToInt(AdaptiveBatcher.BatchResult::size).sum()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 에러로 종료")
+    void shouldFailWhenSinkFails() {
+        AdaptiveBatcher<Integer> batcher = new AdaptiveBatcher<>(batch -> Mono.error(new IllegalStateException("disk full")),
+                settings(Duration.ofSeconds(1), 10, 10, 10, Duration.ofMillis(10), 1));
+
+        StepVerifier.create(batcher.process(Flux.range(0, 25)))
+                .expectErrorMessage("disk full")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("첫 flush 간격을 maxInterval보다 길게 요청하면 maxInterval을 늘려 그대로 사용")
+    void shouldWidenMaxIntervalForLongerInitialInterval() {
+        AdaptiveBatcher.Settings base = settings(Duration.ofSeconds(1), 10, 10, 10, Duration.ofMillis(10), 1);
+
+        AdaptiveBatcher.Settings longer = base.withInitial(null, Duration.ofSeconds(5));
+        AdaptiveBatcher.Settings shorter = base.withInitial(null, Duration.ofMillis(500));
+
+        assertThat(longer.initialInterval()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(longer.maxInterval()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(shorter.initialInterval()).isEqualTo(Duration.ofMillis(500));
+        assertThat(shorter.maxInterval()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    private static AdaptiveBatcher.Settings settings(Duration targetLatency, int batchSize, int minBatchSize,
+                                                     int maxBatchSize, Duration interval, int maxConcurrency) {
+        return new AdaptiveBatcher.Settings(targetLatency, batchSize, minBatchSize, maxBatchSize,
+                interval, Duration.ofMillis(1), Duration.ofSeconds(1), maxConcurrency, 1000);
+    }
+}
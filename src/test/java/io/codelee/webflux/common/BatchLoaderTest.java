@@ -0,0 +1,90 @@
+package io.codelee.webflux.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLoaderTest {
+
+    private final List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+
+    // 짝수 키만 결과가 있는 배치 조회
+    private final Function<List<Integer>, Mono<Map<Integer, String>>> evenOnly = keys -> Mono.fromSupplier(() -> {
+        calls.add(keys);
+        return keys.stream().filter(key -> key % 2 == 0)
+                .collect(Collectors.toMap(key -> key, key -> "value-" + key));
+    });
+
+    @Test
+    @DisplayName("시간 창 안에 들어온 load는 중복을 제거해 한 번의 배치 조회로 처리")
+    void shouldBatchAndDeduplicateWithinWindow() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(evenOnly, 100, Duration.ofMillis(20), false);
+
+        List<String> values = Flux.just(2, 4, 2, 6, 3)
+                .flatMapSequential(key -> loader.load(key).defaultIfEmpty("none"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(values).containsExactly("value-2", "value-4", "value-2", "value-6", "none");
+        assertThat(calls).containsExactly(List.of(2, 4, 6, 3));
+        assertThat(loader.stats().batches()).isEqualTo(1);
+        assertThat(loader.stats().loads()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("maxBatchSize개가 모이면 시간 창을 기다리지 않고 바로 조회")
+    void shouldDispatchWhenBatchIsFull() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(evenOnly, 3, Duration.ofSeconds(10), false);
+
+        StepVerifier.create(Flux.range(1, 6).flatMap(key -> loader.load(key)).collectList())
+                .assertNext(values -> assertThat(values).hasSize(3))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertThat(calls).containsExactly(List.of(1, 2, 3), List.of(4, 5, 6));
+    }
+
+    @Test
+    @DisplayName("memoize=true면 한 번 조회한 키는 다시 조회하지 않음")
+    void shouldMemoizeLoadedKeys() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(evenOnly, 100, Duration.ofMillis(5), true);
+
+        StepVerifier.create(loader.loadMany(List.of(2, 4))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(loader.loadMany(List.of(4, 2, 8)))
+                .assertNext(values -> assertThat(values).containsOnlyKeys(4, 2, 8))
+                .verifyComplete();
+
+        assertThat(calls).containsExactly(List.of(2, 4), List.of(8));
+        assertThat(loader.stats().memoHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("배치 조회가 실패하면 그 배치의 load가 모두 에러로 끝나고, 실패한 키는 다음 load에서 다시 조회")
+    void shouldPropagateBatchFailureAndRetryLater() {
+        AtomicInteger attempts = new AtomicInteger();
+        BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> attempts.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("user-service down"))
+                : evenOnly.apply(keys), 100, Duration.ofMillis(5), true);
+
+        StepVerifier.create(Flux.just(2, 4).flatMap(key -> loader.load(key)))
+                .expectErrorMessage("user-service down")
+                .verify(Duration.ofSeconds(2));
+        StepVerifier.create(loader.load(2))
+                .expectNext("value-2")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+    }
+}
@@ -0,0 +1,56 @@
+package io.codelee.webflux.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongKeyedMapTest {
+
+    @Test
+    @DisplayName("무작위 put/remove 후에도 HashMap과 같은 내용을 유지 (삭제 시 탐사 체인 보존)")
+    void shouldMatchHashMapUnderRandomPutAndRemove() {
+        LongKeyedMap<String> map = new LongKeyedMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong(1, 5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key < 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("computeIfAbsent는 키가 없을 때만 값을 만듦")
+    void shouldComputeOnlyWhenAbsent() {
+        LongKeyedMap<String> map = new LongKeyedMap<>();
+
+        assertThat(map.computeIfAbsent(7L, key -> "first")).isEqualTo("first");
+        assertThat(map.computeIfAbsent(7L, key -> "second")).isEqualTo("first");
+        assertThat(map.putIfAbsent(7L, "third")).isEqualTo("first");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("키 0은 빈 슬롯 표시이므로 거부")
+    void shouldRejectZeroKey() {
+        LongKeyedMap<String> map = new LongKeyedMap<>();
+
+        assertThatThrownBy(() -> map.put(0L, "zero")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
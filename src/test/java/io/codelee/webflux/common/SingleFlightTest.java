@@ -0,0 +1,99 @@
+package io.codelee.webflux.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("동시에 들어온 같은 키의 요청은 한 번만 실행하고 결과를 공유")
+    void shouldShareOneExecutionAmongConcurrentCallers() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        List<String> results = Flux.range(0, 100)
+                .flatMap(i -> singleFlight.execute(1L, () -> Mono.delay(Duration.ofMillis(100))
+                        .doOnSubscribe(subscription -> executions.incrementAndGet())
+                        .thenReturn("post-1")))
+                .collectList()
+                .block(Duration.ofSeconds(2));
+
+        assertThat(results).hasSize(100).containsOnly("post-1");
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.stats().shared()).isEqualTo(99);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 구독자가 취소해도 다른 구독자의 실행은 계속됨")
+    void shouldNotCancelOthersWhenOneSubscriberCancels() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger cancelled = new AtomicInteger();
+        Mono<String> source = upstream.asMono().doOnCancel(cancelled::incrementAndGet);
+
+        Disposable first = singleFlight.execute(1L, () -> source).subscribe();
+        StepVerifier.create(singleFlight.execute(1L, () -> source))
+                .then(first::dispose)
+                .then(() -> upstream.tryEmitValue("post-1"))
+                .expectNext("post-1")
+                .verifyComplete();
+
+        assertThat(cancelled).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("모든 구독자가 취소하면 실행도 취소되고 다음 요청은 새로 실행")
+    void shouldCancelExecutionWhenAllSubscribersCancel() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+
+        Disposable first = singleFlight.execute(1L, () -> Mono.<String>never()
+                .doOnSubscribe(subscription -> executions.incrementAndGet())
+                .doOnCancel(cancelled::incrementAndGet)).subscribe();
+        Disposable second = singleFlight.execute(1L, Mono::never).subscribe();
+        first.dispose();
+        second.dispose();
+
+        assertThat(cancelled).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+
+        String result = singleFlight.execute(1L, () -> {
+            executions.incrementAndGet();
+            return Mono.just("retried");
+        }).block(Duration.ofSeconds(1));
+        assertThat(result).isEqualTo("retried");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("에러는 모든 구독자에게 전달되고 이후 요청은 새로 실행")
+    void shouldPropagateErrorToAllSubscribers() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        Sinks.One<String> upstream = Sinks.one();
+
+        AtomicInteger errors = new AtomicInteger();
+
+        singleFlight.execute(1L, upstream::asMono).subscribe(value -> {
+        }, error -> errors.incrementAndGet());
+        singleFlight.execute(1L, upstream::asMono).subscribe(value -> {
+        }, error -> errors.incrementAndGet());
+        upstream.tryEmitError(new IllegalStateException("upstream down"));
+
+        assertThat(errors).hasValue(2);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(singleFlight.execute(1L, () -> Mono.just("ok")).block(Duration.ofSeconds(1))).isEqualTo("ok");
+    }
+}
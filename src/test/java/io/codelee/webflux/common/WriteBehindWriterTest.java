@@ -0,0 +1,146 @@
+package io.codelee.webflux.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindWriterTest {
+
+    @Test
+    @DisplayName("maxBatchSize개가 모이면 바로, 덜 모이면 maxDelay 후에 배치 저장")
+    void shouldFlushOnSizeOrTime() {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        WriteBehindWriter<Integer> writer = new WriteBehindWriter<>(batch -> Mono.fromRunnable(() -> batches.add(batch)),
+                10, Duration.ofMillis(200), 1, 1000, 0, Duration.ofMillis(10));
+
+        StepVerifier.create(writer.submit(range(0, 25)))
+                .verifyComplete();
+
+        assertThat(batches).extracting(List::size).containsExactly(10, 10, 5);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(range(0, 25));
+        assertThat(writer.stats().flushedItems()).isEqualTo(25);
+        assertThat(writer.stats().flushLatency().count()).isEqualTo(3);
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("저장소가 느리면 maxInFlight개만 저장하고 큐가 가득 차면 submit이 기다림")
+    void shouldApplyBackpressureWhenSinkIsSlow() {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        WriteBehindWriter<Integer> writer = new WriteBehindWriter<>(batch -> Mono.delay(Duration.ofMillis(50))
+                .doOnSubscribe(subscription -> maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max))
+                .doFinally(signal -> concurrent.decrementAndGet())
+                .then(),
+                10, Duration.ofMillis(10), 2, 20, 0, Duration.ofMillis(10));
+
+        List<Integer> submitted = Flux.range(0, 20)
+                .flatMap(i -> writer.submit(range(i * 10, i * 10 + 10)).thenReturn(i))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(submitted).hasSize(20);
+        assertThat(maxConcurrent).hasValueLessThanOrEqualTo(2);
+        assertThat(writer.stats().backpressured()).isPositive();
+        assertThat(writer.stats().flushedItems()).isEqualTo(200);
+        assertThat(writer.stats().queued()).isZero();
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("실패한 배치는 재시도하고, 재시도 후에도 실패하면 submit이 에러로 완료")
+    void shouldRetryFailedBatches() {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindWriter<Integer> flaky = new WriteBehindWriter<>(batch -> Mono.defer(() ->
+                attempts.incrementAndGet() < 3 ? Mono.error(new IllegalStateException("disk busy")) : Mono.empty()),
+                10, Duration.ofMillis(10), 1, 100, 3, Duration.ofMillis(5));
+        WriteBehindWriter<Integer> broken = new WriteBehindWriter<>(batch -> Mono.error(new IllegalStateException("disk full")),
+                10, Duration.ofMillis(10), 1, 100, 2, Duration.ofMillis(5));
+
+        StepVerifier.create(flaky.submit(range(0, 5))).verifyComplete();
+        StepVerifier.create(broken.submit(range(0, 5)))
+                .expectErrorSatisfies(error -> assertThat(error).hasRootCauseMessage("disk full"))
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(flaky.stats().retries()).isEqualTo(2);
+        assertThat(broken.stats().failedBatches()).isEqualTo(1);
+        // 실패한 배치 뒤에도 파이프라인은 계속 동작
+        assertThat(broken.stats().queued()).isZero();
+        flaky.close();
+        broken.close();
+    }
+
+    @Test
+    @DisplayName("close()는 큐에 남은 항목을 모두 저장한 뒤 반환")
+    void shouldDrainOnClose() {
+        Sinks.One<Void> gate = Sinks.one();
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        WriteBehindWriter<Integer> writer = new WriteBehindWriter<>(batch -> gate.asMono()
+                .then(Mono.fromRunnable(() -> written.addAll(batch))),
+                10, Duration.ofMillis(10), 1, 1000, 0, Duration.ofMillis(10));
+
+        writer.submit(range(0, 30)).subscribe();
+        gate.tryEmitEmpty();
+        writer.close();
+
+        assertThat(written).hasSize(30);
+    }
+
+    @Test
+    @DisplayName("close() 시간이 초과되어 파이프라인을 중단하면 저장 중인 배치와 큐에 남은 항목의 submit도 에러로 완료")
+    void shouldFailOutstandingSubmitsWhenCloseTimesOut() {
+        WriteBehindWriter<Integer> writer = new WriteBehindWriter<>(batch -> Mono.never(),
+                10, Duration.ofMillis(10), 1, 1000, 0, Duration.ofMillis(10));
+
+        Mono<Void> inFlight = writer.submit(range(0, 10)).cache();
+        inFlight.subscribe(null, error -> {
+        });
+        Mono<Void> queued = writer.submit(range(10, 30)).cache();
+        queued.subscribe(null, error -> {
+        });
+        writer.close(Duration.ofMillis(200));
+
+        StepVerifier.create(inFlight)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(queued)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(writer.stats().queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 submit해도 모든 항목이 저장되고, close() 이후 submit은 에러로 완료")
+    void shouldAcceptConcurrentSubmitsAndRejectAfterClose() {
+        AtomicInteger written = new AtomicInteger();
+        WriteBehindWriter<Integer> writer = new WriteBehindWriter<>(
+                batch -> Mono.fromRunnable(() -> written.addAndGet(batch.size())),
+                100, Duration.ofMillis(10), 4, 100_000, 0, Duration.ofMillis(10));
+
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> writer.submit(range(i * 10, i * 10 + 10)).block(Duration.ofSeconds(5)));
+
+        assertThat(written).hasValue(10_000);
+        writer.close();
+
+        StepVerifier.create(writer.submit(range(0, 5)))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(writer.stats().queued()).isZero();
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().toList();
+    }
+}
@@ -0,0 +1,61 @@
+package io.codelee.webflux.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolRegistryTest {
+
+    private final WebClientProperties properties = new WebClientProperties();
+    private final ConnectionPoolRegistry registry = new ConnectionPoolRegistry(properties);
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 클라이언트 이름은 하나의 커넥션 풀을 공유")
+    void shouldShareProviderForSameClient() {
+        ConnectionProvider first = registry.getProvider("json-placeholder");
+        ConnectionProvider second = registry.getProvider("json-placeholder");
+
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("클라이언트마다 별도의 이름을 가진 커넥션 풀 생성")
+    void shouldCreateProviderPerClient() {
+        ConnectionProvider jsonPlaceholder = registry.getProvider("json-placeholder");
+        ConnectionProvider httpBin = registry.getProvider("http-bin");
+
+        assertThat(jsonPlaceholder).isNotSameAs(httpBin);
+        assertThat(jsonPlaceholder.name()).isEqualTo("webclient-json-placeholder");
+        assertThat(httpBin.name()).isEqualTo("webclient-http-bin");
+    }
+
+    @Test
+    @DisplayName("클라이언트별 풀 설정이 없으면 전역 설정을 사용")
+    void shouldApplyPerClientPoolSettings() {
+        WebClientProperties.ClientProperties client = new WebClientProperties.ClientProperties();
+        client.getPool().setMaxConnections(7);
+        properties.getClients().put("payment-api", client);
+        properties.setMaxConnections(42);
+
+        assertThat(registry.getProvider("payment-api").maxConnections()).isEqualTo(7);
+        assertThat(registry.getProvider("user-service").maxConnections()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("종료 후에는 새로운 커넥션 풀 생성")
+    void shouldRecreateProviderAfterDestroy() {
+        ConnectionProvider before = registry.getProvider("http-bin");
+
+        registry.destroy();
+
+        assertThat(registry.getProvider("http-bin")).isNotSameAs(before);
+    }
+}
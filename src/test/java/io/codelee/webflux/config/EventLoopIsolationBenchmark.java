@@ -0,0 +1,169 @@
+package io.codelee.webflux.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 이벤트 루프 분리 벤치마크 (./gradlew benchmark 로 실행)
+ *
+ * 구성:
+ * - upstream: 20ms 지연 후 64KB 응답을 주는 로컬 서버
+ * - front: /fanout(업스트림 10회 호출 + 응답 처리), /ping(즉시 응답) 엔드포인트를 가진 서버
+ * - fanout 부하를 거는 동안 /ping의 처리량과 지연 시간을 측정
+ *
+ * shared: 서버와 WebClient가 같은 루프(2 스레드) 사용 - 기존 기본 동작
+ * isolated: 서버 루프(2 스레드)와 WebClient 루프(2 스레드) 분리
+ */
+@Tag("benchmark")
+class EventLoopIsolationBenchmark {
+
+    private static final Duration MEASURE_DURATION = Duration.ofSeconds(5);
+    private static final int FANOUT_CONCURRENCY = 64;
+    private static final int PING_CONCURRENCY = 8;
+    private static final byte[] PAYLOAD = new byte[64 * 1024];
+
+    static {
+        ThreadLocalRandom.current().nextBytes(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("서버/클라이언트 이벤트 루프 분리 시 인바운드 처리량 비교")
+    void compareSharedAndIsolatedEventLoops() {
+        Result shared = run(false);
+        Result isolated = run(true);
+
+        System.out.printf("%-10s %12s %12s %12s%n", "mode", "ping/s", "ping p50(ms)", "ping p99(ms)");
+        System.out.println(shared);
+        System.out.println(isolated);
+
+        assertThat(shared.pingCount()).isPositive();
+        assertThat(isolated.pingCount()).isPositive();
+    }
+
+    private Result run(boolean isolated) {
+        LoopResources serverLoops = LoopResources.create("bench-server", 1, 2, true);
+        LoopResources clientLoops = isolated ? LoopResources.create("bench-client", 2, true) : serverLoops;
+        LoopResources loadLoops = LoopResources.create("bench-load", 4, true);
+
+        DisposableServer upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/payload", (request, response) ->
+                        response.sendByteArray(Mono.delay(Duration.ofMillis(20)).thenReturn(PAYLOAD))))
+                .bindNow();
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setLoggingEnabled(false);
+        properties.setRetryEnabled(false);
+        ConnectionPoolRegistry registry = new ConnectionPoolRegistry(properties);
+        WebClient webClient = new WebClientBuilderFactory(properties, registry, clientLoops)
+                .createBuilder("bench-upstream", "http://localhost:" + upstream.port())
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(PAYLOAD.length * 2))
+                .build();
+
+        DisposableServer front = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(serverLoops)
+                .route(routes -> routes
+                        .get("/ping", (request, response) -> response.sendString(Mono.just("pong")))
+                        .get("/fanout", (request, response) -> response.sendString(Flux.range(0, 10)
+                                .flatMap(i -> webClient.get()
+                                        .uri("/payload")
+                                        .retrieve()
+                                        .bodyToMono(byte[].class)
+                                        .map(EventLoopIsolationBenchmark::checksum))
+                                .reduce(Long::sum)
+                                .map(String::valueOf))))
+                .bindNow();
+
+        HttpClient loadClient = HttpClient.create(ConnectionProvider.create("bench-load", 256))
+                .runOn(loadLoops)
+                .host("localhost")
+                .port(front.port());
+
+        try {
+            long deadline = System.nanoTime() + MEASURE_DURATION.toNanos();
+            ConcurrentLinkedQueue<Long> pingLatencies = new ConcurrentLinkedQueue<>();
+
+            Mono<Void> fanoutLoad = Flux.range(0, FANOUT_CONCURRENCY)
+                    .flatMap(i -> Mono.defer(() -> loadClient.get().uri("/fanout").responseContent().aggregate().asString().then())
+                            .repeat(() -> System.nanoTime() < deadline))
+                    .then();
+
+            Mono<Void> pingLoad = Flux.range(0, PING_CONCURRENCY)
+                    .flatMap(i -> Mono.defer(() -> {
+                                long start = System.nanoTime();
+                                return loadClient.get().uri("/ping").responseContent().aggregate().asString()
+                                        .doOnSuccess(ignored -> pingLatencies.add(System.nanoTime() - start))
+                                        .then();
+                            })
+                            .repeat(() -> System.nanoTime() < deadline))
+                    .then();
+
+            Mono.when(fanoutLoad, pingLoad).block(MEASURE_DURATION.plusSeconds(30));
+
+            return Result.of(isolated ? "isolated" : "shared", pingLatencies.stream().toList());
+        } finally {
+            front.disposeNow();
+            upstream.disposeNow();
+            registry.destroy();
+            loadLoops.dispose();
+            serverLoops.dispose();
+            if (isolated) {
+                clientLoops.dispose();
+            }
+        }
+    }
+
+    // 업스트림 응답을 처리하는 CPU 작업 흉내 (WebClient 이벤트 루프에서 실행됨)
+    private static long checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < 20; i++) {
+            crc.update(body);
+        }
+        return crc.getValue();
+    }
+
+    private record Result(String mode, long pingCount, double pingPerSecond, double p50Millis, double p99Millis) {
+
+        static Result of(String mode, List<Long> latencies) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            double seconds = MEASURE_DURATION.toMillis() / 1000.0;
+            return new Result(mode, sorted.length, sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12.1f %12.2f %12.2f", mode, pingPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
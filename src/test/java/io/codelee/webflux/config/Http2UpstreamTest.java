@@ -0,0 +1,124 @@
+package io.codelee.webflux.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * h2c(prior knowledge) 전용 로컬 서버를 업스트림 대역으로 사용하는 테스트
+ * - PostControllerPerformanceTest처럼 100개의 동시 /posts/1 요청이
+ *   소수의 HTTP/2 커넥션 위 스트림으로 다중화되는지 확인
+ */
+class Http2UpstreamTest {
+
+    private static final String CLIENT = "h2c-upstream";
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    // 커넥션(클라이언트 포트)별 현재/최대 동시 스트림 수
+    private final Map<Integer, AtomicInteger> activeStreams = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> peakStreams = new ConcurrentHashMap<>();
+
+    private final LoopResources loopResources = LoopResources.create("h2c-test", 2, true);
+
+    private DisposableServer server;
+    private ConnectionPoolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.H2C)
+                .handle((request, response) -> {
+                    InetSocketAddress remoteAddress = request.remoteAddress();
+                    int port = remoteAddress != null ? remoteAddress.getPort() : -1;
+                    clientPorts.add(port);
+                    AtomicInteger active = activeStreams.computeIfAbsent(port, key -> new AtomicInteger());
+                    peakStreams.merge(port, active.incrementAndGet(), Math::max);
+                    return response.sendString(Mono.just(request.version().text())
+                                    .delayElement(Duration.ofMillis(50)))
+                            .then()
+                            .doFinally(signal -> active.decrementAndGet());
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+        server.disposeNow();
+        loopResources.dispose();
+    }
+
+    @Test
+    @DisplayName("H2 모드는 h2c prior knowledge로 동시 요청을 소수의 커넥션에 다중화")
+    void shouldMultiplexConcurrentRequestsOverHttp2() {
+        WebClientProperties.ClientProperties client = new WebClientProperties.ClientProperties();
+        client.setProtocol(WebClientProperties.HttpProtocolMode.H2);
+        client.getHttp2().setMaxConnections(2);
+        client.getHttp2().setMaxStreamsPerConnection(100);
+        WebClient webClient = createClient(client);
+
+        List<String> versions = Flux.range(1, 100)
+                .flatMap(i -> webClient.get()
+                        .uri("/posts/1")
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(versions).hasSize(100).allMatch("HTTP/2.0"::equals);
+        assertThat(clientPorts).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("스트림 수 제한을 넘는 요청은 추가 커넥션 또는 대기로 처리")
+    void shouldRespectStreamsPerConnectionLimit() {
+        WebClientProperties.ClientProperties client = new WebClientProperties.ClientProperties();
+        client.setProtocol(WebClientProperties.HttpProtocolMode.H2);
+        client.getHttp2().setMaxConnections(4);
+        client.getHttp2().setMaxStreamsPerConnection(10);
+        WebClient webClient = createClient(client);
+
+        List<String> versions = Flux.range(1, 40)
+                .flatMap(i -> webClient.get()
+                        .uri("/posts/1")
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(versions).hasSize(40).allMatch("HTTP/2.0"::equals);
+        assertThat(clientPorts).hasSizeLessThanOrEqualTo(4);
+        // 스트림 제한을 무시하면 커넥션 하나에 40개가 몰림
+        assertThat(peakStreams.values()).isNotEmpty().allSatisfy(peak -> assertThat(peak).isLessThanOrEqualTo(10));
+    }
+
+    private WebClient createClient(WebClientProperties.ClientProperties client) {
+        WebClientProperties properties = new WebClientProperties();
+        properties.setRetryEnabled(false);
+        properties.getClients().put(CLIENT, client);
+        registry = new ConnectionPoolRegistry(properties);
+
+        WebClientBuilderFactory factory = new WebClientBuilderFactory(properties, registry, loopResources);
+        return factory.createBuilder(CLIENT, "http://localhost:" + server.port()).build();
+    }
+}
@@ -0,0 +1,214 @@
+package io.codelee.webflux.config.cache;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpCacheFilterTest {
+
+    private static final URI POST_URI = URI.create("http://localhost/posts/1");
+
+    @Test
+    @DisplayName("max-age 안에서는 업스트림 호출 없이 캐시 응답")
+    void shouldServeFreshResponseFromCache() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(response(HttpStatus.OK, "post-1", "max-age=60", "\"v1\""));
+        };
+
+        assertThat(body(filter, get(), next)).isEqualTo("post-1");
+        assertThat(body(filter, get(), next)).isEqualTo("post-1");
+
+        assertThat(calls).hasValue(1);
+        HttpCacheFilter.Stats stats = filter.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("신선도가 지나면 ETag로 재검증하고 304면 저장된 본문 사용")
+    void shouldRevalidateWithETag() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        List<ClientRequest> requests = new ArrayList<>();
+        ExchangeFunction next = request -> {
+            requests.add(request);
+            return Mono.just(requests.size() == 1
+                    ? response(HttpStatus.OK, "post-1", "max-age=0", "\"v1\"")
+                    : ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\"").build());
+        };
+
+        body(filter, get(), next);
+        String body = body(filter, get(), next);
+
+        assertThat(body).isEqualTo("post-1");
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(filter.stats().notModified()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stale-while-revalidate 범위에서는 저장된 응답을 바로 주고 백그라운드에서 재검증")
+    void shouldServeStaleWhileRevalidating() throws InterruptedException {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> Mono.just(calls.incrementAndGet() == 1
+                ? response(HttpStatus.OK, "old", "max-age=1, stale-while-revalidate=60", "\"v1\"")
+                : response(HttpStatus.OK, "new", "max-age=60", "\"v2\""));
+
+        body(filter, get(), next);
+        Thread.sleep(1100);
+
+        assertThat(body(filter, get(), next)).isEqualTo("old");
+        assertThat(calls).hasValue(2);
+        assertThat(body(filter, get(), next)).isEqualTo("new");
+        assertThat(filter.stats().staleHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재검증 중 업스트림 에러가 나면 stale-if-error 범위의 저장된 응답 사용")
+    void shouldServeStaleOnError() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> calls.incrementAndGet() == 1
+                ? Mono.just(response(HttpStatus.OK, "post-1", "max-age=0, stale-if-error=60", "\"v1\""))
+                : Mono.error(new IOException("connection refused"));
+
+        body(filter, get(), next);
+
+        assertThat(body(filter, get(), next)).isEqualTo("post-1");
+        assertThat(filter.stats().staleIfError()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("no-store 응답은 저장하지 않음")
+    void shouldNotStoreNoStoreResponses() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(response(HttpStatus.OK, "secret", "no-store", "\"v1\""));
+        };
+
+        body(filter, get(), next);
+        body(filter, get(), next);
+
+        assertThat(calls).hasValue(2);
+        assertThat(filter.stats().entries()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 URL에 대한 쓰기 요청이 성공하면 캐시 항목 무효화")
+    void shouldInvalidateOnUnsafeMethod() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(response(HttpStatus.OK, "post-1", "max-age=60", "\"v1\""));
+        };
+
+        body(filter, get(), next);
+        filter.filter(ClientRequest.create(HttpMethod.PUT, POST_URI).build(), next).block(Duration.ofSeconds(1));
+        body(filter, get(), next);
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("캐시 크기는 항목 수가 아닌 본문 바이트 기준으로 제한")
+    void shouldBoundCacheByBytes() {
+        HttpCacheFilter filter = filter(DataSize.ofKilobytes(4));
+        String largeBody = "x".repeat(1024);
+        ExchangeFunction next = request -> Mono.just(response(HttpStatus.OK, largeBody, "max-age=60", null));
+
+        for (int i = 0; i < 20; i++) {
+            ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/posts/" + i)).build();
+            body(filter, request, next);
+        }
+
+        assertThat(filter.stats().weightedSizeBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(4).toBytes());
+    }
+
+    @Test
+    @DisplayName("캐시 대상 JSON 배열도 모으지 않고 요소 단위로 스트리밍, take(n) 후 업스트림 취소")
+    void shouldStreamCacheableArrayAndCancelUpstream() {
+        HttpCacheFilter filter = filter(DataSize.ofMegabytes(1));
+        AtomicInteger emittedChunks = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        // 끝나지 않는 JSON 배열: "[" 다음에 요소가 계속 이어짐
+        Flux<DataBuffer> endlessArray = Flux.concat(
+                        Flux.just("["),
+                        Flux.range(1, Integer.MAX_VALUE).map(i -> (i > 1 ? "," : "") + "{\"id\":" + i + "}"))
+                .doOnNext(chunk -> emittedChunks.incrementAndGet())
+                .doOnCancel(cancelled::incrementAndGet)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(HttpStatus.OK, ExchangeStrategies.withDefaults())
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(endlessArray)
+                .build());
+
+        List<Map> posts = filter.filter(get(), next)
+                .flatMapMany(response -> response.bodyToFlux(Map.class))
+                .take(5)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(posts).hasSize(5);
+        assertThat(cancelled).hasValue(1);
+        assertThat(emittedChunks.get()).isLessThan(1000);
+        assertThat(filter.stats().entries()).isZero();
+    }
+
+    private HttpCacheFilter filter(DataSize maxSize) {
+        WebClientProperties.HttpCache config = new WebClientProperties.HttpCache();
+        config.setEnabled(true);
+        config.setMaxSize(maxSize);
+        return new HttpCacheFilter("test", config, ExchangeStrategies.withDefaults());
+    }
+
+    private ClientRequest get() {
+        return ClientRequest.create(HttpMethod.GET, POST_URI).build();
+    }
+
+    private String body(HttpCacheFilter filter, ClientRequest request, ExchangeFunction next) {
+        return filter.filter(request, next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block(Duration.ofSeconds(1));
+    }
+
+    private ClientResponse response(HttpStatus status, String body, String cacheControl, String etag) {
+        ClientResponse.Builder builder = ClientResponse.create(status)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                .body(body);
+        if (etag != null) {
+            builder.header(HttpHeaders.ETAG, etag);
+        }
+        return builder.build();
+    }
+}
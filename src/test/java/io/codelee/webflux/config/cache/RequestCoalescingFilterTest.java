@@ -0,0 +1,81 @@
+package io.codelee.webflux.config.cache;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest {
+
+    private static final URI POST_URI = URI.create("http://localhost/posts/1");
+
+    @Test
+    @DisplayName("동시에 들어온 같은 GET은 업스트림 호출 1건으로 병합")
+    void shouldCoalesceConcurrentGets() {
+        RequestCoalescingFilter filter = filter(1024);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = upstream(calls, "post-1");
+
+        List<String> bodies = concurrentBodies(filter, next, 5);
+
+        assertThat(bodies).containsOnly("post-1").hasSize(5);
+        assertThat(calls).hasValue(1);
+        assertThat(filter.oversized()).isZero();
+    }
+
+    @Test
+    @DisplayName("본문이 maxInMemorySize를 넘으면 병합하지 않고 호출자마다 다시 요청")
+    void shouldFallBackToExchangeWhenBodyExceedsLimit() {
+        RequestCoalescingFilter filter = filter(16);
+        AtomicInteger calls = new AtomicInteger();
+        String large = "x".repeat(64);
+        ExchangeFunction next = upstream(calls, large);
+
+        List<String> bodies = concurrentBodies(filter, next, 3);
+
+        assertThat(bodies).containsOnly(large).hasSize(3);
+        // 병합된 1건(한도 초과로 폐기) + 호출자별 재요청 3건
+        assertThat(calls).hasValue(4);
+        assertThat(filter.oversized()).isEqualTo(3);
+    }
+
+    private RequestCoalescingFilter filter(long maxInMemorySize) {
+        WebClientProperties.Coalescing config = new WebClientProperties.Coalescing();
+        config.setEnabled(true);
+        return new RequestCoalescingFilter("test", config, ExchangeStrategies.withDefaults(), maxInMemorySize);
+    }
+
+    private ExchangeFunction upstream(AtomicInteger calls, String body) {
+        return request -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                    .body(body)
+                    .build();
+        }).delayElement(Duration.ofMillis(100));
+    }
+
+    private List<String> concurrentBodies(RequestCoalescingFilter filter, ExchangeFunction next, int callers) {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, POST_URI).build();
+        return Flux.range(0, callers)
+                .flatMap(i -> filter.filter(request, next)
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,105 @@
+package io.codelee.webflux.config.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.codelee.webflux.config.ConnectionPoolRegistry;
+import io.codelee.webflux.config.WebClientBuilderFactory;
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * application.yml의 http-bin 설정 그대로 만든 WebClient로 큰 JSON 본문을 보내
+ * 업스트림 대역이 압축되지 않은 JSON을 받는지 확인 (httpbin은 압축된 요청 본문을 풀지 않음)
+ */
+class HttpBinRequestEncodingTest {
+
+    private static final String CLIENT = "http-bin";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> receivedEncoding = new AtomicReference<>();
+    private final LoopResources loopResources = LoopResources.create("http-bin-test", 2, true);
+
+    private DisposableServer server;
+    private ConnectionPoolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> request.receive().aggregate().asString()
+                        .flatMap(body -> {
+                            receivedEncoding.set(request.requestHeaders().get("Content-Encoding", "identity"));
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just(body)).then();
+                        }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.destroy();
+        server.disposeNow();
+        loopResources.dispose();
+    }
+
+    @Test
+    @DisplayName("http-bin 클라이언트는 16KB 이상 본문도 압축하지 않고 JSON 그대로 전송")
+    void shouldSendLargeJsonBodyUncompressed() throws IOException {
+        String data = "x".repeat(64 * 1024);
+
+        String echoed = this.createClient().post()
+                .uri("/post")
+                .bodyValue(Map.of("data", data))
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(receivedEncoding).hasValue("identity");
+        JsonNode json = objectMapper.readTree(echoed);
+        assertThat(json.get("data").asText()).isEqualTo(data);
+    }
+
+    private WebClient createClient() {
+        WebClientProperties properties = loadProperties();
+        properties.setRetryEnabled(false);
+        WebClientProperties.ClientProperties client = properties.getClient(CLIENT);
+        assertThat(client.getCompression().getRequestThreshold()).isNull();
+        // 로컬 대역은 평문 HTTP/1.1 서버이므로 h2c Upgrade 협상은 생략 (압축 설정만 확인)
+        client.setProtocol(WebClientProperties.HttpProtocolMode.H1);
+        registry = new ConnectionPoolRegistry(properties);
+
+        WebClientBuilderFactory factory = new WebClientBuilderFactory(properties, registry, loopResources);
+        return factory.createBuilder(CLIENT, "http://localhost:" + server.port()).build();
+    }
+
+    private static WebClientProperties loadProperties() {
+        try {
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                    new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))));
+            return binder.bind("webclient", WebClientProperties.class).get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
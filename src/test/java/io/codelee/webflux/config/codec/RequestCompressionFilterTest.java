@@ -0,0 +1,110 @@
+package io.codelee.webflux.config.codec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 서버가 받은 Content-Encoding / 전송 바이트 수 / 풀어낸 본문 길이를 돌려줘서 압축 여부 확인
+ */
+class RequestCompressionFilterTest {
+
+    private static final int KB = 1024;
+
+    private DisposableServer server;
+    private RequestCompressionFilter filter;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> request.receive().aggregate().asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            String encoding = request.requestHeaders().get("Content-Encoding", "identity");
+                            int decoded = "gzip".equals(encoding) ? gunzip(bytes).length : bytes.length;
+                            return response.sendString(Mono.just(encoding + "," + bytes.length + "," + decoded)).then();
+                        }))
+                .bindNow();
+        filter = new RequestCompressionFilter(4 * KB);
+        webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
+                .filter(filter)
+                .baseUrl("http://localhost:" + server.port())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("임계값 이상인 본문은 gzip으로 압축해서 전송")
+    void shouldCompressLargeBody() {
+        String data = "x".repeat(64 * KB);
+
+        String[] received = post(Map.of("data", data));
+
+        assertThat(received[0]).isEqualTo("gzip");
+        assertThat(Integer.parseInt(received[1])).isLessThan(4 * KB);
+        assertThat(Integer.parseInt(received[2])).isGreaterThan(64 * KB);
+        assertThat(filter.stats().compressed()).isEqualTo(1);
+        assertThat(filter.stats().bytesAfter()).isLessThan(filter.stats().bytesBefore());
+    }
+
+    @Test
+    @DisplayName("임계값 미만이거나 길이를 모르는 스트리밍 본문은 그대로 전송")
+    void shouldSkipSmallOrStreamingBody() {
+        String[] small = post(Map.of("data", "small"));
+        String[] streaming = webClient.post()
+                .uri("/post")
+                .body(Flux.just("x".repeat(8 * KB), "y".repeat(8 * KB)), String.class)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(body -> body.split(","))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(small[0]).isEqualTo("identity");
+        assertThat(streaming[0]).isEqualTo("identity");
+        assertThat(Integer.parseInt(streaming[1])).isEqualTo(16 * KB);
+        assertThat(filter.stats().compressed()).isZero();
+    }
+
+    private String[] post(Map<String, String> body) {
+        return webClient.post()
+                .uri("/post")
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(response -> response.split(","))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.codelee.webflux.config.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpillToDiskFilterTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    @DisplayName("메모리 제한을 넘는 본문은 임시 파일로 받아 디코딩하고 파일은 삭제")
+    void shouldSpillOversizedBodyAndDecodeFromFile() throws IOException {
+        SpillToDiskFilter filter = filter(4 * KB, 1024 * KB);
+        String metadata = "x".repeat(64 * KB);
+
+        Map<?, ?> body = filter.filter(post(), json("{\"metadata\":\"" + metadata + "\"}"))
+                .flatMap(response -> response.bodyToMono(Map.class))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(body.get("metadata")).isEqualTo(metadata);
+        assertThat(filter.stats().spilled()).isEqualTo(1);
+        assertThat(filter.stats().spilledBytes()).isGreaterThan(64 * KB);
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("메모리 제한 이하의 본문은 파일을 만들지 않음")
+    void shouldKeepSmallBodyInMemory() {
+        SpillToDiskFilter filter = filter(4 * KB, 1024 * KB);
+
+        Map<?, ?> body = filter.filter(post(), json("{\"id\":1}"))
+                .flatMap(response -> response.bodyToMono(Map.class))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(body).containsEntry("id", 1);
+        assertThat(filter.stats().spilled()).isZero();
+    }
+
+    @Test
+    @DisplayName("maxSpillSize를 넘으면 DataBufferLimitException")
+    void shouldRejectBodyOverMaxSpillSize() {
+        SpillToDiskFilter filter = filter(4 * KB, 16 * KB);
+
+        assertThatThrownBy(() -> filter.filter(post(), json("\"" + "x".repeat(64 * KB) + "\""))
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOf(DataBufferLimitException.class);
+        assertThat(filter.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("시작 전에 남은 임시 파일만 삭제하고 이후에 만들어진 파일과 다른 파일은 유지")
+    void shouldDeleteOnlyLeftoverSpillFiles() throws IOException {
+        Instant startedAt = Instant.now();
+        Path leftover = Files.createFile(spillDirectory.resolve("webclient-1.body"));
+        Files.setLastModifiedTime(leftover, FileTime.from(startedAt.minusSeconds(60)));
+        Path inUse = Files.createFile(spillDirectory.resolve("webclient-2.body"));
+        Files.setLastModifiedTime(inUse, FileTime.from(startedAt.plusSeconds(1)));
+        Path other = Files.createFile(spillDirectory.resolve("other.body"));
+        Files.setLastModifiedTime(other, FileTime.from(startedAt.minusSeconds(60)));
+
+        int deleted = SpillToDiskFilter.deleteLeftoverFiles(spillDirectory, startedAt);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(leftover).doesNotExist();
+        assertThat(inUse).exists();
+        assertThat(other).exists();
+    }
+
+    private SpillToDiskFilter filter(int maxInMemoryBytes, int maxSpillBytes) {
+        return new SpillToDiskFilter("test", maxInMemoryBytes, maxSpillBytes, spillDirectory,
+                ExchangeStrategies.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxSpillBytes))
+                        .build());
+    }
+
+    private ClientRequest post() {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://localhost/post")).build();
+    }
+
+    // Content-Length 없이 1KB 단위로 나뉘어 오는 JSON 응답 (chunked)
+    private ExchangeFunction json(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> body = Flux.range(0, (bytes.length + KB - 1) / KB)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * KB, Math.min(bytes.length, (i + 1) * KB))));
+        return request -> Mono.just(ClientResponse.create(HttpStatus.OK, ExchangeStrategies.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(4 * KB))
+                        .build())
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(body)
+                .build());
+    }
+}
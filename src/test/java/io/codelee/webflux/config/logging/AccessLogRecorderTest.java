@@ -0,0 +1,72 @@
+package io.codelee.webflux.config.logging;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRecorderTest {
+
+    @Test
+    @DisplayName("샘플링 비율이 0이어도 에러와 느린 요청은 기록")
+    void shouldAlwaysRecordErrorsAndSlowRequests() {
+        try (AccessLogRecorder recorder = new AccessLogRecorder(accessLog(0.0, 1024, Duration.ofMillis(10)))) {
+            recorder.record("test", "GET", "localhost", "/posts/1", 200, fastLatency(), 100, -1, null);
+            recorder.record("test", "GET", "localhost", "/posts/2", 503, fastLatency(), 0, -1, null);
+            recorder.record("test", "GET", "localhost", "/posts/3", 0, fastLatency(), -1, -1, "java.io.IOException");
+            recorder.record("test", "GET", "localhost", "/posts/4", 200, TimeUnit.SECONDS.toNanos(2), 100, -1, null);
+
+            AccessLogRecorder.Stats stats = recorder.stats();
+            assertThat(stats.recorded()).isEqualTo(3);
+            assertThat(stats.sampledOut()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 기다리지 않고 기록을 버림")
+    void shouldDropWhenBufferIsFull() throws InterruptedException {
+        try (AccessLogRecorder recorder = new AccessLogRecorder(accessLog(1.0, 4, Duration.ofSeconds(10)))) {
+            // 기록기 스레드가 첫 drain 후 대기 상태로 들어갈 때까지 기다림
+            Thread.sleep(100);
+
+            for (int i = 0; i < 6; i++) {
+                recorder.record("test", "GET", "localhost", "/posts/" + i, 200, fastLatency(), 100, -1, null);
+            }
+
+            AccessLogRecorder.Stats stats = recorder.stats();
+            assertThat(stats.recorded()).isEqualTo(4);
+            assertThat(stats.dropped()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("종료 시 남아 있는 기록을 모두 출력")
+    void shouldWriteAllRecordsOnClose() {
+        AccessLogRecorder recorder = new AccessLogRecorder(accessLog(1.0, 64, Duration.ofSeconds(10)));
+        for (int i = 0; i < 50; i++) {
+            recorder.record("test", "GET", "localhost", "/posts/" + i, 200, fastLatency(), 100, -1, null);
+        }
+
+        recorder.close();
+
+        AccessLogRecorder.Stats stats = recorder.stats();
+        assertThat(stats.written()).isEqualTo(stats.recorded()).isEqualTo(50);
+    }
+
+    private long fastLatency() {
+        return TimeUnit.MILLISECONDS.toNanos(5);
+    }
+
+    private WebClientProperties.AccessLog accessLog(double sampleRate, int bufferSize, Duration flushInterval) {
+        WebClientProperties.AccessLog accessLog = new WebClientProperties.AccessLog();
+        accessLog.setSampleRate(sampleRate);
+        accessLog.setBufferSize(bufferSize);
+        accessLog.setSlowThreshold(Duration.ofSeconds(1));
+        accessLog.setFlushInterval(flushInterval);
+        return accessLog;
+    }
+}
@@ -0,0 +1,74 @@
+package io.codelee.webflux.config.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientMetricsFilterTest {
+
+    @Test
+    @DisplayName("상태 코드 클래스별 응답 수와 읽은 본문 바이트 수 집계")
+    void shouldCountStatusClassesAndBytesIn() {
+        ClientMetricsFilter filter = new ClientMetricsFilter("test");
+        ExchangeFunction ok = request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("hello").build());
+        ExchangeFunction unavailable = request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        filter.filter(request("/posts/{id}"), ok)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block(Duration.ofSeconds(1));
+        filter.filter(request("/posts/{id}"), unavailable).block(Duration.ofSeconds(1));
+
+        ClientMetricsFilter.Stats stats = filter.stats();
+        assertThat(stats.requests()).isEqualTo(2);
+        assertThat(stats.statusClasses()).containsEntry("2xx", 1L).containsEntry("5xx", 1L);
+        assertThat(stats.bytesIn()).isEqualTo(5);
+        assertThat(stats.latency().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("URI 템플릿별로 응답 시간을 따로 기록하고 템플릿이 없으면 none으로 집계")
+    void shouldRecordLatencyPerUriTemplate() {
+        ClientMetricsFilter filter = new ClientMetricsFilter("test");
+        ExchangeFunction ok = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        filter.filter(request("/posts/{id}"), ok).block(Duration.ofSeconds(1));
+        filter.filter(request("/posts/{id}"), ok).block(Duration.ofSeconds(1));
+        filter.filter(request("/users/{id}"), ok).block(Duration.ofSeconds(1));
+        filter.filter(request(null), ok).block(Duration.ofSeconds(1));
+
+        assertThat(filter.stats().uriTemplates())
+                .containsOnlyKeys("/posts/{id}", "/users/{id}", ClientMetricsFilter.NO_TEMPLATE);
+        assertThat(filter.stats().uriTemplates().get("/posts/{id}").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("응답 없이 끝난 요청은 에러로 집계")
+    void shouldCountErrors() {
+        ClientMetricsFilter filter = new ClientMetricsFilter("test");
+        ExchangeFunction failing = request -> Mono.error(new IOException("connection reset"));
+
+        filter.filter(request("/posts/{id}"), failing).onErrorResume(error -> Mono.empty()).block(Duration.ofSeconds(1));
+
+        assertThat(filter.stats().errors()).isEqualTo(1);
+        assertThat(filter.stats().statusClasses()).isEmpty();
+    }
+
+    private ClientRequest request(String uriTemplate) {
+        ClientRequest.Builder builder = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/posts/1"));
+        if (uriTemplate != null) {
+            builder.attribute(ClientMetricsFilter.URI_TEMPLATE_ATTRIBUTE, uriTemplate);
+        }
+        return builder.build();
+    }
+}
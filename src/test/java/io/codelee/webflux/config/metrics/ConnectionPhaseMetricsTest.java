@@ -0,0 +1,155 @@
+package io.codelee.webflux.config.metrics;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 로컬 서버를 업스트림 대역으로 사용해 연결 단계별 시간이 Context와 메트릭에 기록되는지 확인
+ */
+class ConnectionPhaseMetricsTest {
+
+    private DisposableServer server;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just("post-1")
+                        .delayElement(Duration.ofMillis(100))))
+                .bindNow();
+        provider = ConnectionProvider.create("phase-test", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("새 커넥션은 connect 시간을, 재사용 커넥션은 reused를 Context의 listener로 전달")
+    void shouldReportBreakdownThroughContext() {
+        ConnectionPhaseMetrics metrics = new ConnectionPhaseMetrics("test", Duration.ofSeconds(10));
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(metrics.instrument(HttpClient.create(provider))))
+                .filter(metrics.filter())
+                .baseUrl("http://localhost:" + server.port())
+                .build();
+        List<ConnectionTimings.Breakdown> breakdowns = new CopyOnWriteArrayList<>();
+        Consumer<ConnectionTimings.Breakdown> listener = breakdowns::add;
+
+        for (int i = 0; i < 2; i++) {
+            webClient.get()
+                    .uri("/posts/{id}", 1)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .contextWrite(context -> context.put(ConnectionTimings.LISTENER_KEY, listener))
+                    .block(Duration.ofSeconds(5));
+        }
+
+        assertThat(breakdowns).hasSize(2);
+        assertThat(breakdowns.get(0).reused()).isFalse();
+        assertThat(breakdowns.get(0).connect()).isPositive();
+        assertThat(breakdowns.get(1).reused()).isTrue();
+        assertThat(breakdowns).allSatisfy(breakdown -> assertThat(breakdown.ttfb()).isGreaterThanOrEqualTo(90));
+
+        assertThat(metrics.stats().get("connect").count()).isEqualTo(1);
+        assertThat(metrics.stats().get("ttfb").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("커넥션 풀 대기 시간 초과로 실패한 호출도 acquire 시간을 기록하고 listener로 전달")
+    void shouldRecordAcquireWhenPendingAcquireTimesOut() {
+        ConnectionProvider exhausted = ConnectionProvider.builder("phase-acquire-test")
+                .maxConnections(1)
+                .pendingAcquireTimeout(Duration.ofMillis(50))
+                .build();
+        try {
+            ConnectionPhaseMetrics metrics = new ConnectionPhaseMetrics("test", Duration.ofSeconds(10));
+            WebClient webClient = webClient(metrics, HttpClient.create(exhausted));
+            List<ConnectionTimings.Breakdown> breakdowns = new CopyOnWriteArrayList<>();
+            Consumer<ConnectionTimings.Breakdown> listener = breakdowns::add;
+
+            List<Throwable> errors = new CopyOnWriteArrayList<>();
+            Flux.range(0, 2)
+                    .flatMap(i -> webClient.get()
+                            .uri("/posts/{id}", 1)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .contextWrite(context -> context.put(ConnectionTimings.LISTENER_KEY, listener))
+                            .onErrorResume(error -> {
+                                errors.add(error);
+                                return Mono.empty();
+                            }))
+                    .blockLast(Duration.ofSeconds(5));
+
+            // PoolAcquireTimeoutException (TimeoutException 하위 타입)
+            assertThat(errors).singleElement()
+                    .satisfies(error -> assertThat(error).hasRootCauseInstanceOf(TimeoutException.class));
+            assertThat(breakdowns).hasSize(2);
+            assertThat(breakdowns).anySatisfy(breakdown -> {
+                assertThat(breakdown.acquire()).isGreaterThanOrEqualTo(40);
+                assertThat(breakdown.ttfb()).isZero();
+            });
+            assertThat(metrics.stats().get("acquire").count()).isEqualTo(2);
+            assertThat(metrics.stats().get("ttfb").count()).isEqualTo(1);
+        } finally {
+            exhausted.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    @DisplayName("응답 헤더 전에 responseTimeout으로 실패한 호출은 실패 시점까지의 ttfb를 기록")
+    void shouldRecordTimeToFirstByteWhenResponseTimesOut() {
+        ConnectionPhaseMetrics metrics = new ConnectionPhaseMetrics("test", Duration.ofSeconds(10));
+        WebClient webClient = webClient(metrics, HttpClient.create(provider).responseTimeout(Duration.ofMillis(50)));
+        List<ConnectionTimings.Breakdown> breakdowns = new CopyOnWriteArrayList<>();
+        Consumer<ConnectionTimings.Breakdown> listener = breakdowns::add;
+
+        Mono<String> call = webClient.get()
+                .uri("/posts/{id}", 1)
+                .retrieve()
+                .bodyToMono(String.class)
+                .contextWrite(context -> context.put(ConnectionTimings.LISTENER_KEY, listener));
+
+        assertThatThrownBy(() -> call.block(Duration.ofSeconds(5)))
+                .hasRootCauseInstanceOf(ReadTimeoutException.class);
+        assertThat(breakdowns).singleElement().satisfies(breakdown -> {
+            assertThat(breakdown.ttfb()).isGreaterThanOrEqualTo(40);
+            assertThat(breakdown.body()).isZero();
+        });
+        assertThat(metrics.stats().get("acquire").count()).isEqualTo(1);
+        assertThat(metrics.stats().get("ttfb").count()).isEqualTo(1);
+        assertThat(metrics.stats().get("body").count()).isZero();
+    }
+
+    private WebClient webClient(ConnectionPhaseMetrics metrics, HttpClient httpClient) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(metrics.instrument(httpClient)))
+                .filter(metrics.filter())
+                .baseUrl("http://localhost:" + server.port())
+                .build();
+    }
+}
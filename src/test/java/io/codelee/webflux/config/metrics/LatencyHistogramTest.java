@@ -0,0 +1,50 @@
+package io.codelee.webflux.config.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("버킷 상한값은 기록한 값보다 작지 않고 상대 오차는 약 3% 이내")
+    void shouldKeepRelativeErrorWithinBucketPrecision() {
+        for (long micros : new long[]{0, 1, 63, 64, 65, 127, 128, 1_000, 12_345, 999_999, 3_600_000_000L}) {
+            long upper = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(micros));
+
+            assertThat(upper).isGreaterThanOrEqualTo(micros);
+            assertThat(upper - micros).isLessThanOrEqualTo(Math.max(1, micros / 32));
+        }
+    }
+
+    @Test
+    @DisplayName("1~1000ms 균등 분포의 백분위수 계산")
+    void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 1000).forEach(millis -> histogram.record(TimeUnit.MILLISECONDS.toNanos(millis)));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat(snapshot.mean()).isCloseTo(500.5, within(0.1));
+        assertThat(snapshot.p50()).isCloseTo(500, within(500 * 0.04));
+        assertThat(snapshot.p99()).isCloseTo(990, within(990 * 0.04));
+        assertThat(snapshot.max()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 건수가 유실되지 않음")
+    void shouldNotLoseRecordsUnderContention() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        IntStream.range(0, 100_000).parallel()
+                .forEach(i -> histogram.record(TimeUnit.MICROSECONDS.toNanos(i % 5000)));
+
+        assertThat(histogram.snapshot().count()).isEqualTo(100_000);
+    }
+}
@@ -0,0 +1,143 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlFilterTest {
+
+    private static final URI POST_URI = URI.create("http://localhost/posts/1");
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 서킷이 열리고 업스트림 호출 없이 즉시 실패")
+    void shouldOpenCircuitAndFailFast() {
+        AdmissionControlFilter filter = new AdmissionControlFilter("test", circuitBreaker(), disabledLimit());
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        };
+
+        for (int i = 0; i < 4; i++) {
+            filter.filter(request(), next).block(Duration.ofSeconds(1));
+        }
+
+        assertThatThrownBy(() -> filter.filter(request(), next).block(Duration.ofSeconds(1)))
+                .isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(calls).hasValue(4);
+        AdmissionControlFilter.Stats stats = filter.stats();
+        assertThat(stats.circuitState()).isEqualTo("OPEN");
+        assertThat(stats.notPermitted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 HALF_OPEN 시험 호출 성공 후 서킷이 닫힘")
+    void shouldCloseCircuitAfterSuccessfulTrialCalls() throws InterruptedException {
+        AdmissionControlFilter filter = new AdmissionControlFilter("test", circuitBreaker(), disabledLimit());
+        ExchangeFunction failing = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+        ExchangeFunction healthy = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        for (int i = 0; i < 4; i++) {
+            filter.filter(request(), failing).block(Duration.ofSeconds(1));
+        }
+        Thread.sleep(150);
+        for (int i = 0; i < 2; i++) {
+            filter.filter(request(), healthy).block(Duration.ofSeconds(1));
+        }
+
+        assertThat(filter.stats().circuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("동시성 한도를 넘는 요청은 대기 없이 거절")
+    void shouldRejectRequestsOverConcurrencyLimit() {
+        AdmissionControlFilter filter = new AdmissionControlFilter("test", disabledCircuitBreaker(), concurrencyLimit(2));
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        ExchangeFunction next = request -> pending.asMono();
+
+        filter.filter(request(), next).subscribe();
+        filter.filter(request(), next).subscribe();
+
+        assertThatThrownBy(() -> filter.filter(request(), next).block(Duration.ofSeconds(1)))
+                .isInstanceOf(ConcurrencyLimitExceededException.class);
+        AdmissionControlFilter.Stats stats = filter.stats();
+        assertThat(stats.inFlight()).isEqualTo(2);
+        assertThat(stats.limitRejected()).isEqualTo(1);
+
+        pending.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        assertThat(filter.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("에러 응답이 이어지면 동시성 한도를 줄임")
+    void shouldDecreaseLimitOnErrors() {
+        AdmissionControlFilter filter = new AdmissionControlFilter("test", disabledCircuitBreaker(), concurrencyLimit(10));
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+        for (int i = 0; i < 5; i++) {
+            filter.filter(request(), next).block(Duration.ofSeconds(1));
+        }
+
+        assertThat(filter.stats().concurrencyLimit()).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("취소된 요청은 결과에 반영하지 않고 허용만 반납")
+    void shouldReleasePermitOnCancel() {
+        AdmissionControlFilter filter = new AdmissionControlFilter("test", circuitBreaker(), concurrencyLimit(2));
+        ExchangeFunction next = request -> Mono.never();
+
+        filter.filter(request(), next).subscribe().dispose();
+
+        AdmissionControlFilter.Stats stats = filter.stats();
+        assertThat(stats.inFlight()).isZero();
+        assertThat(stats.failureRate()).isZero();
+        assertThat(stats.concurrencyLimit()).isEqualTo(2);
+    }
+
+    private WebClientProperties.CircuitBreaker circuitBreaker() {
+        WebClientProperties.CircuitBreaker circuitBreaker = new WebClientProperties.CircuitBreaker();
+        circuitBreaker.setEnabled(true);
+        circuitBreaker.setSlidingWindowSize(10);
+        circuitBreaker.setMinimumCalls(4);
+        circuitBreaker.setFailureRateThreshold(50);
+        circuitBreaker.setWaitDurationInOpenState(Duration.ofMillis(100));
+        circuitBreaker.setPermittedCallsInHalfOpenState(2);
+        return circuitBreaker;
+    }
+
+    private WebClientProperties.CircuitBreaker disabledCircuitBreaker() {
+        return new WebClientProperties.CircuitBreaker();
+    }
+
+    private WebClientProperties.ConcurrencyLimit concurrencyLimit(int initialLimit) {
+        WebClientProperties.ConcurrencyLimit concurrencyLimit = new WebClientProperties.ConcurrencyLimit();
+        concurrencyLimit.setEnabled(true);
+        concurrencyLimit.setInitialLimit(initialLimit);
+        concurrencyLimit.setMinLimit(1);
+        concurrencyLimit.setMaxLimit(initialLimit * 2);
+        return concurrencyLimit;
+    }
+
+    private WebClientProperties.ConcurrencyLimit disabledLimit() {
+        return new WebClientProperties.ConcurrencyLimit();
+    }
+
+    private ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, POST_URI).build();
+    }
+}
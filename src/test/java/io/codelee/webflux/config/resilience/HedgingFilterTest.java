@@ -0,0 +1,155 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingFilterTest {
+
+    private static final URI POST_URI = URI.create("http://localhost/posts/1");
+
+    @Test
+    @DisplayName("원 요청이 느리면 헤지 요청의 응답을 사용하고 원 요청은 취소")
+    void shouldUseHedgeResponseWhenPrimaryIsSlow() {
+        HedgingFilter filter = new HedgingFilter("test", hedging(100));
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger primaryCancelled = new AtomicInteger();
+        ExchangeFunction next = request -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(2)).map(tick -> response("primary"))
+                        .doOnCancel(primaryCancelled::incrementAndGet)
+                : Mono.just(response("hedge"));
+
+        String body = filter.filter(request(HttpMethod.GET), next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block(Duration.ofSeconds(1));
+
+        assertThat(body).isEqualTo("hedge");
+        assertThat(primaryCancelled).hasValue(1);
+        HedgingFilter.Stats stats = filter.stats();
+        assertThat(stats.hedgesSent()).isEqualTo(1);
+        assertThat(stats.hedgesWon()).isEqualTo(1);
+        assertThat(stats.cancelled()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤지가 계속 이겨도 취소된 원 요청의 경과 시간을 기록하므로 헤지 지연이 내려가지 않음")
+    void shouldKeepHedgeDelayWhenHedgesKeepWinning() {
+        WebClientProperties.Hedging hedging = hedging(100);
+        hedging.setMinDelay(Duration.ofMillis(10));
+        hedging.setMaxDelay(Duration.ofMillis(200));
+        hedging.setPercentile(90);
+        hedging.setSampleSize(20);
+        hedging.setMinSamples(4);
+        HedgingFilter filter = new HedgingFilter("test", hedging);
+        AtomicInteger callsInRequest = new AtomicInteger();
+        AtomicInteger requestIndex = new AtomicInteger();
+        // 짝수 번째 요청은 원 요청이 빠르게 응답, 홀수 번째 요청은 원 요청이 느려서 헤지가 이김
+        ExchangeFunction next = request -> {
+            boolean primary = callsInRequest.incrementAndGet() == 1;
+            if (!primary) {
+                return Mono.just(response("hedge"));
+            }
+            return requestIndex.get() % 2 == 0
+                    ? Mono.delay(Duration.ofMillis(20)).map(tick -> response("primary"))
+                    : Mono.delay(Duration.ofSeconds(2)).map(tick -> response("primary"));
+        };
+
+        for (int i = 0; i < 20; i++) {
+            requestIndex.set(i);
+            callsInRequest.set(0);
+            filter.filter(request(HttpMethod.GET), next)
+                    .flatMap(response -> response.bodyToMono(String.class))
+                    .block(Duration.ofSeconds(1));
+        }
+
+        HedgingFilter.Stats stats = filter.stats();
+        assertThat(stats.hedgesWon()).isEqualTo(10);
+        assertThat(stats.currentDelayMillis()).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("원 요청이 지연 시간 안에 응답하면 헤지하지 않음")
+    void shouldNotHedgeFastResponses() {
+        HedgingFilter filter = new HedgingFilter("test", hedging(100));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(response("primary"));
+        };
+
+        String body = filter.filter(request(HttpMethod.GET), next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block(Duration.ofSeconds(1));
+
+        assertThat(body).isEqualTo("primary");
+        assertThat(calls).hasValue(1);
+        assertThat(filter.stats().hedgesSent()).isZero();
+    }
+
+    @Test
+    @DisplayName("예산을 넘는 헤지는 보내지 않음")
+    void shouldRespectHedgeBudget() {
+        HedgingFilter filter = new HedgingFilter("test", hedging(10));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).map(tick -> response("slow"));
+        };
+
+        for (int i = 0; i < 20; i++) {
+            filter.filter(request(HttpMethod.GET), next)
+                    .flatMap(response -> response.bodyToMono(String.class))
+                    .block(Duration.ofSeconds(1));
+        }
+
+        HedgingFilter.Stats stats = filter.stats();
+        assertThat(stats.requests()).isEqualTo(20);
+        assertThat(stats.hedgesSent()).isEqualTo(2);
+        assertThat(stats.budgetDenied()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("멱등하지 않은 요청은 헤지하지 않음")
+    void shouldNotHedgeNonIdempotentRequests() {
+        HedgingFilter filter = new HedgingFilter("test", hedging(100));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).map(tick -> response("created"));
+        };
+
+        filter.filter(request(HttpMethod.POST), next).block(Duration.ofSeconds(1));
+
+        assertThat(calls).hasValue(1);
+        assertThat(filter.stats().requests()).isZero();
+    }
+
+    private WebClientProperties.Hedging hedging(double maxExtraLoadPercent) {
+        WebClientProperties.Hedging hedging = new WebClientProperties.Hedging();
+        hedging.setEnabled(true);
+        hedging.setMinDelay(Duration.ofMillis(50));
+        hedging.setMaxDelay(Duration.ofMillis(50));
+        hedging.setMaxExtraLoadPercent(maxExtraLoadPercent);
+        return hedging;
+    }
+
+    private ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, POST_URI).build();
+    }
+
+    private ClientResponse response(String body) {
+        return ClientResponse.create(HttpStatus.OK).body(body).build();
+    }
+}
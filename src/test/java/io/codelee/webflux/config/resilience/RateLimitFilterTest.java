@@ -0,0 +1,109 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    private static final ExchangeFunction OK = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+    @Test
+    @DisplayName("burst를 넘는 요청은 속도에 맞춰 지연 후 전송")
+    void shouldDelayRequestsOverBurst() {
+        RateLimitFilter filter = new RateLimitFilter("test", rateLimit(20, 5, Duration.ofSeconds(5)));
+
+        long start = System.nanoTime();
+        Flux.range(0, 15)
+                .flatMap(i -> filter.filter(request("http://a.example/posts/" + i), OK))
+                .blockLast(Duration.ofSeconds(3));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // burst 5건은 즉시, 나머지 10건은 20/s 속도로 약 0.5초
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+        HostRateLimiter.Stats stats = filter.stats().get("a.example");
+        assertThat(stats.acquired()).isEqualTo(15);
+        assertThat(stats.delayed()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("대기 시간이 maxWait를 넘으면 업스트림에 보내지 않고 거절")
+    void shouldRejectWhenWaitExceedsMaxWait() {
+        RateLimitFilter filter = new RateLimitFilter("test", rateLimit(1, 1, Duration.ofMillis(100)));
+
+        filter.filter(request("http://a.example/posts/1"), OK).block(Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> filter.filter(request("http://a.example/posts/2"), OK).block(Duration.ofSeconds(1)))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(filter.stats().get("a.example").rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("호스트마다 별도의 버킷 사용")
+    void shouldLimitEachHostSeparately() {
+        RateLimitFilter filter = new RateLimitFilter("test", rateLimit(1, 1, Duration.ofMillis(100)));
+
+        filter.filter(request("http://a.example/posts/1"), OK).block(Duration.ofSeconds(1));
+        filter.filter(request("http://b.example:8080/posts/1"), OK).block(Duration.ofSeconds(1));
+
+        assertThat(filter.stats()).containsOnlyKeys("a.example", "b.example:8080");
+    }
+
+    @Test
+    @DisplayName("429 응답을 받으면 속도를 낮추고 Retry-After 동안 전송을 멈춤")
+    void shouldSlowDownOnTooManyRequests() {
+        RateLimitFilter filter = new RateLimitFilter("test", rateLimit(100, 10, Duration.ofMillis(500)));
+        ExchangeFunction throttled = request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .build());
+
+        filter.filter(request("http://a.example/posts/1"), throttled).block(Duration.ofSeconds(1));
+
+        HostRateLimiter.Stats stats = filter.stats().get("a.example");
+        assertThat(stats.throttled()).isEqualTo(1);
+        assertThat(stats.currentRate()).isLessThan(100);
+        assertThatThrownBy(() -> filter.filter(request("http://a.example/posts/2"), OK).block(Duration.ofSeconds(1)))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("429 이후 속도는 시간이 지나면서 설정값까지 회복")
+    void shouldRecoverRateOverTime() throws InterruptedException {
+        WebClientProperties.RateLimit config = rateLimit(10, 1, Duration.ofSeconds(1));
+        config.setRecoveryPerSecond(50);
+        HostRateLimiter limiter = new HostRateLimiter(config);
+
+        limiter.onThrottled(-1);
+        assertThat(limiter.currentRate()).isLessThan(10);
+
+        Thread.sleep(200);
+        assertThat(limiter.currentRate()).isEqualTo(10);
+    }
+
+    private WebClientProperties.RateLimit rateLimit(double permitsPerSecond, int burst, Duration maxWait) {
+        WebClientProperties.RateLimit rateLimit = new WebClientProperties.RateLimit();
+        rateLimit.setEnabled(true);
+        rateLimit.setPermitsPerSecond(permitsPerSecond);
+        rateLimit.setBurst(burst);
+        rateLimit.setMaxWait(maxWait);
+        return rateLimit;
+    }
+
+    private ClientRequest request(String url) {
+        return ClientRequest.create(HttpMethod.GET, URI.create(url)).build();
+    }
+}
@@ -0,0 +1,146 @@
+package io.codelee.webflux.config.resilience;
+
+import io.codelee.webflux.config.WebClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryBudgetFilterTest {
+
+    private static final URI POST_URI = URI.create("http://localhost/posts/1");
+
+    @Test
+    @DisplayName("재시도 가능한 상태 코드는 재시도 후 정상 응답을 전달")
+    void shouldRetryRetryableStatus() {
+        RetryBudgetFilter filter = filter(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> Mono.just(calls.incrementAndGet() < 3
+                ? ClientResponse.create(HttpStatus.BAD_GATEWAY).build()
+                : ClientResponse.create(HttpStatus.OK).build());
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET), next).block(Duration.ofSeconds(1));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(3);
+        assertThat(filter.stats().retries()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("예산이 소진되면 재시도하지 않고 마지막 응답을 그대로 전달")
+    void shouldStopRetryingWhenBudgetIsExhausted() {
+        RetryBudgetFilter filter = filter(0.1, 2);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        };
+
+        for (int i = 0; i < 5; i++) {
+            ClientResponse response = filter.filter(request(HttpMethod.GET), next).block(Duration.ofSeconds(1));
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        RetryBudgetFilter.Stats stats = filter.stats();
+        assertThat(stats.retries()).isEqualTo(2);
+        assertThat(calls).hasValue(7);
+        assertThat(stats.budgetExhausted()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("429 응답의 Retry-After만큼 기다린 뒤 재시도")
+    void shouldHonorRetryAfter() {
+        RetryBudgetFilter filter = filter(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> Mono.just(calls.incrementAndGet() == 1
+                ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build()
+                : ClientResponse.create(HttpStatus.OK).build());
+
+        long start = System.nanoTime();
+        ClientResponse response = filter.filter(request(HttpMethod.POST), next).block(Duration.ofSeconds(3));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(filter.stats().retryAfterHonored()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Retry-After가 허용 범위보다 길면 재시도하지 않음")
+    void shouldNotRetryWhenRetryAfterIsTooLong() {
+        RetryBudgetFilter filter = filter(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "120").build());
+        };
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET), next).block(Duration.ofSeconds(1));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(calls).hasValue(1);
+        assertThat(filter.stats().retryAfterTooLong()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("네트워크 에러는 최대 재시도 횟수까지만 재시도 후 에러 전달")
+    void shouldGiveUpAfterMaxAttempts() {
+        RetryBudgetFilter filter = filter(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.error(new IOException("connection reset"));
+        };
+
+        assertThatThrownBy(() -> filter.filter(request(HttpMethod.GET), next).block(Duration.ofSeconds(1)))
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(calls).hasValue(4);
+        assertThat(filter.stats().attemptsExhausted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("멱등하지 않은 요청의 5xx 응답은 재시도하지 않음")
+    void shouldNotRetryNonIdempotentServerErrors() {
+        RetryBudgetFilter filter = filter(10, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        };
+
+        filter.filter(request(HttpMethod.POST), next).block(Duration.ofSeconds(1));
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private RetryBudgetFilter filter(double budgetRatio, double maxTokens) {
+        WebClientProperties properties = new WebClientProperties();
+        properties.setMaxRetryAttempts(3);
+        properties.setRetryMinBackoff(Duration.ofMillis(1));
+        properties.setRetryMaxBackoff(Duration.ofMillis(5));
+        WebClientProperties.ClientProperties client = new WebClientProperties.ClientProperties();
+        client.getRetry().setBudgetRatio(budgetRatio);
+        client.getRetry().setMaxTokens(maxTokens);
+        properties.getClients().put("test", client);
+        return new RetryBudgetFilter("test", properties,
+                error -> error instanceof IOException,
+                status -> status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, POST_URI).build();
+    }
+}
@@ -1,7 +1,15 @@
 package io.codelee.webflux.jsonplaceholder;
 
+import io.codelee.webflux.common.AdaptiveBatcher;
+import io.codelee.webflux.common.WriteBehindWriter;
 import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostChangeFeed;
+import io.codelee.webflux.jsonplaceholder.application.PostSearchIndex;
 import io.codelee.webflux.jsonplaceholder.application.PostService;
+import io.codelee.webflux.jsonplaceholder.application.PostStore;
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -15,16 +23,38 @@ import reactor.core.publisher.Mono;
 public class TestWebClientConfig {
 
     private final WebClient jsonPlaceholderClient;
+    private final PostStore postStore;
+    private final WriteBehindWriter<Post> postWriter;
+    private final ObjectProvider<PostJournal> postJournal;
+    private final AdaptiveBatcher.Settings postBatchSettings;
+    private final PostChangeFeed postChangeFeed;
+    private final PostSearchIndex postSearchIndex;
+    private final PostPersistenceProperties postPersistenceProperties;
 
-    public TestWebClientConfig(@Qualifier("jsonPlaceholderClient") WebClient jsonPlaceholderClient) {
+    public TestWebClientConfig(@Qualifier("jsonPlaceholderClient") WebClient jsonPlaceholderClient,
+                               PostStore postStore,
+                               WriteBehindWriter<Post> postWriter,
+                               ObjectProvider<PostJournal> postJournal,
+                               AdaptiveBatcher.Settings postBatchSettings,
+                               PostChangeFeed postChangeFeed,
+                               PostSearchIndex postSearchIndex,
+                               PostPersistenceProperties postPersistenceProperties) {
         this.jsonPlaceholderClient = jsonPlaceholderClient;
+        this.postStore = postStore;
+        this.postWriter = postWriter;
+        this.postJournal = postJournal;
+        this.postBatchSettings = postBatchSettings;
+        this.postChangeFeed = postChangeFeed;
+        this.postSearchIndex = postSearchIndex;
+        this.postPersistenceProperties = postPersistenceProperties;
     }
 
     @Bean
     @Primary
     @Profile("test")
     public PostService testPostService() {
-        return new PostService(jsonPlaceholderClient) {
+        return new PostService(jsonPlaceholderClient, postStore, postWriter, postJournal, postBatchSettings,
+                postChangeFeed, postSearchIndex, postPersistenceProperties) {
             @Override
             public Flux<Post> getAllPostsLog() {
                 return Flux.just(
@@ -1,16 +1,23 @@
 package io.codelee.webflux.jsonplaceholder.acceptance;
 
 import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostBulkResponse;
+import io.codelee.webflux.jsonplaceholder.application.PostBulkResult;
+import io.codelee.webflux.jsonplaceholder.application.PostSearchHit;
+import io.codelee.webflux.jsonplaceholder.application.PostStreamItem;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +38,7 @@ class PostControllerIntegrationTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectBodyList(Post.class)
-                .hasSize(5)
+                .hasSize(100)
                 .consumeWith(response -> {
                     List<Post> posts = response.getResponseBody();
                     assertThat(posts).isNotEmpty();
@@ -63,6 +70,19 @@ class PostControllerIntegrationTest {
                 .hasSize(1);
     }
 
+    @Test
+    @DisplayName("적응형 배치 저장 테스트")
+    void shouldBatchInsertAdaptivePosts() {
+        webTestClient.post()
+                .uri("/posts/batch/adaptive")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemCount").isEqualTo(100)
+                .jsonPath("$.batches.length()").value(count -> assertThat((Integer) count).isPositive());
+    }
+
     @Test
     @DisplayName("특정 포스트 조회 테스트")
     void shouldGetSpecificPost() {
@@ -101,18 +121,168 @@ class PostControllerIntegrationTest {
     }
 
     @Test
-    @DisplayName("스트리밍 응답 테스트")
-    void shouldStreamPosts() {
-        FluxExchangeResult<Post> result = webTestClient.get()
+    @DisplayName("생성한 포스트를 id와 사용자로 로컬 조회")
+    void shouldGetCreatedPostLocally() {
+        Post createdPost = webTestClient.post()
+                .uri("/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Post(null, "Local Title", "Local Body", 77L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Post.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.get()
+                .uri("/posts/local/{id}", createdPost.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Local Title")
+                .jsonPath("$.userId").isEqualTo(77);
+
+        webTestClient.get()
+                .uri("/posts/local/users/{userId}", 77)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Post.class)
+                .consumeWith(response -> assertThat(response.getResponseBody())
+                        .extracting(Post::getId)
+                        .contains(createdPost.getId()));
+
+        webTestClient.get()
+                .uri("/posts/local/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("변경 피드 스트리밍: 생성한 포스트를 SSE로 받고, Last-Event-ID로 이어 받음")
+    void shouldStreamCreatedPostsAndResumeFromLastEventId() {
+        FluxExchangeResult<ServerSentEvent<Post>> result = webTestClient.get()
                 .uri("/posts/stream")
                 .accept(MediaType.TEXT_EVENT_STREAM)
                 .exchange()
                 .expectStatus().isOk()
-                .returnResult(Post.class);
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Post>>() {});
+
+        createPost("Stream Title 1");
+        createPost("Stream Title 2");
+
+        List<ServerSentEvent<Post>> events = result.getResponseBody()
+                .filter(event -> event.data() != null)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(events).extracting(event -> event.data().getTitle())
+                .containsExactly("Stream Title 1", "Stream Title 2");
+        assertThat(events).extracting(ServerSentEvent::event).containsOnly("post");
+
+        // 첫 번째 이벤트 id로 재연결하면 두 번째 이벤트부터 재생
+        FluxExchangeResult<ServerSentEvent<Post>> resumed = webTestClient.get()
+                .uri("/posts/stream")
+                .header("Last-Event-ID", events.get(0).id())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Post>>() {});
+
+        StepVerifier.create(resumed.getResponseBody()
+                        .filter(event -> event.data() != null)
+                        .map(event -> event.data().getTitle()))
+                .expectNext("Stream Title 2")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private void createPost(String title) {
+        webTestClient.post()
+                .uri("/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Post(null, title, "Stream Body", 1L))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("NDJSON 스트리밍은 cursor부터 limit개를 보내고, 마지막 cursor로 이어 받을 수 있음")
+    void shouldStreamPostsAsNdjsonWithCursor() {
+        FluxExchangeResult<PostStreamItem> result = webTestClient.get()
+                .uri("/posts?cursor=95&limit=3&page-size=2")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PostStreamItem.class);
 
-        StepVerifier.create(result.getResponseBody())
-                .expectNextCount(5)
+        StepVerifier.create(result.getResponseBody().map(PostStreamItem::cursor))
+                .expectNext(96L, 97L, 98L)
                 .verifyComplete();
+
+        FluxExchangeResult<PostStreamItem> resumed = webTestClient.get()
+                .uri("/posts?cursor=98")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PostStreamItem.class);
+
+        StepVerifier.create(resumed.getResponseBody().map(item -> item.post().getId()))
+                .expectNext(99L, 100L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("일괄 조회: 요청 순서대로 반환하고 없는 id는 NOT_FOUND로 부분 응답")
+    void shouldGetPostsInRequestOrderWithPartialResults() {
+        webTestClient.get()
+                .uri("/posts?ids=3,1,99999,3")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PostBulkResponse.class)
+                .consumeWith(response -> {
+                    PostBulkResponse body = response.getResponseBody();
+                    assertThat(body).isNotNull();
+                    assertThat(body.results()).extracting(PostBulkResult::id).containsExactly(3L, 1L, 99999L, 3L);
+                    assertThat(body.results()).extracting(PostBulkResult::status).containsExactly(
+                            PostBulkResult.Status.FOUND, PostBulkResult.Status.FOUND,
+                            PostBulkResult.Status.NOT_FOUND, PostBulkResult.Status.FOUND);
+                    assertThat(body.results().get(0).post().getId()).isEqualTo(3L);
+                    assertThat(body.counts()).containsEntry(PostBulkResult.Status.FOUND, 3L);
+                });
+
+        webTestClient.post()
+                .uri("/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(5, 4))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].post.id").isEqualTo(5)
+                .jsonPath("$.results[1].post.id").isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("전문 검색: 생성한 포스트를 제목/본문 용어로 찾고 관련이 큰 순서로 반환")
+    void shouldSearchCreatedPosts() {
+        // test 프로필의 저널은 실행 간에 남으므로 실행마다 다른 용어를 사용 (이전 실행의 Post가 섞이지 않도록)
+        String term = "zephyrine" + Long.toString(System.nanoTime(), 36);
+        createPost(term + " Quokka");
+        createPost(term + " " + term + " Quokka");
+        createPost("Unrelated Title");
+
+        webTestClient.get()
+                .uri("/posts/search?q={term}&limit=5", term)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PostSearchHit.class)
+                .consumeWith(response -> {
+                    List<PostSearchHit> hits = response.getResponseBody();
+                    assertThat(hits).extracting(hit -> hit.post().getTitle())
+                            .containsExactly(term + " " + term + " Quokka", term + " Quokka");
+                    assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+                });
     }
 
     @Test
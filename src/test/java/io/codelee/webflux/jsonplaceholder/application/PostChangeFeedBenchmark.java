@@ -0,0 +1,193 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 변경 피드 구독자 확장성 벤치마크 (./gradlew benchmark 로 실행)
+ *
+ * in-process: PostChangeFeed에 구독자 10,000개를 직접 붙여 구독자당 힙 사용량과 전달 시간 측정
+ * sse: 로컬 서버(/stream, PostController와 같은 SSE 형식)에 SSE 클라이언트 2,000개를 연결해 측정
+ *      - 서버와 클라이언트가 같은 JVM이므로 구독자당 힙은 연결 양쪽을 합친 값 (Netty 다이렉트 버퍼는 제외)
+ *      - 로컬 포트/파일 디스크립터를 연결당 2개 사용하므로 ulimit -n이 충분해야 함
+ *
+ * 각 측정: 구독 후 Post 100개를 10개씩 발행하고 모든 구독자가 전부 받을 때까지의 시간
+ */
+@Tag("benchmark")
+class PostChangeFeedBenchmark {
+
+    private static final int IN_PROCESS_SUBSCRIBERS = 10_000;
+    private static final int SSE_SUBSCRIBERS = 2_000;
+    private static final int EVENTS = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    @DisplayName("구독자 수천~수만 명에게 변경 피드 전달 시 구독자당 메모리와 전달 시간")
+    void measureSubscriberFootprintAndFanout() {
+        Result inProcess = runInProcess();
+        Result sse = runSse();
+
+        System.out.printf("%-11s %12s %16s %14s %16s%n",
+                "mode", "subscribers", "bytes/subscriber", "fanout(ms)", "deliveries/s");
+        System.out.println(inProcess);
+        System.out.println(sse);
+
+        assertThat(inProcess.delivered()).isEqualTo((long) IN_PROCESS_SUBSCRIBERS * EVENTS);
+        assertThat(sse.delivered()).isEqualTo((long) SSE_SUBSCRIBERS * EVENTS);
+    }
+
+    private Result runInProcess() {
+        try (PostChangeFeed feed = newFeed()) {
+            LongAdder received = new LongAdder();
+            long before = usedHeap();
+            List<Disposable> subscriptions = new ArrayList<>(IN_PROCESS_SUBSCRIBERS);
+            for (int i = 0; i < IN_PROCESS_SUBSCRIBERS; i++) {
+                subscriptions.add(feed.subscribe(null).subscribeWith(new BaseSubscriber<>() {
+                    @Override
+                    protected void hookOnNext(PostChangeFeed.PostEvent value) {
+                        received.increment();
+                    }
+                }));
+            }
+            long after = usedHeap();
+
+            long elapsed = publishAndAwait(feed, () -> received.sum() >= (long) IN_PROCESS_SUBSCRIBERS * EVENTS);
+            subscriptions.forEach(Disposable::dispose);
+            return Result.of("in-process", IN_PROCESS_SUBSCRIBERS, after - before, elapsed, received.sum());
+        }
+    }
+
+    private Result runSse() {
+        LoopResources serverLoops = LoopResources.create("bench-sse-server", 1, 2, true);
+        LoopResources clientLoops = LoopResources.create("bench-sse-client", 4, true);
+        PostChangeFeed feed = newFeed();
+
+        DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(serverLoops)
+                .route(routes -> routes.get("/stream", (request, response) -> response
+                        .header("Content-Type", "text/event-stream")
+                        .sendString(Flux.merge(
+                                feed.subscribe(null).map(event ->
+                                        "id:" + event.id() + "\nevent:post\ndata:" + event.post().getTitle() + "\n\n"),
+                                Flux.just(":connected\n\n")))))
+                .bindNow();
+
+        HttpClient client = HttpClient.create(ConnectionProvider.newConnection())
+                .runOn(clientLoops)
+                .host("localhost")
+                .port(server.port());
+
+        LongAdder received = new LongAdder();
+        List<Disposable> connections = new ArrayList<>(SSE_SUBSCRIBERS);
+        try {
+            long before = usedHeap();
+            for (int i = 0; i < SSE_SUBSCRIBERS; i++) {
+                connections.add(client.get()
+                        .uri("/stream")
+                        .responseContent()
+                        .asString()
+                        .subscribe(chunk -> received.add(count(chunk, "data:"))));
+            }
+            await(() -> feed.stats().subscribers() >= SSE_SUBSCRIBERS);
+            long after = usedHeap();
+
+            long elapsed = publishAndAwait(feed, () -> received.sum() >= (long) SSE_SUBSCRIBERS * EVENTS);
+            return Result.of("sse", SSE_SUBSCRIBERS, after - before, elapsed, received.sum());
+        } finally {
+            connections.forEach(Disposable::dispose);
+            feed.close();
+            server.disposeNow();
+            clientLoops.dispose();
+            serverLoops.dispose();
+        }
+    }
+
+    private static PostChangeFeed newFeed() {
+        return new PostChangeFeed(8192, 256, PostChangeFeed.OverflowPolicy.DROP_OLDEST, Duration.ofSeconds(15));
+    }
+
+    // @return 첫 발행부터 모든 구독자가 전부 받을 때까지 걸린 시간 (ns)
+    private static long publishAndAwait(PostChangeFeed feed, BooleanSupplier allReceived) {
+        long start = System.nanoTime();
+        for (int batch = 0; batch < EVENTS / 10; batch++) {
+            int offset = batch * 10;
+            feed.publishAll(IntStream.range(offset, offset + 10)
+                    .mapToObj(i -> new Post((long) i + 1, "post-" + i, "body", 1L))
+                    .toList());
+        }
+        await(allReceived);
+        return System.nanoTime() - start;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("벤치마크 대기 시간 초과");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int count(String text, String token) {
+        int count = 0;
+        for (int index = text.indexOf(token); index >= 0; index = text.indexOf(token, index + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private record Result(String mode, int subscribers, double bytesPerSubscriber, double fanoutMillis,
+                          double deliveriesPerSecond, long delivered) {
+
+        static Result of(String mode, int subscribers, long heapDelta, long elapsedNanos, long delivered) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return new Result(mode, subscribers, (double) heapDelta / subscribers, elapsedNanos / 1_000_000.0,
+                    delivered / seconds, delivered);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-11s %12d %16.0f %14.1f %16.0f",
+                    mode, subscribers, bytesPerSubscriber, fanoutMillis, deliveriesPerSecond);
+        }
+    }
+}
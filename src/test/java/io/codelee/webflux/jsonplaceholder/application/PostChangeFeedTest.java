@@ -0,0 +1,108 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostChangeFeedTest {
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 발행해도 모든 구독자가 같은 순서로 빠짐없이 받음")
+    void shouldDeliverEventsInOrderToEverySubscriber() throws Exception {
+        try (PostChangeFeed feed = feed(1024, 1024, PostChangeFeed.OverflowPolicy.DISCONNECT)) {
+            CompletableFuture<List<Long>> first = feed.subscribe(null).take(1000).map(PostChangeFeed.PostEvent::id)
+                    .collectList().toFuture();
+            CompletableFuture<List<Long>> second = feed.subscribe(null).take(1000).map(PostChangeFeed.PostEvent::id)
+                    .collectList().toFuture();
+
+            IntStream.range(0, 1000).parallel().forEach(i -> feed.publish(post(i)));
+
+            List<Long> expected = LongStream.rangeClosed(1, 1000).boxed().toList();
+            assertThat(first.get(5, TimeUnit.SECONDS)).containsExactlyElementsOf(expected);
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsExactlyElementsOf(expected);
+            assertThat(feed.stats().delivered()).isEqualTo(2000);
+        }
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 다음 이벤트부터 재생한 뒤 실시간 이벤트로 이어짐")
+    void shouldResumeFromLastEventId() {
+        try (PostChangeFeed feed = feed(16, 4, PostChangeFeed.OverflowPolicy.DISCONNECT)) {
+            IntStream.rangeClosed(1, 10).forEach(i -> feed.publish(post(i)));
+
+            StepVerifier.create(feed.subscribe(3L).map(PostChangeFeed.PostEvent::id))
+                    .expectNext(4L, 5L, 6L, 7L, 8L, 9L, 10L)
+                    .then(() -> feed.publish(post(11)))
+                    .expectNext(11L)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+
+            // 모르는 id(재시작 전 id 등)면 새 이벤트부터
+            StepVerifier.create(feed.subscribe(999L).map(PostChangeFeed.PostEvent::id))
+                    .then(() -> feed.publish(post(12)))
+                    .expectNext(12L)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    @DisplayName("링 버퍼 밖으로 밀려난 구간은 건너뛰고 남아 있는 이벤트부터 재생")
+    void shouldSkipEventsOutsideReplayBuffer() {
+        try (PostChangeFeed feed = feed(8, 8, PostChangeFeed.OverflowPolicy.DROP_OLDEST)) {
+            IntStream.rangeClosed(1, 20).forEach(i -> feed.publish(post(i)));
+
+            StepVerifier.create(feed.subscribe(2L).map(PostChangeFeed.PostEvent::id).take(8))
+                    .expectNext(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L)
+                    .verifyComplete();
+            assertThat(feed.stats().dropped()).isEqualTo(10);
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: 뒤처진 구독자는 오래된 이벤트를 건너뛰고 최근 subscriberBuffer개부터 받음")
+    void shouldDropOldestForSlowSubscriber() {
+        try (PostChangeFeed feed = feed(64, 4, PostChangeFeed.OverflowPolicy.DROP_OLDEST)) {
+            StepVerifier.create(feed.subscribe(null).map(PostChangeFeed.PostEvent::id), 0)
+                    .then(() -> IntStream.rangeClosed(1, 10).forEach(i -> feed.publish(post(i))))
+                    .thenRequest(10)
+                    .expectNext(7L, 8L, 9L, 10L)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(feed.stats().dropped()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    @DisplayName("DISCONNECT: 뒤처진 구독자는 SlowConsumerException으로 종료")
+    void shouldDisconnectSlowSubscriber() {
+        try (PostChangeFeed feed = feed(64, 4, PostChangeFeed.OverflowPolicy.DISCONNECT)) {
+            StepVerifier.create(feed.subscribe(null), 0)
+                    .then(() -> IntStream.rangeClosed(1, 10).forEach(i -> feed.publish(post(i))))
+                    .expectError(PostChangeFeed.SlowConsumerException.class)
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(feed.stats().disconnected()).isEqualTo(1);
+            assertThat(feed.stats().subscribers()).isZero();
+        }
+    }
+
+    private static PostChangeFeed feed(int replayCapacity, int subscriberBuffer,
+                                       PostChangeFeed.OverflowPolicy overflowPolicy) {
+        return new PostChangeFeed(replayCapacity, subscriberBuffer, overflowPolicy, Duration.ofSeconds(30));
+    }
+
+    private static Post post(long i) {
+        return new Post(i, "title " + i, "body " + i, i % 10);
+    }
+}
@@ -0,0 +1,103 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 user-service 대역(GET /users?ids=)으로 작성자 조회가 모아서 한 번에 나가는지 확인
+ * - 대역은 id 1~10 사용자만 가지고 있고, 호출 수와 요청받은 id 목록을 기록
+ */
+class PostEnrichmentServiceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<String> requestedIds = new CopyOnWriteArrayList<>();
+
+    private DisposableServer server;
+    private PostEnrichmentService enrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/users", (request, response) -> {
+                    calls.incrementAndGet();
+                    String ids = request.uri().substring(request.uri().indexOf("ids=") + 4);
+                    requestedIds.add(ids);
+                    String body = Arrays.stream(ids.split("%2C|,"))
+                            .map(Long::parseLong)
+                            .filter(id -> id <= 10)
+                            .map(id -> String.format(
+                                    "{\"id\":%d,\"name\":\"user %d\",\"username\":\"u%d\",\"email\":\"u%d@test.io\"}",
+                                    id, id, id, id))
+                            .collect(Collectors.joining(",", "[", "]"));
+                    return response.header("Content-Type", "application/json").sendString(Mono.just(body));
+                }))
+                .bindNow();
+
+        PostPersistenceProperties properties = new PostPersistenceProperties();
+        properties.getEnrichment().setBatchWindow(Duration.ofMillis(50));
+        UserService userService = new UserService(WebClient.create("http://localhost:" + server.port()));
+        enrichmentService = new PostEnrichmentService(null, userService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("포스트 100개의 작성자 10명을 중복 제거해 user-service 한 번으로 조회하고 순서 유지")
+    void shouldResolveAuthorsWithSingleBatchedCall() {
+        List<Post> posts = LongStream.rangeClosed(1, 100)
+                .mapToObj(i -> new Post(i, "title " + i, "body", (i - 1) % 10 + 1))
+                .toList();
+
+        List<EnrichedPost> enriched = enrichmentService.enrich(Flux.fromIterable(posts))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(enriched).hasSize(100);
+        assertThat(enriched).extracting(item -> item.post().getId())
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 100).boxed().toList());
+        assertThat(enriched).allSatisfy(item ->
+                assertThat(item.author().getId()).isEqualTo(item.post().getUserId()));
+        assertThat(calls).hasValue(1);
+        assertThat(requestedIds.get(0).split("%2C|,")).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("없는 사용자나 userId가 없는 포스트는 author=null로 응답")
+    void shouldLeaveAuthorEmptyWhenUserMissing() {
+        List<Post> posts = List.of(
+                new Post(1L, "known", "body", 1L),
+                new Post(2L, "unknown", "body", 99L),
+                new Post(3L, "anonymous", "body", null));
+
+        List<EnrichedPost> enriched = enrichmentService.enrich(Flux.fromIterable(posts))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(enriched).extracting(EnrichedPost::author).extracting(user -> user == null ? null : user.getName())
+                .containsExactly("user 1", null, null);
+        assertThat(calls).hasValue(1);
+    }
+}
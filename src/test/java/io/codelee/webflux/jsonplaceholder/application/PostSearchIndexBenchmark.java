@@ -0,0 +1,128 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 검색 색인 벤치마크 (./gradlew benchmark 로 실행)
+ *
+ * 데이터: Post 100만 개, 어휘 5만 개에서 Zipf 분포(s=1)로 뽑은 제목 6단어 + 본문 24단어
+ * build: 미리 만든 Post를 여러 스레드로 동시에 색인하는 속도 (posts/s, Post 생성 시간 제외)
+ * query: 1~3단어 질의 10,000개의 지연 시간 분포 (top-10)
+ *   - zipf: 질의 단어도 같은 Zipf 분포 (상위 빈도 단어가 섞여 포스팅이 긴 질의 포함)
+ *   - rare: 빈도 상위 100개 단어(불용어에 해당)를 뺀 단어로만 질의
+ */
+@Tag("benchmark")
+class PostSearchIndexBenchmark {
+
+    private static final int POSTS = 1_000_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int BODY_WORDS = 24;
+    private static final int QUERIES = 10_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int STOPWORD_RANKS = 100;
+
+    private final String[] words = IntStream.range(0, VOCABULARY).mapToObj(i -> "w" + i).toArray(String[]::new);
+    private final double[] cumulative = zipf(VOCABULARY);
+
+    @Test
+    @DisplayName("Post 100만 개 색인 속도와 질의 지연 시간 p50/p99")
+    void measureBuildRateAndQueryLatency() {
+        Post[] posts = new Post[POSTS];
+        IntStream.range(0, POSTS).parallel().forEach(i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            posts[i] = new Post((long) i + 1, sentence(random, TITLE_WORDS, 0), sentence(random, BODY_WORDS, 0),
+                    (long) (i % 10) + 1);
+        });
+
+        PostSearchIndex index = new PostSearchIndex();
+        long before = usedHeap();
+        long startedAt = System.nanoTime();
+        Arrays.stream(posts).parallel().forEach(post -> index.index(PostSearchIndex.Source.UPSTREAM, post));
+        long buildNanos = System.nanoTime() - startedAt;
+        long indexHeap = usedHeap() - before;
+
+        PostSearchIndex.Stats stats = index.stats();
+        System.out.printf("build: %d posts in %.0f ms (%.0f posts/s, %d threads), terms=%d, postings=%d, %.1f B/posting%n",
+                stats.documents(), buildNanos / 1_000_000.0, POSTS / (buildNanos / 1_000_000_000.0),
+                Runtime.getRuntime().availableProcessors(), stats.terms(), stats.postings(),
+                (double) indexHeap / stats.postings());
+
+        System.out.printf("%-6s %10s %10s %10s %10s%n", "query", "p50(us)", "p99(us)", "max(us)", "hits/q");
+        System.out.println(runQueries(index, "zipf", 0));
+        System.out.println(runQueries(index, "rare", STOPWORD_RANKS));
+
+        assertThat(stats.documents()).isEqualTo(POSTS);
+    }
+
+    private String runQueries(PostSearchIndex index, String name, int minRank) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> queries = IntStream.range(0, WARMUP_QUERIES + QUERIES)
+                .mapToObj(i -> sentence(random, 1 + random.nextInt(3), minRank))
+                .toList();
+        long[] latencies = new long[QUERIES];
+        long hits = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            long startedAt = System.nanoTime();
+            int found = index.search(queries.get(i), 10).size();
+            long elapsed = System.nanoTime() - startedAt;
+            if (i >= WARMUP_QUERIES) {
+                latencies[i - WARMUP_QUERIES] = elapsed;
+                hits += found;
+            }
+        }
+        Arrays.sort(latencies);
+        return String.format("%-6s %10.1f %10.1f %10.1f %10.1f", name,
+                latencies[QUERIES / 2] / 1000.0, latencies[(int) (QUERIES * 0.99)] / 1000.0,
+                latencies[QUERIES - 1] / 1000.0, (double) hits / QUERIES);
+    }
+
+    private String sentence(SplittableRandom random, int length, int minRank) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank;
+            do {
+                rank = Arrays.binarySearch(cumulative, random.nextDouble());
+                rank = rank < 0 ? -rank - 1 : rank;
+            } while (rank < minRank);
+            builder.append(i == 0 ? "" : " ").append(words[Math.min(rank, VOCABULARY - 1)]);
+        }
+        return builder.toString();
+    }
+
+    // Zipf 분포 누적 확률 (rank 0이 가장 흔한 단어)
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,119 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.codelee.webflux.jsonplaceholder.application.PostSearchIndex.Source.LOCAL;
+import static io.codelee.webflux.jsonplaceholder.application.PostSearchIndex.Source.UPSTREAM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    @Test
+    @DisplayName("용어 빈도가 높고 짧은 문서가 위로, 여러 용어가 모두 맞는 문서가 하나만 맞는 문서보다 위로")
+    void shouldRankByBm25() {
+        index.index(LOCAL, new Post(1L, "reactive streams", "backpressure in reactive systems", 1L));
+        index.index(LOCAL, new Post(2L, "Reactive", "reactive reactive", 1L));
+        index.index(LOCAL, new Post(3L, "netty event loop", "a long body about event loops and threads and selectors", 1L));
+        index.index(LOCAL, new Post(4L, "spring", "nothing to see here", 1L));
+
+        assertThat(index.search("REACTIVE", 10)).extracting(hit -> hit.post().getId()).containsExactly(2L, 1L);
+        assertThat(index.search("reactive systems", 10)).extracting(hit -> hit.post().getId())
+                .containsExactly(1L, 2L);
+        assertThat(index.search("event loop", 10)).extracting(hit -> hit.post().getId()).containsExactly(3L);
+        assertThat(index.search("missing", 10)).isEmpty();
+        assertThat(index.search("  ?!  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("limit개만 점수 내림차순으로 반환")
+    void shouldReturnTopK() {
+        IntStream.rangeClosed(1, 50).forEach(i ->
+                index.index(LOCAL, new Post((long) i, "term", "filler ".repeat(i), 1L)));
+
+        List<PostSearchHit> hits = index.search("term", 5);
+
+        // 문서 길이만 다르므로 짧은 문서(작은 id)가 위
+        assertThat(hits).extracting(hit -> hit.post().getId()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(hits).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+    }
+
+    @Test
+    @DisplayName("같은 id를 다시 색인하면 이전 내용은 검색되지 않고 새 내용으로 검색됨")
+    void shouldReplaceReindexedPost() {
+        index.index(LOCAL, new Post(1L, "old title", "old body", 1L));
+        // 포스팅 배열이 여러 번 커지도록 같은 용어를 가진 문서를 계속 추가 (지워진 포스팅 정리 확인)
+        IntStream.rangeClosed(2, 20).forEach(i -> index.index(LOCAL, new Post((long) i, "old", "other", 1L)));
+        index.index(LOCAL, new Post(1L, "new title", "new body", 1L));
+        IntStream.rangeClosed(21, 40).forEach(i -> index.index(LOCAL, new Post((long) i, "old", "other", 1L)));
+
+        assertThat(index.search("new", 10)).extracting(hit -> hit.post().getId()).containsExactly(1L);
+        assertThat(index.search("old", 100)).extracting(hit -> hit.post().getId()).doesNotContain(1L).hasSize(39);
+        assertThat(index.stats().documents()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("같은 Post를 반복해서 재색인해도 문서 번호와 포스팅이 늘지 않고, 내용이 바뀐 재색인은 번호를 재사용")
+    void shouldKeepMemoryBoundedWhenReindexingRepeatedly() {
+        List<Post> posts = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new Post((long) i, "title " + i, "body shared", 1L))
+                .toList();
+        index.indexAll(UPSTREAM, posts);
+        PostSearchIndex.Stats baseline = index.stats();
+
+        // 배치 엔드포인트처럼 같은 내용의 Post를 매번 새 객체로 다시 저장
+        for (int round = 0; round < 1000; round++) {
+            index.indexAll(UPSTREAM, posts.stream()
+                    .map(post -> new Post(post.getId(), post.getTitle(), post.getBody(), 2L))
+                    .toList());
+        }
+        PostSearchIndex.Stats unchanged = index.stats();
+        assertThat(unchanged.docNumbers()).isEqualTo(100);
+        assertThat(unchanged.postings()).isEqualTo(baseline.postings());
+        assertThat(unchanged.unchanged()).isEqualTo(100_000);
+        assertThat(index.search("shared", 1).get(0).post().getUserId()).isEqualTo(2L);
+
+        // 내용이 바뀌면 새 번호로 색인하지만 이전 번호를 반납하므로 번호 범위는 문서 수 근처에 머묾
+        for (int round = 0; round < 1000; round++) {
+            String body = round % 2 == 0 ? "body even" : "body odd";
+            index.indexAll(UPSTREAM, posts.stream()
+                    .map(post -> new Post(post.getId(), post.getTitle(), body, 1L))
+                    .toList());
+        }
+        PostSearchIndex.Stats changed = index.stats();
+        assertThat(changed.documents()).isEqualTo(100);
+        assertThat(changed.docNumbers()).isLessThanOrEqualTo(101);
+        assertThat(changed.postings()).isEqualTo(baseline.postings());
+        assertThat(index.search("odd", 1000)).hasSize(100);
+        assertThat(index.search("even", 1000)).isEmpty();
+        assertThat(index.search("shared", 1000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("id가 같아도 출처가 다르면 서로 덮어쓰지 않음")
+    void shouldKeepSameIdFromDifferentSources() {
+        index.index(LOCAL, new Post(1L, "local title", "created here", 1L));
+        index.index(UPSTREAM, new Post(1L, "upstream title", "from jsonplaceholder", 1L));
+
+        assertThat(index.search("title", 10)).extracting(hit -> hit.post().getTitle())
+                .containsExactlyInAnyOrder("local title", "upstream title");
+        assertThat(index.stats().documents()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 색인해도 모든 문서가 검색됨")
+    void shouldIndexConcurrently() {
+        IntStream.rangeClosed(1, 10_000).parallel().forEach(i ->
+                index.index(LOCAL, new Post((long) i, "shared title " + i, "body word" + (i % 100), 1L)));
+
+        assertThat(index.stats().documents()).isEqualTo(10_000);
+        assertThat(index.search("shared", 20_000)).hasSize(10_000);
+        assertThat(index.search("word7", 1000)).hasSize(100);
+        assertThat(index.search("4242", 10)).extracting(hit -> hit.post().getId()).containsExactly(4242L);
+    }
+}
@@ -0,0 +1,68 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 일괄 조회 동작 확인: getPost를 대체해 빠른/느린/실패/없는 id를 섞어서 요청
+ */
+class PostServiceBulkTest {
+
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    private final PostService postService = new PostService(null, new PostStore(), null,
+            new StaticListableBeanFactory().getBeanProvider(PostJournal.class), null, null,
+            new PostSearchIndex(), new PostPersistenceProperties()) {
+        @Override
+        public Mono<Post> getPost(Long id) {
+            Mono<Post> result = switch (id.intValue()) {
+                case 2 -> Mono.never();
+                case 3 -> Mono.error(new IllegalStateException("upstream down"));
+                case 4 -> Mono.empty();
+                default -> Mono.delay(Duration.ofMillis(20)).thenReturn(new Post(id, "title " + id, "body", 1L));
+            };
+            return result
+                    .doOnSubscribe(subscription -> maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max))
+                    .doFinally(signal -> concurrent.decrementAndGet());
+        }
+    };
+
+    @Test
+    @DisplayName("요청 순서대로 반환하고 느린 id는 기한이 지나면 TIMED_OUT, 실패/없는 id는 부분 결과로 응답")
+    void shouldReturnPartialResultsInRequestOrderWithinDeadline() {
+        PostBulkResponse response = postService.getPosts(List.of(5L, 2L, 3L, 4L, 1L, 5L), 2, Duration.ofMillis(300))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response).isNotNull();
+        assertThat(response.results()).extracting(PostBulkResult::id).containsExactly(5L, 2L, 3L, 4L, 1L, 5L);
+        assertThat(response.results()).extracting(PostBulkResult::status).containsExactly(
+                PostBulkResult.Status.FOUND, PostBulkResult.Status.TIMED_OUT, PostBulkResult.Status.FAILED,
+                PostBulkResult.Status.NOT_FOUND, PostBulkResult.Status.FOUND, PostBulkResult.Status.FOUND);
+        assertThat(response.results().get(2).error()).isEqualTo("upstream down");
+        assertThat(response.elapsedMillis()).isLessThan(1000);
+        assertThat(maxConcurrent).hasValueLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("기한이 지난 뒤 차례가 온 id는 조회하지 않고 TIMED_OUT")
+    void shouldNotStartLookupsAfterDeadline() {
+        PostBulkResponse response = postService.getPosts(List.of(2L, 1L), 1, Duration.ofMillis(100))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response).isNotNull();
+        assertThat(response.results()).extracting(PostBulkResult::status)
+                .containsExactly(PostBulkResult.Status.TIMED_OUT, PostBulkResult.Status.TIMED_OUT);
+        assertThat(response.counts()).containsEntry(PostBulkResult.Status.TIMED_OUT, 2L);
+    }
+}
@@ -0,0 +1,77 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * createPost: 저널 기록이 끝난 Post만 PostStore/검색 색인에 반영되는지 확인
+ */
+class PostServiceCreateTest {
+
+    @TempDir
+    Path directory;
+
+    private final PostStore postStore = new PostStore();
+    private final PostSearchIndex searchIndex = new PostSearchIndex();
+    private PostJournal journal;
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        PostPersistenceProperties.Journal properties = new PostPersistenceProperties.Journal();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofMegabytes(1));
+        journal = new PostJournal(properties);
+        journal.recover(postStore::restore);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("postJournal", journal);
+        postService = new PostService(null, postStore, null, beanFactory.getBeanProvider(PostJournal.class), null,
+                new PostChangeFeed(16, 16, PostChangeFeed.OverflowPolicy.DROP_OLDEST, Duration.ofSeconds(30)),
+                searchIndex, new PostPersistenceProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("저널 기록에 실패하면 PostStore와 검색 색인에 남기지 않고 에러")
+    void shouldNotStorePostWhenJournalAppendFails() {
+        journal.close();
+
+        assertThatThrownBy(() -> postService.createPost(new Post(null, "title", "body", 1L)).block(Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(postStore.size()).isZero();
+        assertThat(searchIndex.stats().documents()).isZero();
+    }
+
+    @Test
+    @DisplayName("기록 중에 호출자가 취소해도 기록된 Post는 저장하고 색인에 추가")
+    void shouldCommitRecordedPostEvenIfCallerCancels() throws InterruptedException {
+        Disposable subscription = postService.createPost(new Post(null, "cancelled", "body", 1L)).subscribe();
+        subscription.dispose();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (postStore.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(postStore.findById(1).getTitle()).isEqualTo("cancelled");
+        assertThat(searchIndex.search("cancelled", 10)).extracting(hit -> hit.post().getId()).containsExactly(1L);
+    }
+}
@@ -0,0 +1,130 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.common.BatchLoader;
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 업스트림 대역으로 getPost 마이크로 배치 확인
+ * - /posts?id=1&id=2 (배치 조회)와 /posts/{id} (개별 조회) 호출 수를 따로 기록
+ * - 대역은 id 1~100 포스트만 가지고 있음
+ */
+class PostServiceLookupBatchTest {
+
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicBoolean batchDown = new AtomicBoolean();
+
+    private DisposableServer server;
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/posts", (request, response) -> {
+                            batchCalls.incrementAndGet();
+                            if (batchDown.get()) {
+                                return response.status(500).send();
+                            }
+                            List<String> ids = new QueryStringDecoder(request.uri()).parameters()
+                                    .getOrDefault("id", List.of());
+                            String body = ids.stream()
+                                    .map(Long::parseLong)
+                                    .filter(id -> id <= 100)
+                                    .map(PostServiceLookupBatchTest::json)
+                                    .collect(Collectors.joining(",", "[", "]"));
+                            return response.header("Content-Type", "application/json").sendString(Mono.just(body));
+                        })
+                        .get("/posts/{id}", (request, response) -> {
+                            singleCalls.incrementAndGet();
+                            long id = Long.parseLong(request.param("id"));
+                            if (id > 100) {
+                                return response.status(404).send();
+                            }
+                            return response.header("Content-Type", "application/json").sendString(Mono.just(json(id)));
+                        }))
+                .bindNow();
+
+        PostPersistenceProperties properties = new PostPersistenceProperties();
+        properties.getLookupBatch().setWindow(Duration.ofMillis(20));
+        postService = new PostService(WebClient.create("http://localhost:" + server.port()), new PostStore(), null,
+                new StaticListableBeanFactory().getBeanProvider(PostJournal.class), null, null, new PostSearchIndex(),
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 단건 조회 100개를 maxBatchSize(50)개씩 배치 조회 2번으로 처리하고 결과를 각 호출자에게 돌려줌")
+    void shouldCoalesceConcurrentLookupsIntoBatchRequests() {
+        List<Post> posts = Flux.fromStream(LongStream.rangeClosed(1, 100).boxed())
+                .flatMapSequential(postService::getPost, 100)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(posts).extracting(Post::getId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 100).boxed().toList());
+        assertThat(batchCalls).hasValue(2);
+        assertThat(singleCalls).hasValue(0);
+
+        BatchLoader.Stats stats = postService.postLookupStats();
+        assertThat(stats.batches()).isEqualTo(2);
+        assertThat(stats.averageBatchSize()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("배치 조회에 없는 id는 기존 /posts/{id}와 같이 NotFound")
+    void shouldFailWithNotFoundForMissingId() {
+        StepVerifier.create(postService.getPost(999L))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(batchCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("배치 조회가 실패하면 호출자마다 /posts/{id}로 개별 조회")
+    void shouldFallBackToSingleLookupsWhenBatchFails() {
+        batchDown.set(true);
+
+        List<Post> posts = Flux.fromStream(LongStream.rangeClosed(1, 5).boxed())
+                .flatMapSequential(postService::getPost, 5)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(posts).extracting(Post::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(batchCalls).hasValue(1);
+        assertThat(singleCalls).hasValue(5);
+    }
+
+    private static String json(long id) {
+        return String.format("{\"id\":%d,\"title\":\"title %d\",\"body\":\"body\",\"userId\":%d}", id, id, id % 10);
+    }
+}
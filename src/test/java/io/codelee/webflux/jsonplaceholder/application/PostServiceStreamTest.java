@@ -0,0 +1,87 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import io.codelee.webflux.jsonplaceholder.persistence.PostJournal;
+import io.codelee.webflux.jsonplaceholder.persistence.PostPersistenceProperties;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 업스트림 대역으로 /posts 페이지 스트리밍 확인 (대역은 id 1~100 포스트를 _start/_limit로 잘라서 응답)
+ */
+class PostServiceStreamTest {
+
+    private static final int POSTS = 100;
+
+    private DisposableServer server;
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/posts", (request, response) -> {
+                    Map<String, List<String>> parameters = new QueryStringDecoder(request.uri()).parameters();
+                    long start = Long.parseLong(parameters.get("_start").get(0));
+                    long limit = Long.parseLong(parameters.get("_limit").get(0));
+                    String body = LongStream.rangeClosed(1, POSTS)
+                            .skip(Math.min(start, POSTS))
+                            .limit(limit)
+                            .mapToObj(PostServiceStreamTest::json)
+                            .collect(Collectors.joining(",", "[", "]"));
+                    return response.header("Content-Type", "application/json").sendString(Mono.just(body));
+                }))
+                .bindNow();
+
+        postService = new PostService(WebClient.create("http://localhost:" + server.port()), new PostStore(), null,
+                new StaticListableBeanFactory().getBeanProvider(PostJournal.class), null, null, new PostSearchIndex(),
+                new PostPersistenceProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("cursor + limit이 long 범위를 넘는 큰 limit은 끝까지 스트리밍")
+    void shouldStreamToEndWhenCursorPlusLimitOverflows() {
+        List<PostStreamItem> items = postService.streamAllPosts(1, Long.MAX_VALUE, 20)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(items).extracting(item -> item.post().getId())
+                .containsExactlyElementsOf(LongStream.rangeClosed(2, POSTS).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("limit만큼만 받고 완료")
+    void shouldStopAtLimit() {
+        List<PostStreamItem> items = postService.streamAllPosts(10, 25, 20)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(items).extracting(item -> item.post().getId())
+                .containsExactlyElementsOf(LongStream.rangeClosed(11, 35).boxed().toList());
+    }
+
+    private static String json(long id) {
+        return String.format("{\"id\":%d,\"title\":\"title %d\",\"body\":\"body\",\"userId\":%d}", id, id, id % 10);
+    }
+}
@@ -0,0 +1,99 @@
+package io.codelee.webflux.jsonplaceholder.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 동시 생성 스트레스 테스트: 여러 스레드가 동시에 create() 해도
+ * 유실되는 Post가 없고, id가 겹치지 않으며, 사용자 인덱스가 전체 개수와 일치하는지 확인
+ */
+class PostStoreTest {
+
+    private static final int THREADS = 16;
+    private static final int POSTS_PER_THREAD = 50_000;
+    private static final int USERS = 100;
+
+    @Test
+    @DisplayName("동시 생성 시 유실/중복 id 없이 모두 저장되고 id와 사용자로 조회됨")
+    void shouldNotLoseWritesUnderConcurrentCreates() throws Exception {
+        PostStore store = new PostStore();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger readMisses = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < POSTS_PER_THREAD; i++) {
+                        long userId = (thread * POSTS_PER_THREAD + i) % USERS + 1;
+                        Post created = store.create(new Post(null, "title-" + thread + "-" + i, "body", userId));
+                        // 쓰기와 동시에 진행되는 조회도 방금 만든 Post를 바로 찾아야 함
+                        if (store.findById(created.getId()) != created) {
+                            readMisses.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = THREADS * POSTS_PER_THREAD;
+        assertThat(readMisses).hasValue(0);
+        assertThat(store.size()).isEqualTo(total);
+        // id는 1..total 을 빠짐없이 한 번씩 사용
+        for (long id = 1; id <= total; id++) {
+            assertThat(store.findById(id)).isNotNull();
+        }
+        int indexed = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            indexed += store.countByUserId(userId);
+        }
+        assertThat(indexed).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("사용자별 조회는 생성 순서로 offset/limit 페이지를 반환")
+    void shouldPageByUser() {
+        PostStore store = new PostStore();
+        for (int i = 0; i < 10; i++) {
+            store.create(new Post(null, "title-" + i, "body", i % 2 == 0 ? 1L : 2L));
+        }
+
+        List<Post> page = store.findByUserId(1L, 1, 2);
+
+        assertThat(page).extracting(Post::getTitle).containsExactly("title-2", "title-4");
+        assertThat(store.findByUserId(1L, 4, 10)).extracting(Post::getTitle).containsExactly("title-8");
+        assertThat(store.findByUserId(3L, 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장 후 원본 객체를 바꿔도 저장된 Post는 바뀌지 않음")
+    void shouldCopyOnCreate() {
+        PostStore store = new PostStore();
+        Post post = new Post(null, "original", "body", 1L);
+
+        Post created = store.create(post);
+        post.setTitle("changed");
+
+        assertThat(store.findById(created.getId()).getTitle()).isEqualTo("original");
+    }
+}
@@ -0,0 +1,43 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilePostBatchSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("동시에 쓴 배치도 줄이 섞이지 않고 모두 JSON Lines로 추가됨")
+    void shouldAppendBatchesAsJsonLines() throws IOException {
+        Path file = directory.resolve("posts/posts.jsonl");
+        try (FilePostBatchSink sink = new FilePostBatchSink(file, true, objectMapper)) {
+            Flux.range(0, 20)
+                    .flatMap(batch -> sink.write(LongStream.range(batch * 50L, batch * 50L + 50)
+                            .mapToObj(id -> new Post(id + 1, "title-" + id, "body", 1L))
+                            .toList()))
+                    .blockLast(Duration.ofSeconds(10));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1000);
+        assertThat(lines).allSatisfy(line -> assertThat(objectMapper.readValue(line, Post.class).getTitle())
+                .startsWith("title-"));
+    }
+}
@@ -0,0 +1,264 @@
+package io.codelee.webflux.jsonplaceholder.persistence;
+
+import io.codelee.webflux.jsonplaceholder.application.Post;
+import io.codelee.webflux.jsonplaceholder.application.PostStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 저널을 재생해 로컬 Post와 id 발급 위치를 복원")
+    void shouldRecoverLocalPostsAfterRestart() {
+        PostStore before = new PostStore();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            journal.recover(before::restore);
+            Flux.range(0, 100)
+                    .flatMap(i -> journal.appendLocal(before.create(new Post(null, "title-" + i, "body-" + i, i % 3 + 1L))))
+                    .blockLast(Duration.ofSeconds(10));
+            journal.appendUpstream(List.of(new Post(1L, "upstream", "body", 1L))).block(Duration.ofSeconds(5));
+        }
+
+        PostStore after = new PostStore();
+        List<Post> upstream = new ArrayList<>();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            PostJournal.Recovery recovery = journal.recover(after::restore, upstream::add);
+
+            assertThat(recovery.localRecords()).isEqualTo(100);
+            assertThat(recovery.upstreamRecords()).isEqualTo(1);
+        }
+        // UPSTREAM Post는 PostStore에 섞이지 않고 따로 전달됨 (같은 id 1의 LOCAL Post와 구분)
+        assertThat(upstream).extracting(Post::getTitle).containsExactly("upstream");
+        assertThat(after.size()).isEqualTo(100);
+        assertThat(after.findById(42).getTitle()).isEqualTo(before.findById(42).getTitle());
+        assertThat(after.countByUserId(1L)).isEqualTo(before.countByUserId(1L));
+        // 복원한 id 다음부터 발급
+        assertThat(after.create(new Post(null, "new", "body", 1L)).getId()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("세그먼트가 차면 롤링하고, compaction은 같은 id의 최신 레코드만 남김")
+    void shouldRollAndCompactSegments() {
+        PostStore store = new PostStore();
+        int rounds = 20;
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            journal.recover(store::restore);
+            journal.appendLocal(store.create(new Post(null, "local", "body", 1L))).block(Duration.ofSeconds(5));
+            for (int round = 0; round < rounds; round++) {
+                String title = "round-" + round;
+                journal.appendUpstream(LongStream.rangeClosed(1, 10)
+                                .mapToObj(id -> new Post(id, title, "body", 1L))
+                                .toList())
+                        .block(Duration.ofSeconds(5));
+            }
+            assertThat(journal.stats().rolls()).isPositive();
+        }
+
+        PostStore recovered = new PostStore();
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            PostJournal.Recovery recovery = journal.recover(recovered::restore);
+
+            assertThat(recovery.upstreamRecords()).isLessThan(rounds * 10L);
+            assertThat(recovery.localRecords()).isEqualTo(1);
+        }
+        assertThat(recovered.findById(1).getTitle()).isEqualTo("local");
+    }
+
+    @Test
+    @DisplayName("롤링할 세그먼트를 만들지 못하면 그 요청만 실패하고, 다음 요청은 다음 번호로 다시 롤링해 기록")
+    void shouldKeepActiveSegmentWhenRollFails() throws IOException {
+        String body = "x".repeat(400);
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            journal.recover(post -> {
+            });
+            // 다음 롤링에 쓸 세그먼트 이름을 미리 차지해 생성(CREATE_NEW)을 실패시킴
+            Files.createFile(directory.resolve(JournalSegment.fileName(2, 0)));
+            journal.appendLocal(new Post(1L, "first", body, 1L)).block(Duration.ofSeconds(5));
+            journal.appendLocal(new Post(2L, "second", body, 1L)).block(Duration.ofSeconds(5));
+
+            assertThatThrownBy(() -> journal.appendLocal(new Post(3L, "failed", body, 1L)).block(Duration.ofSeconds(5)))
+                    .isInstanceOf(UncheckedIOException.class);
+            journal.appendLocal(new Post(4L, "retried", body, 1L)).block(Duration.ofSeconds(5));
+            assertThat(journal.stats().rolls()).isEqualTo(1);
+        }
+
+        PostStore recovered = new PostStore();
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            assertThat(journal.recover(recovered::restore).localRecords()).isEqualTo(3);
+        }
+        assertThat(recovered.findById(3)).isNull();
+        assertThat(recovered.findById(4).getTitle()).isEqualTo("retried");
+    }
+
+    @Test
+    @DisplayName("요청을 쓰다가 실패하면 이미 복사한 레코드를 지워 복구 시 되살아나지 않음")
+    void shouldRewindPartiallyWrittenAppend() throws IOException {
+        String body = "x".repeat(400);
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            journal.recover(post -> {
+            });
+            Files.createFile(directory.resolve(JournalSegment.fileName(2, 0)));
+            journal.appendLocal(new Post(1L, "kept", body, 1L)).block(Duration.ofSeconds(5));
+
+            // 첫 레코드는 현재 세그먼트에 들어가고, 두 번째 레코드에서 롤링이 실패
+            List<Post> batch = List.of(new Post(1L, "written", body, 1L), new Post(2L, "unwritten", body, 1L));
+            assertThatThrownBy(() -> journal.appendUpstream(batch).block(Duration.ofSeconds(5)))
+                    .isInstanceOf(UncheckedIOException.class);
+        }
+
+        List<Post> upstream = new ArrayList<>();
+        PostStore recovered = new PostStore();
+        try (PostJournal journal = open(DataSize.ofKilobytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            PostJournal.Recovery recovery = journal.recover(recovered::restore, upstream::add);
+
+            assertThat(recovery.localRecords()).isEqualTo(1);
+            assertThat(recovery.upstreamRecords()).isZero();
+        }
+        assertThat(recovered.findById(1).getTitle()).isEqualTo("kept");
+    }
+
+    @Test
+    @DisplayName("append 완료 뒤의 처리는 writer 스레드가 아닌 스레드에서 실행")
+    void shouldCompleteAppendOffWriterThread() {
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            journal.recover(post -> {
+            });
+
+            String thread = journal.appendLocal(new Post(1L, "title", "body", 1L))
+                    .then(Mono.fromSupplier(() -> Thread.currentThread().getName()))
+                    .block(Duration.ofSeconds(5));
+
+            assertThat(thread).isNotEqualTo("post-journal-writer");
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다가 끊긴 마지막 레코드는 CRC로 걸러내고 앞의 레코드는 복구")
+    void shouldIgnoreTornTailRecord() throws IOException {
+        PostStore store = new PostStore();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            journal.recover(store::restore);
+            journal.appendLocal(store.create(new Post(null, "kept", "body", 1L))).block(Duration.ofSeconds(5));
+        }
+        Path segment = segments().get(0);
+        int end = new JournalRecord(JournalRecord.Source.LOCAL, store.findById(1)).encode().remaining();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(100).putInt(12345).putInt(7).flip(), end);
+        }
+
+        PostStore recovered = new PostStore();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.ALWAYS)) {
+            assertThat(journal.recover(recovered::restore).localRecords()).isEqualTo(1);
+        }
+        assertThat(recovered.findById(1).getTitle()).isEqualTo("kept");
+    }
+
+    @Test
+    @DisplayName("닫힌 세그먼트는 마지막 레코드와 데이터 끝 표시까지만 남기고 잘림")
+    void shouldTruncateSealedSegment() throws IOException {
+        PostStore store = new PostStore();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            journal.recover(store::restore);
+            journal.appendLocal(store.create(new Post(null, "kept", "body", 1L))).block(Duration.ofSeconds(5));
+        }
+        int record = new JournalRecord(JournalRecord.Source.LOCAL, store.findById(1)).encode().remaining();
+
+        assertThat(Files.size(segments().get(0))).isEqualTo(record + JournalRecord.HEADER_SIZE);
+
+        PostStore recovered = new PostStore();
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            assertThat(journal.recover(recovered::restore).localRecords()).isEqualTo(1);
+        }
+        assertThat(recovered.findById(1).getTitle()).isEqualTo("kept");
+    }
+
+    @Test
+    @DisplayName("같은 디렉터리를 이미 쓰고 있는 저널이 있으면 바로 실패하고, 닫힌 뒤에는 다시 열 수 있음")
+    void shouldLockDirectory() {
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            journal.recover(post -> {
+            });
+
+            assertThatThrownBy(() -> open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("사용 중");
+        }
+
+        try (PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER)) {
+            assertThat(journal.recover(post -> {
+            }).segments()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("close()와 동시에 들어온 append도 기록되거나 에러로 완료되고, 닫힌 뒤의 append는 바로 실패")
+    void shouldCompleteAppendsRacingWithClose() throws InterruptedException {
+        PostJournal journal = open(DataSize.ofMegabytes(1), PostPersistenceProperties.FsyncPolicy.NEVER);
+        journal.recover(post -> {
+        });
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Thread appender = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                journal.appendLocal(new Post(i + 1L, "title", "body", 1L))
+                        .subscribe(null, error -> failed.incrementAndGet(), completed::incrementAndGet);
+            }
+        });
+        Thread.sleep(5);
+        journal.close();
+        appender.join();
+
+        await(() -> completed.get() + failed.get() == 10_000);
+        assertThatThrownBy(() -> journal.appendLocal(new Post(1L, "title", "body", 1L)).block(Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("시간 안에 완료되지 않음").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private PostJournal open(DataSize segmentSize, PostPersistenceProperties.FsyncPolicy fsync) {
+        PostPersistenceProperties.Journal properties = new PostPersistenceProperties.Journal();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        properties.setFsync(fsync);
+        properties.setCompactionThreshold(2);
+        properties.setRecoveryParallelism(4);
+        return new PostJournal(properties);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(JournalSegment.SUFFIX)).sorted().toList();
+        }
+    }
+}